@@ -0,0 +1,376 @@
+package controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.sql.DataSource;
+
+import org.json.JSONObject;
+
+import dao.UserDAO;
+import dto.UserDTO;
+import filter.CompressionFilter;
+import frontController.JsonView;
+import frontController.RouteMetrics;
+import frontController.RouteTable;
+import frontController.StaticResourceServlet;
+import service.HealthMonitor;
+import utils.AppConfig;
+import utils.ErrorLogger;
+import utils.PasswordHasher;
+import utils.TimingDataSource;
+
+/**
+ * 관리자 기능 컨트롤러
+ * action 파라미터별 메서드는 ContextLoaderListener에서 라우트 테이블에 등록합니다:
+ * - export: 사용자 목록 내보내기 (format=csv 또는 ndjson, after=이어받을 시작 이메일)
+ * - passwordIterations: 비밀번호 해시 반복 횟수 조회/변경 (POST, value=새 반복 횟수)
+ * - dbStats: 커넥션 대여 대기/SQL 형태별 실행 시간 통계 (TimingDataSource 사용 시)
+ * - routeStats: 라우트별 디스패치 오버헤드, 응답 시간(p50/p95/p99), 상태 코드별 요청 수와 404/405 응답 수
+ * - compressionStats: 응답 압축 통계 (절약한 바이트 수, 압축 CPU 시간, 정적 파일 캐시)
+ * - staticStats: 정적 파일별 전송 바이트 수와 메모리 매핑 상태
+ * - healthDetails: 상태 점검 상세 결과 (공개 /health 응답에서 제외한 오류 메시지, 커넥션 풀/작업 큐 수치)
+ *
+ * 관리자는 시스템 프로퍼티 musicmood.admin.emails (쉼표로 구분한 이메일 목록)로 지정합니다.
+ */
+public class AdminController implements Controller {
+
+    // 출력 버퍼를 비우는 행 간격 (클라이언트가 진행 상황을 바로 받을 수 있도록)
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final UserDAO userDAO;
+    private final DataSource dataSource;
+    private final Supplier<RouteTable> routeTable;
+    private final HealthMonitor healthMonitor;
+    private final Set<String> adminEmails;
+
+    /**
+     * 생성자를 통한 UserDAO, DataSource, 라우트 테이블, 상태 점검 모니터 의존성 주입
+     *
+     * @param userDAO 사용자 데이터 접근 객체
+     * @param dataSource 애플리케이션 데이터소스 (DB 통계 조회용)
+     * @param routeTable 라우트 테이블 조회 함수 (라우트 테이블은 컨트롤러 생성 후 만들어지므로 조회 시점에 가져옴)
+     * @param healthMonitor 상태 점검 모니터 (상세 점검 결과 조회용)
+     */
+    public AdminController(UserDAO userDAO, DataSource dataSource, Supplier<RouteTable> routeTable,
+                           HealthMonitor healthMonitor) {
+        this.userDAO = userDAO;
+        this.dataSource = dataSource;
+        this.routeTable = routeTable;
+        this.healthMonitor = healthMonitor;
+        this.adminEmails = Arrays.stream(AppConfig.getString("musicmood.admin.emails", "").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 기본 액션 - 등록되지 않은 액션 요청
+     * 액션별 요청은 라우트 테이블이 아래 public 메서드로 바로 연결합니다.
+     */
+    @Override
+    public String execute(Map<String, Object> model) throws Exception {
+        String denied = checkAdmin(model);
+        if (denied != null) {
+            return denied;
+        }
+
+        model.put("status", "BAD_REQUEST");
+        model.put("message", "유효하지 않은 액션입니다: " + model.get("action"));
+        return JsonView.status(model);
+    }
+
+    /**
+     * action=export - 사용자 목록 내보내기
+     */
+    public String export(Map<String, Object> model) throws Exception {
+        String denied = checkAdmin(model);
+        return denied != null ? denied : exportUsers(model, currentUser(model));
+    }
+
+    /**
+     * action=passwordIterations - 비밀번호 해시 반복 횟수 조회/변경
+     */
+    public String passwordIterations(Map<String, Object> model) {
+        String denied = checkAdmin(model);
+        return denied != null ? denied : updatePasswordIterations(model, currentUser(model));
+    }
+
+    /**
+     * action=dbStats - DB 실행 시간 통계
+     */
+    public String dbStats(Map<String, Object> model) {
+        String denied = checkAdmin(model);
+        return denied != null ? denied : showDbStats(model);
+    }
+
+    /**
+     * action=routeStats - 라우트별 디스패치 오버헤드
+     */
+    public String routeStats(Map<String, Object> model) {
+        String denied = checkAdmin(model);
+        if (denied != null) {
+            return denied;
+        }
+        ((HttpServletResponse) model.get("response")).setHeader("Cache-Control", "no-store");
+        return JsonView.of(model, routeStatsBody(routeTable.get()));
+    }
+
+    /**
+     * action=compressionStats - 응답 압축 통계
+     */
+    public String compressionStats(Map<String, Object> model) {
+        String denied = checkAdmin(model);
+        return denied != null ? denied : JsonView.of(model, CompressionFilter.getStats());
+    }
+
+    /**
+     * action=staticStats - 정적 파일 전송 통계
+     */
+    public String staticStats(Map<String, Object> model) {
+        String denied = checkAdmin(model);
+        return denied != null ? denied : JsonView.of(model, StaticResourceServlet.getStats());
+    }
+
+    /**
+     * action=healthDetails - 상태 점검 상세 결과
+     */
+    public String healthDetails(Map<String, Object> model) {
+        String denied = checkAdmin(model);
+        if (denied != null) {
+            return denied;
+        }
+        ((HttpServletResponse) model.get("response")).setHeader("Cache-Control", "no-store");
+        return JsonView.of(model, healthMonitor.getDetails());
+    }
+
+    /**
+     * 관리자 권한 확인
+     *
+     * @return 권한이 없으면 이동할 뷰 경로, 관리자이면 null
+     */
+    private String checkAdmin(Map<String, Object> model) {
+        UserDTO user = currentUser(model);
+
+        if (user == null) {
+            return "redirect:/auth/login.do";
+        }
+        if (!adminEmails.contains(user.getEmail())) {
+            System.out.println("[AdminController] 관리자 권한 없음: " + user.getEmail());
+            model.put("status", "FORBIDDEN");
+            model.put("message", "관리자 권한이 필요합니다.");
+            return JsonView.status(model);
+        }
+        return null;
+    }
+
+    private static UserDTO currentUser(Map<String, Object> model) {
+        HttpSession session = (HttpSession) model.get("session");
+        return session != null ? (UserDTO) session.getAttribute("user") : null;
+    }
+
+    /**
+     * 사용자 목록을 CSV 또는 NDJSON으로 응답 스트림에 바로 출력합니다.
+     * DB에서 한 행씩 읽어 바로 쓰므로 사용자 수와 관계없이 메모리 사용량이 일정합니다.
+     *
+     * @return null (응답을 직접 작성함)
+     */
+    private String exportUsers(Map<String, Object> model, UserDTO admin) throws Exception {
+        String format = (String) model.get("format");
+        boolean ndjson = "ndjson".equals(format);
+        if (format != null && !ndjson && !"csv".equals(format)) {
+            model.put("status", "BAD_REQUEST");
+            model.put("message", "지원하지 않는 형식입니다: " + format + " (csv 또는 ndjson)");
+            return JsonView.status(model);
+        }
+        String after = (String) model.get("after");
+
+        HttpServletResponse response = (HttpServletResponse) model.get("response");
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(ndjson ? "application/x-ndjson" : "text/csv");
+        response.setHeader("Content-Disposition", "attachment; filename=\"users." + (ndjson ? "ndjson" : "csv") + "\"");
+        response.setHeader("Cache-Control", "no-store");
+
+        System.out.println("[AdminController] 사용자 내보내기 시작 (관리자: " + admin.getEmail()
+                + ", 형식: " + (ndjson ? "ndjson" : "csv") + ")");
+        long startTime = System.currentTimeMillis();
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        int[] rows = {0};
+        try {
+            if (!ndjson) {
+                out.write("email,name,phone,created_at\n");
+            }
+            userDAO.forEachUser(after, u -> {
+                if (ndjson) {
+                    JSONObject json = new JSONObject();
+                    json.put("email", u.getEmail());
+                    json.put("name", u.getName() != null ? u.getName() : JSONObject.NULL);
+                    json.put("phone", u.getPhone() != null ? u.getPhone() : JSONObject.NULL);
+                    json.put("created_at", u.getCreatedAt() != null ? u.getCreatedAt() : JSONObject.NULL);
+                    out.write(json.toString());
+                } else {
+                    out.write(csv(u.getEmail()));
+                    out.write(',');
+                    out.write(csv(u.getName()));
+                    out.write(',');
+                    out.write(csv(u.getPhone()));
+                    out.write(',');
+                    out.write(csv(u.getCreatedAt()));
+                }
+                out.write('\n');
+                if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                    out.flush();
+                }
+            });
+            out.flush();
+            System.out.println("[AdminController] 사용자 내보내기 완료: " + rows[0] + "건, "
+                    + (System.currentTimeMillis() - startTime) + "ms");
+        } catch (IOException e) {
+            // 클라이언트가 다운로드를 중단한 경우
+            System.err.println("[AdminController] 사용자 내보내기 중단 (" + rows[0] + "건 출력): " + e.getMessage());
+        } catch (Exception e) {
+            ErrorLogger.logError("사용자 내보내기 중 오류 발생 (" + rows[0] + "건 출력 후)", e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "사용자 내보내기 중 오류가 발생했습니다.");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 비밀번호 해시 반복 횟수 조회/변경
+     * 변경 후 로그인하는 사용자의 비밀번호는 새 반복 횟수로 다시 해시됩니다.
+     */
+    private String updatePasswordIterations(Map<String, Object> model, UserDTO admin) {
+        String value = (String) model.get("value");
+        if ("POST".equals(model.get("method")) && value != null) {
+            try {
+                PasswordHasher.setIterations(Integer.parseInt(value));
+                System.out.println("[AdminController] 비밀번호 반복 횟수 변경 (관리자: " + admin.getEmail() + "): " + value);
+            } catch (IllegalArgumentException e) {
+                model.put("status", "BAD_REQUEST");
+                model.put("message", "잘못된 반복 횟수입니다: " + value);
+                return JsonView.status(model);
+            }
+        }
+        model.put("status", "OK");
+        model.put("message", "현재 비밀번호 반복 횟수: " + PasswordHasher.getIterations()
+                + " (처리 중: " + PasswordHasher.getActiveCount() + ", 대기: " + PasswordHasher.getQueueSize()
+                + ", 거부: " + PasswordHasher.getRejectedCount() + ")");
+        return JsonView.status(model);
+    }
+    
+    /**
+     * DB 실행 시간 통계 조회
+     * 데이터소스가 TimingDataSource로 감싸져 있지 않으면(musicmood.db.timing.enabled=false) 안내 메시지를 반환합니다.
+     */
+    private String showDbStats(Map<String, Object> model) {
+        if (!(dataSource instanceof TimingDataSource)) {
+            model.put("status", "OK");
+            model.put("message", "DB 실행 시간 측정이 비활성화되어 있습니다.");
+            return JsonView.status(model);
+        }
+        TimingDataSource timing = (TimingDataSource) dataSource;
+        // 시간 단위: borrowWait/execute는 마이크로초, held는 밀리초
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "OK");
+        body.put("slowQueryMs", timing.getSlowQueryMs());
+        body.put("slowQueries", timing.getSlowQueries());
+        body.put("leakSuspects", timing.getLeakSuspects());
+        body.put("openConnections", timing.getOpenConnections());
+        body.put("borrowFailures", timing.getBorrowFailures());
+        body.put("borrowWaitMicros", timing.getBorrowWaitMicros().summary());
+        body.put("heldMillis", timing.getHeldMillis().summary());
+
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (Map.Entry<String, TimingDataSource.SqlStats> entry : timing.getSqlStats().entrySet()) {
+            TimingDataSource.SqlStats stats = entry.getValue();
+            Map<String, Object> query = new LinkedHashMap<>();
+            query.put("sql", entry.getKey());
+            query.put("errors", stats.getErrors());
+            query.put("slow", stats.getSlowCount());
+            query.put("executeMicros", stats.getExecuteMicros().summary());
+            query.put("rows", stats.getRows().summary());
+            queries.add(query);
+        }
+        body.put("queries", queries);
+
+        ((HttpServletResponse) model.get("response")).setHeader("Cache-Control", "no-store");
+        return JsonView.of(model, body);
+    }
+
+    /**
+     * 라우트별 통계
+     * 디스패치 오버헤드: 마이크로초, 요청 수신 ~ 처리기 호출 전
+     * 응답 시간: 마이크로초, 요청 수신 ~ 응답 완료 (Prometheus 형식은 /metrics)
+     */
+    private static Map<String, Object> routeStatsBody(RouteTable table) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "OK");
+        body.put("notFound", table.getNotFoundCount());
+        body.put("unmatched", metricsBody(new LinkedHashMap<>(), table.getUnmatchedMetrics()));
+
+        List<Map<String, Object>> routes = new ArrayList<>();
+        for (RouteTable.Route route : table.getRoutes()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("route", route.getName());
+            item.put("methods", route.getAllowHeader());
+            item.put("methodNotAllowed", route.getMethodNotAllowedCount());
+            item.put("dispatchMicros", route.getDispatchMicros().summary());
+            routes.add(metricsBody(item, route.getMetrics()));
+        }
+        body.put("routes", routes);
+        return body;
+    }
+
+    /**
+     * 요청 지표 (응답 시간, 상태 코드별 요청 수, 응답 바이트 수, 처리 중인 요청 수)
+     */
+    private static Map<String, Object> metricsBody(Map<String, Object> json, RouteMetrics metrics) {
+        json.put("latencyMicros", metrics.getLatencyMicros().summary());
+        Map<String, Object> statuses = new LinkedHashMap<>();
+        long[] counts = metrics.getStatusCounts();
+        for (int status = 0; status < counts.length; status++) {
+            if (counts[status] > 0) {
+                statuses.put(status == 0 ? "other" : String.valueOf(status), counts[status]);
+            }
+        }
+        json.put("statuses", statuses);
+        json.put("bytesOut", metrics.getBytesOut());
+        json.put("inFlight", metrics.getInFlight());
+        return json;
+    }
+
+    /**
+     * CSV 필드 이스케이프
+     * 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고, 스프레드시트 수식으로 해석되는 값은 앞에 '를 붙입니다.
+     */
+    private static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,29 @@
+package controller;
+
+import java.util.concurrent.CompletionStage;
+
+import frontController.RequestContext;
+
+/**
+ * 비동기 요청 처리기 인터페이스 (Spotify API 호출처럼 오래 걸리는 요청용)
+ * 뷰 경로 대신 뷰 경로를 완료값으로 갖는 CompletionStage를 반환합니다.
+ * Dispatcher는 결과가 준비될 때까지 서블릿 비동기 모드로 전환하여 요청 스레드를 반환하며,
+ * 시간 초과와 클라이언트 연결 끊김은 Dispatcher가 일괄 처리합니다. (반환한 Future를 취소)
+ * 
+ * 오래 걸리는 작업은 utils.SpotifyCallExecutor.supply로 실행하면 됩니다.
+ * 작업 스레드에서는 요청/응답/세션을 사용하지 않습니다. (응답이 이미 시간 초과로 끝났을 수 있음)
+ * 필요한 파라미터와 헤더는 handleAsync에서 읽어 전달하고, 결과는 모델에 저장하며,
+ * 조건부 응답은 frontController.CachePolicy.deferNotModified로 결과만 넘깁니다.
+ */
+@FunctionalInterface
+public interface AsyncRequestHandler {
+    
+    /**
+     * 요청 컨텍스트로 요청을 비동기 처리하는 메서드
+     * 
+     * @param context 요청 컨텍스트
+     * @return 뷰 경로 (완료값이 null이면 처리기가 응답을 직접 작성함)
+     * @throws Exception 작업 시작 전 예외 발생 시
+     */
+    CompletionStage<String> handleAsync(RequestContext context) throws Exception;
+}
@@ -5,8 +5,13 @@ import java.util.Date;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import dao.UserDAO;
 import dto.UserDTO;
+import frontController.CachePolicy;
+import utils.PasswordHasher;
 
 /**
  * 인증 컨트롤러
@@ -74,17 +79,6 @@ public class AuthController implements Controller {
             contextPath = "";
         }
         
-        // 액션 파라미터에 따른 처리
-        // **action이 logout이면 로그아웃 처리를 한다.**
-        if ("logout".equals(action)) {
-            // 로그아웃 처리 (세션 무효화)
-            if (session != null) {
-                session.invalidate();
-            }
-            System.out.println("[AUTH] 로그아웃 성공: 리다이렉트=/index.do");
-            return "redirect:/index.do";
-        } 
-        
         // 로그인 처리
         // **method가 POST이면 로그인 처리를 한다.**
         if ("POST".equals(method)) {
@@ -133,6 +127,11 @@ public class AuthController implements Controller {
                     model.put("error", "이메일 또는 비밀번호가 일치하지 않습니다.");
                     return "/WEB-INF/views/login.jsp";
                 }
+            } catch (PasswordHasher.BusyException e) {
+                // 비밀번호 검증 스레드 풀이 가득 찬 경우 - 오류 페이지 대신 다시 시도 안내
+                System.out.println("[AUTH] 로그인 요청 과다로 처리 보류: " + email);
+                model.put("error", e.getMessage());
+                return "/WEB-INF/views/login.jsp";
             } catch (Exception e) {
                 System.out.println("[AUTH] 로그인 처리 중 오류: " + e.getMessage());
                 e.printStackTrace();
@@ -143,9 +142,28 @@ public class AuthController implements Controller {
         
         // GET 요청이거나 기본 처리 - 로그인 폼 표시
         // **method가 GET이면 로그인 폼을 표시한다.**
+        if ("GET".equals(method)) {
+            CachePolicy.anonymousPage((HttpServletRequest) model.get("request"), (HttpServletResponse) model.get("response"));
+        }
         return "/WEB-INF/views/login.jsp";
     }
     
+    /**
+     * 로그아웃 처리 (action=logout, 라우트 테이블에서 연결)
+     * 세션을 무효화하고 메인 페이지로 이동합니다.
+     */
+    public String logout(Map<String, Object> model) {
+        javax.servlet.http.HttpSession session = 
+            (javax.servlet.http.HttpSession) model.get("session");
+        
+        // 로그아웃 처리 (세션 무효화)
+        if (session != null) {
+            session.invalidate();
+        }
+        System.out.println("[AUTH] 로그아웃 성공: 리다이렉트=/index.do");
+        return "redirect:/index.do";
+    }
+    
     /**
      * 로그인 히스토리를 저장하는 메서드
      * 
@@ -1,6 +1,7 @@
 package controller;
 
-import java.util.Map;
+import frontController.CachePolicy;
+import frontController.RequestContext;
 
 /**
  * 차트 컨트롤러
@@ -10,19 +11,21 @@ import java.util.Map;
  * 1. 차트 페이지 표시
  * 2. 차트 데이터 관리
  */
-public class ChartController implements Controller {
+public class ChartController implements RequestHandler {
 
     /**
      * 차트 컨트롤러의 주요 실행 메서드
      * 
-     * @param model 컨트롤러 공유 모델 (요청 및 응답 데이터 포함)
+     * @param context 요청 컨텍스트
      * @return 처리 결과를 보여줄 뷰의 경로
      * @throws Exception 처리 중 오류 발생 시
      */
     @Override
-    public String execute(Map<String, Object> model) throws Exception {
+    public String handle(RequestContext context) throws Exception {
         System.out.println("[CHART] 차트 페이지 요청 처리");
         
+        // 비로그인 사용자의 차트 페이지는 공유 캐시 허용
+        CachePolicy.anonymousPage(context);
         // 차트 페이지를 표시
         return "/WEB-INF/views/chart.jsp";
     }
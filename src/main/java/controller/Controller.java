@@ -10,6 +10,9 @@ import java.util.Map;
  * 1. 클라이언트의 요청을 처리하는 메서드 정의
  * 2. 요청 처리 결과에 따른 뷰 선택
  * 3. 모델과 뷰 사이의 중재자 역할
+ * 
+ * 모델 맵은 요청 컨텍스트(RequestContext)의 Map 어댑터입니다.
+ * 새 컨트롤러는 요청마다 맵 조회를 거치지 않는 RequestHandler 구현을 권장합니다.
  */
 public interface Controller {
     
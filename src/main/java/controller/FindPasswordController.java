@@ -2,8 +2,12 @@ package controller;
 
 import java.util.Map;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import dao.UserDAO;
 import dto.UserDTO;
+import frontController.CachePolicy;
 import utils.ErrorLogger;
 
 public class FindPasswordController implements Controller {
@@ -34,7 +38,8 @@ public class FindPasswordController implements Controller {
         System.out.println("[FindPasswordController] 요청 처리 시작: " + method);
         
         if ("GET".equals(method)) {
-            // 비밀번호 찾기 폼 표시
+            // 비밀번호 찾기 폼 표시 (비로그인 사용자는 공유 캐시 허용)
+            CachePolicy.anonymousPage((HttpServletRequest) model.get("request"), (HttpServletResponse) model.get("response"));
             return "/WEB-INF/views/findPassword.jsp";
         } else if ("POST".equals(method)) {
         	
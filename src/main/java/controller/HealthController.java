@@ -0,0 +1,57 @@
+package controller;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import frontController.RequestContext;
+import service.HealthMonitor;
+
+/**
+ * 상태 점검 컨트롤러 (로드 밸런서/오케스트레이터 프로브용)
+ * - /health, /health/ready : 준비 상태 (DB 커넥션 풀, Spotify 토큰, 작업 큐) - 준비되지 않았으면 503
+ * - /health/live : 생존 상태 - 항상 200
+ *
+ * 점검은 HealthMonitor가 백그라운드에서 수행하며, 이 컨트롤러는 메모리에 보관된 결과만 응답합니다.
+ * 인증 없이 공개되므로 응답에는 전체 상태와 점검 항목별 상태만 들어갑니다. (상세 정보는 admin/users.do?action=healthDetails)
+ * 세션을 만들지 않도록 Dispatcher가 일반 요청과 별도로 처리합니다.
+ */
+public class HealthController implements RequestHandler {
+
+    private final HealthMonitor healthMonitor;
+
+    /**
+     * 생성자를 통한 HealthMonitor 의존성 주입
+     *
+     * @param healthMonitor 상태 점검 모니터
+     */
+    public HealthController(HealthMonitor healthMonitor) {
+        this.healthMonitor = healthMonitor;
+    }
+
+    @Override
+    public String handle(RequestContext context) throws Exception {
+        HttpServletRequest request = context.getRequest();
+        HttpServletResponse response = context.getResponse();
+        String pathInfo = request.getPathInfo();
+
+        HealthMonitor.Snapshot snapshot;
+        if (pathInfo == null || "/".equals(pathInfo) || "/ready".equals(pathInfo)) {
+            snapshot = healthMonitor.getReadiness();
+        } else if ("/live".equals(pathInfo)) {
+            snapshot = healthMonitor.getLiveness();
+        } else {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return null;
+        }
+
+        byte[] body = snapshot.getBody();
+        response.setStatus(snapshot.getHttpStatus());
+        response.setContentType("application/json; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentLength(body.length);
+        if (!"HEAD".equals(context.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+        return null;
+    }
+}
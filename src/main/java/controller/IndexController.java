@@ -1,6 +1,7 @@
 package controller;
 
-import java.util.Map;
+import frontController.CachePolicy;
+import frontController.RequestContext;
 
 /**
  * 메인 페이지 컨트롤러
@@ -10,17 +11,19 @@ import java.util.Map;
  * 1. 메인 페이지 요청 처리
  * 2. 기본적인 웰컴 페이지 제공
  */
-public class IndexController implements Controller {
+public class IndexController implements RequestHandler {
     
     /**
-     * 모델 데이터로 메인 페이지 요청을 처리하는 메서드
+     * 메인 페이지 요청을 처리하는 메서드
      * 
-     * @param model 컨트롤러 공유 모델
+     * @param context 요청 컨텍스트
      * @return 메인 페이지의 뷰 경로
      * @throws Exception 처리 중 예외 발생 시
      */
     @Override
-    public String execute(Map<String, Object> model) throws Exception {
+    public String handle(RequestContext context) throws Exception {
+        // 비로그인 사용자의 메인 페이지는 공유 캐시 허용
+        CachePolicy.anonymousPage(context);
         // 간단히 메인 페이지로 이동
         return "/WEB-INF/views/index.jsp";
     }
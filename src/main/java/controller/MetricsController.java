@@ -0,0 +1,221 @@
+package controller;
+
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import frontController.RequestContext;
+import frontController.RouteMetrics;
+import frontController.RouteTable;
+import utils.AppConfig;
+import utils.Histogram;
+
+/**
+ * 요청 지표 컨트롤러 (/metrics, Prometheus 텍스트 형식)
+ * 라우트(경로 + action)별 {@link RouteMetrics}를 수집기용 형식으로 응답합니다.
+ *
+ * 지표:
+ * - musicmood_http_request_duration_seconds : 응답 시간 히스토그램 (요청 수신 ~ 응답 완료)
+ * - musicmood_http_request_duration_quantile_seconds : 시작 이후 누적 p50/p95/p99 (수집기 없이 확인용)
+ * - musicmood_http_requests_total : 상태 코드별 요청 수
+ * - musicmood_http_response_bytes_total : 응답 본문 바이트 수 (압축 전)
+ * - musicmood_http_requests_in_flight : 처리 중인 요청 수
+ * 라벨은 route(서블릿 경로), action(없으면 빈 문자열)이며, 등록되지 않은 경로는 route="unmatched"입니다.
+ *
+ * 세션을 만들지 않도록 Dispatcher가 상태 점검 요청과 같은 방식으로 처리합니다.
+ *
+ * 접근 제어: 토큰이 설정되어 있으면 토큰이 일치하는 요청만 허용하고, 토큰이 없으면 기본적으로 모든 요청을 403으로 거부합니다.
+ * loopback 허용을 켜면 토큰 없이 같은 서버(loopback)에서 온 요청을 허용하지만,
+ * 같은 서버의 리버스 프록시(nginx, Apache 등)를 거친 외부 요청도 원격 주소가 loopback이 되어 허용되므로
+ * 프록시 뒤에서는 켜지 말고 토큰을 사용해야 합니다.
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.metrics.token : 설정하면 "Authorization: Bearer <토큰>" 헤더가 있는 요청만 허용 (기본값 없음)
+ * - musicmood.metrics.allowLoopback : 토큰 미설정 시 loopback 주소에서 온 요청 허용 여부
+ *   (기본값 false - 같은 서버의 리버스 프록시가 없을 때만 사용)
+ */
+public class MetricsController implements RequestHandler {
+
+    private static final String TOKEN = AppConfig.getString("musicmood.metrics.token", null);
+    // 비교할 Authorization 헤더 값 (토큰 미설정이면 null)
+    private static final byte[] EXPECTED_AUTHORIZATION = TOKEN != null && !TOKEN.isEmpty()
+            ? ("Bearer " + TOKEN).getBytes(StandardCharsets.UTF_8) : null;
+    private static final boolean ALLOW_LOOPBACK = AppConfig.getBoolean("musicmood.metrics.allowLoopback", false);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // 히스토그램 구간 (Histogram의 2의 거듭제곱 구간 중 127us ~ 약 33.5초)
+    private static final int FIRST_BUCKET = 7;
+    private static final int LAST_BUCKET = 25;
+    private static final String[] BUCKET_LABELS = bucketLabels();
+    private static final double[] QUANTILES = { 0.5, 0.95, 0.99 };
+
+    private final Supplier<RouteTable> routeTable;
+
+    /**
+     * @param routeTable 라우트 테이블 조회 함수 (라우트 테이블은 컨트롤러 생성 후 만들어지므로 조회 시점에 가져옴)
+     */
+    public MetricsController(Supplier<RouteTable> routeTable) {
+        this.routeTable = routeTable;
+        if (EXPECTED_AUTHORIZATION == null && !ALLOW_LOOPBACK) {
+            System.out.println("[MetricsController] musicmood.metrics.token 미설정 - /metrics 요청은 모두 거부됩니다.");
+        }
+    }
+
+    @Override
+    public String handle(RequestContext context) throws Exception {
+        HttpServletRequest request = context.getRequest();
+        HttpServletResponse response = context.getResponse();
+        if (!isAllowed(request)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return null;
+        }
+
+        byte[] body = render(routeTable.get()).getBytes(StandardCharsets.UTF_8);
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentLength(body.length);
+        if (!"HEAD".equals(context.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+        return null;
+    }
+
+    /**
+     * 토큰이 설정되어 있으면 Authorization 헤더를 비교하고 (비교 시간이 내용에 따라 달라지지 않도록 MessageDigest.isEqual),
+     * 설정되어 있지 않으면 loopback 허용이 켜진 경우에만 loopback 주소에서 온 요청을 허용
+     * (같은 서버의 리버스 프록시를 거친 요청은 외부 요청도 loopback으로 보이므로 주의)
+     */
+    private static boolean isAllowed(HttpServletRequest request) {
+        if (EXPECTED_AUTHORIZATION != null) {
+            String authorization = request.getHeader("Authorization");
+            return authorization != null
+                    && MessageDigest.isEqual(EXPECTED_AUTHORIZATION, authorization.getBytes(StandardCharsets.UTF_8));
+        }
+        if (!ALLOW_LOOPBACK) {
+            return false;
+        }
+        String remoteAddr = request.getRemoteAddr();
+        if (remoteAddr == null || remoteAddr.isEmpty()) {
+            return false; // getByName(null)은 loopback을 반환하므로 먼저 제외
+        }
+        try {
+            // IP 주소 문자열이므로 이름 조회는 일어나지 않음
+            return InetAddress.getByName(remoteAddr).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static String render(RouteTable table) {
+        StringBuilder duration = new StringBuilder(16 * 1024);
+        StringBuilder quantiles = new StringBuilder();
+        StringBuilder requests = new StringBuilder();
+        StringBuilder bytes = new StringBuilder();
+        StringBuilder inFlight = new StringBuilder();
+
+        for (RouteTable.Route route : table.getRoutes()) {
+            append(labels(route.getPath(), route.getAction()), route.getMetrics(),
+                    duration, quantiles, requests, bytes, inFlight);
+        }
+        append(labels("unmatched", null), table.getUnmatchedMetrics(), duration, quantiles, requests, bytes, inFlight);
+
+        StringBuilder out = new StringBuilder(duration.length() + quantiles.length() + requests.length()
+                + bytes.length() + inFlight.length() + 1024);
+        header(out, "musicmood_http_request_duration_seconds", "histogram",
+                "Request latency from receipt to response completion.");
+        out.append(duration);
+        header(out, "musicmood_http_request_duration_quantile_seconds", "gauge",
+                "Request latency quantiles since startup (bucket upper bound estimate).");
+        out.append(quantiles);
+        header(out, "musicmood_http_requests_total", "counter", "Completed requests by status code.");
+        out.append(requests);
+        header(out, "musicmood_http_response_bytes_total", "counter", "Response body bytes before compression.");
+        out.append(bytes);
+        header(out, "musicmood_http_requests_in_flight", "gauge", "Requests currently being processed.");
+        out.append(inFlight);
+        return out.toString();
+    }
+
+    private static void append(String labels, RouteMetrics metrics, StringBuilder duration, StringBuilder quantiles,
+                               StringBuilder requests, StringBuilder bytes, StringBuilder inFlight) {
+        Histogram latency = metrics.getLatencyMicros();
+        long[] buckets = latency.getBucketCounts();
+        long count = 0;
+        for (long c : buckets) {
+            count += c;
+        }
+
+        long cumulative = 0;
+        for (int i = 0; i <= LAST_BUCKET; i++) {
+            cumulative += buckets[i];
+            if (i >= FIRST_BUCKET) {
+                duration.append("musicmood_http_request_duration_seconds_bucket{").append(labels)
+                        .append(",le=\"").append(BUCKET_LABELS[i - FIRST_BUCKET]).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+        }
+        duration.append("musicmood_http_request_duration_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                .append(count).append('\n');
+        duration.append("musicmood_http_request_duration_seconds_sum{").append(labels).append("} ")
+                .append(seconds(latency.getSum())).append('\n');
+        duration.append("musicmood_http_request_duration_seconds_count{").append(labels).append("} ")
+                .append(count).append('\n');
+
+        for (double quantile : QUANTILES) {
+            quantiles.append("musicmood_http_request_duration_quantile_seconds{").append(labels)
+                    .append(",quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(latency.getPercentile(quantile))).append('\n');
+        }
+
+        long[] statuses = metrics.getStatusCounts();
+        for (int status = 0; status < statuses.length; status++) {
+            if (statuses[status] > 0) {
+                requests.append("musicmood_http_requests_total{").append(labels).append(",status=\"")
+                        .append(status == 0 ? "other" : String.valueOf(status)).append("\"} ")
+                        .append(statuses[status]).append('\n');
+            }
+        }
+
+        bytes.append("musicmood_http_response_bytes_total{").append(labels).append("} ")
+                .append(metrics.getBytesOut()).append('\n');
+        inFlight.append("musicmood_http_requests_in_flight{").append(labels).append("} ")
+                .append(metrics.getInFlight()).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String labels(String route, String action) {
+        return "route=\"" + escape(route) + "\",action=\"" + escape(action != null ? action : "") + "\"";
+    }
+
+    /**
+     * 라벨 값 이스케이프 (역슬래시, 큰따옴표, 줄바꿈)
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String seconds(long micros) {
+        return BigDecimal.valueOf(micros, 6).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * 구간 상한(2^i - 1 마이크로초)을 초 단위 문자열로 미리 변환 (예: "0.000127")
+     */
+    private static String[] bucketLabels() {
+        String[] labels = new String[LAST_BUCKET - FIRST_BUCKET + 1];
+        for (int i = FIRST_BUCKET; i <= LAST_BUCKET; i++) {
+            labels[i - FIRST_BUCKET] = seconds(Histogram.upperBound(i));
+        }
+        return labels;
+    }
+}
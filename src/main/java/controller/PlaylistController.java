@@ -1,34 +1,58 @@
 package controller;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.Enumeration;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
+import dao.LikedPlaylistCache;
 import dao.PlaylistDAO;
 import dto.PlaylistDTO;
 import dto.UserDTO;
+import frontController.CachePolicy;
+import frontController.JsonView;
+import frontController.RequestContext;
 import service.SpotifyService;
 import utils.ErrorLogger;
+import utils.SpotifyCallExecutor;
 import utils.TokenManager;
 
 /**
  * 플레이리스트 관련 모든 기능을 처리하는 통합 컨트롤러
- * action 파라미터에 따라 다양한 기능을 제공합니다:
+ * action 파라미터별 메서드는 ContextLoaderListener에서 라우트 테이블에 등록합니다:
  * - list: 플레이리스트 목록 조회
  * - like: 플레이리스트 좋아요 추가/제거
- * - liked: 좋아요한 플레이리스트 목록 조회
+ * - liked: 좋아요한 플레이리스트 목록 조회 (첫 페이지)
+ * - likedPage: 좋아요한 플레이리스트 다음 페이지 조회 (JSON, 커서 기반)
  * - preview: 트랙 미리듣기 정보 조회
+ * - likeStats: 여러 플레이리스트의 좋아요 수/좋아요 여부 일괄 조회 (JSON)
  */
 public class PlaylistController implements Controller {
     
+    // likeStats 요청 한 번에 조회할 수 있는 최대 플레이리스트 수
+    private static final int MAX_LIKE_STATS_IDS = 200;
+    // 좋아요한 플레이리스트 페이지 크기 (기본값 / 최대값)
+    private static final int LIKED_PAGE_SIZE = 24;
+    private static final int MAX_LIKED_PAGE_SIZE = 100;
+    
     // 데이터 액세스 객체
     private final PlaylistDAO playlistDAO;
     // Spotify API 서비스
@@ -57,7 +81,9 @@ public class PlaylistController implements Controller {
     }
     
     /**
-     * 모델 데이터로 플레이리스트 관련 요청을 처리하는 메서드
+     * 기본 액션(list) 처리 - 플레이리스트 목록 조회
+     * 액션이 없거나 등록되지 않은 액션인 경우에도 호출됩니다.
+     * 나머지 액션은 Dispatcher의 라우트 테이블이 아래 public 메서드로 바로 연결합니다.
      * 
      * @param model 컨트롤러 공유 모델
      * @return 처리 결과에 따른 뷰 경로
@@ -65,50 +91,85 @@ public class PlaylistController implements Controller {
      */
     @Override
     public String execute(Map<String, Object> model) throws Exception {
-        // 사용자 로그인 확인
+        return listPlaylists(model, currentEmail(model));
+    }
+    
+    /**
+     * action=like (POST) - 플레이리스트 좋아요 추가/제거
+     */
+    public String like(Map<String, Object> model) throws Exception {
+        String email = currentEmail(model);
+        
+        // 로그인 확인이 필요한 액션
+        if (email == null) {
+            return "redirect:auth.do?action=login";
+        }
+        return likePlaylist(model, email);
+    }
+    
+    /**
+     * action=liked - 좋아요한 플레이리스트 목록 조회 (첫 페이지)
+     */
+    public String liked(Map<String, Object> model) throws Exception {
+        return listLikedPlaylists(model, currentEmail(model));
+    }
+    
+    /**
+     * action=likedPage - 좋아요한 플레이리스트 다음 페이지 조회 (JSON)
+     */
+    public String likedPage(Map<String, Object> model) throws Exception {
+        return getLikedPage(model, currentEmail(model));
+    }
+    
+    /**
+     * action=preview - 트랙 미리듣기 정보 조회 (비동기 라우트)
+     * Spotify API 호출이 포함되므로 요청 스레드가 아닌 SpotifyCallExecutor에서 실행합니다.
+     * 작업 스레드는 요청/응답/세션을 사용하지 않으므로 파라미터와 조건부 요청 헤더는 여기서 미리 읽습니다.
+     */
+    public CompletionStage<String> preview(RequestContext context) {
+        Map<String, Object> model = context.asMap();
+        String playlistId = context.getParameter("playlistId");
+        String format = context.getParameter("format");
+        String ifNoneMatch = CachePolicy.ifNoneMatch(context);
+        
+        System.out.println("[PlaylistController] 요청 파라미터 - 플레이리스트 ID: " + playlistId);
+        
+        if (playlistId == null || playlistId.trim().isEmpty()) {
+            System.err.println("[PlaylistController] 유효하지 않은 플레이리스트 ID");
+            model.put("status", "BAD_REQUEST");
+            model.put("message", "플레이리스트 ID가 필요합니다.");
+            return CompletableFuture.completedFuture(JsonView.status(model));
+        }
+        return SpotifyCallExecutor.supply(() -> getPlaylistPreview(model, playlistId, format, ifNoneMatch));
+    }
+    
+    /**
+     * action=likeStats - 좋아요 수/좋아요 여부 일괄 조회 (JSON)
+     */
+    public String likeStats(Map<String, Object> model) throws Exception {
+        return getLikeStats(model, currentEmail(model));
+    }
+    
+    /**
+     * 세션에서 로그인한 사용자 이메일 조회
+     * 
+     * @return 사용자 이메일, 로그인하지 않은 경우 null
+     */
+    private static String currentEmail(Map<String, Object> model) {
         Object sessionObj = model.get("session");
-        HttpSession session = null;
-        String email = null;
         
         // 세션 객체 확인 및 형변환
         if (sessionObj != null) {
             // HttpSession 타입으로 안전하게 변환
-            session = (HttpSession) sessionObj;
+            HttpSession session = (HttpSession) sessionObj;
             
             // 세션에서 사용자 정보 가져오기
             UserDTO user = (UserDTO) session.getAttribute("user");
             if (user != null) {
-                email = user.getEmail();
+                return user.getEmail();
             }
         }
-        
-        // 액션 파라미터에 따라 메서드 분기
-        String action = (String) model.get("action");
-        
-        // 액션이 지정되지 않은 경우 기본값(list)으로 처리
-        if (action == null || action.trim().isEmpty()) {
-            action = "list";
-        }
-        
-        // 로그인 확인이 필요한 액션 목록
-        if (action.equals("like") && email == null) {
-            return "redirect:auth.do?action=login";
-        }
-        
-        // 액션에 따라 메서드 분기
-        switch (action) {
-            case "list":
-                return listPlaylists(model, email);
-            case "like":
-                return likePlaylist(model, email);
-            case "liked":
-                return listLikedPlaylists(model, email);
-            case "preview":
-                return getPlaylistPreview(model, email);
-            default:
-                // 잘못된 액션인 경우 목록 페이지로 이동
-                return listPlaylists(model, email);
-        }
+        return null;
     }
     
     /**
@@ -116,17 +177,15 @@ public class PlaylistController implements Controller {
      */
     private String listPlaylists(Map<String, Object> model, String email) throws Exception {
         // 로그인한 경우 좋아요한 플레이리스트 ID 목록을 가져옴
-        List<String> likedPlaylistIds = null;
         if (email != null) {
-            likedPlaylistIds = playlistDAO.getLikedPlaylistIds(email);
-            model.put("likedPlaylistIds", likedPlaylistIds);
+            LikedPlaylistCache.Snapshot liked = playlistDAO.getLikedPlaylists(email);
+            model.put("likedPlaylistIds", liked.getIds());
             
             // JSP에서 사용할 사용자 ID 설정
             model.put("currentUserId", email);
             
-            // 좋아요 목록을 JSON 형태로 변환하여 전달
-            String likedPlaylistIdsJson = convertToJsonArray(likedPlaylistIds);
-            model.put("likedPlaylistIdsJson", likedPlaylistIdsJson);
+            // 좋아요 목록 JSON (캐시에 미리 직렬화된 문자열 사용)
+            model.put("likedPlaylistIdsJson", liked.getJson());
         } else {
             // 로그인하지 않은 경우 기본값 설정
             model.put("currentUserId", "null");
@@ -137,25 +196,6 @@ public class PlaylistController implements Controller {
         return "/WEB-INF/views/playlist.jsp";
     }
     
-    /**
-     * 문자열 목록을 JSON 배열 형태로 변환
-     */
-    private String convertToJsonArray(List<String> items) {
-        if (items == null || items.isEmpty()) {
-            return "[]";
-        }
-        
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < items.size(); i++) {
-            sb.append("\"").append(items.get(i)).append("\"");
-            if (i < items.size() - 1) {
-                sb.append(",");
-            }
-        }
-        sb.append("]");
-        return sb.toString();
-    }
-    
     /**
      * 플레이리스트 좋아요 추가/제거
      */
@@ -166,7 +206,7 @@ public class PlaylistController implements Controller {
             System.out.println("[PlaylistController] HTTP 메서드 오류: " + method + " (POST만 허용)");
             model.put("status", "METHOD_NOT_ALLOWED");
             model.put("message", "POST 메서드만 허용됩니다.");
-            return "/WEB-INF/views/json/status.jsp";
+            return JsonView.status(model);
         }
         
         // 이메일 확인 (로그인 필수)
@@ -174,7 +214,7 @@ public class PlaylistController implements Controller {
             System.out.println("[PlaylistController] 인증 오류: 로그인되지 않은 사용자");
             model.put("status", "UNAUTHORIZED");
             model.put("message", "로그인이 필요한 기능입니다.");
-            return "/WEB-INF/views/json/status.jsp";
+            return JsonView.status(model);
         }
         
         // 디버그 로그
@@ -204,7 +244,7 @@ public class PlaylistController implements Controller {
             System.out.println("[PlaylistController] 파라미터 오류: 필수 파라미터 누락");
             model.put("status", "BAD_REQUEST");
             model.put("message", "필수 파라미터가 누락되었습니다: playlistId 또는 likeAction");
-            return "/WEB-INF/views/json/status.jsp";
+            return JsonView.status(model);
         }
         
         try {
@@ -224,7 +264,7 @@ public class PlaylistController implements Controller {
                 System.out.println("[PlaylistController] 잘못된 액션: " + likeAction);
                 model.put("status", "BAD_REQUEST");
                 model.put("message", "유효하지 않은 좋아요 액션입니다: " + likeAction);
-                return "/WEB-INF/views/json/status.jsp";
+                return JsonView.status(model);
             }
             
             // 결과에 따라 상태 설정
@@ -232,29 +272,171 @@ public class PlaylistController implements Controller {
                 model.put("status", "OK");
                 model.put("message", "add".equals(likeAction) ? "플레이리스트를 좋아요 했습니다." : "플레이리스트 좋아요를 취소했습니다.");
                 
-                // 추가 정보 제공 - 업데이트된 좋아요 목록
-                System.out.println("[PlaylistController] 업데이트된 좋아요 목록 조회 시작");
-                List<String> updatedLikedPlaylistIds = playlistDAO.getLikedPlaylistIds(email);
-                model.put("likedPlaylistIds", updatedLikedPlaylistIds);
-                model.put("likedPlaylistIdsJson", convertToJsonArray(updatedLikedPlaylistIds));
-                System.out.println("[PlaylistController] 업데이트된 좋아요 목록 조회 완료: " + updatedLikedPlaylistIds.size() + "개");
+                // 추가 정보 제공 - 업데이트된 좋아요 목록 (캐시가 이미 갱신되어 있어 DB를 다시 조회하지 않음)
+                LikedPlaylistCache.Snapshot updated = playlistDAO.getLikedPlaylists(email);
+                model.put("likedPlaylistIds", updated.getIds());
+                model.put("likedPlaylistIdsJson", updated.getJson());
+                System.out.println("[PlaylistController] 업데이트된 좋아요 목록: " + updated.getIds().size() + "개");
             } else {
                 System.out.println("[PlaylistController] 좋아요 처리 실패");
                 model.put("status", "INTERNAL_SERVER_ERROR");
                 model.put("message", "add".equals(likeAction) ? "좋아요 추가 실패" : "좋아요 제거 실패");
             }
             
-            return "/WEB-INF/views/json/status.jsp";
+            return JsonView.status(model);
         } catch (Exception e) {
             System.err.println("[PlaylistController] 좋아요 처리 중 오류 발생: " + e.getMessage());
             e.printStackTrace();
             ErrorLogger.logError("플레이리스트 좋아요 처리 중 오류 (playlistId: " + playlistId + ", 액션: " + likeAction + ")", e);
             model.put("status", "INTERNAL_SERVER_ERROR");
             model.put("message", "좋아요 처리 중 오류: " + e.getMessage());
-            return "/WEB-INF/views/json/status.jsp";
+            return JsonView.status(model);
+        }
+    }
+    
+    /**
+     * 플레이리스트 그리드용 좋아요 수/좋아요 여부 일괄 조회
+     * 요청 예: playlist.do?action=likeStats&ids=id1,id2,id3 (또는 playlistId 파라미터 반복)
+     * 로그인하지 않은 경우 좋아요 여부는 모두 false입니다.
+     */
+    private String getLikeStats(Map<String, Object> model, String email) throws Exception {
+        HttpServletRequest request = (HttpServletRequest) model.get("request");
+        
+        Set<String> ids = new LinkedHashSet<>();
+        String idsParam = request.getParameter("ids");
+        if (idsParam != null) {
+            for (String id : idsParam.split(",")) {
+                if (!id.trim().isEmpty()) {
+                    ids.add(id.trim());
+                }
+            }
+        }
+        String[] playlistIdParams = request.getParameterValues("playlistId");
+        if (playlistIdParams != null) {
+            for (String id : playlistIdParams) {
+                if (!id.trim().isEmpty()) {
+                    ids.add(id.trim());
+                }
+            }
+        }
+        
+        if (ids.isEmpty()) {
+            model.put("status", "BAD_REQUEST");
+            model.put("message", "필수 파라미터가 누락되었습니다: ids 또는 playlistId");
+            return JsonView.status(model);
+        }
+        if (ids.size() > MAX_LIKE_STATS_IDS) {
+            model.put("status", "BAD_REQUEST");
+            model.put("message", "한 번에 조회할 수 있는 플레이리스트는 최대 " + MAX_LIKE_STATS_IDS + "개입니다.");
+            return JsonView.status(model);
+        }
+        
+        try {
+            List<String> playlistIds = new ArrayList<>(ids);
+            Map<String, Integer> likeCounts = playlistDAO.getLikeCounts(playlistIds);
+            Set<String> likedIds = playlistDAO.getLikedSubset(email, playlistIds);
+            
+            // 요청한 순서대로 플레이리스트별 좋아요 수와 좋아요 여부
+            Map<String, Object> stats = new LinkedHashMap<>();
+            for (String id : playlistIds) {
+                Integer count = likeCounts != null ? likeCounts.get(id) : null;
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("count", count != null ? count : 0);
+                item.put("liked", likedIds != null && likedIds.contains(id));
+                stats.put(id, item);
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", "OK");
+            body.put("stats", stats);
+            return JsonView.of(model, body);
+        } catch (Exception e) {
+            ErrorLogger.logError("플레이리스트 좋아요 통계 일괄 조회 중 오류 (" + ids.size() + "개)", e);
+            model.put("status", "INTERNAL_SERVER_ERROR");
+            model.put("message", "좋아요 정보 조회 중 오류: " + e.getMessage());
+            return JsonView.status(model);
+        }
+    }
+    
+    /**
+     * 좋아요한 플레이리스트 다음 페이지 조회 (JSON)
+     * 요청 예: playlist.do?action=likedPage&cursor={이전 응답의 nextCursor}&size=24
+     */
+    private String getLikedPage(Map<String, Object> model, String email) throws Exception {
+        if (email == null) {
+            model.put("status", "UNAUTHORIZED");
+            model.put("message", "로그인이 필요한 기능입니다.");
+            return JsonView.status(model);
+        }
+        
+        HttpServletRequest request = (HttpServletRequest) model.get("request");
+        String cursor = request.getParameter("cursor");
+        
+        int size = LIKED_PAGE_SIZE;
+        String sizeParam = request.getParameter("size");
+        if (sizeParam != null) {
+            try {
+                size = Math.max(1, Math.min(MAX_LIKED_PAGE_SIZE, Integer.parseInt(sizeParam)));
+            } catch (NumberFormatException e) {
+                model.put("status", "BAD_REQUEST");
+                model.put("message", "잘못된 페이지 크기입니다: " + sizeParam);
+                return JsonView.status(model);
+            }
+        }
+        
+        Timestamp afterLikedAt = null;
+        String afterPlaylistId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = decoded.indexOf(':');
+                afterLikedAt = new Timestamp(Long.parseLong(decoded.substring(0, sep)));
+                afterPlaylistId = decoded.substring(sep + 1);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                model.put("status", "BAD_REQUEST");
+                model.put("message", "잘못된 커서입니다.");
+                return JsonView.status(model);
+            }
+        }
+        
+        try {
+            // ETag는 페이지 행으로 계산 (전체 좋아요 목록을 읽지 않고 이 페이지 크기만큼만 조회)
+            PlaylistDAO.LikedPage page = playlistDAO.getLikedPlaylistPage(email, afterLikedAt, afterPlaylistId, size);
+            String nextCursor = page.hasNext() ? encodeCursor(page) : null; // 다음 페이지가 없으면 null
+            CachePolicy.Hasher hasher = CachePolicy.hasher().add("likedPage").add(email).add(nextCursor);
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (PlaylistDTO item : page.getItems()) {
+                long likedAt = item.getLikedAt() != null ? item.getLikedAt().getTime() : 0L;
+                hasher.add(item.getPlaylistId()).add(likedAt);
+                Map<String, Object> json = new LinkedHashMap<>();
+                json.put("playlistId", item.getPlaylistId());
+                json.put("likedAt", likedAt);
+                items.add(json);
+            }
+            // 클라이언트가 같은 페이지를 가지고 있으면 본문을 만들지 않고 304 응답
+            if (CachePolicy.notModified(request, (HttpServletResponse) model.get("response"), hasher.toEtag())) {
+                return null;
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", "OK");
+            body.put("items", items);
+            body.put("nextCursor", nextCursor);
+            return JsonView.of(model, body);
+        } catch (Exception e) {
+            ErrorLogger.logError("좋아요한 플레이리스트 페이지 조회 중 오류 (email: " + email + ")", e);
+            model.put("status", "INTERNAL_SERVER_ERROR");
+            model.put("message", "좋아요 목록 조회 중 오류: " + e.getMessage());
+            return JsonView.status(model);
         }
     }
     
+    /**
+     * 다음 페이지 커서를 URL에 넣을 수 있는 문자열로 변환 ("좋아요시간(ms):플레이리스트ID"의 Base64)
+     */
+    private static String encodeCursor(PlaylistDAO.LikedPage page) {
+        String raw = page.getNextLikedAt().getTime() + ":" + page.getNextPlaylistId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
     /**
      * 좋아요한 플레이리스트 목록 조회
      */
@@ -264,22 +446,20 @@ public class PlaylistController implements Controller {
         }
 
         try {
-            // DAO를 통해 좋아요한 플레이리스트 ID 목록 조회
-            List<String> likedPlaylistIds = playlistDAO.getLikedPlaylistIds(email);
-            
-            // 디버그 로그 추가
-            System.out.println("[PlaylistController] 좋아요한 플레이리스트 ID 목록 조회 결과:");
-            for (String id : likedPlaylistIds) {
-                System.out.println("  - " + id);
+            // 첫 페이지만 조회하고 나머지는 likedPage 액션으로 스크롤 시 불러옴
+            PlaylistDAO.LikedPage page = playlistDAO.getLikedPlaylistPage(email, null, null, LIKED_PAGE_SIZE);
+            List<String> likedPlaylistIds = new ArrayList<>();
+            for (PlaylistDTO item : page.getItems()) {
+                likedPlaylistIds.add(item.getPlaylistId());
             }
             
+            System.out.println("[PlaylistController] 좋아요한 플레이리스트 첫 페이지 조회 결과: " + likedPlaylistIds.size() + "개");
+            
             model.put("likedPlaylistIds", likedPlaylistIds);
             model.put("isLikedList", true);
             model.put("currentUserId", email);
-            
-            // 좋아요 목록을 JSON 형태로 변환하여 전달
-            String likedPlaylistIdsJson = convertToJsonArray(likedPlaylistIds);
-            model.put("likedPlaylistIdsJson", likedPlaylistIdsJson);
+            model.put("likedPlaylistIdsJson", new JSONArray(likedPlaylistIds).toString());
+            model.put("likedNextCursor", page.hasNext() ? encodeCursor(page) : "");
             
             // 좋아요한 플레이리스트 전용 페이지로 반환
             return "/WEB-INF/views/liked_playlist.jsp";
@@ -291,86 +471,78 @@ public class PlaylistController implements Controller {
     }
     
     /**
-     * 플레이리스트의 미리듣기 가능한 트랙 목록을 가져옵니다.
+     * 플레이리스트의 미리듣기 가능한 트랙 목록을 가져옵니다. (Spotify 호출 스레드에서 실행)
+     * 결과는 모델에만 저장하며 요청/응답/세션은 사용하지 않습니다.
+     *
+     * @param format 응답 형식 파라미터 ("json"이면 JSON)
+     * @param ifNoneMatch 요청 스레드에서 읽은 If-None-Match 값
      */
-    private String getPlaylistPreview(Map<String, Object> model, String email) throws Exception {
+    private String getPlaylistPreview(Map<String, Object> model, String playlistId, String format,
+                                      String ifNoneMatch) throws Exception {
         System.out.println("[PlaylistController] 플레이리스트 미리듣기 요청 처리 시작");
         
-        // 액세스 토큰 가져오기 (세션에서 또는 서비스를 통해)
-        String accessToken = null;
-        HttpSession session = (HttpSession) model.get("session");
-        HttpServletRequest request = (HttpServletRequest) model.get("request");
-        String playlistId = request.getParameter("playlistId");
-        
-        System.out.println("[PlaylistController] 요청 파라미터 - 플레이리스트 ID: " + playlistId);
+        String accessToken;
         
-        if (playlistId == null || playlistId.trim().isEmpty()) {
-            System.err.println("[PlaylistController] 유효하지 않은 플레이리스트 ID");
-            model.put("status", "BAD_REQUEST");
-            model.put("message", "플레이리스트 ID가 필요합니다.");
-            return "/WEB-INF/views/json/status.jsp";
-        }
-        
-        // 세션에서 토큰 가져오기 시도
-        if (session != null && session.getAttribute("spotify_access_token") != null) {
-            accessToken = (String) session.getAttribute("spotify_access_token");
-            System.out.println("[PlaylistController] 세션에서 토큰 가져옴 (길이: " + accessToken.length() + ")");
-        } else {
-            System.out.println("[PlaylistController] 세션에 토큰 없음, TokenManager 사용 시도");
-            try {
-                // TokenManager를 통해 토큰 가져오기 시도
-                accessToken = utils.TokenManager.getAccessToken();
-                
-                if (accessToken == null || accessToken.isEmpty()) {
-                    System.err.println("[PlaylistController] TokenManager에서 토큰 가져오기 실패");
-                    model.put("status", "ERROR");
-                    model.put("message", "Spotify 액세스 토큰을 가져올 수 없습니다.");
-                    return "/WEB-INF/views/json/status.jsp";
-                }
-                
-                System.out.println("[PlaylistController] TokenManager에서 토큰 가져옴 (길이: " + accessToken.length() + ")");
-                
-                // 세션에 토큰 저장 (있는 경우)
-                if (session != null) {
-                    session.setAttribute("spotify_access_token", accessToken);
-                    System.out.println("[PlaylistController] 토큰을 세션에 저장함");
-                }
-            } catch (Exception e) {
-                System.err.println("[PlaylistController] 토큰 가져오기 오류: " + e.getMessage());
-                e.printStackTrace();
+        // 액세스 토큰은 TokenManager가 만료 전까지 캐시하므로 세션에 보관하지 않음
+        // (익명 미리듣기 요청에 세션이 생기지 않도록)
+        try {
+            accessToken = utils.TokenManager.getAccessToken();
+            
+            if (accessToken == null || accessToken.isEmpty()) {
+                System.err.println("[PlaylistController] TokenManager에서 토큰 가져오기 실패");
                 model.put("status", "ERROR");
-                model.put("message", "Spotify 액세스 토큰을 가져오는 중 오류: " + e.getMessage());
-                return "/WEB-INF/views/json/status.jsp";
+                model.put("message", "Spotify 액세스 토큰을 가져올 수 없습니다.");
+                return JsonView.status(model);
             }
+            
+            System.out.println("[PlaylistController] TokenManager에서 토큰 가져옴 (길이: " + accessToken.length() + ")");
+        } catch (Exception e) {
+            System.err.println("[PlaylistController] 토큰 가져오기 오류: " + e.getMessage());
+            e.printStackTrace();
+            model.put("status", "ERROR");
+            model.put("message", "Spotify 액세스 토큰을 가져오는 중 오류: " + e.getMessage());
+            return JsonView.status(model);
         }
         
         try {
-            System.out.println("[PlaylistController] 플레이리스트 이름 가져오기 시작");
-            // SpotifyService를 통해 플레이리스트 이름 가져오기
-            String playlistName = spotifyService.getPlaylistName(playlistId);
-            System.out.println("[PlaylistController] 플레이리스트 이름: " + (playlistName != null ? playlistName : "알 수 없음"));
+            System.out.println("[PlaylistController] 플레이리스트 이름/트랙 가져오기 시작");
+            // 플레이리스트 이름과 트랙 정보는 서로 독립적인 Spotify 호출이므로 동시에 요청
+            SpotifyCallExecutor.Forked<Map<String, Object>> playlistInfoCall =
+                    SpotifyCallExecutor.fork(() -> spotifyService.getPlaylistInfo(playlistId));
             
-            System.out.println("[PlaylistController] 플레이리스트 트랙 가져오기 시작");
-            // Spotify API로 트랙 정보 가져오기
+            // Spotify API로 트랙 정보 가져오기 (현재 스레드)
             List<Map<String, Object>> tracks = spotifyService.getPlaylistTracks(accessToken, playlistId);
             System.out.println("[PlaylistController] 가져온 트랙 수: " + (tracks != null ? tracks.size() : 0));
             
-            // 결과를 모델에 저장
-            model.put("tracks", tracks);
-            model.put("playlistId", playlistId);
-            model.put("playlistName", playlistName != null ? playlistName : "Playlist");
-            model.put("status", "OK");
+            Map<String, Object> playlistInfo = playlistInfoCall.join();
+            String playlistName = (String) playlistInfo.get("name");
+            System.out.println("[PlaylistController] 플레이리스트 이름: " + (playlistName != null ? playlistName : "알 수 없음"));
             
             // JSON 응답 또는 JSP 뷰 반환
-            String format = request.getParameter("format");
             System.out.println("[PlaylistController] 응답 형식: " + format);
             
+            // 스냅샷과 트랙 목록이 클라이언트가 가진 것과 같으면 뷰를 만들지 않고 304 응답
+            // (스냅샷 ID를 받지 못한 경우는 Spotify 조회 실패일 수 있으므로 검증자를 붙이지 않음)
+            Object snapshotId = playlistInfo.get("snapshot_id");
+            if (snapshotId != null) {
+                String etag = previewEtag(playlistId, snapshotId, playlistName, format, tracks);
+                if (CachePolicy.deferNotModified(model, ifNoneMatch, etag)) {
+                    System.out.println("[PlaylistController] 미리듣기 변경 없음 (304): " + playlistId);
+                    return CachePolicy.NOT_MODIFIED_VIEW;
+                }
+            }
+            
             if ("json".equals(format)) {
-                return "/WEB-INF/views/json/preview_tracks.jsp";
-            } else {
-                return "/WEB-INF/views/preview_tracks.jsp";
+                return JsonView.of(model, previewJson(playlistId, playlistName, tracks));
             }
             
+            // 결과를 모델에 저장
+            model.put("tracks", tracks);
+            model.put("playlistId", playlistId);
+            model.put("playlistName", playlistName != null ? playlistName : "Playlist");
+            model.put("status", "OK");
+            return "/WEB-INF/views/preview_tracks.jsp";
+            
         } catch (Exception e) {
             System.err.println("[PlaylistController] 플레이리스트 정보 가져오기 오류: " + e.getMessage());
             e.printStackTrace();
@@ -378,7 +550,73 @@ public class PlaylistController implements Controller {
             
             model.put("status", "ERROR");
             model.put("message", "트랙 정보를 가져오는 중 오류가 발생했습니다: " + e.getMessage());
-            return "/WEB-INF/views/json/status.jsp";
+            return JsonView.status(model);
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 미리듣기 응답 ETag (플레이리스트 스냅샷 ID + 응답에 들어가는 트랙 정보)
+     * 미리듣기 URL은 스냅샷이 같아도 바뀔 수 있으므로 트랙 목록도 함께 해시합니다.
+     */
+    private static String previewEtag(String playlistId, Object snapshotId, String playlistName, String format,
+                                      List<Map<String, Object>> tracks) {
+        CachePolicy.Hasher hasher = CachePolicy.hasher()
+                .add("preview").add(playlistId).add(snapshotId).add(playlistName).add(format);
+        if (tracks != null) {
+            for (Map<String, Object> track : tracks) {
+                hasher.add(track.get("id")).add(track.get("name")).add(track.get("artist"))
+                        .add(track.get("preview_url")).add(track.get("image_url"))
+                        .add(track.get("spotify_url")).add(track.get("external_urls"));
+            }
+        }
+        return hasher.toEtag();
+    }
+    
+    /**
+     * 미리듣기 JSON 응답 데이터 (트랙 목록을 한 번만 순회하며 미리듣기 가능 수를 함께 계산)
+     */
+    private static Map<String, Object> previewJson(String playlistId, String playlistName, List<Map<String, Object>> tracks) {
+        List<Map<String, Object>> items = new ArrayList<>(tracks != null ? tracks.size() : 0);
+        int previewable = 0;
+        if (tracks != null) {
+            for (Map<String, Object> track : tracks) {
+                Object previewUrl = track.get("preview_url");
+                String url = previewUrl != null ? String.valueOf(previewUrl) : "";
+                // Spotify 외부 링크로 대체된 경우는 미리듣기 불가
+                boolean hasPreview = !url.isEmpty() && !url.contains("open.spotify.com");
+                if (hasPreview) {
+                    previewable++;
+                }
+                
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("id", stringOrEmpty(track.get("id")));
+                item.put("name", stringOrEmpty(track.get("name")));
+                item.put("artist", stringOrEmpty(track.get("artist")));
+                item.put("preview_url", url);
+                item.put("has_preview", hasPreview);
+                if (track.get("image_url") != null) {
+                    item.put("image_url", String.valueOf(track.get("image_url")));
+                }
+                if (track.get("spotify_url") != null) {
+                    item.put("spotify_url", String.valueOf(track.get("spotify_url")));
+                } else if (track.get("external_urls") != null) {
+                    item.put("spotify_url", String.valueOf(track.get("external_urls")));
+                }
+                items.add(item);
+            }
+        }
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "OK");
+        body.put("playlistId", stringOrEmpty(playlistId));
+        body.put("playlistName", playlistName != null ? playlistName : "Playlist");
+        body.put("total", items.size());
+        body.put("previewable", previewable);
+        body.put("tracks", items);
+        return body;
+    }
+    
+    private static String stringOrEmpty(Object value) {
+        return value != null ? String.valueOf(value) : "";
+    }
+}
@@ -45,11 +45,10 @@ public class ProfileController implements Controller {
             System.out.println("[Profile] 필드 수정 요청: " + fieldToUpdate + " = " + newValue);
             
             if (fieldToUpdate != null && newValue != null) {
-                // 사용자 정보 복사 (기존 값 유지)
+                // 사용자 정보 복사 (기존 값 유지, 비밀번호는 변경할 때만 설정)
                 UserDTO updatedUser = new UserDTO()
                     .setEmail(user.getEmail()) // 식별자로 사용
                     .setName(user.getName() != null ? user.getName() : "")
-                    .setPassword(user.getPassword() != null ? user.getPassword() : "")
                     .setPhone(user.getPhone() != null ? user.getPhone() : ""); // phone이 null이면 빈 문자열로
                 
                 System.out.println("[Profile] 현재 값 - 이름: " + updatedUser.getName() + 
@@ -82,9 +81,8 @@ public class ProfileController implements Controller {
                 
                 if (result > 0) {
                     // 업데이트 성공 시 세션 정보도 업데이트
-                    // 비밀번호 변경 시에는 새 비밀번호로 조회, 그렇지 않으면 기존 비밀번호로 조회
-                    String passwordForQuery = "password".equals(fieldToUpdate) ? updatedUser.getPassword() : user.getPassword();
-                    UserDTO refreshedUser = userDAO.exist(user.getEmail(), passwordForQuery);
+                    // 사용자 캐시를 통해 다시 조회 (비밀번호 제외)
+                    UserDTO refreshedUser = userDAO.selectOne(user.getEmail());
                     
                     System.out.println("[Profile] 업데이트 후 사용자 조회: " + (refreshedUser != null ? "성공" : "실패"));
                     
@@ -80,7 +80,7 @@ public class RecommendController implements Controller {
     private void saveRecommendationHistory(Map<String, Object> model, 
                                          String type, String genre, String mood) {
         // 세션에서 추천 히스토리 가져오기
-        Map<String, Object> session = (Map<String, Object>) model.get("session");
+        javax.servlet.http.HttpSession session = (javax.servlet.http.HttpSession) model.get("session");
         
         if (session == null) {
             return; // 세션이 없으면 저장하지 않음
@@ -88,11 +88,11 @@ public class RecommendController implements Controller {
         
         @SuppressWarnings("unchecked")
         List<RecommendationHistory> history = (List<RecommendationHistory>) 
-            session.get("recommendationHistory");
+            session.getAttribute("recommendationHistory");
         
         if (history == null) {
             history = new ArrayList<>();
-            session.put("recommendationHistory", history);
+            session.setAttribute("recommendationHistory", history);
         }
         
         history.add(new RecommendationHistory(type, genre, mood, new Date()));
@@ -0,0 +1,24 @@
+package controller;
+
+import frontController.RequestContext;
+
+/**
+ * 요청 처리기 인터페이스 (RequestContext 기반)
+ * Controller.execute(Map)와 같은 역할이지만 요청마다 맵을 만들지 않고
+ * 요청 컨텍스트에서 필요한 값만 조회합니다.
+ * 
+ * 기존 Controller 구현체는 라우트 테이블이 Map 어댑터로 감싸서 실행하므로
+ * 컨트롤러별로 하나씩 이 인터페이스로 옮기면 됩니다.
+ */
+@FunctionalInterface
+public interface RequestHandler {
+    
+    /**
+     * 요청 컨텍스트로 요청을 처리하는 메서드
+     * 
+     * @param context 요청 컨텍스트
+     * @return 처리 결과에 따른 뷰 경로 (null이면 처리기가 응답을 직접 작성함)
+     * @throws Exception 처리 중 예외 발생 시
+     */
+    String handle(RequestContext context) throws Exception;
+}
@@ -1,6 +1,8 @@
 package controller;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.HashMap;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -8,6 +10,8 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
 
+import frontController.RequestContext;
+import utils.SpotifyCallExecutor;
 import utils.TokenManager;
 
 /**
@@ -19,31 +23,54 @@ import utils.TokenManager;
  * 2. 검색 결과 정렬 및 필터링
  * 3. 검색 결과 페이지네이션
  * 4. 검색 히스토리 관리
+ * 
+ * Spotify 검색 API 호출은 SpotifyCallExecutor에서 실행하는 비동기 라우트로 처리합니다.
  */
-public class SearchController implements Controller {
+public class SearchController implements AsyncRequestHandler {
     
     // 검색 결과 기본 개수
     private static final int DEFAULT_LIMIT = 20;
     
     /**
-     * 음악 검색 처리를 수행합니다.
+     * 음악 검색 요청을 비동기로 처리합니다.
+     * 검색어가 없으면 Spotify API를 호출하지 않으므로 바로 검색 폼을 반환합니다.
      * 
-     * @param model 컨트롤러 공유 모델
-     * @return 뷰 페이지 경로
-     * @throws Exception API 요청 중 예외 발생 시
+     * @param context 요청 컨텍스트
+     * @return 뷰 페이지 경로를 완료값으로 갖는 CompletionStage
      */
     @Override
-    public String execute(Map<String, Object> model) throws Exception {
+    public CompletionStage<String> handleAsync(RequestContext context) {
         // 검색어 파라미터 추출
-        String query = (String) model.get("query");
+        String query = context.getParameter("query");
         
         // 검색어가 없으면 검색 폼 페이지로 이동
         if (query == null || query.trim().isEmpty()) {
-            return "/WEB-INF/views/search/form.jsp";
+            return CompletableFuture.completedFuture("/WEB-INF/views/search/form.jsp");
         }
         
-        // 검색 타입 파라미터 추출 (기본값: track)
-        String type = (String) model.get("type");
+        // 작업 스레드는 요청을 사용하지 않으므로 파라미터는 요청 스레드에서 미리 읽음
+        String type = context.getParameter("type");
+        String limitStr = context.getParameter("limit");
+        String offsetStr = context.getParameter("offset");
+        
+        Map<String, Object> model = context.asMap();
+        return SpotifyCallExecutor.supply(() -> search(model, query, type, limitStr, offsetStr));
+    }
+    
+    /**
+     * 음악 검색 처리를 수행합니다. (Spotify 호출 스레드에서 실행)
+     * 결과는 모델에만 저장하며 요청/응답/세션은 사용하지 않습니다.
+     * 
+     * @param model 컨트롤러 공유 모델
+     * @param query 검색어
+     * @param typeParam 검색 타입 파라미터 (없으면 track)
+     * @param limitStr 결과 개수 파라미터
+     * @param offsetStr 시작 위치 파라미터
+     * @return 뷰 페이지 경로
+     */
+    private String search(Map<String, Object> model, String query, String typeParam, String limitStr, String offsetStr) {
+        // 검색 타입 (기본값: track)
+        String type = typeParam;
         if (type == null || type.trim().isEmpty()) {
             type = "track";
         }
@@ -52,9 +79,6 @@ public class SearchController implements Controller {
         int limit = DEFAULT_LIMIT;
         int offset = 0;
         
-        String limitStr = (String) model.get("limit");
-        String offsetStr = (String) model.get("offset");
-        
         if (limitStr != null && !limitStr.trim().isEmpty()) {
             try {
                 limit = Integer.parseInt(limitStr);
@@ -88,7 +112,7 @@ public class SearchController implements Controller {
             
             // API 요청 실행
             URL url = new URL(apiUrl);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+            HttpURLConnection conn = SpotifyCallExecutor.configure((HttpURLConnection) url.openConnection());
             conn.setRequestMethod("GET");
             conn.setRequestProperty("Authorization", "Bearer " + accessToken);
             
@@ -2,8 +2,13 @@ package controller;
 
 import java.util.Map;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import dao.UserDAO;
 import dto.UserDTO;
+import frontController.CachePolicy;
+import utils.PasswordHasher;
 
 /**
  * 회원가입 컨트롤러
@@ -41,7 +46,8 @@ public class SignupController implements Controller {
         String method = (String) model.get("method");
         
         if ("GET".equals(method)) {
-            // 회원가입 폼 표시
+            // 회원가입 폼 표시 (비로그인 사용자는 공유 캐시 허용)
+            CachePolicy.anonymousPage((HttpServletRequest) model.get("request"), (HttpServletResponse) model.get("response"));
             return "/WEB-INF/views/signup.jsp";
         } else if ("POST".equals(method)) {
             // 회원가입 처리 - 모델에서 필요한 데이터 추출
@@ -78,6 +84,11 @@ public class SignupController implements Controller {
                     model.put("error", "회원가입에 실패했습니다.");
                     return "/WEB-INF/views/signup.jsp";
                 }
+            } catch (PasswordHasher.BusyException e) {
+                // 비밀번호 해시 스레드 풀이 가득 찬 경우 - 로그인과 같이 다시 시도 안내
+                System.out.println("[SIGNUP] 회원가입 요청 과다로 처리 보류: " + email);
+                model.put("error", e.getMessage());
+                return "/WEB-INF/views/signup.jsp";
             } catch (Exception e) {
                 model.put("error", "회원가입 중 오류가 발생했습니다: " + e.getMessage());
                 return "/WEB-INF/views/signup.jsp";
@@ -1,7 +1,10 @@
 package controller;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import frontController.JsonView;
+
 import utils.TokenManager;
 import utils.ErrorLogger;
 
@@ -16,12 +19,9 @@ import utils.ErrorLogger;
  */
 public class TokenController implements Controller {
     
-    // 상수 정의
-    private static final String ACTION_ISSUE = "issue";
-    private static final String ACTION_VALIDATE = "validate";
-    
     /**
-     * 클라이언트에 Spotify API 액세스 토큰을 제공합니다.
+     * 클라이언트에 Spotify API 액세스 토큰을 제공합니다. (기본 액션)
+     * action=issue, action=validate 요청은 라우트 테이블이 각 메서드로 바로 연결합니다.
      * 
      * @param model 컨트롤러 공유 모델 (요청 및 응답 데이터 포함)
      * @return 처리 결과를 보여줄 뷰의 경로
@@ -29,23 +29,13 @@ public class TokenController implements Controller {
      */
     @Override
     public String execute(Map<String, Object> model) throws Exception {
-        String action = (String) model.get("action");
-        
-        System.out.println("[TokenController] 요청 처리: action=" + action);
-        
-        if (ACTION_ISSUE.equals(action)) {
-            return issueToken(model);
-        } else if (ACTION_VALIDATE.equals(action)) {
-            return validateToken(model);
-        } else {
-            return getSpotifyAccessToken(model);
-        }
+        return getSpotifyAccessToken(model);
     }
     
     /**
-     * 새 API 토큰 발급 처리
+     * 새 API 토큰 발급 처리 (action=issue)
      */
-    private String issueToken(Map<String, Object> model) {
+    public String issueToken(Map<String, Object> model) {
         try {
             System.out.println("[TokenController] 새 토큰 발급 시작");
             
@@ -65,9 +55,9 @@ public class TokenController implements Controller {
     }
     
     /**
-     * 토큰 유효성 검증 처리
+     * 토큰 유효성 검증 처리 (action=validate)
      */
-    private String validateToken(Map<String, Object> model) {
+    public String validateToken(Map<String, Object> model) {
         try {
             // 토큰 유효성 검증 (static 메서드로 호출)
             String token = (String) model.get("token");
@@ -98,31 +88,27 @@ public class TokenController implements Controller {
             // TokenManager를 통해 유효한 액세스 토큰 요청
             String accessToken = TokenManager.getAccessToken();
             
-            // 모델에 액세스 토큰 저장 (JSP에서 사용)
-            model.put("accessToken", accessToken);
-            model.put("status", "SUCCESS");
-            
-            // 응답 헤더에 Content-Type 설정을 위한 처리
-            model.put("contentType", "application/json");
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", "SUCCESS");
+            body.put("access_token", accessToken);
+            body.put("token_type", "Bearer");
             
             System.out.println("[TokenController] Spotify API 액세스 토큰 요청 성공");
             
-            // JSON 응답을 위한 뷰 페이지 반환
-            return "/WEB-INF/views/json/token.jsp";
+            // JSON 응답 (응답 스트림에 바로 작성)
+            return JsonView.of(model, body);
         } catch (Exception e) {
             // 오류 발생 시 로그 출력 및 오류 모델 설정
             System.err.println("[TokenController] Spotify API 액세스 토큰 요청 실패: " + e.getMessage());
             e.printStackTrace();
             ErrorLogger.logError("Spotify API 액세스 토큰 요청 실패", e);
             
-            model.put("error", "Access Token 가져오기 실패: " + e.getMessage());
-            model.put("status", "ERROR");
-            
-            // 응답 헤더에 Content-Type 설정을 위한 처리
-            model.put("contentType", "application/json");
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", "ERROR");
+            body.put("error", "Access Token 가져오기 실패: " + e.getMessage());
             
-            // JSON 오류 응답을 위한 뷰 페이지 반환
-            return "/WEB-INF/views/json/token.jsp";
+            // JSON 오류 응답 (응답 스트림에 바로 작성)
+            return JsonView.of(model, body);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,590 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransactionRollbackException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import utils.AppConfig;
+import utils.ErrorLogger;
+
+/**
+ * 플레이리스트 좋아요 쓰기 지연(write-behind) 큐
+ * 좋아요 추가/취소 이벤트를 메모리 큐에 모았다가 여러 행을 한 번에 INSERT/DELETE 하는 배치로 기록합니다.
+ *
+ * 동작 방식:
+ * 1. 같은 (email, playlistId)에 대한 이벤트는 마지막 이벤트만 남김 (추가 후 취소 → 취소만 기록)
+ * 2. 대기 이벤트가 batchSize에 도달하거나 flushIntervalMs가 지나면 배치 기록
+ * 3. 대기(기록 중 포함) 이벤트가 capacity에 도달하면 요청 스레드가 한 번 직접 기록을 시도하고,
+ *    다른 기록이 진행 중이거나 기록에 실패하면 기다리지 않고 이벤트를 거부 (DB 장애 시에도 메모리와 응답 시간을 제한)
+ * 4. 기록 전/기록 중인 이벤트는 PlaylistDAO 조회 결과에 반영되어 요청한 사용자는 자신의 변경을 즉시 확인 가능
+ * 5. 교착 상태/잠금 대기 시간 초과는 잠시 후 다시 시도하고, 그래도 기록하지 못한 이벤트는 다시 대기열에 넣음
+ *    (제약 조건 위반/데이터 오류인 이벤트만 버림)
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.likes.writeBehind.enabled : 사용 여부 (기본값 false)
+ * - musicmood.likes.writeBehind.batchSize : 배치 크기 (기본값 100)
+ * - musicmood.likes.writeBehind.flushIntervalMs : 최대 지연 시간 (기본값 200ms)
+ * - musicmood.likes.writeBehind.capacity : 최대 대기 이벤트 수 (기본값 10000)
+ */
+public class LikeWriteBehindQueue {
+
+    // 교착 상태/잠금 대기 시간 초과 시 개별 이벤트 재시도 횟수와 첫 대기 시간 (재시도마다 2배)
+    private static final int LOCK_RETRY_ATTEMPTS = 3;
+    private static final long LOCK_RETRY_BACKOFF_MS = 50;
+    // MySQL 오류 코드: 교착 상태, 잠금 대기 시간 초과
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+
+    private final DataSource dataSource;
+    // 좋아요 수 카운터 (사용하지 않으면 null)
+    private final PlaylistLikeCounterStore likeCounters;
+    private final int batchSize;
+    private final int capacity;
+
+    // 대기 중인 이벤트 (키: email + 구분자 + playlistId, 삽입 순서 유지)
+    private final LinkedHashMap<String, LikeEvent> pending = new LinkedHashMap<>();
+    // 현재 기록 중인 이벤트 (커밋 전까지 조회 결과에 반영하기 위해 유지)
+    private Map<String, LikeEvent> inFlight = Collections.emptyMap();
+    // pending/inFlight 보호용 모니터
+    private final Object lock = new Object();
+
+    // 한 번에 하나의 배치만 기록하도록 보장
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean shutdown = false;
+
+    // 통계
+    private final AtomicLong enqueuedEvents = new AtomicLong();
+    private final AtomicLong writtenEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong rejectedEvents = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+
+    /**
+     * 시스템 프로퍼티 설정으로 큐를 생성합니다.
+     *
+     * @param dataSource 배치 기록에 사용할 데이터소스
+     * @param likeCounters 같은 트랜잭션에서 갱신할 좋아요 수 카운터 (사용하지 않으면 null)
+     */
+    public LikeWriteBehindQueue(DataSource dataSource, PlaylistLikeCounterStore likeCounters) {
+        this(dataSource, likeCounters,
+             AppConfig.getInt("musicmood.likes.writeBehind.batchSize", 100),
+             AppConfig.getLong("musicmood.likes.writeBehind.flushIntervalMs", 200),
+             AppConfig.getInt("musicmood.likes.writeBehind.capacity", 10000));
+    }
+
+    public LikeWriteBehindQueue(DataSource dataSource, PlaylistLikeCounterStore likeCounters,
+                                int batchSize, long flushIntervalMs, int capacity) {
+        this.dataSource = dataSource;
+        this.likeCounters = likeCounters;
+        this.batchSize = Math.max(1, batchSize);
+        this.capacity = Math.max(this.batchSize, capacity);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "musicmood-like-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(10, flushIntervalMs);
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+
+        System.out.println("[LikeWriteBehindQueue] 좋아요 쓰기 지연 모드 활성화 - 배치: " + this.batchSize
+                + ", 주기: " + interval + "ms, 최대 대기: " + this.capacity);
+    }
+
+    /**
+     * 좋아요 추가/취소 이벤트를 큐에 넣습니다.
+     *
+     * @param email 사용자 이메일
+     * @param playlistId 플레이리스트 ID
+     * @param liked true: 좋아요 추가, false: 좋아요 취소
+     * @return 큐에 넣었으면 true, 큐가 가득 차 있고 기록도 할 수 없어 거부했으면 false
+     */
+    public boolean enqueue(String email, String playlistId, boolean liked) {
+        LikeEvent event = new LikeEvent(email, playlistId, liked, new Timestamp(System.currentTimeMillis()));
+        String key = event.key();
+        int size = offer(key, event);
+        if (size < 0) {
+            // 가득 참 - 진행 중인 기록을 기다리지 않고 한 번만 직접 기록 시도 (역압)
+            if (tryFlush()) {
+                size = offer(key, event);
+            }
+            if (size < 0) {
+                rejectedEvents.incrementAndGet();
+                System.err.println("[LikeWriteBehindQueue] 대기 이벤트가 가득 차 거부 (email: " + email
+                        + ", playlistId: " + playlistId + ")");
+                return false;
+            }
+        }
+        enqueuedEvents.incrementAndGet();
+
+        if (shutdown) {
+            // 종료 중 - 남은 이벤트는 shutdown()이 기록하므로 잠금을 기다리지 않음
+            tryFlush();
+        } else if (size >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    flushScheduled.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료와 겹친 경우 직접 기록
+                flushScheduled.set(false);
+                tryFlush();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 대기열에 이벤트 추가 (같은 키의 이전 이벤트는 제거 후 다시 넣어 최신 이벤트가 뒤에 오도록 함)
+     *
+     * @return 추가 후 대기 이벤트 수, 가득 차서 추가하지 못했으면 -1
+     */
+    private int offer(String key, LikeEvent event) {
+        synchronized (lock) {
+            // 기록 실패 시 기록 중 이벤트가 대기열로 돌아오므로 둘을 합쳐서 제한
+            if (!pending.containsKey(key) && pending.size() + inFlight.size() >= capacity) {
+                return -1;
+            }
+            pending.remove(key);
+            pending.put(key, event);
+            return pending.size();
+        }
+    }
+
+    /**
+     * 다른 스레드가 기록 중이 아니면 기록 (요청 스레드용 - 실패하는 기록 뒤에서 기다리지 않음)
+     *
+     * @return 기록에 성공했으면 true, 다른 기록이 진행 중이거나 실패했으면 false
+     */
+    private boolean tryFlush() {
+        if (!flushLock.tryLock()) {
+            return false;
+        }
+        try {
+            return flush();
+        } catch (Exception e) {
+            ErrorLogger.logError("좋아요 배치 기록 중 오류", e);
+            return false;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 사용자의 아직 기록되지 않은 이벤트를 반환합니다. (기록 중 이벤트 포함, 오래된 순)
+     *
+     * @param email 사용자 이메일
+     * @return 플레이리스트 ID → 좋아요 여부
+     */
+    public Map<String, Boolean> pendingStateFor(String email) {
+        Map<String, Boolean> state = new LinkedHashMap<>();
+        synchronized (lock) {
+            for (LikeEvent e : inFlight.values()) {
+                if (e.email.equals(email)) {
+                    state.remove(e.playlistId);
+                    state.put(e.playlistId, e.liked);
+                }
+            }
+            for (LikeEvent e : pending.values()) {
+                if (e.email.equals(email)) {
+                    state.remove(e.playlistId);
+                    state.put(e.playlistId, e.liked);
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * 특정 (email, playlistId)의 기록 대기 상태를 반환합니다.
+     *
+     * @return 좋아요 여부, 대기 이벤트가 없으면 null
+     */
+    public Boolean pendingStateFor(String email, String playlistId) {
+        String key = LikeEvent.key(email, playlistId);
+        synchronized (lock) {
+            LikeEvent e = pending.get(key);
+            if (e == null) {
+                e = inFlight.get(key);
+            }
+            return e != null ? e.liked : null;
+        }
+    }
+
+    /**
+     * 사용자 좋아요 목록(최신순)에 기록 대기 이벤트를 반영합니다.
+     * DB 조회 전에 대기 상태를 먼저 읽어 두어야 조회와 커밋이 겹쳐도 변경이 누락되지 않습니다.
+     *
+     * @param dbIds DB에서 조회한 좋아요 플레이리스트 ID 목록 (최신순)
+     * @param pendingState pendingStateFor(email)의 결과
+     * @return 반영된 목록
+     */
+    public static List<String> applyPending(List<String> dbIds, Map<String, Boolean> pendingState) {
+        if (pendingState.isEmpty()) {
+            return dbIds;
+        }
+        List<String> result = new ArrayList<>(dbIds);
+        List<String> recentlyLiked = new ArrayList<>();
+        for (Map.Entry<String, Boolean> e : pendingState.entrySet()) {
+            result.remove(e.getKey());
+            if (e.getValue()) {
+                recentlyLiked.add(0, e.getKey()); // 가장 최근 이벤트가 맨 앞
+            }
+        }
+        result.addAll(0, recentlyLiked);
+        return result;
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size() + inFlight.size();
+        }
+    }
+
+    public int getCapacity() { return capacity; }
+    public long getEnqueuedEvents() { return enqueuedEvents.get(); }
+    public long getWrittenEvents() { return writtenEvents.get(); }
+    public long getDroppedEvents() { return droppedEvents.get(); }
+    public long getRejectedEvents() { return rejectedEvents.get(); }
+    public long getFlushCount() { return flushCount.get(); }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            ErrorLogger.logError("좋아요 배치 기록 중 오류", e);
+        }
+    }
+
+    /**
+     * 대기 중인 이벤트를 배치로 기록합니다.
+     *
+     * @return 기록 성공 여부 (DB 연결 실패/잠금 충돌 시 false, 기록하지 못한 이벤트는 큐에 다시 들어감)
+     */
+    public boolean flush() {
+        flushLock.lock();
+        try {
+            List<LikeEvent> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return true;
+                }
+                inFlight = new LinkedHashMap<>(pending);
+                pending.clear();
+                batch = new ArrayList<>(inFlight.values());
+            }
+
+            List<LikeEvent> unwritten = Collections.emptyList();
+            try {
+                writeBatch(batch);
+                writtenEvents.addAndGet(batch.size());
+            } catch (SQLException e) {
+                System.err.println("[LikeWriteBehindQueue] 배치 기록 실패, 개별 기록으로 재시도: " + e.getMessage());
+                unwritten = writeIndividually(batch);
+            }
+
+            synchronized (lock) {
+                if (!unwritten.isEmpty()) {
+                    // 기록하지 못한 이벤트 - 이후 들어온 새 이벤트를 덮어쓰지 않도록 하여 다시 대기열에 넣음
+                    LinkedHashMap<String, LikeEvent> merged = new LinkedHashMap<>();
+                    for (LikeEvent e : unwritten) {
+                        merged.put(e.key(), e);
+                    }
+                    for (Map.Entry<String, LikeEvent> e : pending.entrySet()) {
+                        merged.remove(e.getKey());
+                        merged.put(e.getKey(), e.getValue());
+                    }
+                    pending.clear();
+                    pending.putAll(merged);
+                }
+                inFlight = Collections.emptyMap();
+            }
+            flushCount.incrementAndGet();
+            return unwritten.isEmpty();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 하나의 트랜잭션으로 다중 행 INSERT/DELETE를 실행합니다.
+     */
+    private void writeBatch(List<LikeEvent> batch) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                writeEvents(conn, batch);
+                conn.commit();
+                System.out.println("[LikeWriteBehindQueue] 좋아요 배치 기록 완료: " + batch.size() + "건");
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 호출자의 트랜잭션 안에서 이벤트 목록을 기록합니다.
+     * 좋아요 카운터를 사용하는 경우, 플레이리스트별로 기록하여 INSERT IGNORE/DELETE의 영향받은 행 수(실제로 추가/삭제된 행 수)만큼
+     * 카운터를 증감합니다. 잠금 조회(SELECT ... FOR UPDATE)를 쓰지 않으므로 갭 잠금으로 인한 교착이 생기지 않습니다.
+     */
+    private void writeEvents(Connection conn, List<LikeEvent> events) throws SQLException {
+        if (likeCounters == null) {
+            List<LikeEvent> adds = new ArrayList<>();
+            List<LikeEvent> removes = new ArrayList<>();
+            for (LikeEvent e : events) {
+                (e.liked ? adds : removes).add(e);
+            }
+            writeChunks(conn, adds, removes);
+            return;
+        }
+
+        // 플레이리스트 ID 순으로 기록하여 트랜잭션 간 잠금 순서를 맞춤
+        Map<String, List<LikeEvent>> addsByPlaylist = new TreeMap<>();
+        Map<String, List<LikeEvent>> removesByPlaylist = new TreeMap<>();
+        for (LikeEvent e : events) {
+            (e.liked ? addsByPlaylist : removesByPlaylist).computeIfAbsent(e.playlistId, k -> new ArrayList<>()).add(e);
+        }
+
+        Map<String, Integer> deltas = new HashMap<>();
+        for (Map.Entry<String, List<LikeEvent>> e : addsByPlaylist.entrySet()) {
+            deltas.merge(e.getKey(), writeChunks(conn, e.getValue(), Collections.emptyList()), Integer::sum);
+        }
+        for (Map.Entry<String, List<LikeEvent>> e : removesByPlaylist.entrySet()) {
+            deltas.merge(e.getKey(), writeChunks(conn, Collections.emptyList(), e.getValue()), Integer::sum);
+        }
+        likeCounters.applyDeltas(conn, deltas);
+    }
+
+    /**
+     * batchSize 단위의 다중 행 INSERT/DELETE로 기록합니다.
+     *
+     * @return 새로 추가된 행 수 - 삭제된 행 수
+     */
+    private int writeChunks(Connection conn, List<LikeEvent> adds, List<LikeEvent> removes) throws SQLException {
+        int delta = 0;
+        for (int from = 0; from < adds.size(); from += batchSize) {
+            delta += insertLikes(conn, adds.subList(from, Math.min(adds.size(), from + batchSize)));
+        }
+        for (int from = 0; from < removes.size(); from += batchSize) {
+            delta -= deleteLikes(conn, removes.subList(from, Math.min(removes.size(), from + batchSize)));
+        }
+        return delta;
+    }
+
+    /**
+     * INSERT IGNORE로 없는 행만 추가하고, 이미 있던 행이 있으면 좋아요 시각을 갱신합니다.
+     * (외래키 위반 행은 INSERT IGNORE가 건너뛰지만 시각 갱신에서 오류가 되어 기존과 같이 개별 기록 후 폐기됩니다.)
+     *
+     * @return 새로 추가된 행 수
+     */
+    private int insertLikes(Connection conn, List<LikeEvent> events) throws SQLException {
+        int inserted = executeInsert(conn, "INSERT IGNORE INTO liked_playlists (email, playlist_id, liked_at) VALUES ", "", events);
+        if (inserted < events.size()) {
+            executeInsert(conn, "INSERT INTO liked_playlists (email, playlist_id, liked_at) VALUES ",
+                    " ON DUPLICATE KEY UPDATE liked_at = VALUES(liked_at)", events);
+        }
+        return inserted;
+    }
+
+    private int executeInsert(Connection conn, String prefix, String suffix, List<LikeEvent> events) throws SQLException {
+        StringBuilder sql = new StringBuilder(prefix);
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+        }
+        sql.append(suffix);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int idx = 1;
+            for (LikeEvent e : events) {
+                pstmt.setString(idx++, e.email);
+                pstmt.setString(idx++, e.playlistId);
+                pstmt.setTimestamp(idx++, e.at);
+            }
+            return pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * @return 삭제된 행 수
+     */
+    private int deleteLikes(Connection conn, List<LikeEvent> events) throws SQLException {
+        StringBuilder sql = new StringBuilder("DELETE FROM liked_playlists WHERE (email, playlist_id) IN (");
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        sql.append(")");
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int idx = 1;
+            for (LikeEvent e : events) {
+                pstmt.setString(idx++, e.email);
+                pstmt.setString(idx++, e.playlistId);
+            }
+            return pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * 배치 기록이 실패한 경우 이벤트를 하나씩 각자의 트랜잭션으로 기록합니다.
+     * 외래키 위반 등 제약 조건/데이터 오류인 이벤트만 버리고,
+     * 교착 상태/잠금 대기 시간 초과로 재시도까지 실패한 이벤트와 그 밖의 오류인 이벤트는 다시 대기시키며,
+     * DB 연결 자체가 불가능하면 남은 이벤트를 모두 다시 대기시킵니다.
+     * (이미 기록된 이벤트가 다시 기록되어도 결과는 같습니다.)
+     *
+     * @return 기록하지 못해 다시 대기시킬 이벤트 목록 (모두 기록했거나 버렸으면 빈 목록)
+     */
+    private List<LikeEvent> writeIndividually(List<LikeEvent> batch) {
+        List<LikeEvent> unwritten = new ArrayList<>();
+        int next = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            for (; next < batch.size(); next++) {
+                LikeEvent e = batch.get(next);
+                SQLException ex = writeWithRetry(conn, e);
+                if (ex == null) {
+                    writtenEvents.incrementAndGet();
+                } else if (isConnectionError(ex)) {
+                    throw ex;
+                } else if (isConstraintOrDataError(ex)) {
+                    droppedEvents.incrementAndGet();
+                    ErrorLogger.logError("좋아요 이벤트 기록 실패로 폐기 (email: " + e.email + ", playlistId: " + e.playlistId + ")", ex);
+                } else {
+                    unwritten.add(e);
+                    System.err.println("[LikeWriteBehindQueue] 좋아요 이벤트 기록 실패, 재대기 (email: " + e.email
+                            + ", playlistId: " + e.playlistId + "): " + ex.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("[LikeWriteBehindQueue] DB 연결 실패, 이벤트 재대기: " + e.getMessage());
+            unwritten.addAll(batch.subList(next, batch.size()));
+        }
+        return unwritten;
+    }
+
+    /**
+     * 이벤트 하나를 기록하고 커밋합니다. 교착 상태/잠금 대기 시간 초과이면 대기 시간을 늘려 가며 재시도합니다.
+     *
+     * @return 기록에 성공하면 null, 실패하면 마지막 오류
+     * @throws SQLException 롤백 실패 시 (연결 끊김)
+     */
+    private SQLException writeWithRetry(Connection conn, LikeEvent e) throws SQLException {
+        long backoff = LOCK_RETRY_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writeEvents(conn, Collections.singletonList(e));
+                conn.commit();
+                return null;
+            } catch (SQLException ex) {
+                conn.rollback();
+                if (!isLockConflict(ex) || attempt >= LOCK_RETRY_ATTEMPTS) {
+                    return ex;
+                }
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return new SQLTransactionRollbackException("좋아요 이벤트 재시도 중 인터럽트");
+            }
+            backoff *= 2;
+        }
+    }
+
+    /**
+     * 교착 상태 또는 잠금 대기 시간 초과 (트랜잭션을 다시 실행하면 성공할 수 있는 오류)
+     */
+    private static boolean isLockConflict(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTransactionRollbackException
+                || (state != null && state.startsWith("40"))
+                || e.getErrorCode() == ER_LOCK_DEADLOCK
+                || e.getErrorCode() == ER_LOCK_WAIT_TIMEOUT;
+    }
+
+    private static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLRecoverableException || (state != null && state.startsWith("08"));
+    }
+
+    /**
+     * 제약 조건 위반(SQLState 23) 또는 데이터 오류(SQLState 22) - 다시 기록해도 실패하는 이벤트
+     */
+    private static boolean isConstraintOrDataError(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLIntegrityConstraintViolationException
+                || e instanceof SQLDataException
+                || (state != null && (state.startsWith("23") || state.startsWith("22")));
+    }
+
+    /**
+     * 큐를 종료하고 대기 중인 이벤트를 모두 기록합니다. (contextDestroyed에서 호출)
+     */
+    public void shutdown() {
+        shutdown = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // DB 일시 오류에 대비해 몇 차례 재시도
+        for (int attempt = 0; attempt < 3 && getPendingCount() > 0; attempt++) {
+            flushQuietly();
+        }
+
+        int remaining = getPendingCount();
+        if (remaining > 0) {
+            ErrorLogger.logError("종료 시 기록하지 못한 좋아요 이벤트 " + remaining + "건");
+        }
+        System.out.println("[LikeWriteBehindQueue] 종료 - 기록: " + writtenEvents.get() + "건, 폐기: " + droppedEvents.get() + "건, 거부: " + rejectedEvents.get() + "건, 미기록: " + remaining + "건");
+    }
+
+    /**
+     * 좋아요 이벤트
+     */
+    private static class LikeEvent {
+        private final String email;
+        private final String playlistId;
+        private final boolean liked;
+        private final Timestamp at;
+
+        LikeEvent(String email, String playlistId, boolean liked, Timestamp at) {
+            this.email = email;
+            this.playlistId = playlistId;
+            this.liked = liked;
+            this.at = at;
+        }
+
+        String key() {
+            return key(email, playlistId);
+        }
+
+        static String key(String email, String playlistId) {
+            return email + '\u0000' + playlistId;
+        }
+    }
+}
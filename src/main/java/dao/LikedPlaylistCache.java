@@ -0,0 +1,294 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.json.JSONArray;
+
+import utils.AppConfig;
+
+/**
+ * 사용자별 좋아요 플레이리스트 캐시
+ * 이메일을 키로 좋아요한 플레이리스트 ID 목록과 미리 직렬화된 JSON 배열 문자열을 보관합니다.
+ *
+ * 동작 방식:
+ * 1. 조회 시 캐시에 없으면 DB에서 읽어 저장 (조회 중 같은 사용자의 쓰기가 있으면 저장하지 않음)
+ * 2. 좋아요 추가/취소가 성공하면 DB를 다시 조회하지 않고 캐시 항목을 직접 갱신
+ * 3. 최대 사용자 수를 넘으면 가장 오래 사용되지 않은(LRU) 항목부터 제거
+ * 4. 마지막 접근 후 ttlMs가 지난 항목은 만료
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.likes.cache.enabled : 사용 여부 (기본값 true)
+ * - musicmood.likes.cache.maxUsers : 최대 캐시 사용자 수 (기본값 10000)
+ * - musicmood.likes.cache.ttlMs : 미사용 항목 만료 시간 (기본값 600000ms)
+ */
+public class LikedPlaylistCache {
+
+    // 항목별 메모리 추정치 계산용 고정 오버헤드 (맵 노드, 객체 헤더, 리스트 등 대략값)
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+    private static final int ID_OVERHEAD_BYTES = 56;
+
+    private final int maxUsers;
+    private final long ttlMs;
+
+    // 접근 순서(accessOrder=true)로 정렬되는 LRU 맵
+    private final LinkedHashMap<String, Snapshot> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // DB 조회 중인 사용자 → 조회 중 쓰기 발생 여부 (조회 결과가 오래된 값이면 캐시에 저장하지 않기 위함)
+    private final Map<String, Map<Object, Boolean>> loading = new LinkedHashMap<>();
+
+    // 통계 (모두 this 모니터로 보호)
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long estimatedBytes;
+
+    /**
+     * 시스템 프로퍼티 설정으로 캐시를 생성합니다.
+     */
+    public LikedPlaylistCache() {
+        this(AppConfig.getInt("musicmood.likes.cache.maxUsers", 10000),
+             AppConfig.getLong("musicmood.likes.cache.ttlMs", 600000L));
+    }
+
+    public LikedPlaylistCache(int maxUsers, long ttlMs) {
+        this.maxUsers = Math.max(1, maxUsers);
+        this.ttlMs = Math.max(1000L, ttlMs);
+        System.out.println("[LikedPlaylistCache] 초기화 (maxUsers: " + this.maxUsers + ", ttlMs: " + this.ttlMs + ")");
+    }
+
+    /**
+     * 캐시된 좋아요 목록을 반환하고, 없으면 loader로 DB에서 읽어 캐시에 저장합니다.
+     *
+     * @param email 사용자 이메일
+     * @param loader DB 조회 함수 (최신순 플레이리스트 ID 목록 반환, 조회 실패 시 null → 빈 목록을 반환하고 캐시하지 않음)
+     * @return 좋아요 목록 스냅샷
+     */
+    public Snapshot get(String email, Supplier<List<String>> loader) {
+        Object ticket = new Object();
+        synchronized (this) {
+            Snapshot cached = entries.get(email);
+            if (cached != null) {
+                if (!isExpired(cached, System.currentTimeMillis())) {
+                    hits++;
+                    cached.lastAccessAt = System.currentTimeMillis();
+                    return cached;
+                }
+                removeEntry(email);
+                expirations++;
+            }
+            misses++;
+            loading.computeIfAbsent(email, k -> new IdentityHashMap<>()).put(ticket, Boolean.FALSE);
+        }
+
+        Snapshot loaded = null;
+        try {
+            List<String> ids = loader.get();
+            if (ids == null) {
+                return new Snapshot(Collections.emptyList());
+            }
+            loaded = new Snapshot(ids);
+            return loaded;
+        } finally {
+            synchronized (this) {
+                Map<Object, Boolean> tickets = loading.get(email);
+                boolean dirty = tickets == null || Boolean.TRUE.equals(tickets.remove(ticket));
+                if (tickets != null && tickets.isEmpty()) {
+                    loading.remove(email);
+                }
+                // 조회 도중 쓰기가 있었거나 다른 요청이 먼저 저장한 경우에는 저장하지 않음
+                if (loaded != null && !dirty && !entries.containsKey(email)) {
+                    putEntry(email, loaded);
+                }
+            }
+        }
+    }
+
+    /**
+     * 캐시에 있는 경우에만 스냅샷을 반환합니다. (DB 조회 없음, 없으면 미스로 집계하지 않음)
+     *
+     * @param email 사용자 이메일
+     * @return 캐시된 스냅샷 또는 null
+     */
+    public synchronized Snapshot peek(String email) {
+        Snapshot cached = entries.get(email);
+        if (cached == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (isExpired(cached, now)) {
+            removeEntry(email);
+            expirations++;
+            return null;
+        }
+        hits++;
+        cached.lastAccessAt = now;
+        return cached;
+    }
+
+    /**
+     * 좋아요 추가/취소 성공 후 캐시 항목을 직접 갱신합니다.
+     * 캐시에 없는 사용자는 갱신하지 않으며, 조회 중인 요청이 있으면 그 결과를 캐시하지 않도록 표시합니다.
+     *
+     * @param email 사용자 이메일
+     * @param playlistId 플레이리스트 ID
+     * @param liked true면 추가(목록 맨 앞으로 이동), false면 제거
+     */
+    public synchronized void apply(String email, String playlistId, boolean liked) {
+        Map<Object, Boolean> tickets = loading.get(email);
+        if (tickets != null) {
+            tickets.replaceAll((k, v) -> Boolean.TRUE);
+        }
+
+        Snapshot current = entries.get(email);
+        if (current == null) {
+            return;
+        }
+
+        List<String> ids = new ArrayList<>(current.ids.size() + 1);
+        if (liked) {
+            ids.add(playlistId);
+        }
+        for (String id : current.ids) {
+            if (!id.equals(playlistId)) {
+                ids.add(id);
+            }
+        }
+        removeEntry(email);
+        putEntry(email, new Snapshot(ids));
+    }
+
+    /**
+     * 사용자 항목을 캐시에서 제거합니다.
+     */
+    public synchronized void invalidate(String email) {
+        Map<Object, Boolean> tickets = loading.get(email);
+        if (tickets != null) {
+            tickets.replaceAll((k, v) -> Boolean.TRUE);
+        }
+        removeEntry(email);
+    }
+
+    private boolean isExpired(Snapshot snapshot, long now) {
+        return now - snapshot.lastAccessAt > ttlMs;
+    }
+
+    private void putEntry(String email, Snapshot snapshot) {
+        snapshot.lastAccessAt = System.currentTimeMillis();
+        entries.put(email, snapshot);
+        estimatedBytes += estimateBytes(email, snapshot);
+        evictIfNeeded(snapshot.lastAccessAt);
+    }
+
+    private void removeEntry(String email) {
+        Snapshot removed = entries.remove(email);
+        if (removed != null) {
+            estimatedBytes -= estimateBytes(email, removed);
+        }
+    }
+
+    /**
+     * 오래된 항목부터 확인하여 만료된 항목과 최대 크기를 넘는 항목을 제거합니다.
+     */
+    private void evictIfNeeded(long now) {
+        Iterator<Map.Entry<String, Snapshot>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Snapshot> eldest = it.next();
+            boolean expired = isExpired(eldest.getValue(), now);
+            if (!expired && entries.size() <= maxUsers) {
+                break;
+            }
+            it.remove();
+            estimatedBytes -= estimateBytes(eldest.getKey(), eldest.getValue());
+            if (expired) {
+                expirations++;
+            } else {
+                evictions++;
+            }
+        }
+    }
+
+    private static long estimateBytes(String email, Snapshot snapshot) {
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * email.length() + 2L * snapshot.json.length();
+        for (String id : snapshot.ids) {
+            bytes += ID_OVERHEAD_BYTES + 2L * id.length();
+        }
+        return bytes;
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getExpirations() { return expirations; }
+
+    /**
+     * 캐시 적중률 (0.0 ~ 1.0)
+     */
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * 캐시 항목이 차지하는 대략적인 메모리 사용량 (바이트)
+     */
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "size=" + entries.size() + ", hits=" + hits + ", misses=" + misses
+                + ", evictions=" + evictions + ", expirations=" + expirations
+                + ", estimatedBytes=" + estimatedBytes;
+    }
+
+    /**
+     * 사용자 한 명의 좋아요 목록 (변경 불가)
+     * 목록과 JSON 문자열을 함께 보관하여 요청마다 직렬화하지 않도록 합니다.
+     */
+    public static class Snapshot {
+        // 스냅샷 버전 발급용 (재시작 전에 발급한 값과 겹치지 않도록 시작 시각에서 출발)
+        private static final AtomicLong VERSIONS = new AtomicLong(System.currentTimeMillis() << 20);
+
+        private final List<String> ids;
+        private final String json;
+        private final long version = VERSIONS.incrementAndGet();
+        private volatile long lastAccessAt;
+
+        Snapshot(List<String> ids) {
+            this.ids = Collections.unmodifiableList(new ArrayList<>(ids));
+            this.json = ids.isEmpty() ? "[]" : new JSONArray(this.ids).toString();
+        }
+
+        /**
+         * 스냅샷 버전 (좋아요 추가/취소, 캐시 재적재마다 새 값 - 응답 ETag 계산용)
+         * 같은 버전이면 좋아요 목록과 좋아요 시각이 같음을 보장합니다.
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * 좋아요한 플레이리스트 ID 목록 (최신순, 변경 불가)
+         */
+        public List<String> getIds() {
+            return ids;
+        }
+
+        /**
+         * 좋아요한 플레이리스트 ID 목록의 JSON 배열 문자열
+         */
+        public String getJson() {
+            return json;
+        }
+    }
+}
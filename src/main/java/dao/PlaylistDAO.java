@@ -2,11 +2,18 @@ package dao;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.sql.DataSource;
 
 import dto.PlaylistDTO;
+import utils.AppConfig;
 import utils.ErrorLogger;
 
 /**
@@ -14,8 +21,19 @@ import utils.ErrorLogger;
  * 플레이리스트 좋아요 기능을 위한 데이터 처리를 담당합니다.
  */
 public class PlaylistDAO implements PlaylistDAOInterface {
+    // 일괄 조회 시 IN 목록 하나에 넣을 최대 ID 수
+    private static final int MAX_IN_LIST = 500;
+    // 좋아요 목록 페이지 조회용 복합 인덱스 (email, liked_at, playlist_id)
+    private static final String LIKED_AT_INDEX = "idx_liked_playlists_email_liked_at";
+    
     // 데이터소스 (커넥션 풀)
     private final DataSource dataSource;
+    // 좋아요 쓰기 지연 큐 (musicmood.likes.writeBehind.enabled=true인 경우에만 사용, 아니면 null)
+    private final LikeWriteBehindQueue writeBehindQueue;
+    // 샤딩된 좋아요 수 카운터 (musicmood.likes.counter.enabled=true인 경우에만 사용, 아니면 null)
+    private final PlaylistLikeCounterStore likeCounters;
+    // 사용자별 좋아요 목록 캐시 (musicmood.likes.cache.enabled=false인 경우 null)
+    private final LikedPlaylistCache likedCache;
     
     /**
      * 생성자를 통한 DataSource 주입
@@ -25,18 +43,82 @@ public class PlaylistDAO implements PlaylistDAOInterface {
      */
     public PlaylistDAO(DataSource dataSource) {
         this.dataSource = dataSource;
-        testConnection(); // 초기화 시 연결 테스트
+        this.likeCounters = AppConfig.getBoolean("musicmood.likes.counter.enabled", false)
+                ? new PlaylistLikeCounterStore(dataSource)
+                : null;
+        this.writeBehindQueue = AppConfig.getBoolean("musicmood.likes.writeBehind.enabled", false)
+                ? new LikeWriteBehindQueue(dataSource, likeCounters)
+                : null;
+        this.likedCache = AppConfig.getBoolean("musicmood.likes.cache.enabled", true)
+                ? new LikedPlaylistCache()
+                : null;
     }
     
     /**
-     * 데이터베이스 연결을 테스트하는 메서드
+     * 스키마 준비 (좋아요 목록 인덱스 생성, 좋아요 카운터 테이블 초기화 및 백필 시작)
+     * 생성자에서는 DB에 접근하지 않고, ContextLoaderListener의 시작 점검 단계에서 다른 점검과 병렬로 호출됩니다.
      */
-    private void testConnection() {
-        try (Connection conn = dataSource.getConnection()) {
-            System.out.println("[PlaylistDAO] 데이터베이스 연결 테스트 성공");
+    public void initializeSchema() {
+        ensureLikedAtIndex();
+        
+        if (likeCounters != null) {
+            likeCounters.initialize();
+            likeCounters.startBackfill();
+        }
+    }
+    
+    /**
+     * DAO 종료 처리
+     * 쓰기 지연 모드인 경우 아직 기록되지 않은 좋아요 이벤트를 모두 기록합니다.
+     * ContextLoaderListener의 contextDestroyed에서 호출됩니다.
+     */
+    public void shutdown() {
+        if (likeCounters != null) {
+            likeCounters.shutdown();
+        }
+        if (writeBehindQueue != null) {
+            writeBehindQueue.shutdown();
+        }
+    }
+    
+    /**
+     * 좋아요 쓰기 지연 큐 반환 (사용하지 않는 경우 null)
+     */
+    public LikeWriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+    
+    /**
+     * 사용자별 좋아요 목록 캐시 반환 (사용하지 않는 경우 null)
+     */
+    public LikedPlaylistCache getLikedPlaylistCache() {
+        return likedCache;
+    }
+    
+    /**
+     * 좋아요 목록 페이지 조회(키셋 페이지네이션)에 필요한 복합 인덱스가 없으면 생성합니다.
+     * (email, liked_at, playlist_id) 순서로, 최신순 정렬을 인덱스 역방향 스캔으로 처리합니다.
+     */
+    private void ensureLikedAtIndex() {
+        String checkSql = "SELECT COUNT(*) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'liked_playlists' AND index_name = ?";
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(checkSql)) {
+            pstmt.setString(1, LIKED_AT_INDEX);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+            
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("CREATE INDEX " + LIKED_AT_INDEX + " ON liked_playlists (email, liked_at, playlist_id)");
+            }
+            System.out.println("[PlaylistDAO] 좋아요 목록 인덱스 생성 완료: " + LIKED_AT_INDEX);
         } catch (Exception e) {
-            System.err.println("[PlaylistDAO] 데이터베이스 연결 테스트 실패: " + e.getMessage());
-            ErrorLogger.logError("PlaylistDAO 데이터베이스 연결 테스트 실패", e);
+            System.err.println("[PlaylistDAO] 좋아요 목록 인덱스 생성 실패: " + e.getMessage());
+            ErrorLogger.logError("좋아요 목록 인덱스 생성 실패", e);
         }
     }
     
@@ -61,8 +143,18 @@ public class PlaylistDAO implements PlaylistDAOInterface {
      */
     @Override
     public boolean addLikeToPlaylist(String email, String playlistId) {
-        // REPLACE INTO 사용: 이미 레코드가 있으면 업데이트, 없으면 삽입
-        String sql = "REPLACE INTO liked_playlists (email, playlist_id, liked_at) VALUES (?, ?, NOW())";
+        // 쓰기 지연 모드: 큐에 넣고 바로 반환 (배치로 기록됨, 큐가 가득 차 거부되면 실패)
+        if (writeBehindQueue != null) {
+            if (!writeBehindQueue.enqueue(email, playlistId, true)) {
+                return false; // 대기열이 가득 차고 DB 기록도 실패 - 변경하지 않음
+            }
+            updateLikedCache(email, playlistId, true);
+            return true;
+        }
+        
+        // INSERT IGNORE: 없으면 삽입 (영향받은 행 1), 이미 있으면 무시 (0) 후 좋아요 시각만 갱신
+        // 잠금 조회(SELECT ... FOR UPDATE)를 쓰지 않으므로 같은 좋아요가 동시에 들어와도 갭 잠금 교착이 생기지 않음
+        String sql = "INSERT IGNORE INTO liked_playlists (email, playlist_id, liked_at) VALUES (?, ?, NOW())";
         
         System.out.println("[PlaylistDAO] 플레이리스트 좋아요 추가 시도 (email: " + email + ", playlistId: " + playlistId + ")");
         
@@ -81,14 +173,25 @@ public class PlaylistDAO implements PlaylistDAOInterface {
                 System.out.println("[PlaylistDAO] 실행할 SQL: " + realSql);
                 
                 // 실제 SQL 실행
-                int result = pstmt.executeUpdate();
+                int inserted = pstmt.executeUpdate();
+                // 이미 좋아요한 경우 시각만 갱신 (외래키 위반으로 무시된 경우에는 갱신할 행이 없음)
+                int result = inserted > 0 ? inserted : touchLikeRow(conn, email, playlistId);
                 
                 // 결과 로깅
-                System.out.println("[PlaylistDAO] 플레이리스트 좋아요 추가 결과: " + result + "행 영향받음");
+                System.out.println("[PlaylistDAO] 플레이리스트 좋아요 추가 결과: " + result + "행 영향받음"
+                        + (inserted > 0 ? " (새 좋아요)" : ""));
+                
+                // 카운터 사용 시: 실제로 새 행이 삽입된 경우에만 증가
+                if (likeCounters != null && inserted > 0) {
+                    likeCounters.increment(conn, playlistId, inserted);
+                }
                 
                 // 트랜잭션 커밋
                 conn.commit();
                 
+                if (result > 0) {
+                    updateLikedCache(email, playlistId, true);
+                }
                 return result > 0;
             } catch (SQLException e) {
                 // 트랜잭션 롤백
@@ -126,10 +229,23 @@ public class PlaylistDAO implements PlaylistDAOInterface {
      */
     @Override
     public boolean removeLikeFromPlaylist(String email, String playlistId) {
+        // 쓰기 지연 모드: 큐에 넣고 바로 반환 (배치로 기록됨, 큐가 가득 차 거부되면 실패)
+        if (writeBehindQueue != null) {
+            if (!writeBehindQueue.enqueue(email, playlistId, false)) {
+                return false; // 대기열이 가득 차고 DB 기록도 실패 - 변경하지 않음
+            }
+            updateLikedCache(email, playlistId, false);
+            return true;
+        }
+        
         String sql = "DELETE FROM liked_playlists WHERE email = ? AND playlist_id = ?";
         
         System.out.println("[PlaylistDAO] 플레이리스트 좋아요 제거 시도 (email: " + email + ", playlistId: " + playlistId + ")");
         
+        if (likeCounters != null) {
+            return removeLikeWithCounter(sql, email, playlistId);
+        }
+        
         try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
@@ -138,6 +254,9 @@ public class PlaylistDAO implements PlaylistDAOInterface {
             
             int result = pstmt.executeUpdate();
             System.out.println("[PlaylistDAO] 플레이리스트 좋아요 제거 결과: " + result + "행 영향받음");
+            if (result > 0) {
+                updateLikedCache(email, playlistId, false);
+            }
             return result > 0;
             
         } catch (Exception e) {
@@ -147,6 +266,63 @@ public class PlaylistDAO implements PlaylistDAOInterface {
         }
     }
     
+    /**
+     * 좋아요 제거와 카운터 감소를 하나의 트랜잭션으로 처리
+     * 실제로 행이 삭제된 경우에만 카운터를 감소시킵니다.
+     */
+    private boolean removeLikeWithCounter(String sql, String email, String playlistId) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, email);
+                pstmt.setString(2, playlistId);
+                
+                int result = pstmt.executeUpdate();
+                if (result > 0) {
+                    likeCounters.increment(conn, playlistId, -result);
+                }
+                conn.commit();
+                
+                System.out.println("[PlaylistDAO] 플레이리스트 좋아요 제거 결과: " + result + "행 영향받음");
+                if (result > 0) {
+                    updateLikedCache(email, playlistId, false);
+                }
+                return result > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            System.err.println("[PlaylistDAO] 플레이리스트 좋아요 제거 중 오류: " + e.getMessage());
+            ErrorLogger.logError("플레이리스트 좋아요 제거 중 오류 발생 (email: " + email + ", playlistId: " + playlistId + ")", e);
+            return false;
+        }
+    }
+    
+    /**
+     * 좋아요 변경 성공 후 캐시 항목을 DB 재조회 없이 갱신
+     */
+    private void updateLikedCache(String email, String playlistId, boolean liked) {
+        if (likedCache != null) {
+            likedCache.apply(email, playlistId, liked);
+        }
+    }
+    
+    /**
+     * 이미 있는 좋아요 행의 시각을 갱신합니다. (다시 좋아요한 항목이 최신순 목록의 맨 앞에 오도록)
+     * 
+     * @return 일치한 행 수 (행이 없으면 0)
+     */
+    private int touchLikeRow(Connection conn, String email, String playlistId) throws SQLException {
+        String sql = "UPDATE liked_playlists SET liked_at = NOW() WHERE email = ? AND playlist_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, email);
+            pstmt.setString(2, playlistId);
+            return pstmt.executeUpdate();
+        }
+    }
+    
     /**
      * 사용자가 플레이리스트에 좋아요를 눌렀는지 확인
      * 
@@ -156,6 +332,14 @@ public class PlaylistDAO implements PlaylistDAOInterface {
      */
     @Override
     public boolean hasUserLikedPlaylist(String email, String playlistId) {
+        // 아직 기록되지 않은 이벤트가 있으면 그 상태를 우선 반환
+        if (writeBehindQueue != null) {
+            Boolean pendingState = writeBehindQueue.pendingStateFor(email, playlistId);
+            if (pendingState != null) {
+                return pendingState;
+            }
+        }
+        
         String sql = "SELECT COUNT(*) FROM liked_playlists WHERE email = ? AND playlist_id = ?";
         
         System.out.println("[PlaylistDAO] 플레이리스트 좋아요 확인 (email: " + email + ", playlistId: " + playlistId + ")");
@@ -190,11 +374,39 @@ public class PlaylistDAO implements PlaylistDAOInterface {
      */
     @Override
     public List<String> getLikedPlaylistIds(String email) {
+        return getLikedPlaylists(email).getIds();
+    }
+    
+    /**
+     * 사용자가 좋아요한 플레이리스트 목록 조회 (ID 목록 + JSON 배열 문자열)
+     * 캐시를 사용하는 경우 캐시된 스냅샷을 반환하고, 없으면 DB에서 조회하여 캐시에 저장합니다.
+     * 
+     * @param email 사용자 이메일
+     * @return 좋아요 목록 스냅샷 (변경 불가)
+     */
+    public LikedPlaylistCache.Snapshot getLikedPlaylists(String email) {
+        if (likedCache != null) {
+            return likedCache.get(email, () -> loadLikedPlaylistIds(email));
+        }
+        List<String> playlistIds = loadLikedPlaylistIds(email);
+        return new LikedPlaylistCache.Snapshot(playlistIds != null ? playlistIds : new ArrayList<>());
+    }
+    
+    /**
+     * DB에서 사용자가 좋아요한 플레이리스트 ID 목록 조회
+     * 
+     * @param email 사용자 이메일
+     * @return 좋아요한 플레이리스트 ID 목록 (조회 실패 시 null)
+     */
+    private List<String> loadLikedPlaylistIds(String email) {
         List<String> playlistIds = new ArrayList<>();
         String sql = "SELECT playlist_id FROM liked_playlists WHERE email = ? ORDER BY liked_at DESC";
         
         System.out.println("[PlaylistDAO] 사용자가 좋아요한 플레이리스트 ID 목록 조회 (email: " + email + ")");
         
+        // 쓰기 지연 모드: DB 조회 전에 기록 대기 상태를 먼저 읽어 둠 (조회 중 커밋되어도 누락 방지)
+        Map<String, Boolean> pendingState = writeBehindQueue != null ? writeBehindQueue.pendingStateFor(email) : null;
+        
         try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
              
@@ -217,13 +429,104 @@ public class PlaylistDAO implements PlaylistDAOInterface {
         } catch (Exception e) {
             System.err.println("[PlaylistDAO] 좋아요한 플레이리스트 ID 목록 조회 중 오류: " + e.getMessage());
             ErrorLogger.logError("좋아요한 플레이리스트 ID 목록 조회 중 오류 발생 (email: " + email + ")", e);
+            return null;
         }
         
+        if (pendingState != null) {
+            return LikeWriteBehindQueue.applyPending(playlistIds, pendingState);
+        }
         return playlistIds;
     }
     
+    /**
+     * 사용자가 좋아요한 플레이리스트를 최신순으로 한 페이지씩 조회 (키셋 페이지네이션)
+     * 이전 페이지의 마지막 항목 (liked_at, playlist_id)을 커서로 받아 그 다음 항목부터 조회하므로
+     * OFFSET 없이 복합 인덱스 범위 스캔으로 처리됩니다.
+     * 
+     * 쓰기 지연 모드에서는 기록 대기 중인 이벤트를 반영합니다.
+     * (대기 중인 추가는 첫 페이지 맨 앞에 표시되고, 대기 중인 항목은 DB 결과에서 제외)
+     * 
+     * @param email 사용자 이메일
+     * @param afterLikedAt 커서 - 이전 페이지 마지막 항목의 좋아요 시간 (첫 페이지는 null)
+     * @param afterPlaylistId 커서 - 이전 페이지 마지막 항목의 플레이리스트 ID (첫 페이지는 null)
+     * @param pageSize 페이지 크기
+     * @return 좋아요 목록 한 페이지와 다음 페이지 커서
+     */
+    public LikedPage getLikedPlaylistPage(String email, Timestamp afterLikedAt, String afterPlaylistId, int pageSize) {
+        boolean firstPage = afterLikedAt == null || afterPlaylistId == null;
+        String sql = firstPage
+                ? "SELECT playlist_id, liked_at FROM liked_playlists WHERE email = ? "
+                  + "ORDER BY liked_at DESC, playlist_id DESC LIMIT ?"
+                : "SELECT playlist_id, liked_at FROM liked_playlists WHERE email = ? AND (liked_at, playlist_id) < (?, ?) "
+                  + "ORDER BY liked_at DESC, playlist_id DESC LIMIT ?";
+        
+        System.out.println("[PlaylistDAO] 좋아요 플레이리스트 페이지 조회 (email: " + email + ", 커서: "
+                + (firstPage ? "처음" : afterLikedAt + "/" + afterPlaylistId) + ", 크기: " + pageSize + ")");
+        
+        Map<String, Boolean> pendingState = writeBehindQueue != null ? writeBehindQueue.pendingStateFor(email) : null;
+        
+        LikedPage page = new LikedPage();
+        if (firstPage && pendingState != null) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (Map.Entry<String, Boolean> e : pendingState.entrySet()) {
+                if (e.getValue()) {
+                    page.items.add(0, PlaylistDTO.builder().email(email).playlistId(e.getKey()).likedAt(now).build());
+                }
+            }
+        }
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int idx = 1;
+            pstmt.setString(idx++, email);
+            if (!firstPage) {
+                pstmt.setTimestamp(idx++, afterLikedAt);
+                pstmt.setString(idx++, afterPlaylistId);
+            }
+            // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+            pstmt.setInt(idx, pageSize + 1);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int rows = 0;
+                String lastPlaylistId = null;
+                Timestamp lastLikedAt = null;
+                while (rs.next()) {
+                    if (++rows > pageSize) {
+                        // 다음 페이지가 있음 - 이번 페이지의 마지막 DB 행을 커서로 사용
+                        page.nextLikedAt = lastLikedAt;
+                        page.nextPlaylistId = lastPlaylistId;
+                        break;
+                    }
+                    lastPlaylistId = rs.getString("playlist_id");
+                    lastLikedAt = rs.getTimestamp("liked_at");
+                    // 기록 대기 중인 항목은 대기 상태 기준으로 표시 (추가는 첫 페이지에 이미 포함)
+                    if (pendingState != null && pendingState.containsKey(lastPlaylistId)) {
+                        continue;
+                    }
+                    page.items.add(PlaylistDTO.builder()
+                            .email(email)
+                            .playlistId(lastPlaylistId)
+                            .likedAt(lastLikedAt)
+                            .build());
+                }
+            }
+            
+            System.out.println("[PlaylistDAO] 좋아요 플레이리스트 페이지 조회 결과: " + page.items.size() + "개"
+                    + (page.hasNext() ? " (다음 페이지 있음)" : ""));
+            
+        } catch (Exception e) {
+            System.err.println("[PlaylistDAO] 좋아요 플레이리스트 페이지 조회 중 오류: " + e.getMessage());
+            ErrorLogger.logError("좋아요 플레이리스트 페이지 조회 중 오류 발생 (email: " + email + ")", e);
+        }
+        
+        return page;
+    }
+    
     /**
      * 플레이리스트 좋아요 수 조회
+     * 쓰기 지연 모드에서는 아직 기록되지 않은 이벤트가 반영되지 않을 수 있습니다. (최대 flushIntervalMs 지연)
+     * 카운터 사용 시 백필이 끝난 플레이리스트는 샤드 합계로, 그 외에는 COUNT(*)로 조회합니다.
      * 
      * @param playlistId 플레이리스트 ID
      * @return 좋아요 수
@@ -234,6 +537,19 @@ public class PlaylistDAO implements PlaylistDAOInterface {
         
         System.out.println("[PlaylistDAO] 플레이리스트 좋아요 수 조회 (playlistId: " + playlistId + ")");
         
+        if (likeCounters != null) {
+            try {
+                Integer count = likeCounters.getCount(playlistId);
+                if (count != null) {
+                    System.out.println("[PlaylistDAO] 플레이리스트 좋아요 수 (카운터): " + count);
+                    return count;
+                }
+            } catch (SQLException e) {
+                // 카운터 조회 실패 시 COUNT(*)로 대체
+                System.err.println("[PlaylistDAO] 좋아요 카운터 조회 실패, COUNT(*)로 대체: " + e.getMessage());
+            }
+        }
+        
         try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
              
@@ -254,4 +570,172 @@ public class PlaylistDAO implements PlaylistDAOInterface {
         
         return 0;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 여러 플레이리스트의 좋아요 수를 한 번에 조회
+     * 카운터 사용 시 백필이 끝난 플레이리스트는 샤드 합계로, 나머지는 GROUP BY COUNT(*)로 조회합니다.
+     * 
+     * @param playlistIds 플레이리스트 ID 목록
+     * @return 플레이리스트 ID → 좋아요 수 (요청 순서 유지, 요청한 모든 ID 포함)
+     */
+    @Override
+    public Map<String, Integer> getLikeCounts(Collection<String> playlistIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(playlistIds));
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String id : ids) {
+            counts.put(id, 0);
+        }
+        if (ids.isEmpty()) {
+            return counts;
+        }
+        
+        System.out.println("[PlaylistDAO] 플레이리스트 좋아요 수 일괄 조회 (" + ids.size() + "개)");
+        
+        List<String> remaining = ids;
+        if (likeCounters != null) {
+            remaining = new ArrayList<>();
+            try {
+                for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+                    List<String> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_LIST));
+                    Map<String, Integer> counted = likeCounters.getCounts(chunk);
+                    for (String id : chunk) {
+                        Integer count = counted.get(id);
+                        if (count != null) {
+                            counts.put(id, count);
+                        } else {
+                            remaining.add(id);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                // 카운터 조회 실패 시 전체를 COUNT(*)로 대체
+                System.err.println("[PlaylistDAO] 좋아요 카운터 일괄 조회 실패, COUNT(*)로 대체: " + e.getMessage());
+                remaining = ids;
+            }
+        }
+        if (remaining.isEmpty()) {
+            return counts;
+        }
+        
+        try (Connection conn = dataSource.getConnection()) {
+            for (int from = 0; from < remaining.size(); from += MAX_IN_LIST) {
+                List<String> chunk = remaining.subList(from, Math.min(remaining.size(), from + MAX_IN_LIST));
+                String sql = "SELECT playlist_id, COUNT(*) FROM liked_playlists WHERE playlist_id IN ("
+                        + PlaylistLikeCounterStore.inPlaceholders(chunk.size()) + ") GROUP BY playlist_id";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    int idx = 1;
+                    for (String id : chunk) {
+                        pstmt.setString(idx++, id);
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            counts.put(rs.getString(1), rs.getInt(2));
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("[PlaylistDAO] 플레이리스트 좋아요 수 일괄 조회 중 오류: " + e.getMessage());
+            ErrorLogger.logError("플레이리스트 좋아요 수 일괄 조회 중 오류 발생 (" + ids.size() + "개)", e);
+        }
+        
+        return counts;
+    }
+    
+    /**
+     * 주어진 플레이리스트 중 사용자가 좋아요한 플레이리스트만 조회
+     * 캐시에 사용자 항목이 있으면 DB를 조회하지 않습니다.
+     * 
+     * @param email 사용자 이메일
+     * @param playlistIds 플레이리스트 ID 목록
+     * @return 좋아요한 플레이리스트 ID 집합
+     */
+    @Override
+    public Set<String> getLikedSubset(String email, Collection<String> playlistIds) {
+        Set<String> liked = new HashSet<>();
+        if (email == null || playlistIds.isEmpty()) {
+            return liked;
+        }
+        
+        LikedPlaylistCache.Snapshot cached = likedCache != null ? likedCache.peek(email) : null;
+        if (cached != null) {
+            Set<String> likedIds = new HashSet<>(cached.getIds());
+            for (String id : playlistIds) {
+                if (likedIds.contains(id)) {
+                    liked.add(id);
+                }
+            }
+            return liked;
+        }
+        
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(playlistIds));
+        System.out.println("[PlaylistDAO] 플레이리스트 좋아요 여부 일괄 조회 (email: " + email + ", " + ids.size() + "개)");
+        
+        // 쓰기 지연 모드: DB 조회 전에 기록 대기 상태를 먼저 읽어 둠
+        Map<String, Boolean> pendingState = writeBehindQueue != null ? writeBehindQueue.pendingStateFor(email) : null;
+        
+        try (Connection conn = dataSource.getConnection()) {
+            for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+                List<String> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_LIST));
+                String sql = "SELECT playlist_id FROM liked_playlists WHERE email = ? AND playlist_id IN ("
+                        + PlaylistLikeCounterStore.inPlaceholders(chunk.size()) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, email);
+                    int idx = 2;
+                    for (String id : chunk) {
+                        pstmt.setString(idx++, id);
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            liked.add(rs.getString(1));
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("[PlaylistDAO] 플레이리스트 좋아요 여부 일괄 조회 중 오류: " + e.getMessage());
+            ErrorLogger.logError("플레이리스트 좋아요 여부 일괄 조회 중 오류 발생 (email: " + email + ")", e);
+        }
+        
+        if (pendingState != null) {
+            Set<String> requested = new HashSet<>(ids);
+            for (Map.Entry<String, Boolean> e : pendingState.entrySet()) {
+                if (!requested.contains(e.getKey())) {
+                    continue;
+                }
+                if (e.getValue()) {
+                    liked.add(e.getKey());
+                } else {
+                    liked.remove(e.getKey());
+                }
+            }
+        }
+        return liked;
+    }
+    
+    /**
+     * 좋아요 목록 페이지 조회 결과
+     * 다음 페이지가 있으면 커서 (nextLikedAt, nextPlaylistId)를 함께 반환합니다.
+     */
+    public static class LikedPage {
+        private final List<PlaylistDTO> items = new ArrayList<>();
+        private Timestamp nextLikedAt;
+        private String nextPlaylistId;
+        
+        public List<PlaylistDTO> getItems() {
+            return items;
+        }
+        
+        public boolean hasNext() {
+            return nextPlaylistId != null;
+        }
+        
+        public Timestamp getNextLikedAt() {
+            return nextLikedAt;
+        }
+        
+        public String getNextPlaylistId() {
+            return nextPlaylistId;
+        }
+    }
+}
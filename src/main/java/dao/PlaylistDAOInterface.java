@@ -1,6 +1,9 @@
 package dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.sql.DataSource;
 
 import dto.PlaylistDTO;
@@ -61,4 +64,21 @@ public interface PlaylistDAOInterface {
      * @return 좋아요 수
      */
     int getPlaylistLikeCount(String playlistId);
+    
+    /**
+     * 여러 플레이리스트의 좋아요 수를 한 번에 조회
+     * 
+     * @param playlistIds 플레이리스트 ID 목록
+     * @return 플레이리스트 ID → 좋아요 수 (요청한 모든 ID 포함)
+     */
+    Map<String, Integer> getLikeCounts(Collection<String> playlistIds);
+    
+    /**
+     * 주어진 플레이리스트 중 사용자가 좋아요한 플레이리스트만 조회
+     * 
+     * @param email 사용자 이메일
+     * @param playlistIds 플레이리스트 ID 목록
+     * @return 좋아요한 플레이리스트 ID 집합
+     */
+    Set<String> getLikedSubset(String email, Collection<String> playlistIds);
 } 
\ No newline at end of file
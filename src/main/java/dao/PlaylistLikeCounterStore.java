@@ -0,0 +1,402 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.sql.DataSource;
+
+import utils.AppConfig;
+import utils.ErrorLogger;
+
+/**
+ * 플레이리스트 좋아요 수 카운터 저장소
+ * liked_playlists 전체 행을 COUNT(*) 하는 대신, 플레이리스트마다 N개의 분산(shard) 카운터 행을 유지하고
+ * 조회 시 합산합니다. 카운터는 좋아요 추가/취소와 같은 트랜잭션에서 갱신되며,
+ * 인기 플레이리스트에 좋아요가 몰려도 shard별로 행 잠금이 나뉘어 경합이 줄어듭니다.
+ *
+ * 테이블 (없으면 시작 시 자동 생성):
+ * <pre>
+ * CREATE TABLE playlist_like_counters (
+ *     playlist_id VARCHAR(100) NOT NULL,
+ *     shard       TINYINT      NOT NULL,
+ *     like_count  INT          NOT NULL DEFAULT 0,
+ *     PRIMARY KEY (playlist_id, shard)
+ * );
+ * CREATE TABLE playlist_like_counter_ready (
+ *     playlist_id   VARCHAR(100) NOT NULL PRIMARY KEY,
+ *     backfilled_at DATETIME     NOT NULL
+ * );
+ * </pre>
+ *
+ * 기존 데이터는 백그라운드 백필 작업이 플레이리스트 단위로 카운터를 생성합니다.
+ * 백필이 끝나지 않은 플레이리스트는 기존 COUNT(*) 조회를 사용합니다.
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.likes.counter.enabled : 사용 여부 (기본값 false)
+ * - musicmood.likes.counter.shards : 플레이리스트당 카운터 행 수 (기본값 8)
+ */
+public class PlaylistLikeCounterStore {
+
+    // 전체 백필 완료 표시용 ready 테이블 키
+    private static final String BACKFILL_COMPLETE_MARKER = "*";
+    // 백필 작업의 플레이리스트 조회 단위
+    private static final int BACKFILL_PAGE_SIZE = 200;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO playlist_like_counters (playlist_id, shard, like_count) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE like_count = like_count + VALUES(like_count)";
+    private static final String SUM_SQL =
+            "SELECT COALESCE(SUM(like_count), 0) FROM playlist_like_counters WHERE playlist_id = ?";
+    private static final String READY_AND_SUM_SQL =
+            "SELECT (SELECT COUNT(*) FROM playlist_like_counter_ready WHERE playlist_id = ?), "
+            + "(SELECT COALESCE(SUM(like_count), 0) FROM playlist_like_counters WHERE playlist_id = ?)";
+
+    private final DataSource dataSource;
+    private final int shards;
+    private volatile boolean backfillComplete = false;
+    private volatile boolean stopRequested = false;
+    private Thread backfillThread;
+
+    public PlaylistLikeCounterStore(DataSource dataSource) {
+        this(dataSource, AppConfig.getInt("musicmood.likes.counter.shards", 8));
+    }
+
+    public PlaylistLikeCounterStore(DataSource dataSource, int shards) {
+        this.dataSource = dataSource;
+        this.shards = Math.max(1, Math.min(shards, 100));
+    }
+
+    /**
+     * 카운터 테이블이 없으면 생성하고, 이전에 백필이 끝났는지 확인합니다.
+     */
+    public void initialize() {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS playlist_like_counters ("
+                    + "playlist_id VARCHAR(100) NOT NULL, shard TINYINT NOT NULL, like_count INT NOT NULL DEFAULT 0, "
+                    + "PRIMARY KEY (playlist_id, shard))");
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS playlist_like_counter_ready ("
+                    + "playlist_id VARCHAR(100) NOT NULL PRIMARY KEY, backfilled_at DATETIME NOT NULL)");
+            backfillComplete = isReady(conn, BACKFILL_COMPLETE_MARKER);
+            System.out.println("[PlaylistLikeCounterStore] 카운터 저장소 초기화 완료 (shard: " + shards
+                    + ", 백필 완료: " + backfillComplete + ")");
+        } catch (SQLException e) {
+            System.err.println("[PlaylistLikeCounterStore] 카운터 테이블 초기화 실패: " + e.getMessage());
+            ErrorLogger.logError("좋아요 카운터 테이블 초기화 실패", e);
+        }
+    }
+
+    /**
+     * 좋아요 수 증감 - 호출자의 트랜잭션 안에서 임의의 shard 하나를 갱신합니다.
+     *
+     * @param conn 좋아요 추가/취소와 같은 트랜잭션의 커넥션
+     * @param playlistId 플레이리스트 ID
+     * @param delta 증감값 (+1 또는 -1)
+     * @throws SQLException 갱신 실패 시 (호출자가 롤백)
+     */
+    public void increment(Connection conn, String playlistId, int delta) throws SQLException {
+        if (delta == 0) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+            pstmt.setString(1, playlistId);
+            pstmt.setInt(2, ThreadLocalRandom.current().nextInt(shards));
+            pstmt.setInt(3, delta);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * 여러 플레이리스트의 좋아요 수를 한 번에 증감합니다. (배치 기록용)
+     *
+     * @param conn 배치와 같은 트랜잭션의 커넥션
+     * @param deltas 플레이리스트 ID → 증감값
+     * @throws SQLException 갱신 실패 시
+     */
+    public void applyDeltas(Connection conn, Map<String, Integer> deltas) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_SQL)) {
+            boolean hasBatch = false;
+            for (Map.Entry<String, Integer> e : deltas.entrySet()) {
+                if (e.getValue() == 0) {
+                    continue;
+                }
+                pstmt.setString(1, e.getKey());
+                pstmt.setInt(2, ThreadLocalRandom.current().nextInt(shards));
+                pstmt.setInt(3, e.getValue());
+                pstmt.addBatch();
+                hasBatch = true;
+            }
+            if (hasBatch) {
+                pstmt.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * 카운터에서 좋아요 수를 조회합니다.
+     *
+     * @param playlistId 플레이리스트 ID
+     * @return 좋아요 수, 아직 백필되지 않은 플레이리스트이면 null (호출자가 COUNT(*)로 조회)
+     * @throws SQLException 조회 실패 시
+     */
+    public Integer getCount(String playlistId) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            if (backfillComplete) {
+                try (PreparedStatement pstmt = conn.prepareStatement(SUM_SQL)) {
+                    pstmt.setString(1, playlistId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        return rs.next() ? rs.getInt(1) : 0;
+                    }
+                }
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(READY_AND_SUM_SQL)) {
+                pstmt.setString(1, playlistId);
+                pstmt.setString(2, playlistId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next() && rs.getInt(1) > 0) {
+                        return rs.getInt(2);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 여러 플레이리스트의 좋아요 수를 한 번의 IN 목록 쿼리로 조회합니다.
+     * 백필이 끝나지 않은 플레이리스트는 결과에 포함되지 않습니다. (호출자가 COUNT(*)로 조회)
+     *
+     * @param playlistIds 플레이리스트 ID 목록 (중복 없음, 비어 있지 않음)
+     * @return 플레이리스트 ID → 좋아요 수
+     * @throws SQLException 조회 실패 시
+     */
+    public Map<String, Integer> getCounts(Collection<String> playlistIds) throws SQLException {
+        Map<String, Integer> counts = new HashMap<>();
+        String in = inPlaceholders(playlistIds.size());
+        String sql = backfillComplete
+                ? "SELECT playlist_id, SUM(like_count) FROM playlist_like_counters WHERE playlist_id IN (" + in + ") GROUP BY playlist_id"
+                : "SELECT r.playlist_id, COALESCE(SUM(c.like_count), 0) FROM playlist_like_counter_ready r "
+                  + "LEFT JOIN playlist_like_counters c ON c.playlist_id = r.playlist_id "
+                  + "WHERE r.playlist_id IN (" + in + ") GROUP BY r.playlist_id";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int idx = 1;
+            for (String id : playlistIds) {
+                pstmt.setString(idx++, id);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        }
+
+        // 전체 백필이 끝난 경우 카운터 행이 없는 플레이리스트는 좋아요 0개
+        if (backfillComplete) {
+            for (String id : playlistIds) {
+                counts.putIfAbsent(id, 0);
+            }
+        }
+        return counts;
+    }
+
+    static String inPlaceholders(int n) {
+        StringBuilder sb = new StringBuilder(n * 3);
+        for (int i = 0; i < n; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    public boolean isBackfillComplete() {
+        return backfillComplete;
+    }
+
+    /**
+     * 기존 liked_playlists 데이터로 카운터를 채우는 백필 작업을 백그라운드에서 시작합니다.
+     * 이미 완료된 경우 아무것도 하지 않습니다.
+     */
+    public synchronized void startBackfill() {
+        if (backfillComplete || backfillThread != null) {
+            return;
+        }
+        backfillThread = new Thread(this::runBackfill, "musicmood-like-counter-backfill");
+        backfillThread.setDaemon(true);
+        backfillThread.start();
+    }
+
+    /**
+     * 백필 작업 중지 요청 (다음 시작 시 완료되지 않은 플레이리스트부터 이어서 진행)
+     */
+    public void shutdown() {
+        stopRequested = true;
+    }
+
+    /**
+     * 백필 작업 본체
+     * 플레이리스트 ID 순서대로 키셋 페이지 조회를 하며 플레이리스트 하나씩 짧은 트랜잭션으로 처리합니다.
+     * liked_playlists 테이블에는 잠금을 걸지 않습니다.
+     */
+    private void runBackfill() {
+        System.out.println("[PlaylistLikeCounterStore] 좋아요 카운터 백필 시작");
+        long start = System.currentTimeMillis();
+        int processed = 0;
+        String lastId = "";
+
+        try {
+            while (!stopRequested) {
+                List<String> ids = nextPlaylistIds(lastId);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (String id : ids) {
+                    if (stopRequested) {
+                        break;
+                    }
+                    backfillPlaylist(id);
+                    processed++;
+                }
+                lastId = ids.get(ids.size() - 1);
+                // 운영 부하를 줄이기 위해 페이지 사이에 잠시 쉼
+                Thread.sleep(10);
+            }
+
+            if (!stopRequested) {
+                markBackfillComplete();
+                backfillComplete = true;
+                System.out.println("[PlaylistLikeCounterStore] 좋아요 카운터 백필 완료: " + processed + "개 플레이리스트, "
+                        + (System.currentTimeMillis() - start) + "ms 소요");
+            } else {
+                System.out.println("[PlaylistLikeCounterStore] 좋아요 카운터 백필 중단 (" + processed + "개 처리)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("[PlaylistLikeCounterStore] 좋아요 카운터 백필 실패: " + e.getMessage());
+            ErrorLogger.logError("좋아요 카운터 백필 실패 (마지막 플레이리스트: " + lastId + ")", e);
+        } finally {
+            synchronized (this) {
+                backfillThread = null;
+            }
+        }
+    }
+
+    private List<String> nextPlaylistIds(String afterId) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        // 좋아요가 모두 취소되어 liked_playlists에는 없지만 카운터 행만 남은 플레이리스트도 함께 처리
+        String sql = "SELECT playlist_id FROM liked_playlists WHERE playlist_id > ? "
+                + "UNION SELECT playlist_id FROM playlist_like_counters WHERE playlist_id > ? "
+                + "ORDER BY playlist_id LIMIT " + BACKFILL_PAGE_SIZE;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, afterId);
+            pstmt.setString(2, afterId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 플레이리스트 하나의 카운터를 실제 좋아요 수로 맞춥니다.
+     *
+     * READ COMMITTED 트랜잭션에서
+     * 1. 해당 플레이리스트의 모든 shard 행을 만들고 잠금 (동시 좋아요의 카운터 갱신은 커밋까지 대기)
+     * 2. 잠금을 잡은 뒤 COUNT(*) - 잠금 없는 일관된 읽기이므로 liked_playlists는 잠기지 않음
+     * 3. shard 0 = COUNT, 나머지 shard = 0 으로 설정 후 ready 표시
+     * 이미 커밋된 좋아요는 COUNT에 포함되고 그 증감분은 덮어써지며,
+     * 아직 커밋되지 않은 좋아요는 COUNT에 빠지고 잠금 해제 후 카운터에 더해지므로 중복/누락이 없습니다.
+     */
+    private void backfillPlaylist(String playlistId) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            int originalIsolation = conn.getTransactionIsolation();
+            conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            conn.setAutoCommit(false);
+            try {
+                if (isReady(conn, playlistId)) {
+                    conn.commit();
+                    return;
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT IGNORE INTO playlist_like_counters (playlist_id, shard, like_count) VALUES (?, ?, 0)")) {
+                    for (int shard = 0; shard < shards; shard++) {
+                        pstmt.setString(1, playlistId);
+                        pstmt.setInt(2, shard);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "SELECT shard FROM playlist_like_counters WHERE playlist_id = ? FOR UPDATE")) {
+                    pstmt.setString(1, playlistId);
+                    pstmt.executeQuery().close();
+                }
+
+                int count = 0;
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "SELECT COUNT(*) FROM liked_playlists WHERE playlist_id = ?")) {
+                    pstmt.setString(1, playlistId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (rs.next()) {
+                            count = rs.getInt(1);
+                        }
+                    }
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "UPDATE playlist_like_counters SET like_count = CASE WHEN shard = 0 THEN ? ELSE 0 END WHERE playlist_id = ?")) {
+                    pstmt.setInt(1, count);
+                    pstmt.setString(2, playlistId);
+                    pstmt.executeUpdate();
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT IGNORE INTO playlist_like_counter_ready (playlist_id, backfilled_at) VALUES (?, NOW())")) {
+                    pstmt.setString(1, playlistId);
+                    pstmt.executeUpdate();
+                }
+
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+                conn.setTransactionIsolation(originalIsolation);
+            }
+        }
+    }
+
+    private void markBackfillComplete() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "INSERT IGNORE INTO playlist_like_counter_ready (playlist_id, backfilled_at) VALUES (?, NOW())")) {
+            pstmt.setString(1, BACKFILL_COMPLETE_MARKER);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private boolean isReady(Connection conn, String playlistId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT 1 FROM playlist_like_counter_ready WHERE playlist_id = ?")) {
+            pstmt.setString(1, playlistId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import dto.UserDTO;
+import utils.AppConfig;
+
+/**
+ * 사용자 정보 캐시 (UserDAO.selectOne 앞단)
+ * 이메일을 키로 사용자 행을 보관하며, 비밀번호는 저장하지도 반환하지도 않습니다.
+ *
+ * 동작 방식:
+ * 1. 같은 이메일에 대한 동시 캐시 미스는 하나의 DB 조회로 합쳐짐 (나머지 요청은 결과를 기다림)
+ * 2. insert/update 시 항목을 무효화하고, 진행 중인 조회 결과도 캐시에 저장하지 않음
+ * 3. 최대 크기를 넘으면 가장 오래 사용되지 않은(LRU) 항목부터 제거, ttlMs가 지난 항목은 다시 조회
+ * 4. 반환값은 매번 복사본이므로 호출자가 수정해도 캐시에 영향 없음
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.users.cache.enabled : 사용 여부 (기본값 true)
+ * - musicmood.users.cache.maxSize : 최대 캐시 사용자 수 (기본값 5000)
+ * - musicmood.users.cache.ttlMs : 항목 유효 시간 (기본값 300000ms)
+ */
+public class UserCache {
+
+    private final int maxSize;
+    private final long ttlMs;
+
+    // 접근 순서(accessOrder=true)로 정렬되는 LRU 맵 (this 모니터로 보호)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // 진행 중인 DB 조회 (이메일 → 조회 결과)
+    private final ConcurrentHashMap<String, CompletableFuture<UserDTO>> inFlight = new ConcurrentHashMap<>();
+
+    // 통계 (this 모니터로 보호)
+    private long hits;
+    private long misses;
+    private long collapsedLoads;
+
+    /**
+     * 시스템 프로퍼티 설정으로 캐시를 생성합니다.
+     */
+    public UserCache() {
+        this(AppConfig.getInt("musicmood.users.cache.maxSize", 5000),
+             AppConfig.getLong("musicmood.users.cache.ttlMs", 300000L));
+    }
+
+    public UserCache(int maxSize, long ttlMs) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMs = Math.max(1000L, ttlMs);
+        System.out.println("[UserCache] 초기화 (maxSize: " + this.maxSize + ", ttlMs: " + this.ttlMs + ")");
+    }
+
+    /**
+     * 캐시된 사용자 정보를 반환하고, 없으면 loader로 조회하여 저장합니다.
+     *
+     * @param email 사용자 이메일
+     * @param loader DB 조회 함수 (없으면 null 반환)
+     * @return 비밀번호가 제거된 사용자 정보 복사본, 없으면 null
+     */
+    public UserDTO get(String email, Function<String, UserDTO> loader) {
+        synchronized (this) {
+            Entry entry = entries.get(email);
+            if (entry != null) {
+                if (System.currentTimeMillis() - entry.loadedAt <= ttlMs) {
+                    hits++;
+                    return copyOf(entry.user);
+                }
+                entries.remove(email);
+            }
+            misses++;
+        }
+
+        CompletableFuture<UserDTO> future = new CompletableFuture<>();
+        CompletableFuture<UserDTO> existing = inFlight.putIfAbsent(email, future);
+        if (existing != null) {
+            // 같은 이메일을 이미 조회 중 - 그 결과를 기다림
+            synchronized (this) {
+                collapsedLoads++;
+            }
+            try {
+                return copyOf(existing.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+            }
+        }
+
+        UserDTO loaded;
+        try {
+            loaded = copyOf(loader.apply(email));
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(email, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (this) {
+            // 조회 도중 무효화되었으면 inFlight에서 이미 제거되어 있으므로 저장하지 않음
+            if (inFlight.remove(email, future) && loaded != null) {
+                entries.put(email, new Entry(loaded));
+                evictIfNeeded();
+            }
+        }
+        future.complete(loaded);
+        return copyOf(loaded);
+    }
+
+    /**
+     * 사용자 항목을 무효화합니다. (insert/update 후 호출)
+     * 진행 중인 조회가 있으면 그 결과는 캐시에 저장되지 않습니다.
+     */
+    public synchronized void invalidate(String email) {
+        entries.remove(email);
+        inFlight.remove(email);
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * 비밀번호를 제외한 복사본 생성
+     */
+    private static UserDTO copyOf(UserDTO user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserDTO(user.getEmail(), null, user.getName(), user.getPhone(), user.getCreatedAt());
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getCollapsedLoads() { return collapsedLoads; }
+
+    /**
+     * 캐시 적중률 (0.0 ~ 1.0)
+     */
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "size=" + entries.size() + ", hits=" + hits + ", misses=" + misses + ", collapsedLoads=" + collapsedLoads;
+    }
+
+    /**
+     * 캐시 항목
+     */
+    private static final class Entry {
+        private final UserDTO user;
+        private final long loadedAt = System.currentTimeMillis();
+
+        Entry(UserDTO user) {
+            this.user = user;
+        }
+    }
+}
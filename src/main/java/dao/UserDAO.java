@@ -1,5 +1,6 @@
 package dao;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,14 +8,21 @@ import java.util.List;
 import javax.sql.DataSource;
 
 import dto.UserDTO;
+import utils.AppConfig;
 import utils.ErrorLogger;
+import utils.PasswordHasher;
 
 /**
  * 사용자 관련 데이터 액세스 객체
  * 사용자 정보의 CRUD 작업을 담당
  */
 public class UserDAO implements UserDAOInterface {
+    // 스트리밍 조회 시 드라이버 fetch size (MySQL은 Integer.MIN_VALUE이면 행 단위 스트리밍)
+    private static final int EXPORT_FETCH_SIZE = AppConfig.getInt("musicmood.users.export.fetchSize", Integer.MIN_VALUE);
+    
     private final DataSource dataSource;
+    // 사용자 정보 캐시 (musicmood.users.cache.enabled=false인 경우 null)
+    private final UserCache userCache;
     
     /**
      * 생성자를 통한 DataSource 주입
@@ -24,13 +32,12 @@ public class UserDAO implements UserDAOInterface {
      */
     public UserDAO(DataSource dataSource) {
         this.dataSource = dataSource;
-        // 초기화 시 데이터베이스 연결 테스트
-        testConnection();
+        this.userCache = AppConfig.getBoolean("musicmood.users.cache.enabled", true) ? new UserCache() : null;
     }
     
     /**
      * 데이터베이스 연결을 테스트하는 메서드
-     * 애플리케이션 시작 시와 주기적으로 호출하여 DB 연결 상태 확인
+     * 필요할 때 호출하여 DB 연결 상태 확인 (시작 시 연결 점검은 ContextLoaderListener에서 수행)
      */
     public void testConnection() {
         Connection conn = null;
@@ -111,15 +118,110 @@ public class UserDAO implements UserDAOInterface {
         return users;
     }
     
+    /**
+     * 사용자 목록 스트리밍 조회
+     * 전방향 전용(forward-only) ResultSet을 스트리밍 모드로 읽어 한 행씩 handler에 전달하므로
+     * 사용자 수와 관계없이 메모리 사용량이 일정합니다. 비밀번호 컬럼은 조회하지 않습니다.
+     * 
+     * @param afterEmail 이 이메일 다음부터 조회 (처음부터는 null)
+     * @param handler 행 처리기 (예: 응답 스트림에 CSV/NDJSON 한 줄 출력)
+     * @return 처리한 행 수
+     * @throws SQLException 조회 실패 시
+     * @throws IOException handler에서 출력 실패 시 (클라이언트 연결 종료 등)
+     */
+    @Override
+    public int forEachUser(String afterEmail, UserRowHandler handler) throws SQLException, IOException {
+        String sql = afterEmail == null
+                ? "SELECT email, name, phone, created_at FROM users ORDER BY email ASC"
+                : "SELECT email, name, phone, created_at FROM users WHERE email > ? ORDER BY email ASC";
+        
+        System.out.println("[DB 접근] 사용자 목록 스트리밍 조회 요청" + (afterEmail != null ? " (after: " + afterEmail + ")" : ""));
+        
+        int count = 0;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            pstmt.setFetchSize(EXPORT_FETCH_SIZE);
+            if (afterEmail != null) {
+                pstmt.setString(1, afterEmail);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(mapUserWithoutPassword(rs));
+                    count++;
+                }
+            }
+        }
+        
+        System.out.println("[DB 접근] 사용자 목록 스트리밍 조회 완료 (" + count + "건)");
+        return count;
+    }
+    
+    /**
+     * 사용자 목록 페이지 조회 (이메일 기준 키셋 페이지네이션)
+     * 
+     * @param afterEmail 이전 페이지의 마지막 이메일 (첫 페이지는 null)
+     * @param pageSize 페이지 크기
+     * @return 사용자 목록 (비밀번호 제외)
+     */
+    @Override
+    public List<UserDTO> selectPage(String afterEmail, int pageSize) {
+        List<UserDTO> users = new ArrayList<>();
+        String sql = afterEmail == null
+                ? "SELECT email, name, phone, created_at FROM users ORDER BY email ASC LIMIT ?"
+                : "SELECT email, name, phone, created_at FROM users WHERE email > ? ORDER BY email ASC LIMIT ?";
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int idx = 1;
+            if (afterEmail != null) {
+                pstmt.setString(idx++, afterEmail);
+            }
+            pstmt.setInt(idx, pageSize);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapUserWithoutPassword(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("[DB 오류] 사용자 목록 페이지 조회 실패: " + e.getMessage());
+            ErrorLogger.logError("사용자 목록 페이지 조회 중 오류 발생 (after: " + afterEmail + ")", e);
+        }
+        
+        return users;
+    }
+    
+    private UserDTO mapUserWithoutPassword(ResultSet rs) throws SQLException {
+        return new UserDTO()
+            .setEmail(rs.getString("email"))
+            .setName(rs.getString("name"))
+            .setPhone(rs.getString("phone"))
+            .setCreatedAt(rs.getString("created_at"));
+    }
+    
+    /**
+     * 사용자 등록
+     * 비밀번호 해시는 커넥션을 빌리기 전에 계산하여 해시 계산 동안 커넥션을 점유하지 않습니다.
+     * 
+     * @param user 등록할 사용자 정보 (평문 비밀번호)
+     * @return 등록된 행 수 (실패 시 0)
+     * @throws PasswordHasher.BusyException 비밀번호 해시 요청이 몰려 처리할 수 없는 경우
+     */
     @Override
     public int insert(UserDTO user) {
         String sql = "INSERT INTO users (email, name, password, phone) VALUES (?, ?, ?, ?)";
         
+        System.out.println("[DB 접근] 사용자 등록 요청 (이메일: " + user.getEmail() + ")");
+        String passwordHash = PasswordHasher.hash(user.getPassword());
+        
         Connection conn = null;
         PreparedStatement pstmt = null;
         
         try {
-            System.out.println("[DB 접근] 사용자 등록 요청 (이메일: " + user.getEmail() + ")");
             conn = dataSource.getConnection();
             
             if (conn == null) {
@@ -132,11 +234,12 @@ public class UserDAO implements UserDAOInterface {
             
             pstmt.setString(1, user.getEmail());
             pstmt.setString(2, user.getName());
-            pstmt.setString(3, user.getPassword());
+            pstmt.setString(3, passwordHash);
             pstmt.setString(4, user.getPhone());
             
             int result = pstmt.executeUpdate();
             System.out.println("[DB 접근] 사용자 등록 성공 (이메일: " + user.getEmail() + ")");
+            invalidateCache(user.getEmail());
             return result;
             
         } catch (SQLException e) {
@@ -148,10 +251,27 @@ public class UserDAO implements UserDAOInterface {
         }
     }
     
+    /**
+     * 사용자 단일 조회 (캐시 우선)
+     * 인증용이 아닌 조회이므로 비밀번호는 포함되지 않습니다.
+     * 
+     * @param email 사용자 이메일
+     * @return 사용자 정보 (비밀번호 제외), 없으면 null
+     */
     @Override
     public UserDTO selectOne(String email) {
+        if (userCache != null) {
+            return userCache.get(email, this::loadUser);
+        }
+        return loadUser(email);
+    }
+    
+    /**
+     * DB에서 사용자 단일 조회 (비밀번호 컬럼 제외)
+     */
+    private UserDTO loadUser(String email) {
         UserDTO user = null;
-        String sql = "SELECT * FROM users WHERE email = ?";
+        String sql = "SELECT email, name, phone, created_at FROM users WHERE email = ?";
         
         try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -160,12 +280,7 @@ public class UserDAO implements UserDAOInterface {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    user = new UserDTO()
-                        .setEmail(rs.getString("email"))
-                        .setPassword(rs.getString("password"))
-                        .setName(rs.getString("name"))
-                        .setPhone(rs.getString("phone"))
-                        .setCreatedAt(rs.getString("created_at"));
+                    user = mapUserWithoutPassword(rs);
                 }
             }
             
@@ -176,30 +291,83 @@ public class UserDAO implements UserDAOInterface {
         return user;
     }
     
+    /**
+     * 사용자 정보 캐시 반환 (사용하지 않는 경우 null)
+     */
+    public UserCache getUserCache() {
+        return userCache;
+    }
+    
+    private void invalidateCache(String email) {
+        if (userCache != null) {
+            userCache.invalidate(email);
+        }
+    }
+    
+    /**
+     * 사용자 정보 수정
+     * 비밀번호가 null이면 비밀번호는 변경하지 않으며, 그 외에는 항상 해시하여 저장합니다.
+     * (해시는 커넥션을 빌리기 전에 계산)
+     * 
+     * @param user 수정할 사용자 정보 (email로 식별)
+     * @return 수정된 행 수
+     */
     @Override
     public int update(UserDTO user) {
-        String sql = "UPDATE users SET password=?, name=?, phone=? WHERE email=?";
+        boolean changePassword = user.getPassword() != null;
+        String sql = changePassword
+                ? "UPDATE users SET password=?, name=?, phone=? WHERE email=?"
+                : "UPDATE users SET name=?, phone=? WHERE email=?";
+        
+        String passwordHash = null;
+        try {
+            if (changePassword) {
+                String password = user.getPassword();
+                // 해시 형식처럼 보이는 값도 사용자가 입력한 평문이므로 항상 해시
+                passwordHash = PasswordHasher.hash(password);
+            }
+        } catch (Exception e) {
+            ErrorLogger.logError("사용자 정보 수정 중 비밀번호 해시 실패 (이메일: " + user.getEmail() + ")", e);
+            return 0;
+        }
         
         try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, user.getPassword());
-            pstmt.setString(2, user.getName());
-            pstmt.setString(3, user.getPhone());
-            pstmt.setString(4, user.getEmail());
+            int idx = 1;
+            if (changePassword) {
+                pstmt.setString(idx++, passwordHash);
+            }
+            pstmt.setString(idx++, user.getName());
+            pstmt.setString(idx++, user.getPhone());
+            pstmt.setString(idx, user.getEmail());
             
             return pstmt.executeUpdate();
             
         } catch (Exception e) {
             ErrorLogger.logError("사용자 정보 수정 중 오류 발생 (이메일: " + user.getEmail() + ")", e);
             return 0;
+        } finally {
+            // 수정 결과와 관계없이 캐시 무효화 (다음 조회 시 DB에서 다시 읽음)
+            invalidateCache(user.getEmail());
         }
     }
     
+    /**
+     * 로그인 인증
+     * 이메일로만 조회한 뒤 커넥션을 반납하고, 비밀번호 검증은 PasswordHasher의 전용 스레드 풀에서 수행합니다.
+     * 기존 평문 비밀번호이거나 반복 횟수가 바뀐 경우 로그인 성공 시 새 해시로 교체합니다.
+     * 
+     * @param email 사용자 이메일
+     * @param password 입력한 비밀번호
+     * @return 인증된 사용자 정보 (비밀번호 제외), 인증 실패 시 null
+     * @throws PasswordHasher.BusyException 비밀번호 검증 요청이 몰려 처리할 수 없는 경우
+     */
     @Override
     public UserDTO exist(String email, String password) {
         UserDTO user = null;
-        String sql = "SELECT * FROM users WHERE email = ? AND password = ?";
+        String storedPassword = null;
+        String sql = "SELECT email, password, name, phone, created_at FROM users WHERE email = ?";
         
         System.out.println("[UserDAO] 로그인 시도: email=" + email);
         
@@ -207,21 +375,13 @@ public class UserDAO implements UserDAOInterface {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, email);
-            pstmt.setString(2, password);
             
-            System.out.println("[UserDAO] SQL 실행: " + sql.replace("?", "'" + email + "'") + " (비밀번호는 보안상 표시 안함)");
+            System.out.println("[UserDAO] SQL 실행: " + sql.replace("?", "'" + email + "'"));
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    user = new UserDTO()
-                        .setEmail(rs.getString("email"))
-                        .setPassword(rs.getString("password"))
-                        .setName(rs.getString("name"))
-                        .setPhone(rs.getString("phone"))
-                        .setCreatedAt(rs.getString("created_at"));
-                    System.out.println("[UserDAO] 로그인 성공: 사용자=" + user.getEmail() + ", 이름=" + user.getName());
-                } else {
-                    System.out.println("[UserDAO] 로그인 실패: 일치하는 사용자 없음 (email=" + email + ")");
+                    user = mapUserWithoutPassword(rs);
+                    storedPassword = rs.getString("password");
                 }
             }
             
@@ -229,11 +389,51 @@ public class UserDAO implements UserDAOInterface {
             System.err.println("[UserDAO] 로그인 인증 중 오류: " + e.getMessage());
             e.printStackTrace();
             ErrorLogger.logError("사용자 로그인 인증 중 오류 발생 (이메일: " + email + ")", e);
+            return null;
+        }
+        
+        if (user == null) {
+            System.out.println("[UserDAO] 로그인 실패: 일치하는 사용자 없음 (email=" + email + ")");
+            return null;
         }
         
+        // 커넥션 반납 후 전용 스레드 풀에서 검증
+        if (!PasswordHasher.verify(password, storedPassword)) {
+            System.out.println("[UserDAO] 로그인 실패: 비밀번호 불일치 (email=" + email + ")");
+            return null;
+        }
+        
+        if (PasswordHasher.needsRehash(storedPassword)) {
+            rehashPassword(email, storedPassword, password);
+        }
+        
+        System.out.println("[UserDAO] 로그인 성공: 사용자=" + user.getEmail() + ", 이름=" + user.getName());
         return user;
     }
     
+    /**
+     * 기존 평문 비밀번호(또는 이전 반복 횟수의 해시)를 현재 설정의 해시로 교체
+     * 그 사이 비밀번호가 변경된 경우에는 덮어쓰지 않습니다.
+     */
+    private void rehashPassword(String email, String oldStored, String password) {
+        String sql = "UPDATE users SET password = ? WHERE email = ? AND password = ?";
+        
+        try {
+            String newHash = PasswordHasher.hash(password);
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, newHash);
+                pstmt.setString(2, email);
+                pstmt.setString(3, oldStored);
+                int result = pstmt.executeUpdate();
+                System.out.println("[UserDAO] 비밀번호 해시 갱신 (email=" + email + "): " + result + "행");
+            }
+        } catch (Exception e) {
+            // 갱신 실패는 로그인 결과에 영향을 주지 않음 (다음 로그인 시 다시 시도)
+            System.err.println("[UserDAO] 비밀번호 해시 갱신 실패 (email=" + email + "): " + e.getMessage());
+        }
+    }
+    
     /**
      * 사용자 인증 메서드
      * 
@@ -277,6 +477,10 @@ public class UserDAO implements UserDAOInterface {
                         .setName(rs.getString("name"))
                         .setPhone(rs.getString("phone"))
                         .setCreatedAt(rs.getString("created_at"));
+                    // 해시로 저장된 비밀번호는 복원할 수 없으므로 반환하지 않음
+                    if (PasswordHasher.isHashed(user.getPassword())) {
+                        user.setPassword(null);
+                    }
                     System.out.println("[UserDAO] 비밀번호 찾기 성공: 사용자=" + user.getEmail() + ", 이름=" + user.getName());
                 } else {
                     System.out.println("[UserDAO] 비밀번호 찾기 실패: 일치하는 사용자 없음 (email=" + email + ", name=" + name + ")");
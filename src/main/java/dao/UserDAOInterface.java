@@ -1,5 +1,7 @@
 package dao;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.List;
 import javax.sql.DataSource;
 
@@ -10,13 +12,19 @@ public interface UserDAOInterface {
     // DataSource 설정 (커넥션 풀 사용)
     public void setDataSource(DataSource ds);
     
-    // 사용자 목록 조회
+    // 사용자 목록 조회 (전체를 메모리에 적재 - 대량 조회는 forEachUser/selectPage 사용)
     List<UserDTO> selectList();
     
+    // 사용자 목록 스트리밍 조회 (이메일 순, afterEmail 다음부터, 비밀번호 제외)
+    int forEachUser(String afterEmail, UserRowHandler handler) throws SQLException, IOException;
+    
+    // 사용자 목록 페이지 조회 (이메일 기준 키셋 페이지네이션, 비밀번호 제외)
+    List<UserDTO> selectPage(String afterEmail, int pageSize);
+    
     // 사용자 추가
     int insert(UserDTO user);
     
-    // 사용자 단일 조회 (이메일로 조회)
+    // 사용자 단일 조회 (이메일로 조회, 캐시 사용, 비밀번호 제외)
     UserDTO selectOne(String email);
     
     // 사용자 정보 업데이트
@@ -27,4 +35,12 @@ public interface UserDAOInterface {
     
     // 비밀번호 찾기 (이메일과 이름으로 사용자 확인)
     UserDTO findPassword(String email, String name);
+    
+    /**
+     * 스트리밍 조회 시 한 행씩 전달받는 처리기
+     */
+    @FunctionalInterface
+    interface UserRowHandler {
+        void handle(UserDTO user) throws IOException;
+    }
 } 
\ No newline at end of file
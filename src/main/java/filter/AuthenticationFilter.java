@@ -26,7 +26,8 @@ import javax.servlet.http.HttpSession;
         "/member/*",
         "/playlist/private/*",
         "/settings/*"
-    }
+    },
+    asyncSupported = true
 )
 public class AuthenticationFilter implements Filter {
     
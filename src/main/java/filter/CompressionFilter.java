@@ -0,0 +1,840 @@
+package filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import utils.AppConfig;
+import utils.ErrorLogger;
+
+/**
+ * 응답 압축 필터 (gzip / deflate)
+ * 클라이언트의 Accept-Encoding을 확인하여 텍스트 응답(JSP, JSON, CSS, JS 등)을 압축합니다.
+ *
+ * 동작 방식:
+ * - 본문의 처음 minBytes 바이트는 버퍼에 모았다가, 그보다 작게 끝나면 압축하지 않고 그대로 보냅니다.
+ * - 이미 압축된 형식(PNG, JPEG 등 이미지)과 Content-Encoding을 직접 지정한 응답, 범위 요청(Range)은 압축하지 않습니다.
+ * - /static/ 요청은 감싸지 않고 그대로 통과시킵니다. StaticResourceServlet이 ETag/범위 요청/통계와 함께
+ *   {@link #compressedStatic}으로 압축 결과를 받아 응답하며, 압축 결과는 메모리에 보관하여 파일마다 한 번만 압축합니다.
+ *   (파일 수정 시각이 바뀌면 다시 압축, 보관 용량을 넘거나 minBytes보다 작으면 압축하지 않고 응답)
+ * - 비동기 라우트는 AsyncContext가 끝날 때 압축 스트림을 마무리합니다.
+ * - 비블로킹 출력(setWriteListener)으로 전환한 응답은 압축 여부를 결정하기 전이면 압축하지 않고 그대로 보내며,
+ *   이미 압축 중이면 쓰기 한 번에 원래 스트림 쓰기가 한 번만 일어나도록 압축 결과를 모아서 보냅니다.
+ * - 압축한 응답의 강한 ETag에는 인코딩 접미사("-gzip", "-deflate")를 붙입니다.
+ *
+ * 통계 ({@link #getStats()}, 관리자 action=compressionStats):
+ * - 압축 전/후 바이트 수와 절약한 바이트 수, 압축에 사용한 CPU 시간, 정적 파일 캐시 적중 수
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.compression.enabled : 압축 사용 (기본값 true)
+ * - musicmood.compression.level : 압축 수준 1~9 (기본값 6, 높을수록 작지만 CPU 사용 증가)
+ * - musicmood.compression.minBytes : 이보다 작은 본문은 압축하지 않음 (기본값 1024)
+ * - musicmood.compression.staticCacheMaxBytes : 정적 파일 압축 결과 보관 용량 (기본값 16MB)
+ */
+@WebFilter(
+    urlPatterns = "/*",  // 모든 URL 패턴에 대해 필터 적용
+    asyncSupported = true  // Dispatcher의 비동기 라우트가 이 필터를 거치므로 필요
+)
+public class CompressionFilter implements Filter {
+
+    private static final boolean ENABLED = AppConfig.getBoolean("musicmood.compression.enabled", true);
+    private static final int LEVEL = Math.max(Deflater.BEST_SPEED,
+            Math.min(Deflater.BEST_COMPRESSION, AppConfig.getInt("musicmood.compression.level", 6)));
+    private static final int MIN_BYTES = Math.max(1, AppConfig.getInt("musicmood.compression.minBytes", 1024));
+    private static final long STATIC_CACHE_MAX_BYTES = AppConfig.getLong("musicmood.compression.staticCacheMaxBytes", 16L * 1024 * 1024);
+
+    private static final String STATIC_PREFIX = "/static/";
+    private static final int BUFFER_SIZE = 8192;
+
+    // 압축 통계
+    private static final LongAdder compressedResponses = new LongAdder();
+    private static final LongAdder skippedSmall = new LongAdder();
+    private static final LongAdder skippedType = new LongAdder();
+    private static final LongAdder skippedNonBlocking = new LongAdder();
+    private static final LongAdder bytesIn = new LongAdder();
+    private static final LongAdder bytesOut = new LongAdder();
+    private static final LongAdder cpuNanos = new LongAdder();
+    private static final LongAdder staticHits = new LongAdder();
+    private static final LongAdder staticCompressions = new LongAdder();
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final boolean cpuTimeSupported = threadBean.isCurrentThreadCpuTimeSupported();
+
+    // 정적 파일 압축 결과 (키: 경로 + 인코딩)
+    private static final Map<String, StaticEntry> staticCache = new ConcurrentHashMap<>();
+    private static final AtomicLong staticCacheBytes = new AtomicLong();
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        System.out.println("[CompressionFilter] 초기화 (사용: " + ENABLED + ", 수준: " + LEVEL
+                + ", 최소 크기: " + MIN_BYTES + "바이트)");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        HttpServletResponse resp = (HttpServletResponse) response;
+
+        String encoding = ENABLED ? negotiate(req.getHeader("Accept-Encoding")) : null;
+        // HEAD는 본문이 없고, 범위 요청은 원본 바이트 기준 위치이므로 압축하지 않음
+        // 정적 파일은 StaticResourceServlet이 미리 압축한 결과로 직접 응답 (sendfile을 쓰려면 감싸지 않아야 함)
+        if (encoding == null || "HEAD".equals(req.getMethod()) || req.getHeader("Range") != null
+                || requestPath(req).startsWith(STATIC_PREFIX)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CompressionResponse wrapper = new CompressionResponse(resp, encoding);
+        boolean finishLater = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (req.isAsyncStarted()) {
+                // 비동기 라우트: 응답은 AsyncContext가 끝날 때 완성됨
+                finishLater = true;
+                req.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        finishQuietly(wrapper);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+        } finally {
+            if (!finishLater) {
+                wrapper.finish();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        staticCache.clear();
+        staticCacheBytes.set(0);
+    }
+
+    /**
+     * 압축 통계 (관리자 통계 응답용)
+     */
+    public static Map<String, Object> getStats() {
+        long in = bytesIn.sum();
+        long out = bytesOut.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", ENABLED);
+        stats.put("level", LEVEL);
+        stats.put("minBytes", MIN_BYTES);
+        stats.put("compressedResponses", compressedResponses.sum());
+        stats.put("skippedSmall", skippedSmall.sum());
+        stats.put("skippedType", skippedType.sum());
+        stats.put("skippedNonBlocking", skippedNonBlocking.sum());
+        stats.put("bytesIn", in);
+        stats.put("bytesOut", out);
+        stats.put("bytesSaved", in - out);
+        stats.put("ratio", in > 0 ? Math.round(out * 1000.0 / in) / 1000.0 : 0.0);
+        stats.put("cpuTimeSupported", cpuTimeSupported);
+        stats.put("cpuMs", cpuNanos.sum() / 1_000_000L);
+        stats.put("staticHits", staticHits.sum());
+        stats.put("staticCompressions", staticCompressions.sum());
+        stats.put("staticCacheEntries", staticCache.size());
+        stats.put("staticCacheBytes", staticCacheBytes.get());
+        return stats;
+    }
+
+    /**
+     * Accept-Encoding에서 사용할 인코딩 선택 (gzip 우선, q=0은 제외)
+     *
+     * @return "gzip", "deflate" 또는 압축하지 않으면 null
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if ("gzip".equals(name) || "x-gzip".equals(name)) {
+                gzip = q;
+            } else if ("deflate".equals(name)) {
+                deflate = q;
+            } else if ("*".equals(name)) {
+                any = q;
+            }
+        }
+        // 명시되지 않은 인코딩은 * 의 q 값을 따름
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return "gzip";
+        }
+        return deflate > 0 ? "deflate" : null;
+    }
+
+    /**
+     * 압축 효과가 있는 Content-Type인지 확인 (이미지, 오디오, 압축 파일 등은 제외)
+     */
+    public static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        int semicolon = type.indexOf(';');
+        if (semicolon >= 0) {
+            type = type.substring(0, semicolon).trim();
+        }
+        return type.startsWith("text/")
+                || type.equals("application/json")
+                || type.equals("application/javascript")
+                || type.equals("application/x-javascript")
+                || type.equals("application/xml")
+                || type.equals("image/svg+xml")
+                || type.endsWith("+json")
+                || type.endsWith("+xml");
+    }
+
+    private static String requestPath(HttpServletRequest req) {
+        String pathInfo = req.getPathInfo();
+        return pathInfo != null ? req.getServletPath() + pathInfo : req.getServletPath();
+    }
+
+    private static long cpuTime() {
+        return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : 0L;
+    }
+
+    private static void finishQuietly(CompressionResponse wrapper) {
+        try {
+            wrapper.finish();
+        } catch (IOException e) {
+            // 클라이언트 연결 끊김 등
+            System.err.println("[CompressionFilter] 비동기 응답 압축 마무리 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 정적 파일의 압축 결과 (StaticResourceServlet에서 호출, 파일마다 한 번만 압축하여 보관)
+     *
+     * @param servletContext 파일을 읽을 컨텍스트
+     * @param path /static/ 아래 경로
+     * @param acceptEncoding 요청의 Accept-Encoding 헤더
+     * @param lastModified 파일 수정 시각 (바뀌면 다시 압축)
+     * @return 압축 결과, 압축하지 않으면 null (압축 꺼짐, 지원하는 인코딩 없음, 압축할 형식이 아니거나 작은 파일, 용량 초과)
+     */
+    public static StaticBody compressedStatic(ServletContext servletContext, String path, String acceptEncoding,
+                                              long lastModified) throws IOException {
+        String encoding = ENABLED ? negotiate(acceptEncoding) : null;
+        if (encoding == null || !isCompressible(servletContext.getMimeType(path))) {
+            return null;
+        }
+
+        String key = path + "|" + encoding;
+        StaticEntry entry = staticCache.get(key);
+        if (entry == null || entry.lastModified != lastModified) {
+            entry = compressStatic(servletContext, key, path, encoding, lastModified);
+            if (entry == null) {
+                return null;
+            }
+        } else {
+            staticHits.increment();
+        }
+        // 압축할 필요가 없는 작은 파일은 body가 null
+        return entry.body != null ? new StaticBody(encoding, entry.body) : null;
+    }
+
+    /**
+     * 정적 파일을 읽어 압축하고 캐시에 보관
+     *
+     * @return 캐시 항목 (압축하지 않는 작은 파일은 body가 null), 보관 용량을 넘으면 null
+     */
+    private static StaticEntry compressStatic(ServletContext servletContext, String key, String path, String encoding,
+                                              long lastModified) throws IOException {
+        byte[] data;
+        try (InputStream in = servletContext.getResourceAsStream(path)) {
+            if (in == null) {
+                return null;
+            }
+            data = in.readAllBytes();
+        }
+
+        byte[] body = null;
+        if (data.length >= MIN_BYTES) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 3 + 64);
+            long start = cpuTime();
+            Compressor compressor = new Compressor(encoding, buffer);
+            try {
+                compressor.out.write(data);
+                compressor.out.finish();
+            } finally {
+                compressor.release();
+            }
+            cpuNanos.add(cpuTime() - start);
+            body = buffer.toByteArray();
+            staticCompressions.increment();
+        }
+
+        StaticEntry entry = new StaticEntry(lastModified, body);
+        long size = body != null ? body.length : 0;
+        if (staticCacheBytes.addAndGet(size) > STATIC_CACHE_MAX_BYTES) {
+            staticCacheBytes.addAndGet(-size);
+            System.out.println("[CompressionFilter] 정적 파일 압축 캐시 용량 초과: " + path);
+            return null;
+        }
+        StaticEntry previous = staticCache.put(key, entry);
+        if (previous != null && previous.body != null) {
+            staticCacheBytes.addAndGet(-previous.body.length);
+        }
+        System.out.println("[CompressionFilter] 정적 파일 압축: " + path + " (" + encoding + ", "
+                + data.length + " -> " + size + "바이트)");
+        return entry;
+    }
+
+    /**
+     * 정적 파일 압축 응답 본문 (호출자가 수정하지 않아야 함)
+     */
+    public static final class StaticBody {
+        private final String encoding;
+        private final byte[] body;
+
+        StaticBody(String encoding, byte[] body) {
+            this.encoding = encoding;
+            this.body = body;
+        }
+
+        public String getEncoding() { return encoding; }
+        public byte[] getBody() { return body; }
+    }
+
+    /**
+     * 정적 파일 압축 결과
+     */
+    private static final class StaticEntry {
+        final long lastModified;
+        final byte[] body;
+
+        StaticEntry(long lastModified, byte[] body) {
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+    }
+
+    /**
+     * 인코딩별 압축 스트림과 Deflater (네이티브 메모리를 바로 해제하기 위해 함께 보관)
+     */
+    private static final class Compressor {
+        final DeflaterOutputStream out;
+        final Deflater deflater;
+
+        Compressor(String encoding, OutputStream target) throws IOException {
+            if ("gzip".equals(encoding)) {
+                GzipStream gzip = new GzipStream(target);
+                this.out = gzip;
+                this.deflater = gzip.deflater();
+            } else {
+                this.deflater = new Deflater(LEVEL);
+                // flush() 시 지금까지의 압축 결과를 내보냄 (CSV 내보내기 등 스트리밍 응답용)
+                this.out = new DeflaterOutputStream(target, deflater, BUFFER_SIZE, true);
+            }
+        }
+
+        void release() {
+            deflater.end();
+        }
+    }
+
+    private static final class GzipStream extends GZIPOutputStream {
+        GzipStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE, true);
+            def.setLevel(LEVEL);
+        }
+
+        Deflater deflater() {
+            return def;
+        }
+    }
+
+    /**
+     * 압축 결과 바이트 수를 세는 출력 스트림
+     */
+    private static final class CountingStream extends OutputStream {
+        // 비블로킹 출력으로 전환하면 임시 버퍼로 바뀜
+        private OutputStream out;
+        private long count;
+
+        CountingStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * 압축 응답 래퍼
+     * 본문이 minBytes에 도달하는 시점에 압축 여부를 결정합니다.
+     * 압축하는 응답은 길이를 미리 알 수 없으므로 처리기가 지정한 Content-Length는 보내지 않습니다.
+     */
+    private static final class CompressionResponse extends HttpServletResponseWrapper {
+        private static final int BUFFERING = 0;
+        private static final int COMPRESSING = 1;
+        private static final int PASSTHROUGH = 2;
+        private static final int FINISHED = 3;
+
+        private final String encoding;
+        private final byte[] pending = new byte[MIN_BYTES];
+        private final BodyStream stream = new BodyStream();
+        private int pendingCount;
+        private int state = BUFFERING;
+        private long declaredLength = -1;
+        private boolean encodedByHandler;
+        private PrintWriter writer;
+        private ServletOutputStream raw;
+        private CountingStream counter;
+        // 비블로킹 출력 모드 (setWriteListener 호출 후)
+        private boolean nonBlocking;
+        // 비블로킹 모드에서 압축 결과를 모았다가 원래 스트림에 한 번에 쓰는 버퍼
+        private ByteArrayOutputStream staged;
+        private Compressor compressor;
+        private long uncompressedBytes;
+
+        CompressionResponse(HttpServletResponse response, String encoding) {
+            super(response);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter()가 이미 호출되었습니다.");
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (state == PASSTHROUGH) {
+                super.setContentLengthLong(len);
+            } else if (state == BUFFERING) {
+                declaredLength = len;
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setDeclaredLength(value);
+                return;
+            }
+            noteEncoding(name);
+            super.setHeader(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setDeclaredLength(value);
+                return;
+            }
+            noteEncoding(name);
+            super.addHeader(name, value);
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+                return;
+            }
+            super.setIntHeader(name, value);
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+                return;
+            }
+            super.addIntHeader(name, value);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            // 헤더가 전송되기 전에 압축 여부를 결정해야 함
+            if (state == BUFFERING) {
+                decide();
+            }
+            stream.flush();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            discardBody(false);
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            discardBody(true);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            abandon();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            abandon();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            abandon();
+            super.sendRedirect(location);
+        }
+
+        private void setDeclaredLength(String value) {
+            try {
+                setContentLengthLong(Long.parseLong(value.trim()));
+            } catch (NumberFormatException | NullPointerException e) {
+                // 잘못된 값은 무시 (길이는 컨테이너가 계산)
+            }
+        }
+
+        private void noteEncoding(String name) {
+            if ("Content-Encoding".equalsIgnoreCase(name)) {
+                encodedByHandler = true;
+            }
+        }
+
+        /**
+         * 쓴 본문 폐기 (forward 전 resetBuffer, reset)
+         * 압축 중이었다면 reset은 헤더까지 지워지므로 처음부터 다시 결정하고,
+         * resetBuffer는 Content-Encoding 헤더가 남아 있으므로 새 압축 스트림으로 계속 압축합니다.
+         */
+        private void discardBody(boolean headersCleared) {
+            // 출력 변환기에 남은 문자도 함께 버림 (다음 getWriter에서 새로 생성)
+            writer = null;
+            pendingCount = 0;
+            uncompressedBytes = 0;
+            if (headersCleared) {
+                declaredLength = -1;
+                encodedByHandler = false;
+            }
+            if (state == COMPRESSING) {
+                compressor.release();
+                compressor = null;
+                if (headersCleared) {
+                    state = BUFFERING;
+                } else {
+                    try {
+                        startCompressing();
+                    } catch (IOException e) {
+                        ErrorLogger.logError("압축 스트림 재시작 실패", e);
+                        state = FINISHED;
+                    }
+                }
+            } else if (state == PASSTHROUGH && headersCleared) {
+                state = BUFFERING;
+            }
+        }
+
+        /**
+         * 컨테이너가 본문을 직접 만드는 응답 (sendError, sendRedirect) - 이후 출력은 무시
+         * 압축 헤더가 이미 설정되었으면 응답을 초기화하여 압축되지 않은 오류 본문과 섞이지 않게 함
+         */
+        private void abandon() {
+            if (state == COMPRESSING && !isCommitted()) {
+                super.reset();
+            }
+            if (compressor != null) {
+                compressor.release();
+                compressor = null;
+            }
+            pendingCount = 0;
+            state = FINISHED;
+        }
+
+        /**
+         * 압축 여부 결정 (본문이 minBytes에 도달했거나 버퍼를 비워야 할 때)
+         */
+        private void decide() throws IOException {
+            String contentType = getContentType();
+            boolean compressible = isCompressible(contentType);
+            int status = getStatus();
+            if (compressible) {
+                super.addHeader("Vary", "Accept-Encoding");
+            }
+            if (compressible && !encodedByHandler && !nonBlocking && status != HttpServletResponse.SC_NO_CONTENT
+                    && status != HttpServletResponse.SC_PARTIAL_CONTENT && status != HttpServletResponse.SC_NOT_MODIFIED) {
+                super.setHeader("Content-Encoding", encoding);
+                tagEncoding();
+                startCompressing();
+                compressedResponses.increment();
+                if (pendingCount > 0) {
+                    compress(pending, 0, pendingCount);
+                }
+            } else {
+                (nonBlocking ? skippedNonBlocking : skippedType).increment();
+                if (declaredLength >= 0) {
+                    super.setContentLengthLong(declaredLength);
+                }
+                raw = super.getOutputStream();
+                state = PASSTHROUGH;
+                if (pendingCount > 0) {
+                    raw.write(pending, 0, pendingCount);
+                }
+            }
+            pendingCount = 0;
+        }
+
+        /**
+         * 강한 ETag는 바이트 단위로 같은 본문에만 쓸 수 있으므로 압축 본문에는 인코딩 접미사를 붙임
+         * (If-None-Match 비교 시 CachePolicy가 접미사를 제거)
+         */
+        private void tagEncoding() {
+            String etag = getHeader("ETag");
+            if (etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+                super.setHeader("ETag", etag.substring(0, etag.length() - 1) + "-" + encoding + "\"");
+            }
+        }
+
+        private void startCompressing() throws IOException {
+            if (raw == null) {
+                raw = super.getOutputStream();
+            }
+            counter = new CountingStream(nonBlocking ? staged : raw);
+            compressor = new Compressor(encoding, counter);
+            state = COMPRESSING;
+        }
+
+        private void compress(byte[] b, int off, int len) throws IOException {
+            long start = cpuTime();
+            compressor.out.write(b, off, len);
+            cpuNanos.add(cpuTime() - start);
+            uncompressedBytes += len;
+            drainStaged();
+        }
+
+        /**
+         * 비블로킹 모드에서 모아 둔 압축 결과를 원래 스트림에 한 번에 씀
+         * (처리기가 isReady()를 확인한 쓰기 한 번에 원래 스트림 쓰기도 한 번만 일어나야 함)
+         */
+        private void drainStaged() throws IOException {
+            if (staged != null && staged.size() > 0) {
+                staged.writeTo(raw);
+                staged.reset();
+            }
+        }
+
+        /**
+         * 비블로킹 출력으로 전환 (BodyStream.setWriteListener)
+         * 압축 여부를 결정하기 전이면 압축하지 않고 그대로 전달하며, 이미 압축 중이면 압축 결과를 모아서 씁니다.
+         */
+        private void startNonBlocking(WriteListener writeListener) {
+            nonBlocking = true;
+            try {
+                if (state == BUFFERING) {
+                    // 아직 블로킹 모드이므로 모아 둔 본문은 여기서 바로 씀
+                    decide();
+                } else if (state == COMPRESSING) {
+                    staged = new ByteArrayOutputStream();
+                    counter.out = staged;
+                }
+                if (raw == null) {
+                    raw = super.getOutputStream();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            raw.setWriteListener(writeListener);
+        }
+
+        /**
+         * 응답 마무리 (필터 처리 후 또는 비동기 처리 완료 시 한 번 호출)
+         */
+        void finish() throws IOException {
+            if (state == FINISHED) {
+                return;
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+            if (state == BUFFERING) {
+                // minBytes보다 작은 본문 - 압축하지 않고 길이와 함께 전송
+                state = FINISHED;
+                if (isCompressible(getContentType())) {
+                    super.addHeader("Vary", "Accept-Encoding");
+                }
+                if (pendingCount > 0) {
+                    skippedSmall.increment();
+                    super.setContentLengthLong(declaredLength >= 0 ? declaredLength : pendingCount);
+                    super.getOutputStream().write(pending, 0, pendingCount);
+                } else if (declaredLength >= 0) {
+                    super.setContentLengthLong(declaredLength);
+                }
+                return;
+            }
+            if (state == COMPRESSING) {
+                state = FINISHED;
+                long start = cpuTime();
+                try {
+                    compressor.out.finish();
+                    drainStaged();
+                } finally {
+                    cpuNanos.add(cpuTime() - start);
+                    compressor.release();
+                    compressor = null;
+                }
+                bytesIn.add(uncompressedBytes);
+                bytesOut.add(counter.count);
+                return;
+            }
+            state = FINISHED;
+        }
+
+        /**
+         * 처리기(JSP, 컨트롤러, 기본 서블릿)가 쓰는 본문 스트림
+         */
+        private final class BodyStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (len <= 0) {
+                    return;
+                }
+                if (state == BUFFERING) {
+                    if (pendingCount + len < pending.length) {
+                        System.arraycopy(b, off, pending, pendingCount, len);
+                        pendingCount += len;
+                        return;
+                    }
+                    decide();
+                }
+                if (state == COMPRESSING) {
+                    compress(b, off, len);
+                } else if (state == PASSTHROUGH) {
+                    raw.write(b, off, len);
+                }
+                // FINISHED: sendError/sendRedirect 이후 출력은 무시
+            }
+
+            @Override
+            public void flush() throws IOException {
+                // 버퍼링 중에는 압축 여부를 결정할 때까지 보관
+                if (state == COMPRESSING) {
+                    compressor.out.flush();
+                    drainStaged();
+                } else if (state == PASSTHROUGH) {
+                    raw.flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return !nonBlocking || raw.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                startNonBlocking(writeListener);
+            }
+        }
+    }
+}
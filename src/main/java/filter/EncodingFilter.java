@@ -15,9 +15,11 @@ import javax.servlet.http.HttpServletResponse;
  * 1. 모든 요청에 대해 UTF-8 인코딩 설정
  * 2. 모든 응답에 대해 UTF-8 인코딩 설정
  * 3. 한글 깨짐 현상 방지
+ * 4. 정적 파일(/static/)은 StaticResourceServlet이 파일 종류에 맞게 처리하므로 그대로 통과
  */
 @WebFilter(
     urlPatterns = "/*",  // 모든 URL 패턴에 대해 필터 적용
+    asyncSupported = true,  // Dispatcher의 비동기 라우트가 이 필터를 거치므로 필요
     initParams = {
         @WebInitParam(name = "encoding", value = "UTF-8")  // 기본 인코딩 설정
     }
@@ -63,6 +65,12 @@ public class EncodingFilter implements Filter {
         HttpServletRequest req = (HttpServletRequest) request;
         HttpServletResponse resp = (HttpServletResponse) response;
         
+        // 정적 파일은 인코딩을 설정하지 않음 (이미지 등에 charset이 붙지 않도록)
+        if (req.getServletPath().startsWith("/static/")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
         // 요청 인코딩 설정 (클라이언트로부터 받는 데이터의 인코딩)
         req.setCharacterEncoding(encoding);
         // 응답 인코딩 설정 (클라이언트로 보내는 데이터의 인코딩)
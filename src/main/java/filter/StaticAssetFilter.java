@@ -0,0 +1,96 @@
+package filter;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import frontController.CachePolicy;
+import utils.AssetManifest;
+import utils.ImageVariants;
+
+/**
+ * 지문(fingerprint) 경로 정적 파일 필터
+ * 시작 시 AssetManifest와 ImageVariants를 만들어 servletContext 속성 "assets", "srcset"으로 JSP에 제공하고,
+ * "/static/css/style.3f2a9c1b7e.css" 같은 지문 경로 요청을 원래 파일로 응답합니다.
+ *
+ * - 지문 경로는 내용이 바뀌면 경로도 바뀌므로 1년 동안 재검증 없이 캐시 (immutable)
+ * - 텍스트 파일은 메모리에 보관한 원본 또는 미리 압축한 gzip 본문으로 바로 응답
+ * - 이미지 등은 원래 경로로 forward하여 StaticResourceServlet이 응답 (범위 요청 등 그대로 지원)
+ * - 지문이 없는 경로(원래 경로)는 StaticResourceServlet이 처리
+ */
+@WebFilter(
+    urlPatterns = "/static/*",  // 정적 파일 경로에만 적용
+    asyncSupported = true
+)
+public class StaticAssetFilter implements Filter {
+
+    // 지문 경로 캐시 정책 (1년)
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        AssetManifest manifest = AssetManifest.build(filterConfig.getServletContext());
+        filterConfig.getServletContext().setAttribute("assets", manifest.getUrls());
+        ImageVariants variants = ImageVariants.build(filterConfig.getServletContext());
+        filterConfig.getServletContext().setAttribute("srcset", variants.getSrcsets());
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        HttpServletResponse resp = (HttpServletResponse) response;
+
+        String path = req.getPathInfo() != null ? req.getServletPath() + req.getPathInfo() : req.getServletPath();
+        AssetManifest.Asset asset = AssetManifest.getInstance().lookup(path);
+        if (asset == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        resp.setHeader("Cache-Control", IMMUTABLE);
+        if (asset.getBody() == null) {
+            // 메모리에 보관하지 않는 파일 (이미지 등)
+            req.getRequestDispatcher(asset.getPath()).forward(request, response);
+            return;
+        }
+
+        boolean gzip = asset.getGzip() != null && "gzip".equals(CompressionFilter.negotiate(req.getHeader("Accept-Encoding")));
+        // 강한 ETag - 인코딩별로 다른 값 (CompressionFilter와 같은 접미사 규칙)
+        String etag = "\"" + asset.getHash() + (gzip ? "-gzip" : "") + "\"";
+        if (asset.getGzip() != null) {
+            resp.addHeader("Vary", "Accept-Encoding");
+        }
+        resp.setHeader("ETag", etag);
+        if (asset.getLastModified() > 0) {
+            resp.setDateHeader("Last-Modified", asset.getLastModified());
+        }
+        if (CachePolicy.matches(req.getHeader("If-None-Match"), "\"" + asset.getHash() + "\"")) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = gzip ? asset.getGzip() : asset.getBody();
+        resp.setContentType(asset.getContentType());
+        if (gzip) {
+            resp.setHeader("Content-Encoding", "gzip");
+        }
+        resp.setContentLength(body.length);
+        if (!"HEAD".equals(req.getMethod())) {
+            resp.getOutputStream().write(body);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // 특별한 정리 작업이 필요 없음
+    }
+}
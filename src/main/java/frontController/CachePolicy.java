@@ -0,0 +1,256 @@
+package frontController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import utils.AppConfig;
+
+/**
+ * HTTP 캐시 정책과 조건부 요청(ETag / If-None-Match) 처리
+ *
+ * 사용 예 (처리기에서 데이터 버전을 알게 된 직후, 뷰를 만들기 전에 호출):
+ *   String etag = CachePolicy.etag("liked", email, snapshot.getVersion());
+ *   if (CachePolicy.notModified(context, etag)) {
+ *       return null;   // 304 응답 - 뷰를 실행하지 않음
+ *   }
+ *
+ * - ETag는 데이터 버전 값들의 SHA-256 해시로 만드는 강한 검증자입니다.
+ * - 압축 필터가 붙인 인코딩 접미사("-gzip", "-deflate")는 비교할 때 제거합니다.
+ * - 로그인하지 않은 사용자의 공개 페이지는 {@link #anonymousPage(RequestContext)}로 공유 캐시를 허용합니다.
+ *
+ * 비동기 처리기 (작업 스레드에서는 요청/응답을 사용하지 않음):
+ *   String ifNoneMatch = CachePolicy.ifNoneMatch(context);          // 요청 스레드
+ *   ... 작업 스레드에서 ...
+ *   if (CachePolicy.deferNotModified(model, ifNoneMatch, etag)) {
+ *       return CachePolicy.NOT_MODIFIED_VIEW;                      // Dispatcher가 응답 스레드에서 304 응답
+ *   }
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.cache.anonymousMaxAgeSec : 비로그인 공개 페이지 캐시 시간 (기본값 60초, 0이면 캐시하지 않음)
+ */
+public final class CachePolicy {
+
+    private static final int ANONYMOUS_MAX_AGE_SEC = AppConfig.getInt("musicmood.cache.anonymousMaxAgeSec", 60);
+
+    // 개인 데이터: 브라우저만 보관하고 사용할 때마다 ETag로 재검증
+    private static final String PRIVATE_REVALIDATE = "private, no-cache";
+
+    private static final String[] ENCODING_SUFFIXES = { "-gzip", "-deflate" };
+
+    /**
+     * 비동기 처리기의 304 응답 결과 (뷰 경로 대신 반환)
+     */
+    public static final String NOT_MODIFIED_VIEW = "notModified:";
+
+    // 비동기 처리기가 만든 ETag를 담는 모델 키 (Dispatcher가 응답 헤더로 설정)
+    private static final String DEFERRED_ETAG_KEY = "cachePolicy.etag";
+
+    private CachePolicy() {
+    }
+
+    /**
+     * 데이터 버전 값으로 강한 ETag 생성 (따옴표 포함)
+     *
+     * @param parts 응답 내용을 결정하는 값 (null 허용)
+     */
+    public static String etag(Object... parts) {
+        Hasher hasher = new Hasher();
+        for (Object part : parts) {
+            hasher.add(part);
+        }
+        return hasher.toEtag();
+    }
+
+    /**
+     * 여러 값을 차례로 넣어 ETag를 만드는 해시 (트랙 목록 등 반복되는 데이터용)
+     */
+    public static Hasher hasher() {
+        return new Hasher();
+    }
+
+    /**
+     * ETag와 캐시 정책 헤더를 설정하고, 클라이언트가 같은 버전을 가지고 있으면 304 응답을 준비합니다.
+     * Cache-Control이 이미 설정되어 있지 않으면 "private, no-cache"를 사용합니다.
+     *
+     * @param context 요청 컨텍스트
+     * @param etag {@link #etag(Object...)}로 만든 ETag
+     * @return 304 응답이면 true (처리기는 뷰를 실행하지 않고 null을 반환)
+     */
+    public static boolean notModified(RequestContext context, String etag) {
+        return notModified(context.getRequest(), context.getResponse(), etag);
+    }
+
+    /**
+     * Map 모델을 사용하는 Controller용 ({@link #notModified(RequestContext, String)}과 같음)
+     */
+    public static boolean notModified(HttpServletRequest request, HttpServletResponse response, String etag) {
+        response.setHeader("ETag", etag);
+        if (!response.containsHeader("Cache-Control")) {
+            response.setHeader("Cache-Control", PRIVATE_REVALIDATE);
+        }
+
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        if (!matches(request.getHeader("If-None-Match"), etag)) {
+            return false;
+        }
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return true;
+    }
+
+    /**
+     * 조건부 요청 헤더 (비동기 처리기가 작업을 시작하기 전에 요청 스레드에서 읽어 둠)
+     *
+     * @return If-None-Match 값 (GET/HEAD가 아니거나 헤더가 없으면 null)
+     */
+    public static String ifNoneMatch(RequestContext context) {
+        String method = context.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return null;
+        }
+        return context.getRequest().getHeader("If-None-Match");
+    }
+
+    /**
+     * 비동기 처리기용 {@link #notModified(RequestContext, String)}
+     * 작업 스레드에서 요청/응답을 건드리지 않도록 ETag는 모델에만 저장하고 결과만 반환합니다.
+     * 헤더 설정과 304 응답은 Dispatcher가 처리 결과를 받은 뒤 적용합니다.
+     *
+     * @param model 컨트롤러 공유 모델
+     * @param ifNoneMatch {@link #ifNoneMatch(RequestContext)}로 미리 읽은 값
+     * @param etag {@link #etag(Object...)}로 만든 ETag
+     * @return 304 응답이면 true (처리기는 {@link #NOT_MODIFIED_VIEW}를 반환)
+     */
+    public static boolean deferNotModified(Map<String, Object> model, String ifNoneMatch, String etag) {
+        model.put(DEFERRED_ETAG_KEY, etag);
+        return matches(ifNoneMatch, etag);
+    }
+
+    /**
+     * 비동기 처리기가 저장한 ETag를 응답에 적용 (Dispatcher에서 처리 결과를 받은 뒤 호출)
+     *
+     * @return 304 응답이면 true (뷰를 실행하지 않음)
+     */
+    static boolean applyDeferred(RequestContext context, HttpServletResponse response, String viewUrl) {
+        Object etag = context.getValue(DEFERRED_ETAG_KEY);
+        if (etag instanceof String) {
+            response.setHeader("ETag", (String) etag);
+            if (!response.containsHeader("Cache-Control")) {
+                response.setHeader("Cache-Control", PRIVATE_REVALIDATE);
+            }
+        }
+        if (NOT_MODIFIED_VIEW.equals(viewUrl)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 로그인 여부에 따라 페이지 캐시 정책 설정
+     * - 비로그인: 공유 캐시 허용 (public, max-age), 쿠키가 다르면 따로 보관하도록 Vary: Cookie
+     * - 로그인: 사용자 정보가 포함되므로 브라우저만 보관하고 매번 재검증
+     * 세션을 만들지 않고 확인합니다.
+     */
+    public static void anonymousPage(RequestContext context) {
+        anonymousPage(context.getRequest(), context.getResponse());
+    }
+
+    public static void anonymousPage(HttpServletRequest request, HttpServletResponse response) {
+        HttpSession session = request.getSession(false);
+        boolean anonymous = session == null || session.getAttribute("user") == null;
+
+        response.addHeader("Vary", "Cookie");
+        if (anonymous && ANONYMOUS_MAX_AGE_SEC > 0) {
+            response.setHeader("Cache-Control", "public, max-age=" + ANONYMOUS_MAX_AGE_SEC);
+        } else {
+            response.setHeader("Cache-Control", PRIVATE_REVALIDATE);
+        }
+    }
+
+    /**
+     * If-None-Match 비교 (RFC 7232 약한 비교: W/ 접두사 무시, * 는 모두 일치)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String expected = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (expected.equals(stripEncodingSuffix(opaque(tag)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+
+    private static String stripEncodingSuffix(String tag) {
+        for (String suffix : ENCODING_SUFFIXES) {
+            if (tag.endsWith(suffix)) {
+                return tag.substring(0, tag.length() - suffix.length());
+            }
+        }
+        return tag;
+    }
+
+    private static String quote(byte[] hash) {
+        // 128비트면 충돌 가능성 없이 충분히 짧음
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM이 SHA-256을 지원해야 함
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * ETag 계산용 해시
+     */
+    public static final class Hasher {
+        private final MessageDigest digest = sha256();
+
+        private Hasher() {
+        }
+
+        public Hasher add(Object value) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0); // 값 경계 구분
+            return this;
+        }
+
+        /**
+         * 지금까지 넣은 값으로 ETag 생성 (따옴표 포함)
+         */
+        public String toEtag() {
+            return quote(digest.digest());
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package frontController;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 
 import javax.servlet.RequestDispatcher;
-import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -12,15 +19,25 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import dto.UserDTO;
-import controller.Controller;
 import listeners.ContextLoaderListener;
+import utils.AppConfig;
 import utils.ErrorLogger;
 
-// 프론트 컨트롤러 - 모든 .do 요청 및 /api/* 요청을 처리
-@WebServlet(urlPatterns = {"*.do", "/api/*"}) 
+// 프론트 컨트롤러 - 모든 .do 요청, /api/* 요청, 상태 점검(/health) 및 지표(/metrics) 요청을 처리
+// 비동기 라우트(Spotify API 호출 등)는 서블릿 비동기 모드로 처리하여 요청 스레드를 바로 반환
+// 모든 요청은 라우트별 지표(RouteMetrics)에 응답 시간/상태 코드/응답 바이트 수를 기록
+@WebServlet(urlPatterns = {"*.do", "/api/*", "/health", "/health/*", "/metrics"}, asyncSupported = true) 
 public class Dispatcher extends HttpServlet {
     private static final long serialVersionUID = 1L;
     
+    // 상태 점검 경로 (세션 생성/요청 로그 없이 처리)
+    private static final String HEALTH_PATH = "/health";
+    // 지표 경로 (Prometheus 수집, 세션 생성/요청 로그 없이 처리)
+    private static final String METRICS_PATH = "/metrics";
+    
+    // 비동기 라우트 처리 제한 시간 (초과 시 처리기 작업을 취소하고 504 응답)
+    private static final long ASYNC_TIMEOUT_MS = AppConfig.getLong("musicmood.async.timeoutMs", 20000L);
+    
     public void init() throws ServletException {
         super.init();
         // 애플리케이션 컨텍스트 초기화
@@ -35,6 +52,15 @@ public class Dispatcher extends HttpServlet {
 
     @Override
     protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        // 디스패치 오버헤드 측정 시작 시각
+        long receivedAt = System.nanoTime();
+        
+        // 상태 점검/지표 요청은 로드 밸런서와 수집기가 자주 호출하므로 모델/세션을 만들지 않고 바로 처리
+        String probePath = req.getServletPath();
+        if (HEALTH_PATH.equals(probePath) || METRICS_PATH.equals(probePath)) {
+            serviceProbe(req, resp, probePath, receivedAt);
+            return;
+        }
         
         // 전체 요청 URI와 컨텍스트 경로 확인 (디버깅용)
         String requestURI = req.getRequestURI();
@@ -53,26 +79,40 @@ public class Dispatcher extends HttpServlet {
             System.out.println("API 요청 감지: " + servletPath + " (원본 경로: " + req.getRequestURI() + ")");
         }
         
-        // 업캐스팅을 위해 Controller 인터페이스 타입 선언
-        Controller pageController = null;
+        // 라우트 조회 (세션/모델을 만들기 전에 404/405 판단, 예외를 사용하지 않음)
+        RouteTable routeTable = ContextLoaderListener.getRouteTable();
+        RouteTable.Route route = routeTable.resolve(servletPath, req.getParameter("action"));
         
+        // 라우트별 지표 기록 (404는 미등록 경로 지표에 기록)
+        MeteredResponse metered = new MeteredResponse(resp,
+                route != null ? route.getMetrics() : routeTable.getUnmatchedMetrics(), receivedAt);
         try {
-            // 모델 데이터를 담을 HashMap 준비
-            HashMap<String, Object> model = new HashMap<>();
-            model.put("session", req.getSession()); // 세션 넣기
-            
-            // 요청과 응답 객체를 모델에 추가
-            model.put("request", req);
-            model.put("response", resp);
-            
-            // 요청 메서드 정보 추가
-            model.put("method", req.getMethod());
-            
-            // 컨텍스트 경로 추가
-            model.put("contextPath", req.getContextPath());
-            
-            // URL 파라미터 처리 - 모든 요청 파라미터 추출
-            extractParameters(req, model);
+            dispatch(req, metered, route, servletPath, receivedAt);
+        } finally {
+            metered.finishIfSync();
+        }
+    }
+    
+    /**
+     * 조회한 라우트 실행 (404/405 응답 포함)
+     */
+    private void dispatch(HttpServletRequest req, MeteredResponse resp, RouteTable.Route route, String servletPath,
+                          long receivedAt) throws ServletException, IOException {
+        if (route == null) {
+            sendNotFound(req, resp, servletPath);
+            return;
+        }
+        if (!route.allows(req.getMethod())) {
+            System.out.println("[Dispatcher] 허용되지 않은 메서드: " + req.getMethod() + " " + route.getName());
+            route.recordMethodNotAllowed();
+            resp.setHeader("Allow", route.getAllowHeader());
+            resp.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+        
+        try {
+            // 요청 컨텍스트 준비 (세션/파라미터는 처리기가 처음 조회할 때 읽음)
+            RequestContext context = new RequestContext(req, resp);
             
             // POST 요청의 경우 필요한 파라미터 추가
             if (servletPath.equals("/auth/login.do") && req.getMethod().equals("POST")) {
@@ -80,79 +120,66 @@ public class Dispatcher extends HttpServlet {
                 String password = req.getParameter("password");
                 
                 if (email != null && password != null) {
-                    // 로그인 정보 모델에 추가
-                    model.put("loginInfo", new UserDTO()
+                    // 로그인 정보 컨텍스트에 추가
+                    context.put("loginInfo", new UserDTO()
                         .setEmail(email)
                         .setPassword(password));
                 }
             }
             
-            // ServletContext에서 해당 경로에 맞는 컨트롤러 가져오기
-            ServletContext sc = this.getServletContext();
-            pageController = (Controller) sc.getAttribute(servletPath);
-            
-            // 컨트롤러를 찾지 못한 경우 ContextLoaderListener에서 가져오기 시도
-            if (pageController == null) {
-                pageController = ContextLoaderListener.getController(servletPath);
-                
-                // 컨트롤러를 찾으면 ServletContext에 등록
-                if (pageController != null) {
-                    sc.setAttribute(servletPath, pageController);
+            // 라우트 처리기 실행 후 뷰 경로 받기
+            String viewUrl;
+            if (route.isAsync()) {
+                CompletableFuture<String> view = route.executeAsync(context, receivedAt);
+                if (!view.isDone()) {
+                    dispatchAsync(req, resp, context, view, servletPath);
+                    return;
                 }
+                // 이미 완료된 경우 (입력 검증 실패 등) 비동기 전환 없이 바로 처리
+                viewUrl = join(view);
+            } else {
+                viewUrl = route.execute(context, receivedAt);
             }
             
-            if(pageController == null) {
-                String errorMessage = "요청한 서비스를 찾을 수 없습니다: " + servletPath;
-                ErrorLogger.logError(errorMessage);
-                
-                // API 요청의 경우 JSON 오류 응답 제공
-                if (servletPath.startsWith("/api") || req.getRequestURI().contains("/api/")) {
-                    resp.setContentType("application/json; charset=UTF-8");
-                    resp.getWriter().write("{\"status\":\"ERROR\",\"error\":\"" + errorMessage + "\"}");
-                    return;
-                }
-                
-                throw new Exception(errorMessage);
+            // 컨트롤러가 응답을 직접 작성한 경우 (파일 내보내기 등) 뷰 처리 없음
+            if (viewUrl == null) {
+                return;
             }
             
-            // 페이지 컨트롤러 실행 후 뷰 경로 받기
-            String viewUrl = pageController.execute(model);
+            // 비동기 처리기가 결과로 넘긴 ETag/304 적용
+            if (CachePolicy.applyDeferred(context, resp, viewUrl)) {
+                return;
+            }
             
-            // Content-Type 설정 확인
-            if (model.containsKey("contentType")) {
-                resp.setContentType((String)model.get("contentType"));
+            // JSON 결과는 JSP를 거치지 않고 응답 스트림에 바로 작성
+            if (JsonView.isJson(viewUrl)) {
+                JsonView.render(context, resp, viewUrl);
+                return;
             }
             
-            // 모델에 담긴 데이터를 request 속성으로 복사
-            for(String key: model.keySet()) {
-                req.setAttribute(key, model.get(key));
+            // Content-Type 설정 확인 (요청 파라미터가 아닌 처리기가 저장한 값만 사용)
+            Object contentType = context.getValue("contentType");
+            if (contentType instanceof String) {
+                resp.setContentType((String) contentType);
             }
             
             // 리다이렉트 또는 포워드 처리
             if(viewUrl.startsWith("redirect:")) {
-                String redirectUrl = viewUrl.substring(9); // "redirect:" 제거 후 리다이렉트
-                
-                // 절대경로(/)로 시작하지 않고 상대경로인 경우 컨텍스트 경로 추가
-                if (!redirectUrl.startsWith("/") && !redirectUrl.startsWith("http")) {
-                    redirectUrl = req.getContextPath() + "/" + redirectUrl;
-                } else if (redirectUrl.startsWith("/")) {
-                    // 절대경로지만 외부 URL이 아닌 경우도 컨텍스트 경로 추가
-                    redirectUrl = req.getContextPath() + redirectUrl;
-                }
-                
+                String redirectUrl = toRedirectUrl(req, viewUrl);
                 System.out.println("[Dispatcher] 리다이렉트: " + redirectUrl);
                 resp.sendRedirect(redirectUrl);
                 return;
             } else {
+                // 컨텍스트 값은 request 속성으로 복사하지 않고 래핑한 요청으로 뷰에 전달
                 RequestDispatcher rd = req.getRequestDispatcher(viewUrl);
-                rd.include(req, resp);
+                rd.include(context.wrapForView(), resp);
             }
         } catch (Exception e) {
             // 에러 로깅
             ErrorLogger.logError("요청 처리 중 오류 발생: " + servletPath, e);
             
             // API 요청의 경우 JSON 오류 응답
-            if (servletPath.startsWith("/api") || req.getRequestURI().contains("/api/")) {
+            if (isApiRequest(req, servletPath)) {
                 resp.setContentType("application/json; charset=UTF-8");
                 resp.getWriter().write("{\"status\":\"ERROR\",\"error\":\"" + e.getMessage() + "\"}");
                 return;
@@ -169,31 +196,211 @@ public class Dispatcher extends HttpServlet {
     }
     
     /**
-     * 요청 파라미터를 모델에 추출하는 유틸리티 메서드
+     * 비동기 라우트 처리 - 요청 스레드를 반환하고 결과가 준비되면 뷰로 디스패치
+     * 시간 초과(504)와 클라이언트 연결 끊김은 여기서 일괄 처리하며, 두 경우 모두 처리기의 Future를 취소합니다.
      */
-    private void extractParameters(HttpServletRequest req, HashMap<String, Object> model) {
-        // 요청 파라미터 이름 목록 가져오기
-        java.util.Enumeration<String> paramNames = req.getParameterNames();
+    private void dispatchAsync(HttpServletRequest req, MeteredResponse resp, RequestContext context,
+                               CompletableFuture<String> view, String servletPath) {
+        // 디스패치된 뷰도 request 속성 복사 없이 컨텍스트 값을 조회하도록 래핑한 요청으로 시작
+        AsyncContext async = req.startAsync(context.wrapForView(), resp);
+        async.setTimeout(ASYNC_TIMEOUT_MS);
+        // 지표는 응답이 완료될 때 기록
+        resp.finishOnComplete(async);
+        
+        // 처리 결과/시간 초과/연결 오류 중 먼저 발생한 하나만 응답을 작성
+        AtomicBoolean finished = new AtomicBoolean();
         
-        // 각 파라미터의 값을 모델에 추가
-        while (paramNames.hasMoreElements()) {
-            String name = paramNames.nextElement();
-            String value = req.getParameter(name);
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (finished.compareAndSet(false, true)) {
+                    view.cancel(true);
+                    System.err.println("[Dispatcher] 비동기 처리 시간 초과 (" + ASYNC_TIMEOUT_MS + "ms): " + servletPath);
+                    sendAsyncError(async, req, resp, servletPath,
+                            HttpServletResponse.SC_GATEWAY_TIMEOUT, "외부 서비스 응답 시간이 초과되었습니다.");
+                }
+            }
             
-            // 파라미터 값이 있으면 모델에 추가
-            if (value != null && !value.isEmpty()) {
-                model.put(name, value);
-                System.out.println("[파라미터 추출] " + name + " = " + value);
+            @Override
+            public void onError(AsyncEvent event) {
+                // 클라이언트 연결 끊김 등 - 더 이상 응답할 수 없으므로 작업만 취소
+                if (finished.compareAndSet(false, true)) {
+                    view.cancel(true);
+                    System.out.println("[Dispatcher] 비동기 요청 중단: " + servletPath + " (" + event.getThrowable() + ")");
+                    async.complete();
+                }
             }
+            
+            @Override
+            public void onComplete(AsyncEvent event) {
+                // 정상 완료 후에는 영향 없음
+                view.cancel(true);
+            }
+            
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        
+        view.whenComplete((viewUrl, error) -> {
+            if (!finished.compareAndSet(false, true)) {
+                return; // 이미 시간 초과/연결 오류로 응답이 끝남
+            }
+            try {
+                if (error != null) {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof RejectedExecutionException) {
+                        sendAsyncError(async, req, resp, servletPath,
+                                HttpServletResponse.SC_SERVICE_UNAVAILABLE, cause.getMessage());
+                        return;
+                    }
+                    ErrorLogger.logError("요청 처리 중 오류 발생: " + servletPath,
+                            cause instanceof Exception ? (Exception) cause : new Exception(cause));
+                    sendAsyncError(async, req, resp, servletPath,
+                            HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "페이지를 처리하는 중 오류가 발생했습니다.");
+                    return;
+                }
+                
+                // 처리기가 응답을 직접 작성한 경우
+                if (viewUrl == null) {
+                    async.complete();
+                    return;
+                }
+                
+                // 작업 스레드는 응답을 건드리지 않으므로 ETag/304는 여기서 적용
+                if (CachePolicy.applyDeferred(context, resp, viewUrl)) {
+                    async.complete();
+                    return;
+                }
+                
+                if (JsonView.isJson(viewUrl)) {
+                    JsonView.render(context, resp, viewUrl);
+                    async.complete();
+                    return;
+                }
+                
+                Object contentType = context.getValue("contentType");
+                if (contentType instanceof String) {
+                    resp.setContentType((String) contentType);
+                }
+                
+                if (viewUrl.startsWith("redirect:")) {
+                    resp.sendRedirect(toRedirectUrl(req, viewUrl));
+                    async.complete();
+                } else {
+                    // 컨테이너 스레드에서 뷰 실행 후 자동으로 완료됨
+                    async.dispatch(viewUrl);
+                }
+            } catch (Exception e) {
+                ErrorLogger.logError("비동기 응답 작성 중 오류 발생: " + servletPath, e);
+                async.complete();
+            }
+        });
+    }
+    
+    /**
+     * 비동기 처리 오류 응답 후 완료 (API 요청은 JSON 본문 포함)
+     */
+    private void sendAsyncError(AsyncContext async, HttpServletRequest req, HttpServletResponse resp,
+                                String servletPath, int status, String message) {
+        try {
+            if (!resp.isCommitted()) {
+                if (isApiRequest(req, servletPath)) {
+                    resp.setStatus(status);
+                    resp.setContentType("application/json; charset=UTF-8");
+                    resp.getWriter().write("{\"status\":\"ERROR\",\"error\":\"" + message + "\"}");
+                } else {
+                    resp.sendError(status, message);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[Dispatcher] 오류 응답 작성 실패: " + e.getMessage());
+        } finally {
+            async.complete();
+        }
+    }
+    
+    /**
+     * 완료된 Future의 결과 (처리기 예외는 원래 예외로 다시 던짐)
+     */
+    private static String join(CompletableFuture<String> view) throws Exception {
+        try {
+            return view.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            throw cause instanceof Exception ? (Exception) cause : e;
         }
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+    
+    /**
+     * "redirect:" 뷰 경로를 리다이렉트 URL로 변환
+     */
+    private static String toRedirectUrl(HttpServletRequest req, String viewUrl) {
+        String redirectUrl = viewUrl.substring(9); // "redirect:" 제거 후 리다이렉트
         
-        // 다중 값 파라미터 처리 (체크박스 등)
-        for (String name : req.getParameterMap().keySet()) {
-            String[] values = req.getParameterValues(name);
-            if (values != null && values.length > 1) {
-                model.put(name + "List", values);
-                System.out.println("[다중 파라미터 추출] " + name + "List = " + String.join(", ", values));
+        // 절대경로(/)로 시작하지 않고 상대경로인 경우 컨텍스트 경로 추가
+        if (!redirectUrl.startsWith("/") && !redirectUrl.startsWith("http")) {
+            redirectUrl = req.getContextPath() + "/" + redirectUrl;
+        } else if (redirectUrl.startsWith("/")) {
+            // 절대경로지만 외부 URL이 아닌 경우도 컨텍스트 경로 추가
+            redirectUrl = req.getContextPath() + redirectUrl;
+        }
+        return redirectUrl;
+    }
+    
+    private static boolean isApiRequest(HttpServletRequest req, String servletPath) {
+        return servletPath.startsWith("/api") || req.getRequestURI().contains("/api/");
+    }
+    
+    /**
+     * 상태 점검/지표 요청 처리
+     * 요청 컨텍스트로 HealthController, MetricsController를 바로 실행합니다. (세션 생성, 요청 로그 없음)
+     */
+    private void serviceProbe(HttpServletRequest req, HttpServletResponse resp, String path, long receivedAt)
+            throws IOException {
+        RouteTable.Route route = ContextLoaderListener.getRouteTable().resolve(path, null);
+        if (route == null) {
+            resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        MeteredResponse metered = new MeteredResponse(resp, route.getMetrics(), receivedAt);
+        try {
+            if (!route.allows(req.getMethod())) {
+                route.recordMethodNotAllowed();
+                metered.setHeader("Allow", route.getAllowHeader());
+                metered.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+                return;
+            }
+            route.execute(new RequestContext(req, metered), receivedAt);
+        } catch (Exception e) {
+            ErrorLogger.logError("상태 점검/지표 요청 처리 중 오류 발생: " + path, e);
+            if (!metered.isCommitted()) {
+                metered.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             }
+        } finally {
+            metered.finishIfSync();
+        }
+    }
+    
+    /**
+     * 등록되지 않은 경로 - 404 응답 (API 요청은 JSON 본문 포함)
+     */
+    private void sendNotFound(HttpServletRequest req, HttpServletResponse resp, String servletPath) throws IOException {
+        System.out.println("[Dispatcher] 등록되지 않은 경로: " + servletPath);
+        
+        if (isApiRequest(req, servletPath)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            resp.setContentType("application/json; charset=UTF-8");
+            resp.getWriter().write("{\"status\":\"ERROR\",\"error\":\"요청한 서비스를 찾을 수 없습니다: " + servletPath + "\"}");
+            return;
         }
+        resp.sendError(HttpServletResponse.SC_NOT_FOUND, "요청한 서비스를 찾을 수 없습니다: " + servletPath);
     }
 }
\ No newline at end of file
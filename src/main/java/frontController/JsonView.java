@@ -0,0 +1,125 @@
+package frontController;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import javax.servlet.http.HttpServletResponse;
+
+import utils.JsonWriter;
+
+/**
+ * JSON 응답 뷰 ("json:" 결과)
+ * 처리기는 응답 데이터를 모델에 담고 "json:" 또는 "json:상태코드"를 뷰 경로로 반환합니다.
+ * Dispatcher는 JSP를 거치지 않고 JsonWriter로 응답 출력 스트림에 바로 씁니다.
+ *
+ * 사용 예:
+ *   return JsonView.of(model, body);                 // 200
+ *   return JsonView.of(model, 404, body);            // 상태 코드 지정
+ *   return JsonView.status(model);                   // {"status", "message", "likedPlaylistIds"} 형식
+ */
+public final class JsonView {
+
+    public static final String PREFIX = "json:";
+
+    // 응답 데이터를 담는 모델 키
+    private static final String BODY_KEY = "jsonBody";
+
+    // 인코더(8KB 버퍼) 재사용 풀 - 비어 있으면 새로 만들고, 가득 차 있으면 반환하지 않고 버림
+    // (요청 스레드마다 버퍼를 고정하지 않으며, 재배포 시 스레드에 남아 클래스로더를 붙잡지 않음)
+    private static final int POOL_SIZE = 16;
+    private static final ArrayBlockingQueue<JsonWriter> WRITERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private JsonView() {
+    }
+
+    /**
+     * JSON 응답 결과 (200)
+     *
+     * @param model 컨트롤러 공유 모델
+     * @param body 응답 데이터 (Map, List, 문자열, 숫자 등)
+     * @return 뷰 경로 ("json:")
+     */
+    public static String of(Map<String, Object> model, Object body) {
+        model.put(BODY_KEY, body);
+        return PREFIX;
+    }
+
+    /**
+     * JSON 응답 결과 (상태 코드 지정)
+     */
+    public static String of(Map<String, Object> model, int httpStatus, Object body) {
+        model.put(BODY_KEY, body);
+        return PREFIX + httpStatus;
+    }
+
+    public static String of(RequestContext context, Object body) {
+        context.put(BODY_KEY, body);
+        return PREFIX;
+    }
+
+    /**
+     * 상태 응답 ({"status", "message", "likedPlaylistIds"})
+     * 모델의 status, message, likedPlaylistIdsJson 값을 사용하며 메시지가 없으면 상태별 기본 메시지를 사용합니다.
+     */
+    public static String status(Map<String, Object> model) {
+        String status = (String) model.get("status");
+        String message = (String) model.get("message");
+        // 미리 직렬화된 JSON을 그대로 출력하므로 요청 파라미터가 아닌 처리기가 저장한 값만 사용
+        Object likedJson = RequestContext.getStoredValue(model, "likedPlaylistIdsJson");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status != null ? status : "ERROR");
+        body.put("message", message != null ? message : defaultMessage(status));
+        body.put("likedPlaylistIds", JsonWriter.raw(likedJson instanceof String ? (String) likedJson : "[]"));
+        return of(model, body);
+    }
+
+    private static String defaultMessage(String status) {
+        if ("OK".equals(status)) {
+            return "요청이 성공적으로 처리되었습니다.";
+        } else if ("BAD_REQUEST".equals(status)) {
+            return "잘못된 요청입니다.";
+        } else if ("METHOD_NOT_ALLOWED".equals(status)) {
+            return "허용되지 않은 HTTP 메서드입니다.";
+        } else if ("INTERNAL_SERVER_ERROR".equals(status)) {
+            return "서버 내부 오류가 발생했습니다.";
+        }
+        return "알 수 없는 오류가 발생했습니다.";
+    }
+
+    static boolean isJson(String viewUrl) {
+        return viewUrl.startsWith(PREFIX);
+    }
+
+    /**
+     * JSON 응답 작성 (Dispatcher에서 호출)
+     * 본문이 인코더 버퍼(8KB)에 모두 들어가면 Content-Length를 설정합니다.
+     */
+    static void render(RequestContext context, HttpServletResponse resp, String viewUrl) throws IOException {
+        if (viewUrl.length() > PREFIX.length()) {
+            resp.setStatus(Integer.parseInt(viewUrl.substring(PREFIX.length())));
+        }
+        resp.setContentType("application/json; charset=UTF-8");
+        if (!resp.containsHeader("Cache-Control")) {
+            resp.setHeader("Cache-Control", "no-cache");
+        }
+
+        boolean head = "HEAD".equals(context.getMethod());
+        JsonWriter writer = WRITERS.poll();
+        if (writer == null) {
+            writer = new JsonWriter();
+        }
+        try {
+            writer.write(context.getValue(BODY_KEY), contentLength -> {
+                if (contentLength >= 0) {
+                    resp.setContentLength(contentLength);
+                }
+                return head ? null : resp.getOutputStream();
+            });
+        } finally {
+            WRITERS.offer(writer);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package frontController;
+
+import java.util.Collections;
+import java.util.Enumeration;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+/**
+ * 지연 생성 세션 (모델의 "session" 값)
+ * 읽기 작업은 이미 있는 세션만 조회하고, 세션이 없으면 빈 세션처럼 동작합니다.
+ * setAttribute 등 세션에 값을 쓰는 순간에만 실제 세션을 생성하므로
+ * 익명 방문자/크롤러 요청은 세션을 만들지 않습니다.
+ *
+ * 컨트롤러는 기존처럼 HttpSession으로 형변환해서 사용하면 됩니다.
+ * JSP에서는 page 지시어에 session="false"를 지정하고 request 속성 "session"으로 이 객체를 사용합니다.
+ */
+@SuppressWarnings("deprecation")
+final class LazySession implements HttpSession {
+
+    private final HttpServletRequest request;
+
+    LazySession(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * 이미 생성된 세션 (없으면 null, 새로 만들지 않음)
+     */
+    private HttpSession existing() {
+        return request.getSession(false);
+    }
+
+    /**
+     * 세션 (없으면 생성)
+     */
+    private HttpSession create() {
+        return request.getSession(true);
+    }
+
+    // ---- 읽기: 세션을 만들지 않음 ----
+
+    @Override
+    public Object getAttribute(String name) {
+        HttpSession session = existing();
+        return session != null ? session.getAttribute(name) : null;
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        HttpSession session = existing();
+        return session != null ? session.getAttributeNames() : Collections.emptyEnumeration();
+    }
+
+    @Override
+    public Object getValue(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public String[] getValueNames() {
+        return Collections.list(getAttributeNames()).toArray(new String[0]);
+    }
+
+    @Override
+    public boolean isNew() {
+        HttpSession session = existing();
+        return session == null || session.isNew();
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        HttpSession session = existing();
+        return session != null ? session.getMaxInactiveInterval() : 0;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return request.getServletContext();
+    }
+
+    @Override
+    public javax.servlet.http.HttpSessionContext getSessionContext() {
+        HttpSession session = existing();
+        return session != null ? session.getSessionContext() : null;
+    }
+
+    // ---- 삭제/무효화: 세션이 있을 때만 수행 ----
+
+    @Override
+    public void removeAttribute(String name) {
+        HttpSession session = existing();
+        if (session != null) {
+            session.removeAttribute(name);
+        }
+    }
+
+    @Override
+    public void removeValue(String name) {
+        removeAttribute(name);
+    }
+
+    @Override
+    public void invalidate() {
+        HttpSession session = existing();
+        if (session != null) {
+            session.invalidate();
+        }
+    }
+
+    // ---- 쓰기: 이 시점에 세션 생성 ----
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            // 서블릿 명세상 null 저장은 삭제와 같음 - 세션을 만들 필요 없음
+            removeAttribute(name);
+            return;
+        }
+        create().setAttribute(name, value);
+    }
+
+    @Override
+    public void putValue(String name, Object value) {
+        setAttribute(name, value);
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        create().setMaxInactiveInterval(interval);
+    }
+
+    /**
+     * 세션 ID (세션 ID는 실제 세션이 있어야 하므로 없으면 생성)
+     */
+    @Override
+    public String getId() {
+        return create().getId();
+    }
+
+    @Override
+    public long getCreationTime() {
+        HttpSession session = existing();
+        return session != null ? session.getCreationTime() : System.currentTimeMillis();
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        HttpSession session = existing();
+        return session != null ? session.getLastAccessedTime() : System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,201 @@
+package frontController;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * 응답 본문 바이트 수를 세고 요청 완료 시 {@link RouteMetrics}에 기록하는 응답 래퍼 (Dispatcher 전용)
+ *
+ * - 바이트 수는 압축 전 본문 기준입니다. (Writer 출력은 UTF-8 길이로 계산)
+ * - 버퍼를 두지 않고 원래 스트림/Writer로 바로 전달하므로 flush 시점은 바뀌지 않습니다.
+ * - 동기 요청은 Dispatcher가 처리 후 {@link #finishIfSync()}, 비동기 요청은 AsyncContext 완료 시 기록합니다.
+ */
+final class MeteredResponse extends HttpServletResponseWrapper {
+
+    private final RouteMetrics metrics;
+    private final long receivedAtNanos;
+    private long bytes;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean async;
+    private boolean finished;
+
+    MeteredResponse(HttpServletResponse response, RouteMetrics metrics, long receivedAtNanos) {
+        super(response);
+        this.metrics = metrics;
+        this.receivedAtNanos = receivedAtNanos;
+        metrics.begin();
+    }
+
+    /**
+     * 비동기 처리로 전환 - AsyncContext가 완료(정상/시간 초과/오류)될 때 기록
+     */
+    void finishOnComplete(AsyncContext asyncContext) {
+        async = true;
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                finish();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    /**
+     * 동기 요청 처리 종료 시 호출 (비동기로 전환한 요청은 무시)
+     */
+    void finishIfSync() {
+        if (!async) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        metrics.end(receivedAtNanos, getStatus(), bytes);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new CountingWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        bytes = 0;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        bytes = 0;
+    }
+
+    private final class CountingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream out;
+
+        CountingOutputStream(ServletOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return out.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            out.setWriteListener(writeListener);
+        }
+    }
+
+    private final class CountingWriter extends Writer {
+        private final PrintWriter out;
+
+        CountingWriter(PrintWriter out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int c) {
+            out.write(c);
+            bytes += utf8Length((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            out.write(cbuf, off, len);
+            for (int i = off; i < off + len; i++) {
+                bytes += utf8Length(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            out.write(str, off, len);
+            for (int i = off; i < off + len; i++) {
+                bytes += utf8Length(str.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() {
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            out.close();
+        }
+    }
+
+    /**
+     * UTF-8 인코딩 길이 (서로게이트 쌍은 각 2바이트로 계산하여 합이 4바이트)
+     */
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800 || Character.isSurrogate(c)) {
+            return 2;
+        }
+        return 3;
+    }
+}
@@ -0,0 +1,260 @@
+package frontController;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+/**
+ * 요청 컨텍스트 (요청마다 HashMap 모델을 만들던 방식을 대체)
+ *
+ * - 요청 파라미터는 미리 복사하지 않고 처음 조회할 때 요청에서 읽습니다.
+ * - 컨트롤러가 저장한 값만 내부 맵에 보관하며, 맵은 처음 저장할 때 만듭니다.
+ * - JSP에는 {@link #wrapForView()}로 감싼 요청을 넘겨 request 속성 복사 없이 값을 조회하게 합니다.
+ *   (JSP나 필터가 request.setAttribute로 직접 저장한 값이 있으면 그 값이 우선)
+ * - 기존 Controller.execute(Map) 컨트롤러는 {@link #asMap()} 어댑터로 그대로 동작합니다.
+ *
+ * 값 조회 순서 ({@link #get(String)}):
+ * 1. 컨트롤러가 저장한 값
+ * 2. 기본 값 (session, request, response, method, contextPath)
+ * 3. 요청 파라미터 (빈 문자열은 없는 것으로 처리)
+ * 4. "이름List" 형식이면 다중 값 파라미터 배열 (값이 2개 이상일 때)
+ */
+public final class RequestContext {
+
+    private static final String LIST_SUFFIX = "List";
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final String method;
+
+    // 처음 사용할 때 생성
+    private HttpSession session;
+    private Map<String, Object> values;
+    private Map<String, Object> mapView;
+
+    public RequestContext(HttpServletRequest request, HttpServletResponse response) {
+        this.request = request;
+        this.response = response;
+        this.method = request.getMethod();
+    }
+
+    public HttpServletRequest getRequest() { return request; }
+    public HttpServletResponse getResponse() { return response; }
+    public String getMethod() { return method; }
+    public String getContextPath() { return request.getContextPath(); }
+
+    /**
+     * 세션 (값을 쓸 때만 실제 세션을 생성하는 지연 세션)
+     */
+    public HttpSession getSession() {
+        if (session == null) {
+            session = new LazySession(request);
+        }
+        return session;
+    }
+
+    /**
+     * 요청 파라미터 (없거나 빈 문자열이면 null)
+     */
+    public String getParameter(String name) {
+        String value = request.getParameter(name);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 다중 값 파라미터 (없으면 null)
+     */
+    public String[] getParameterValues(String name) {
+        return request.getParameterValues(name);
+    }
+
+    /**
+     * 값 조회 (조회 순서는 클래스 설명 참고)
+     */
+    public Object get(String key) {
+        if (key == null) {
+            return null;
+        }
+        if (values != null) {
+            Object value = values.get(key);
+            if (value != null || values.containsKey(key)) {
+                return value;
+            }
+        }
+        switch (key) {
+            case "session": return getSession();
+            case "request": return request;
+            case "response": return response;
+            case "method": return method;
+            case "contextPath": return request.getContextPath();
+            default: break;
+        }
+        String param = getParameter(key);
+        if (param != null) {
+            return param;
+        }
+        if (key.length() > LIST_SUFFIX.length() && key.endsWith(LIST_SUFFIX)) {
+            String[] multi = request.getParameterValues(key.substring(0, key.length() - LIST_SUFFIX.length()));
+            if (multi != null && multi.length > 1) {
+                return multi;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 처리기가 저장한 값만 조회 (파라미터로 대체하지 않음 - 응답 헤더 설정 등에 사용)
+     */
+    public Object getValue(String key) {
+        return values != null ? values.get(key) : null;
+    }
+
+    /**
+     * Map 모델에서 처리기가 저장한 값만 조회 (RequestContext의 Map 어댑터가 아니면 일반 get)
+     * 기존 Controller(Map 기반)가 쓴 값을 요청 파라미터와 구분해야 할 때 사용합니다.
+     */
+    public static Object getStoredValue(Map<String, Object> model, String key) {
+        if (model instanceof RequestContext.MapView) {
+            return ((RequestContext.MapView) model).context().getValue(key);
+        }
+        return model.get(key);
+    }
+
+    /**
+     * 값 저장 (뷰에서 request 속성처럼 조회됨)
+     *
+     * @return 이전에 저장한 값 (파라미터/기본 값은 포함하지 않음)
+     */
+    public Object put(String key, Object value) {
+        if (values == null) {
+            values = new HashMap<>();
+        }
+        return values.put(key, value);
+    }
+
+    public Object remove(String key) {
+        return values != null ? values.remove(key) : null;
+    }
+
+    /**
+     * 기존 Controller.execute(Map) 용 Map 어댑터 (컨텍스트와 같은 값을 공유)
+     */
+    public Map<String, Object> asMap() {
+        if (mapView == null) {
+            mapView = new MapView();
+        }
+        return mapView;
+    }
+
+    /**
+     * 뷰(JSP)용 요청 - request.getAttribute가 request 속성에 없는 값을 이 컨텍스트에서 조회합니다.
+     */
+    public HttpServletRequest wrapForView() {
+        return new ViewRequest(request, this);
+    }
+
+    /**
+     * 조회 가능한 모든 키 (반복 조회용, 요청마다 새로 만들므로 일반 경로에서는 사용하지 않음)
+     */
+    private Set<String> keys() {
+        Set<String> keys = new LinkedHashSet<>();
+        if (values != null) {
+            keys.addAll(values.keySet());
+        }
+        Collections.addAll(keys, "session", "request", "response", "method", "contextPath");
+        for (Map.Entry<String, String[]> param : request.getParameterMap().entrySet()) {
+            String[] multi = param.getValue();
+            if (multi != null && multi.length > 0 && multi[0] != null && !multi[0].isEmpty()) {
+                keys.add(param.getKey());
+            }
+            if (multi != null && multi.length > 1) {
+                keys.add(param.getKey() + LIST_SUFFIX);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Map 어댑터 - get/put/containsKey/remove는 컨텍스트로 바로 위임하고
+     * 반복(entrySet)은 호출 시점의 스냅샷을 반환합니다.
+     */
+    private final class MapView extends AbstractMap<String, Object> {
+
+        RequestContext context() {
+            return RequestContext.this;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return key instanceof String ? RequestContext.this.get((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+            return (values != null && values.containsKey(key)) || RequestContext.this.get((String) key) != null;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return RequestContext.this.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return key instanceof String ? RequestContext.this.remove((String) key) : null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            for (String key : keys()) {
+                snapshot.put(key, RequestContext.this.get(key));
+            }
+            return Collections.unmodifiableMap(snapshot).entrySet();
+        }
+    }
+
+    /**
+     * 뷰용 요청 래퍼 (원래 request 속성 → 컨텍스트 값 순으로 조회)
+     */
+    private static final class ViewRequest extends HttpServletRequestWrapper {
+        private final RequestContext context;
+
+        ViewRequest(HttpServletRequest request, RequestContext context) {
+            super(request);
+            this.context = context;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            Object value = super.getAttribute(name);
+            return value != null ? value : context.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            Set<String> names = context.keys();
+            names.addAll(Collections.list(super.getAttributeNames()));
+            return Collections.enumeration(names);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            context.remove(name);
+            super.removeAttribute(name);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package frontController;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import utils.Histogram;
+
+/**
+ * 라우트별 요청 지표 (응답 시간, 상태 코드별 요청 수, 응답 바이트 수, 처리 중인 요청 수)
+ * 요청 스레드가 락 없이 기록하도록 LongAdder 기반 카운터와 {@link Histogram}만 사용하며,
+ * 기록할 때 객체를 만들지 않습니다. (상태 코드 카운터는 처음 나온 코드에 한 번만 생성)
+ *
+ * 응답 시간은 요청 수신부터 응답 완료까지(비동기 라우트는 AsyncContext 완료까지)의 마이크로초입니다.
+ */
+public final class RouteMetrics {
+
+    // 상태 코드 카운터 범위 (범위 밖의 코드는 0번에 기록)
+    private static final int MAX_STATUS = 600;
+
+    private final Histogram latencyMicros = new Histogram();
+    private final AtomicReferenceArray<LongAdder> statusCounts = new AtomicReferenceArray<>(MAX_STATUS);
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+
+    RouteMetrics() {
+    }
+
+    /**
+     * 요청 처리 시작
+     */
+    void begin() {
+        inFlight.increment();
+    }
+
+    /**
+     * 요청 처리 완료 ({@link #begin()}과 한 번씩 짝을 이뤄 호출)
+     *
+     * @param receivedAtNanos 요청 수신 시각 (System.nanoTime)
+     * @param status 응답 상태 코드
+     * @param bytes 응답 본문 바이트 수
+     */
+    void end(long receivedAtNanos, int status, long bytes) {
+        inFlight.decrement();
+        latencyMicros.record((System.nanoTime() - receivedAtNanos) / 1000L);
+        bytesOut.add(bytes);
+
+        int index = status > 0 && status < MAX_STATUS ? status : 0;
+        LongAdder counter = statusCounts.get(index);
+        if (counter == null) {
+            statusCounts.compareAndSet(index, null, new LongAdder());
+            counter = statusCounts.get(index);
+        }
+        counter.increment();
+    }
+
+    /** 응답 시간 히스토그램 (마이크로초) */
+    public Histogram getLatencyMicros() { return latencyMicros; }
+    public long getBytesOut() { return bytesOut.sum(); }
+    public long getInFlight() { return inFlight.sum(); }
+
+    /**
+     * 상태 코드별 요청 수
+     *
+     * @return 길이 600 배열 (인덱스: 상태 코드, 0번은 범위 밖의 코드)
+     */
+    public long[] getStatusCounts() {
+        long[] counts = new long[MAX_STATUS];
+        for (int i = 0; i < MAX_STATUS; i++) {
+            LongAdder counter = statusCounts.get(i);
+            if (counter != null) {
+                counts[i] = counter.sum();
+            }
+        }
+        return counts;
+    }
+}
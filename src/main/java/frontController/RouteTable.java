@@ -0,0 +1,356 @@
+package frontController;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import controller.AsyncRequestHandler;
+import controller.Controller;
+import controller.RequestHandler;
+import utils.Histogram;
+
+/**
+ * 라우트 테이블 (요청 경로 + action 파라미터 + HTTP 메서드 → 처리기)
+ * 애플리케이션 시작 시 {@link Builder}로 한 번 생성되며 이후에는 변경되지 않으므로
+ * 요청 스레드는 락 없이 조회만 합니다.
+ *
+ * 조회 순서:
+ * 1. 경로와 action이 모두 일치하는 라우트
+ * 2. 경로의 기본 라우트 (action이 없거나 등록되지 않은 action)
+ * 3. 둘 다 없으면 null → Dispatcher가 예외 없이 404 응답
+ * 찾은 라우트가 요청 메서드를 허용하지 않으면 Dispatcher가 Allow 헤더와 함께 405 응답
+ *
+ * 라우트마다 디스패치 오버헤드(요청 수신 ~ 처리기 호출 전, 마이크로초)와
+ * 요청 지표({@link RouteMetrics}: 응답 시간, 상태 코드, 응답 바이트 수, 처리 중인 요청 수)를 기록합니다.
+ * 등록되지 않은 경로의 요청 지표는 {@link #getUnmatchedMetrics()}에 모읍니다.
+ *
+ * 처리기는 RequestHandler(RequestContext 기반)이며, 기존 Controller(Map 모델 기반)는
+ * {@link Builder#controllerRoute}로 등록하면 RequestContext.asMap() 어댑터로 감싸집니다.
+ * (두 인터페이스 모두 함수형이므로 메서드 참조가 모호해지지 않도록 등록 메서드 이름을 나눔)
+ * AsyncRequestHandler로 등록한 라우트({@link Builder#asyncRoute})는 Dispatcher가 서블릿 비동기 모드로 처리합니다.
+ */
+public final class RouteTable {
+
+    // HTTP 메서드 비트 (GET을 허용하면 HEAD도 허용)
+    private static final int GET = 1;
+    private static final int HEAD = 1 << 1;
+    private static final int POST = 1 << 2;
+    private static final int PUT = 1 << 3;
+    private static final int DELETE = 1 << 4;
+    private static final int OPTIONS = 1 << 5;
+    private static final int PATCH = 1 << 6;
+
+    // 경로 → 경로별 라우트 (읽기 전용)
+    private final Map<String, PathRoutes> routesByPath;
+    // 등록 순서대로 정렬된 전체 라우트 (통계 조회용)
+    private final List<Route> routes;
+    private final LongAdder notFound = new LongAdder();
+    private final RouteMetrics unmatchedMetrics = new RouteMetrics();
+
+    private RouteTable(Builder builder) {
+        Map<String, PathRoutes> byPath = new HashMap<>();
+        for (Map.Entry<String, Map<String, Route>> entry : builder.routes.entrySet()) {
+            Map<String, Route> byAction = new HashMap<>(entry.getValue());
+            Route defaultRoute = byAction.remove(null);
+            byPath.put(entry.getKey(), new PathRoutes(defaultRoute, Collections.unmodifiableMap(byAction)));
+        }
+        this.routesByPath = Collections.unmodifiableMap(byPath);
+        this.routes = Collections.unmodifiableList(new ArrayList<>(builder.ordered));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 라우트 조회
+     *
+     * @param path 서블릿 경로 (예: "/playlist.do")
+     * @param action action 파라미터 (없으면 null)
+     * @return 일치하는 라우트, 없으면 null
+     */
+    public Route resolve(String path, String action) {
+        PathRoutes pathRoutes = routesByPath.get(path);
+        if (pathRoutes == null) {
+            notFound.increment();
+            return null;
+        }
+        if (action != null && !pathRoutes.byAction.isEmpty()) {
+            Route route = pathRoutes.byAction.get(action);
+            if (route != null) {
+                return route;
+            }
+        }
+        if (pathRoutes.defaultRoute == null) {
+            notFound.increment();
+        }
+        return pathRoutes.defaultRoute;
+    }
+
+    /**
+     * 전체 라우트 (등록 순서)
+     */
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public long getNotFoundCount() {
+        return notFound.sum();
+    }
+
+    /**
+     * 등록되지 않은 경로(404) 요청 지표
+     */
+    public RouteMetrics getUnmatchedMetrics() {
+        return unmatchedMetrics;
+    }
+
+    private static int methodBit(String method) {
+        if (method == null) {
+            return 0;
+        }
+        switch (method) {
+            case "GET": return GET;
+            case "HEAD": return HEAD;
+            case "POST": return POST;
+            case "PUT": return PUT;
+            case "DELETE": return DELETE;
+            case "OPTIONS": return OPTIONS;
+            case "PATCH": return PATCH;
+            default: return 0;
+        }
+    }
+
+    /**
+     * 경로 하나에 등록된 라우트 (기본 라우트 + action별 라우트)
+     */
+    private static final class PathRoutes {
+        private final Route defaultRoute;
+        private final Map<String, Route> byAction;
+
+        PathRoutes(Route defaultRoute, Map<String, Route> byAction) {
+            this.defaultRoute = defaultRoute;
+            this.byAction = byAction;
+        }
+    }
+
+    /**
+     * 라우트 (처리기와 허용 메서드, 디스패치 통계)
+     */
+    public static final class Route {
+        private final String path;
+        private final String action;
+        private final int allowedMethods;
+        // 405 응답의 Allow 헤더 값 (미리 생성)
+        private final String allowHeader;
+        // 둘 중 하나만 설정됨
+        private final RequestHandler handler;
+        private final AsyncRequestHandler asyncHandler;
+
+        private final Histogram dispatchMicros = new Histogram();
+        private final LongAdder methodNotAllowed = new LongAdder();
+        private final RouteMetrics metrics = new RouteMetrics();
+
+        Route(String path, String action, String[] methods, RequestHandler handler, AsyncRequestHandler asyncHandler) {
+            this.path = path;
+            this.action = action;
+            this.handler = handler;
+            this.asyncHandler = asyncHandler;
+
+            int mask = 0;
+            for (String method : methods) {
+                int bit = methodBit(method);
+                if (bit == 0) {
+                    throw new IllegalArgumentException("지원하지 않는 HTTP 메서드: " + method);
+                }
+                mask |= bit;
+            }
+            if ((mask & GET) != 0) {
+                mask |= HEAD;
+            }
+            this.allowedMethods = mask;
+
+            StringJoiner allow = new StringJoiner(", ");
+            for (String method : new String[] { "GET", "HEAD", "POST", "PUT", "DELETE", "OPTIONS", "PATCH" }) {
+                if ((mask & methodBit(method)) != 0) {
+                    allow.add(method);
+                }
+            }
+            this.allowHeader = allow.toString();
+        }
+
+        /**
+         * 요청 메서드 허용 여부
+         */
+        public boolean allows(String method) {
+            return (allowedMethods & methodBit(method)) != 0;
+        }
+
+        /**
+         * 처리기 실행
+         *
+         * @param context 요청 컨텍스트
+         * @param receivedAtNanos 요청 수신 시각 (System.nanoTime) - 디스패치 오버헤드 기록용
+         * @return 뷰 경로 (null이면 처리기가 응답을 직접 작성함)
+         */
+        public String execute(RequestContext context, long receivedAtNanos) throws Exception {
+            if (asyncHandler != null) {
+                // 비동기 라우트를 동기로 호출한 경우 (Dispatcher는 executeAsync 사용)
+                try {
+                    return executeAsync(context, receivedAtNanos).get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            dispatchMicros.record((System.nanoTime() - receivedAtNanos) / 1000L);
+            return handler.handle(context);
+        }
+
+        /**
+         * 비동기 처리기 실행 (동기 처리기는 완료된 결과로 감쌈)
+         *
+         * @param context 요청 컨텍스트
+         * @param receivedAtNanos 요청 수신 시각 (System.nanoTime) - 디스패치 오버헤드 기록용
+         * @return 뷰 경로를 완료값으로 갖는 Future
+         */
+        public CompletableFuture<String> executeAsync(RequestContext context, long receivedAtNanos) throws Exception {
+            if (asyncHandler == null) {
+                return CompletableFuture.completedFuture(execute(context, receivedAtNanos));
+            }
+            dispatchMicros.record((System.nanoTime() - receivedAtNanos) / 1000L);
+            CompletionStage<String> view = asyncHandler.handleAsync(context);
+            return view != null ? view.toCompletableFuture() : CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * 서블릿 비동기 모드로 처리하는 라우트인지 여부
+         */
+        public boolean isAsync() {
+            return asyncHandler != null;
+        }
+
+        /**
+         * 405 응답 기록
+         */
+        public void recordMethodNotAllowed() {
+            methodNotAllowed.increment();
+        }
+
+        public String getPath() { return path; }
+        public String getAction() { return action; }
+        public String getAllowHeader() { return allowHeader; }
+        public Histogram getDispatchMicros() { return dispatchMicros; }
+        public long getMethodNotAllowedCount() { return methodNotAllowed.sum(); }
+        public RouteMetrics getMetrics() { return metrics; }
+
+        /**
+         * 라우트 이름 (예: "/playlist.do?action=like", 기본 라우트는 경로만)
+         */
+        public String getName() {
+            return action == null ? path : path + "?action=" + action;
+        }
+
+        @Override
+        public String toString() {
+            return getName() + " [" + allowHeader + "]";
+        }
+    }
+
+    /**
+     * 라우트 테이블 빌더 (애플리케이션 시작 시 ContextLoaderListener에서 사용)
+     */
+    public static final class Builder {
+        // 경로 → (action → 라우트, 기본 라우트는 null 키)
+        private final Map<String, Map<String, Route>> routes = new LinkedHashMap<>();
+        private final List<Route> ordered = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 경로의 기본 라우트 등록 (Map 모델 기반 컨트롤러, action이 없거나 등록되지 않은 action인 요청 처리)
+         *
+         * @param path 서블릿 경로
+         * @param handler 컨트롤러
+         * @param methods 허용 HTTP 메서드 (GET을 허용하면 HEAD도 허용)
+         */
+        public Builder controllerRoute(String path, Controller handler, String... methods) {
+            return controllerRoute(path, null, handler, methods);
+        }
+
+        /**
+         * 경로의 기본 라우트 등록 (RequestContext 기반 처리기)
+         */
+        public Builder route(String path, RequestHandler handler, String... methods) {
+            return route(path, null, handler, methods);
+        }
+
+        /**
+         * action별 라우트 등록 (Map 모델 기반 컨트롤러 - Map 어댑터로 감싸서 실행)
+         *
+         * @param path 서블릿 경로
+         * @param action action 파라미터 값 (null이면 기본 라우트)
+         * @param controller 컨트롤러 (또는 컨트롤러 메서드 참조)
+         * @param methods 허용 HTTP 메서드 (GET을 허용하면 HEAD도 허용)
+         */
+        public Builder controllerRoute(String path, String action, Controller controller, String... methods) {
+            if (controller == null) {
+                throw new IllegalArgumentException("경로, 처리기, 허용 메서드는 필수입니다: " + path);
+            }
+            RequestHandler adapter = context -> controller.execute(context.asMap());
+            return route(path, action, adapter, methods);
+        }
+
+        /**
+         * action별 라우트 등록 (RequestContext 기반 처리기)
+         *
+         * @param path 서블릿 경로
+         * @param action action 파라미터 값 (null이면 기본 라우트)
+         * @param handler 처리기
+         * @param methods 허용 HTTP 메서드 (GET을 허용하면 HEAD도 허용)
+         */
+        public Builder route(String path, String action, RequestHandler handler, String... methods) {
+            if (path == null || handler == null || methods.length == 0) {
+                throw new IllegalArgumentException("경로, 처리기, 허용 메서드는 필수입니다: " + path);
+            }
+            return add(new Route(path, action, methods, handler, null));
+        }
+
+        /**
+         * 비동기 라우트 등록 (Spotify API 호출 등 오래 걸리는 처리기)
+         *
+         * @param path 서블릿 경로
+         * @param action action 파라미터 값 (null이면 기본 라우트)
+         * @param handler 비동기 처리기
+         * @param methods 허용 HTTP 메서드 (GET을 허용하면 HEAD도 허용)
+         */
+        public Builder asyncRoute(String path, String action, AsyncRequestHandler handler, String... methods) {
+            if (path == null || handler == null || methods.length == 0) {
+                throw new IllegalArgumentException("경로, 처리기, 허용 메서드는 필수입니다: " + path);
+            }
+            return add(new Route(path, action, methods, null, handler));
+        }
+
+        private Builder add(Route route) {
+            Map<String, Route> byAction = routes.computeIfAbsent(route.path, k -> new HashMap<>());
+            if (byAction.containsKey(route.action)) {
+                throw new IllegalStateException("이미 등록된 라우트입니다: " + route.getName());
+            }
+            byAction.put(route.action, route);
+            ordered.add(route);
+            return this;
+        }
+
+        public RouteTable build() {
+            return new RouteTable(this);
+        }
+    }
+}
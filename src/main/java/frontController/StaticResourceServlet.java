@@ -0,0 +1,482 @@
+package frontController;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.servlet.ServletException;
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import filter.CompressionFilter;
+import utils.AppConfig;
+import utils.ErrorLogger;
+import utils.ImageVariants;
+
+/**
+ * 정적 파일 서블릿 (/static/*)
+ * Tomcat 기본 서블릿 대신 정적 파일을 응답합니다. (EncodingFilter를 거치지 않음)
+ *
+ * 응답 방식:
+ * - 자주 요청되는 작은 파일(hot)은 메모리 매핑(MappedByteBuffer)하여 디스크를 다시 읽지 않고 응답
+ * - 그 외 파일은 FileChannel.transferTo로 응답
+ *   (Tomcat이 sendfile을 지원하고 응답이 래핑되지 않았으면 컨테이너의 sendfile로 넘겨 커널에서 바로 전송)
+ * - 압축된 WAR에서 바로 실행하여 파일 경로가 없으면 컨테이너 리소스(getResource)를 스트리밍
+ * - 텍스트 파일은 CompressionFilter가 보관한 압축 결과로 응답 (gzip/deflate, 범위 요청은 원본),
+ *   ETag에는 인코딩 접미사를 붙임 - CompressionFilter는 /static/ 요청을 감싸지 않음
+ * - 단일 범위 요청(Range: bytes=...)과 If-Range 지원, 여러 범위 요청은 전체 응답
+ * - ETag(크기 + 수정 시각), Last-Modified 기반 조건부 요청 (304)
+ * - 파일 수정 시각이나 크기가 바뀌면 매핑을 다시 만듦
+ * - 변형 대상 이미지에 w 파라미터가 있으면 ImageVariants가 만든 줄인 파일로 응답 (예: playlist-placeholder.png?w=320)
+ *
+ * 통계 ({@link #getStats()}, 관리자 action=staticStats):
+ * - 파일별 요청 수, 전송 바이트 수, 압축 응답 수, 범위 요청 수, 304 응답 수, 메모리 매핑 여부와 물리 메모리 상주 여부
+ * - 반응형 이미지 변형 생성/캐시 통계
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.static.hotThreshold : 이 횟수 이상 요청된 파일을 메모리 매핑 (기본값 2)
+ * - musicmood.static.mapMaxFileBytes : 메모리 매핑할 최대 파일 크기 (기본값 512KB)
+ * - musicmood.static.mapMaxBytes : 메모리 매핑 전체 용량 (기본값 64MB)
+ */
+@WebServlet(urlPatterns = "/static/*")
+public class StaticResourceServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private static final int HOT_THRESHOLD = Math.max(1, AppConfig.getInt("musicmood.static.hotThreshold", 2));
+    private static final long MAP_MAX_FILE_BYTES = AppConfig.getLong("musicmood.static.mapMaxFileBytes", 512L * 1024);
+    private static final long MAP_MAX_BYTES = AppConfig.getLong("musicmood.static.mapMaxBytes", 64L * 1024 * 1024);
+
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // 파일별 통계와 매핑 (키: /static/... 경로, 존재하는 파일만 등록)
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static final AtomicLong mappedBytes = new AtomicLong();
+    private static final LongAdder sendfileResponses = new LongAdder();
+    private static final LongAdder transferResponses = new LongAdder();
+    private static final LongAdder mappedResponses = new LongAdder();
+    private static final LongAdder compressedResponses = new LongAdder();
+    private static final LongAdder streamedResponses = new LongAdder();
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        serve(req, resp, true);
+    }
+
+    @Override
+    protected void doHead(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        serve(req, resp, false);
+    }
+
+    @Override
+    public void destroy() {
+        entries.clear();
+        mappedBytes.set(0);
+        super.destroy();
+    }
+
+    private void serve(HttpServletRequest req, HttpServletResponse resp, boolean body) throws IOException {
+        String path = req.getPathInfo() != null ? req.getServletPath() + req.getPathInfo() : req.getServletPath();
+        if (path.contains("..") || path.endsWith("/")) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        File file = resolve(path);
+        URLConnection resource = null;
+        if (file == null) {
+            // 압축된 WAR에서 바로 실행하는 경우 - 파일 경로 없이 컨테이너 리소스로 응답
+            resource = resource(path);
+            if (resource == null) {
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        }
+        String key = path;
+        if (file != null) {
+            ImageVariants variants = ImageVariants.getInstance();
+            // 반응형 이미지 - 설정된 너비로 맞춘 변형 파일로 응답 (변형 대상이 아니면 원본)
+            // 통계/매핑 키도 맞춘 너비를 사용하여 w 값마다 항목이 늘어나지 않게 함
+            int width = variants.variantWidth(path, width(req));
+            if (width > 0) {
+                File variant = variants.variant(path, width);
+                if (variant != null && variant.isFile()) {
+                    file = variant;
+                    key = path + "?w=" + width;
+                }
+            }
+        }
+
+        long length = file != null ? file.length() : resource.getContentLengthLong();
+        long lastModified = file != null ? file.lastModified() : resource.getLastModified();
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.requests.increment();
+
+        String contentType = contentType(path);
+        boolean compressible = CompressionFilter.isCompressible(contentType);
+        // 범위 요청은 원본 바이트 기준 위치이므로 압축하지 않음
+        CompressionFilter.StaticBody compressed = compressible && req.getHeader("Range") == null
+                ? CompressionFilter.compressedStatic(getServletContext(), path, req.getHeader("Accept-Encoding"), lastModified)
+                : null;
+
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        if (compressible) {
+            resp.addHeader("Vary", "Accept-Encoding");
+        }
+        // 강한 ETag는 바이트 단위로 같은 본문에만 쓸 수 있으므로 압축 본문에는 인코딩 접미사를 붙임
+        // (If-None-Match 비교 시 CachePolicy가 접미사를 제거)
+        resp.setHeader("ETag", compressed != null
+                ? etag.substring(0, etag.length() - 1) + "-" + compressed.getEncoding() + "\"" : etag);
+        resp.setDateHeader("Last-Modified", lastModified);
+        resp.setHeader("Accept-Ranges", "bytes");
+        if (isNotModified(req, etag, lastModified)) {
+            entry.notModified.increment();
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        resp.setContentType(contentType);
+
+        if (compressed != null) {
+            byte[] bytes = compressed.getBody();
+            resp.setHeader("Content-Encoding", compressed.getEncoding());
+            resp.setContentLength(bytes.length);
+            if (body) {
+                resp.getOutputStream().write(bytes);
+                entry.bytesServed.add(bytes.length);
+            }
+            entry.compressed.increment();
+            compressedResponses.increment();
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        long[] range = parseRange(req, etag, lastModified, length);
+        if (range != null) {
+            if (range.length == 0) {
+                resp.setHeader("Content-Range", "bytes */" + length);
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range[0];
+            end = range[1];
+            entry.rangeRequests.increment();
+            resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            resp.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        resp.setContentLengthLong(count);
+        if (!body || count <= 0) {
+            return;
+        }
+
+        MappedByteBuffer mapped = file != null ? entry.mapped(file, length, lastModified) : null;
+        if (file == null) {
+            stream(resource, start, count, resp.getOutputStream());
+            streamedResponses.increment();
+        } else if (mapped != null) {
+            ByteBuffer slice = mapped.duplicate();
+            slice.position((int) start).limit((int) (end + 1));
+            OutputStream out = resp.getOutputStream();
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (slice.hasRemaining()) {
+                channel.write(slice);
+            }
+            mappedResponses.increment();
+        } else if (Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORT)) && !(resp instanceof ServletResponseWrapper)) {
+            // 컨테이너가 서블릿 처리 후 파일을 소켓으로 직접 전송
+            req.setAttribute(SENDFILE_FILENAME, file.getAbsolutePath());
+            req.setAttribute(SENDFILE_START, start);
+            req.setAttribute(SENDFILE_END, end + 1);
+            sendfileResponses.increment();
+        } else {
+            transfer(file, start, count, resp.getOutputStream());
+            transferResponses.increment();
+        }
+        entry.bytesServed.add(count);
+    }
+
+    /**
+     * 요청 경로의 파일 (파일 경로가 없거나 파일이 아니면 null)
+     */
+    private File resolve(String path) {
+        String realPath = getServletContext().getRealPath(path);
+        if (realPath == null) {
+            return null;
+        }
+        File file = new File(realPath);
+        return file.isFile() ? file : null;
+    }
+
+    /**
+     * 파일 경로가 없을 때(압축된 WAR) 컨테이너 리소스 연결 (없거나 길이를 알 수 없으면 null)
+     */
+    private URLConnection resource(String path) throws IOException {
+        URL url = getServletContext().getResource(path);
+        if (url == null) {
+            return null;
+        }
+        URLConnection connection = url.openConnection();
+        return connection.getContentLengthLong() >= 0 ? connection : null;
+    }
+
+    /**
+     * 반응형 이미지 너비 파라미터 (없거나 잘못된 값이면 0)
+     */
+    private static int width(HttpServletRequest req) {
+        String value = req.getParameter("w");
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private String contentType(String path) {
+        String type = getServletContext().getMimeType(path);
+        if (type == null) {
+            return "application/octet-stream";
+        }
+        // 텍스트 파일만 문자 인코딩 지정 (이미지에는 charset을 붙이지 않음)
+        String lower = type.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("text/") || lower.contains("javascript") || lower.contains("json")) {
+            return type + ";charset=UTF-8";
+        }
+        return type;
+    }
+
+    /**
+     * If-None-Match, If-Modified-Since 확인 (If-None-Match가 있으면 그것만 사용)
+     */
+    private static boolean isNotModified(HttpServletRequest req, String etag, long lastModified) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return CachePolicy.matches(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(req, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * Range 헤더 해석 (단일 범위만 지원)
+     *
+     * @return 범위 요청이 아니거나 지원하지 않는 형식/If-Range 불일치면 null (전체 응답),
+     *         만족할 수 없는 범위면 빈 배열 (416), 그 외 {시작, 끝(포함)}
+     */
+    static long[] parseRange(HttpServletRequest req, String etag, long lastModified, long length) {
+        String header = req.getHeader("Range");
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String ifRange = req.getHeader("If-Range");
+        if (ifRange != null) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (!ifRange.equals(etag)) {
+                    return null;
+                }
+            } else {
+                long date = dateHeader(req, "If-Range");
+                if (date < 0 || lastModified / 1000 > date / 1000) {
+                    return null;
+                }
+            }
+        }
+
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // bytes=-500 : 마지막 500바이트
+                long suffix = Long.parseLong(spec.substring(1).trim());
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash).trim());
+                String endPart = spec.substring(dash + 1).trim();
+                end = endPart.isEmpty() ? length - 1 : Math.min(Long.parseLong(endPart), length - 1);
+            }
+            if (start >= length || start > end) {
+                return new long[0];
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest req, String name) {
+        try {
+            return req.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 파일 구간을 응답 스트림으로 전송
+     */
+    private static void transfer(File file, long position, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long sent = 0;
+            while (sent < count) {
+                long n = channel.transferTo(position + sent, count - sent, target);
+                if (n <= 0) {
+                    break; // 파일이 도중에 줄어든 경우
+                }
+                sent += n;
+            }
+        }
+    }
+
+    /**
+     * 컨테이너 리소스 구간을 응답 스트림으로 전송
+     */
+    private static void stream(URLConnection resource, long position, long count, OutputStream out) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            in.skipNBytes(position);
+            byte[] buffer = new byte[8192];
+            long remaining = count;
+            while (remaining > 0) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (n < 0) {
+                    break; // 리소스가 도중에 줄어든 경우
+                }
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+        }
+    }
+
+    /**
+     * 정적 파일 통계 (관리자 통계 응답용)
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hotThreshold", HOT_THRESHOLD);
+        stats.put("mapMaxFileBytes", MAP_MAX_FILE_BYTES);
+        stats.put("mapMaxBytes", MAP_MAX_BYTES);
+        stats.put("mappedBytes", mappedBytes.get());
+        stats.put("mappedResponses", mappedResponses.sum());
+        stats.put("sendfileResponses", sendfileResponses.sum());
+        stats.put("transferResponses", transferResponses.sum());
+        stats.put("streamedResponses", streamedResponses.sum());
+        stats.put("compressedResponses", compressedResponses.sum());
+
+        List<Map<String, Object>> files = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : new TreeMap<>(entries).entrySet()) {
+            Entry entry = e.getValue();
+            Map<String, Object> file = new LinkedHashMap<>();
+            file.put("path", e.getKey());
+            file.put("requests", entry.requests.sum());
+            file.put("bytesServed", entry.bytesServed.sum());
+            file.put("compressed", entry.compressed.sum());
+            file.put("rangeRequests", entry.rangeRequests.sum());
+            file.put("notModified", entry.notModified.sum());
+            Mapping mapping = entry.mapping;
+            file.put("mapped", mapping != null);
+            if (mapping != null) {
+                file.put("mappedBytes", mapping.length);
+                // 매핑한 페이지가 모두 물리 메모리에 올라와 있는지 (운영체제 기준 추정값)
+                file.put("resident", mapping.buffer.isLoaded());
+            }
+            files.add(file);
+        }
+        stats.put("files", files);
+        stats.put("imageVariants", ImageVariants.getInstance().getStats());
+        return stats;
+    }
+
+    /**
+     * 파일별 통계와 메모리 매핑
+     */
+    private static final class Entry {
+        final LongAdder requests = new LongAdder();
+        final LongAdder bytesServed = new LongAdder();
+        final LongAdder compressed = new LongAdder();
+        final LongAdder rangeRequests = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+        volatile Mapping mapping;
+
+        /**
+         * 메모리 매핑된 내용 (hot 파일이 아니거나 용량을 넘으면 null)
+         * 파일이 바뀌었으면 새로 매핑합니다.
+         */
+        MappedByteBuffer mapped(File file, long length, long lastModified) {
+            Mapping current = mapping;
+            if (current != null && current.length == length && current.lastModified == lastModified) {
+                return current.buffer;
+            }
+            if (length > MAP_MAX_FILE_BYTES || length == 0 || requests.sum() < HOT_THRESHOLD) {
+                return null;
+            }
+            synchronized (this) {
+                current = mapping;
+                if (current != null && current.length == length && current.lastModified == lastModified) {
+                    return current.buffer;
+                }
+                long delta = length - (current != null ? current.length : 0);
+                if (mappedBytes.addAndGet(delta) > MAP_MAX_BYTES) {
+                    mappedBytes.addAndGet(-delta);
+                    return null;
+                }
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                    buffer.load();
+                    mapping = new Mapping(buffer, length, lastModified);
+                    return buffer;
+                } catch (IOException e) {
+                    mappedBytes.addAndGet(-delta);
+                    ErrorLogger.logError("정적 파일 메모리 매핑 실패: " + file, e);
+                    return null;
+                }
+            }
+        }
+    }
+
+    private static final class Mapping {
+        final MappedByteBuffer buffer;
+        final long length;
+        final long lastModified;
+
+        Mapping(MappedByteBuffer buffer, long length, long lastModified) {
+            this.buffer = buffer;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -7,190 +7,381 @@ import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletContextListener;
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.io.PrintWriter;
 import java.util.logging.Logger;
 
 import controller.*;
-import controller.Controller;
 import dao.*;
+import frontController.RouteTable;
+import service.HealthMonitor;
+import utils.AppConfig;
 import utils.ErrorLogger;
+import utils.PasswordHasher;
+import utils.PooledDataSource;
+import utils.SpotifyCallExecutor;
+import utils.TimingDataSource;
+import utils.TokenManager;
 
 /**
  * 애플리케이션 컨텍스트 로더
  * 웹 애플리케이션 시작/종료 시 필요한 초기화와 정리 작업을 수행합니다.
- * 
+ *
  * 주요 기능:
  * 1. 데이터베이스 연결 초기화 및 관리
- * 2. 컨트롤러, DAO 객체 생성 및 의존성 주입
+ * 2. 컨트롤러, DAO 객체 생성 및 의존성 주입, 라우트 테이블 생성
  * 3. 애플리케이션 전역 설정/자원 관리
+ *
+ * 초기화는 리스너, Dispatcher.init(), 첫 컨트롤러 조회 중 가장 먼저 호출된 곳에서 한 번만 수행됩니다.
+ * 단계별 소요 시간을 기록하며, DB 연결 점검/스키마 준비/워밍업은 시작 점검 스레드에서 병렬로 실행합니다.
+ * 필수 점검(DB 연결, 스키마 준비)이 실패하면 성공할 때까지 간격을 늘려 가며 다시 실행하므로,
+ * 배포 시점에 DB가 잠시 내려가 있어도 재배포 없이 준비 상태가 됩니다.
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.startup.threads : 시작 점검 스레드 수 (기본값 4)
+ * - musicmood.startup.checkTimeoutMs : 시작 점검 완료 대기 시간 (기본값 30000ms, 초과 시 점검은 백그라운드에서 계속 진행)
+ * - musicmood.startup.warmSpotifyToken : Spotify 액세스 토큰 미리 발급 여부 (기본값 true)
+ * - musicmood.startup.retryInitialMs : 실패한 필수 점검의 첫 재시도 간격 (기본값 1000ms, 실패할 때마다 2배)
+ * - musicmood.startup.retryMaxMs : 필수 점검 재시도 최대 간격 (기본값 30000ms)
  */
 public class ContextLoaderListener implements ServletContextListener {
 
     // 애플리케이션 컨텍스트는 애플리케이션 전체에 걸쳐 공유되는 정보를 저장하는 객체임.
     // 예를 들어 애플리케이션 전체에 걸쳐 사용되는 데이터베이스 연결 정보, 설정 정보 등이 저장됨.
-    private static Map<String, Object> applicationContext = new HashMap<>();
-    
+    private static final Map<String, Object> applicationContext = new ConcurrentHashMap<>();
+
+    // 초기화 상태 (NEW → STARTED 또는 FAILED → STOPPED, 각 전환은 한 번만 일어남)
+    // FAILED: 초기화 중 예외 발생 (준비되지 않은 상태로 유지, 종료 시 정리만 수행)
+    private enum State { NEW, STARTED, FAILED, STOPPED }
+    private static volatile State state = State.NEW;
+
+    // 요청 경로/action/메서드 → 처리기 (초기화 시 한 번 생성, 이후 읽기 전용)
+    private static volatile RouteTable routeTable;
+    private static final RouteTable EMPTY_ROUTES = RouteTable.builder().build();
+
+    // 시작 점검 결과 (등록 순서 유지)
+    private static final Map<String, StartupCheck> startupChecks = Collections.synchronizedMap(new LinkedHashMap<>());
+    // 시작 점검/재시도 스레드 풀 (필수 점검이 모두 성공하면 종료)
+    private static volatile ScheduledExecutorService startupExecutor;
+    private static final long RETRY_INITIAL_MS = Math.max(100L, AppConfig.getLong("musicmood.startup.retryInitialMs", 1000L));
+    private static final long RETRY_MAX_MS = Math.max(RETRY_INITIAL_MS, AppConfig.getLong("musicmood.startup.retryMaxMs", 30000L));
+
     /**
      * Dispatcher 서블릿에서 호출하는 정적 메서드
-     * ServletContextEvent 없이 초기화 작업을 수행합니다.
+     * ServletContextEvent 없이 초기화 작업을 수행합니다. (이미 초기화되었으면 아무 작업도 하지 않음)
      */
     public static void contextInitialized() {
-        System.out.println("====================================================");
-        System.out.println("=== MusicMood 애플리케이션 시작 - 정적 초기화 작업 시작 ===");
-        System.out.println("====================================================");
-        
-        try {
-            // 데이터소스 초기화
-            // 초기화를 하는 이유는 데이터베이스 연결 정보를 저장하기 위함임.
-            initializeDataSourceStatic();
-            
-            // 애플리케이션 컨텍스트 객체 생성
-            // 애플리케이션 컨텍스트 객체 생성을 하는 이유는 컨트롤러, DAO 객체를 생성하기 위함임.
-            createApplicationObjectsStatic();
-            
-            System.out.println("=== 정적 초기화 작업 완료 - 애플리케이션 준비됨 ===");
-            
-            // 최종 DB 연결 테스트
-            testDatabaseConnectionStatic();
-            
-        } catch (Throwable e) {
-            System.err.println("[심각한 오류] 애플리케이션 정적 초기화 실패: " + e.getMessage());
-            e.printStackTrace();
-        }
+        bootstrap(null);
     }
-    
+
     /**
      * Dispatcher 서블릿에서 호출하는 정적 정리 메서드
      */
     public static void contextDestroyed() {
-        System.out.println("=== MusicMood 애플리케이션 종료 - 정적 정리 작업 수행 ===");
-        // 필요한 정리 작업 수행
+        shutdown();
+    }
+
+    /**
+     * 라우트 테이블을 반환하는 정적 메서드
+     * 아직 초기화되지 않았으면 이 시점에 초기화합니다.
+     *
+     * @return 라우트 테이블 (초기화에 실패한 경우 빈 테이블)
+     */
+    public static RouteTable getRouteTable() {
+        if (state == State.NEW) {
+            bootstrap(null);
+        }
+        RouteTable routes = routeTable;
+        return routes != null ? routes : EMPTY_ROUTES;
+    }
+
+    /**
+     * 애플리케이션 준비 여부
+     * 필수 시작 점검(DB 연결, 스키마 준비)이 모두 성공했으면 true를 반환합니다.
+     */
+    public static boolean isReady() {
+        return state == State.STARTED && requiredChecksPassed();
+    }
+
+    /**
+     * 시작 상태 (상태 점검 응답용)
+     *
+     * @return "OK" (준비됨), "FAILED" (초기화 실패 또는 필수 점검 실패 - 재시도 중), "PENDING" (진행 중)
+     */
+    public static String getStartupStatus() {
+        if (state == State.FAILED) {
+            return "FAILED";
+        }
+        boolean pending = state != State.STARTED;
+        for (StartupCheck check : getStartupChecks().values()) {
+            if (!check.isRequired()) {
+                continue;
+            }
+            if (check.getStatus() == StartupCheck.Status.FAILED) {
+                return "FAILED";
+            }
+            pending |= check.getStatus() != StartupCheck.Status.OK;
+        }
+        return pending ? "PENDING" : "OK";
     }
-    
+
     /**
-     * 요청 경로에 해당하는 컨트롤러를 반환하는 정적 메서드
-     * 
-     * @param path 요청 경로 (예: "/login.do")
-     * @return 요청 경로에 해당하는 컨트롤러 객체, 없으면 null
+     * 실패한 필수 시작 점검을 대기 중인 재시도 간격을 기다리지 않고 바로 다시 실행합니다.
+     * (상태 점검 모니터가 DB 복구를 확인했을 때 호출, 이미 실행 중인 점검은 건너뜀)
      */
-    public static Controller getController(String path) {
-        return (Controller) applicationContext.get(path);
+    public static void retryStartupChecks() {
+        ScheduledExecutorService executor = startupExecutor;
+        if (executor == null || executor.isShutdown()) {
+            return;
+        }
+        for (StartupCheck check : getStartupChecks().values()) {
+            ScheduledFuture<?> pending = check.retry;
+            if (check.isRequired() && check.getStatus() == StartupCheck.Status.FAILED
+                    && pending != null && pending.cancel(false)) {
+                submitRetry(executor, check, RETRY_INITIAL_MS, 0);
+            }
+        }
     }
-    
+
+    private static boolean requiredChecksPassed() {
+        synchronized (startupChecks) {
+            for (StartupCheck check : startupChecks.values()) {
+                if (check.isRequired() && check.getStatus() != StartupCheck.Status.OK) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 시작 점검 결과 스냅샷 (점검 이름 → 결과, 등록 순서)
+     */
+    public static Map<String, StartupCheck> getStartupChecks() {
+        synchronized (startupChecks) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(startupChecks));
+        }
+    }
+
     /**
      * 애플리케이션 시작 시 호출되는 메서드
      * 필요한 모든 초기화 작업 수행
      */
     @Override
     public void contextInitialized(ServletContextEvent event) {
+        bootstrap(event.getServletContext());
+    }
+
+    /**
+     * 애플리케이션 종료 시 호출되는 메서드
+     * 자원 정리 작업 수행
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        shutdown();
+    }
+
+    /**
+     * 애플리케이션 초기화 (한 번만 수행)
+     * 1. 데이터소스 초기화
+     * 2. DAO/컨트롤러 객체 생성 및 의존성 주입 (DB 접근 없음)
+     * 3. 시작 점검 - DB 연결 점검, 스키마 준비, 워밍업을 병렬로 실행하고 준비 상태 기록
+     *
+     * @param sc 서블릿 컨텍스트 (리스너로 호출된 경우), 없으면 null
+     */
+    private static synchronized void bootstrap(ServletContext sc) {
+        if (state != State.NEW) {
+            if (sc != null) {
+                sc.setAttribute("applicationContext", applicationContext);
+            }
+            return;
+        }
+
         System.out.println("====================================================");
         System.out.println("=== MusicMood 애플리케이션 시작 - 초기화 작업 시작 ===");
         System.out.println("====================================================");
-        
-        ServletContext sc = event.getServletContext();
-        
+        long startTime = System.nanoTime();
+        boolean started = false;
+
         try {
             // JDBC 드라이버 로드
-            String jdbcDriver = sc.getInitParameter("jdbcDriver");
-            if (jdbcDriver != null && !jdbcDriver.isEmpty()) {
-                System.out.println("[초기화] JDBC 드라이버 로드: " + jdbcDriver);
-                Class.forName(jdbcDriver);
+            if (sc != null) {
+                String jdbcDriver = sc.getInitParameter("jdbcDriver");
+                if (jdbcDriver != null && !jdbcDriver.isEmpty()) {
+                    System.out.println("[초기화] JDBC 드라이버 로드: " + jdbcDriver);
+                    Class.forName(jdbcDriver);
+                }
             }
-            
+
             // 데이터소스 초기화
+            // 초기화를 하는 이유는 데이터베이스 연결 정보를 저장하기 위함임.
+            long phaseStart = System.nanoTime();
             initializeDataSource();
-            
+            logPhase("데이터소스 초기화", phaseStart);
+
             // 애플리케이션 컨텍스트 객체 생성
+            // 애플리케이션 컨텍스트 객체 생성을 하는 이유는 컨트롤러, DAO 객체를 생성하기 위함임.
+            phaseStart = System.nanoTime();
             createApplicationObjects();
-            
+            logPhase("애플리케이션 객체 생성", phaseStart);
+
             // 서블릿 컨텍스트에 애플리케이션 컨텍스트 저장
-            sc.setAttribute("applicationContext", applicationContext);
-            
-            System.out.println("=== 초기화 작업 완료 - 애플리케이션 준비됨 ===");
-            
-            // 최종 DB 연결 테스트
-            testDatabaseConnection();
-            
+            if (sc != null) {
+                sc.setAttribute("applicationContext", applicationContext);
+            }
+
+            // DB 연결 점검, 스키마 준비, 워밍업 (병렬)
+            phaseStart = System.nanoTime();
+            runStartupChecks();
+            logPhase("시작 점검", phaseStart);
+            started = true;
+
         } catch (Throwable e) {
             System.err.println("[심각한 오류] 애플리케이션 초기화 실패: " + e.getMessage());
             e.printStackTrace();
+            ErrorLogger.logError("애플리케이션 초기화 실패", e instanceof Exception ? (Exception) e : new Exception(e));
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            // 예외 없이 끝난 경우에만 STARTED (필수 점검 실패는 재시도 중이므로 STARTED + 준비되지 않음)
+            state = started ? State.STARTED : State.FAILED;
+        }
+
+        if (!started) {
+            System.out.println("=== 초기화 실패 (" + elapsedMillis(startTime) + "ms) - 애플리케이션 준비되지 않음 ===");
+            return;
         }
+        System.out.println("=== 초기화 작업 완료 (" + elapsedMillis(startTime) + "ms) - 애플리케이션 "
+                + (isReady() ? "준비됨" : "준비되지 않음 (실패한 필수 점검을 재시도 중)") + " ===");
     }
-    
+
     /**
-     * 애플리케이션 종료 시 호출되는 메서드
-     * 자원 정리 작업 수행
+     * 애플리케이션 종료 처리 (한 번만 수행)
      */
-    @Override
-    public void contextDestroyed(ServletContextEvent event) {
+    private static synchronized void shutdown() {
+        if (state != State.STARTED && state != State.FAILED) {
+            return;
+        }
+        state = State.STOPPED;
         System.out.println("=== MusicMood 애플리케이션 종료 - 정리 작업 수행 ===");
+        ScheduledExecutorService executor = startupExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        shutdownApplicationObjects();
+        closeDataSource();
+    }
+
+    private static void logPhase(String phase, long startNanos) {
+        System.out.println("[초기화] " + phase + " 완료: " + elapsedMillis(startNanos) + "ms");
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
-    
+
+    /**
+     * 애플리케이션 종료 시 DAO 등의 백그라운드 작업을 정리합니다.
+     * 쓰기 지연 모드의 좋아요 이벤트를 모두 기록합니다.
+     */
+    private static void shutdownApplicationObjects() {
+        Object healthMonitor = applicationContext.get("healthMonitor");
+        if (healthMonitor instanceof HealthMonitor) {
+            ((HealthMonitor) healthMonitor).shutdown();
+        }
+        Object playlistDAO = applicationContext.get("playlistDAO");
+        if (playlistDAO instanceof PlaylistDAO) {
+            ((PlaylistDAO) playlistDAO).shutdown();
+        }
+        PasswordHasher.shutdown();
+        SpotifyCallExecutor.shutdown();
+    }
+
+    /**
+     * 내장 커넥션 풀 생성
+     * 물리 커넥션은 SimpleDataSource(DriverManager)로 생성하고 풀에서 재사용합니다.
+     */
+    private static DataSource createPooledDataSource() {
+        return PooledDataSource.builder(new SimpleDataSource()).build();
+    }
+
+    /**
+     * 실행 시간 측정 데이터소스로 감싸기 (musicmood.db.timing.enabled, 기본값 true)
+     * 대여 대기/쿼리 실행 시간 통계, 느린 쿼리 로그, 커넥션 누수 검사를 제공합니다.
+     */
+    private static DataSource wrapWithTiming(DataSource ds) {
+        if (!AppConfig.getBoolean("musicmood.db.timing.enabled", true)) {
+            return ds;
+        }
+        return TimingDataSource.builder(ds).build();
+    }
+
+    /**
+     * 내장 커넥션 풀을 사용 중인 경우 풀을 종료합니다.
+     * JNDI 데이터소스는 컨테이너가 관리하므로 닫지 않습니다.
+     */
+    private static void closeDataSource() {
+        Object ds = applicationContext.get("dataSource");
+        if (ds instanceof TimingDataSource) {
+            TimingDataSource timing = (TimingDataSource) ds;
+            timing.close();
+            ds = timing.getDelegate();
+        }
+        if (ds instanceof PooledDataSource) {
+            ((PooledDataSource) ds).close();
+        }
+    }
+
     /**
      * 데이터소스 초기화 메서드
      * JNDI 또는 커스텀 데이터소스 설정
      */
-    private void initializeDataSource() {
+    private static void initializeDataSource() {
         System.out.println("[초기화] 데이터소스 초기화 시작");
-        
+
         try {
             // JNDI 설정을 통한 데이터소스 획득 시도
             DataSource ds = getJndiDataSource();
-            
-            // JNDI 실패 시 SimpleDataSource 사용
+
+            // JNDI 실패 시 내장 커넥션 풀 사용 (SimpleDataSource로 물리 커넥션 생성)
             if (ds == null) {
-                System.out.println("[초기화] JNDI 데이터소스 획득 실패, SimpleDataSource 사용");
-                ds = new SimpleDataSource();
+                System.out.println("[초기화] JNDI 데이터소스 획득 실패, 내장 커넥션 풀 사용");
+                ds = createPooledDataSource();
             }
-            
-            // 애플리케이션 컨텍스트에 데이터소스 저장
+
+            // 실행 시간 측정 프록시로 감싸서 애플리케이션 컨텍스트에 데이터소스 저장
+            ds = wrapWithTiming(ds);
             applicationContext.put("dataSource", ds);
-            
+
             System.out.println("[초기화] 데이터소스 초기화 완료");
-            
+
         } catch (Exception e) {
             System.err.println("[심각한 오류] 데이터소스 초기화 실패: " + e.getMessage());
             e.printStackTrace();
             ErrorLogger.logError("데이터소스 초기화 실패", e);
         }
     }
-    
-    /**
-     * 데이터소스 초기화 메서드 (정적 버전)
-     */
-    private static void initializeDataSourceStatic() {
-        System.out.println("[초기화] 데이터소스 정적 초기화 시작");
-        
-        try {
-            // JNDI 설정을 통한 데이터소스 획득 시도
-            DataSource ds = getJndiDataSourceStatic();
-            
-            // JNDI 실패 시 SimpleDataSource 사용
-            if (ds == null) {
-                System.out.println("[초기화] JNDI 데이터소스 획득 실패, SimpleDataSource 사용");
-                ds = new SimpleDataSource();
-            }
-            
-            // 애플리케이션 컨텍스트에 데이터소스 저장
-            applicationContext.put("dataSource", ds);
-            
-            System.out.println("[초기화] 데이터소스 정적 초기화 완료");
-            
-        } catch (Exception e) {
-            System.err.println("[심각한 오류] 데이터소스 정적 초기화 실패: " + e.getMessage());
-            e.printStackTrace();
-            ErrorLogger.logError("데이터소스 정적 초기화 실패", e);
-        }
-    }
-    
+
     /**
      * JNDI를 통한 데이터소스 획득 시도
      */
-    private DataSource getJndiDataSource() {
+    private static DataSource getJndiDataSource() {
         try {
             System.out.println("[초기화] JNDI 데이터소스 획득 시도");
             Context initContext = new InitialContext();
@@ -203,200 +394,278 @@ public class ContextLoaderListener implements ServletContextListener {
             return null;
         }
     }
-    
+
     /**
-     * JNDI를 통한 데이터소스 획득 시도 (정적 버전)
+     * 시작 점검 실행
+     * 서로 독립적인 점검/워밍업 작업을 시작 점검 스레드 풀에서 병렬로 실행하고,
+     * checkTimeoutMs 동안 완료를 기다립니다. 시간 안에 끝나지 않은 작업은 백그라운드에서 계속 진행되며
+     * 완료되는 시점에 결과가 기록됩니다.
+     * 실패한 필수 점검은 같은 스레드 풀에서 retryInitialMs부터 두 배씩(최대 retryMaxMs) 간격을 늘려 재시도하고,
+     * 필수 점검이 모두 성공하면 스레드 풀을 종료합니다.
      */
-    private static DataSource getJndiDataSourceStatic() {
-        try {
-            System.out.println("[초기화] JNDI 데이터소스 획득 시도 (정적)");
-            Context initContext = new InitialContext();
-            Context envContext = (Context) initContext.lookup("java:/comp/env");
-            DataSource ds = (DataSource) envContext.lookup("jdbc/musicdb");
-            System.out.println("[초기화] JNDI 데이터소스 획득 성공 (정적)");
-            return ds;
-        } catch (Exception e) {
-            System.err.println("[경고] JNDI 데이터소스 획득 실패 (정적): " + e.getMessage());
-            return null;
+    private static void runStartupChecks() throws InterruptedException {
+        List<StartupCheck> checks = new ArrayList<>();
+        checks.add(new StartupCheck("database", true, ContextLoaderListener::testDatabaseConnection));
+
+        Object playlistDAO = applicationContext.get("playlistDAO");
+        if (playlistDAO instanceof PlaylistDAO) {
+            checks.add(new StartupCheck("playlistSchema", true, ((PlaylistDAO) playlistDAO)::initializeSchema));
+        }
+        checks.add(new StartupCheck("passwordHasher", false, PasswordHasher::warmUp));
+        if (AppConfig.getBoolean("musicmood.startup.warmSpotifyToken", true)) {
+            checks.add(new StartupCheck("spotifyToken", false, TokenManager::getAccessToken));
+        }
+
+        int threads = Math.max(1, Math.min(checks.size(), AppConfig.getInt("musicmood.startup.threads", 4)));
+        long timeoutMs = AppConfig.getLong("musicmood.startup.checkTimeoutMs", 30000L);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "musicmood-startup-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        startupExecutor = executor;
+
+        CountDownLatch done = new CountDownLatch(checks.size());
+        for (StartupCheck check : checks) {
+            startupChecks.put(check.getName(), check);
+            executor.execute(() -> {
+                try {
+                    runCheck(executor, check, RETRY_INITIAL_MS);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        if (!done.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+            System.err.println("[경고] 시작 점검이 " + timeoutMs + "ms 안에 끝나지 않았습니다. 남은 점검은 백그라운드에서 계속 진행합니다.");
+        }
+        for (StartupCheck check : checks) {
+            System.out.println("[초기화] 시작 점검 - " + check);
         }
     }
-    
+
     /**
-     * 최종 데이터베이스 연결 테스트
+     * 점검 실행 - 필수 점검이 실패하면 재시도를 예약하고, 필수 점검이 모두 성공하면 스레드 풀 종료
+     *
+     * @param retryDelayMs 실패 시 다음 재시도까지 대기 시간
      */
-    private void testDatabaseConnection() {
-        System.out.println("[초기화] 최종 데이터베이스 연결 테스트");
-        DataSource ds = (DataSource) applicationContext.get("dataSource");
-        
-        if (ds == null) {
-            System.err.println("[심각한 오류] 데이터소스가 초기화되지 않았습니다.");
+    private static void runCheck(ScheduledExecutorService executor, StartupCheck check, long retryDelayMs) {
+        if (state == State.STOPPED) {
             return;
         }
-        
-        Connection conn = null;
-        try {
-            conn = ds.getConnection();
-            System.out.println("[초기화] 데이터베이스 연결 성공");
-            
-            // 데이터베이스 정보 출력
-            System.out.println("[DB 정보] URL: " + conn.getMetaData().getURL());
-            System.out.println("[DB 정보] 드라이버: " + conn.getMetaData().getDriverName());
-            System.out.println("[DB 정보] 데이터베이스 제품: " + conn.getMetaData().getDatabaseProductName());
-            System.out.println("[DB 정보] 데이터베이스 버전: " + conn.getMetaData().getDatabaseProductVersion());
-            
-        } catch (SQLException e) {
-            System.err.println("[심각한 오류] 데이터베이스 연결 테스트 실패: " + e.getMessage());
-            e.printStackTrace();
-            ErrorLogger.logError("최종 데이터베이스 연결 테스트 실패", e);
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.close();
-                } catch (SQLException e) {
-                    ErrorLogger.logError("데이터베이스 연결 종료 실패", e);
-                }
+        boolean retrying = check.getAttempts() > 0;
+        check.run();
+
+        if (check.getStatus() == StartupCheck.Status.FAILED && check.isRequired()) {
+            System.err.println("[초기화] 필수 시작 점검 실패 (" + check.getName() + "), " + retryDelayMs + "ms 후 재시도");
+            submitRetry(executor, check, Math.min(RETRY_MAX_MS, retryDelayMs * 2), retryDelayMs);
+            return;
+        }
+        if (retrying) {
+            System.out.println("[초기화] 시작 점검 재시도 성공 - " + check);
+        }
+        if (requiredChecksPassed() && !executor.isShutdown()) {
+            // 필수 점검 완료 - 실행 중인 선택 점검은 끝까지 실행
+            executor.shutdown();
+            if (retrying) {
+                System.out.println("=== 필수 시작 점검 통과 - 애플리케이션 " + (isReady() ? "준비됨" : "준비되지 않음") + " ===");
             }
         }
     }
-    
+
+    /**
+     * 점검 재실행 예약
+     *
+     * @param nextDelayMs 재실행도 실패하면 사용할 다음 대기 시간
+     * @param delayMs 지금부터 재실행까지 대기 시간
+     */
+    private static void submitRetry(ScheduledExecutorService executor, StartupCheck check, long nextDelayMs, long delayMs) {
+        try {
+            check.retry = executor.schedule(() -> runCheck(executor, check, nextDelayMs), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
     /**
-     * 최종 데이터베이스 연결 테스트 (정적 버전)
+     * 최종 데이터베이스 연결 테스트
      */
-    private static void testDatabaseConnectionStatic() {
-        System.out.println("[초기화] 최종 데이터베이스 연결 테스트 (정적)");
+    private static void testDatabaseConnection() throws SQLException {
         DataSource ds = (DataSource) applicationContext.get("dataSource");
-        
         if (ds == null) {
-            System.err.println("[심각한 오류] 데이터소스가 초기화되지 않았습니다 (정적).");
-            return;
+            throw new SQLException("데이터소스가 초기화되지 않았습니다.");
         }
-        
-        Connection conn = null;
-        try {
-            conn = ds.getConnection();
-            System.out.println("[초기화] 데이터베이스 연결 성공 (정적)");
-            
+
+        try (Connection conn = ds.getConnection()) {
+            System.out.println("[초기화] 데이터베이스 연결 성공");
+
             // 데이터베이스 정보 출력
-            System.out.println("[DB 정보] URL: " + conn.getMetaData().getURL());
-            System.out.println("[DB 정보] 드라이버: " + conn.getMetaData().getDriverName());
-            System.out.println("[DB 정보] 데이터베이스 제품: " + conn.getMetaData().getDatabaseProductName());
-            System.out.println("[DB 정보] 데이터베이스 버전: " + conn.getMetaData().getDatabaseProductVersion());
-            
+            DatabaseMetaData metaData = conn.getMetaData();
+            System.out.println("[DB 정보] URL: " + metaData.getURL());
+            System.out.println("[DB 정보] 드라이버: " + metaData.getDriverName());
+            System.out.println("[DB 정보] 데이터베이스 제품: " + metaData.getDatabaseProductName());
+            System.out.println("[DB 정보] 데이터베이스 버전: " + metaData.getDatabaseProductVersion());
         } catch (SQLException e) {
-            System.err.println("[심각한 오류] 데이터베이스 연결 테스트 실패 (정적): " + e.getMessage());
-            e.printStackTrace();
-            ErrorLogger.logError("최종 데이터베이스 연결 테스트 실패 (정적)", e);
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.close();
-                } catch (SQLException e) {
-                    ErrorLogger.logError("데이터베이스 연결 종료 실패 (정적)", e);
-                }
-            }
+            ErrorLogger.logError("최종 데이터베이스 연결 테스트 실패", e);
+            throw e;
         }
     }
-    
+
     /**
      * 애플리케이션에서 사용할 객체들을 생성하고 의존성을 주입하는 메서드
+     * DAO 생성자는 DB에 접근하지 않으므로 이 단계는 빠르게 끝나며,
+     * DB 연결 점검과 스키마 준비는 시작 점검 단계에서 수행합니다.
      */
-    private void createApplicationObjects() {
+    private static void createApplicationObjects() {
         System.out.println("[초기화] 애플리케이션 객체 생성 시작");
-        
+
         try {
             // 데이터소스 가져오기
             DataSource ds = (DataSource) applicationContext.get("dataSource");
-            
+
             if (ds == null) {
                 throw new Exception("데이터소스가 초기화되지 않았습니다.");
             }
-            
+
             // DAO 객체 생성
             System.out.println("[초기화] DAO 객체 생성");
             UserDAO userDAO = new UserDAO(ds);
             PlaylistDAO playlistDAO = new PlaylistDAO(ds);
-            // ... 다른 DAO 객체들 ...
-            
-            
+            applicationContext.put("userDAO", userDAO);
+            applicationContext.put("playlistDAO", playlistDAO);
+
             // 컨트롤러 객체 생성 및 DAO 의존성 주입
             System.out.println("[초기화] 컨트롤러 객체 생성");
-            applicationContext.put("/index.do", new IndexController());
-            applicationContext.put("/auth/login.do", new AuthController(userDAO));
-            applicationContext.put("/signup.do", new SignupController(userDAO));
-            applicationContext.put("/search.do", new SearchController());
-            applicationContext.put("/token.do", new TokenController());
-            applicationContext.put("/api", new TokenController());
-            applicationContext.put("/chart.do", new ChartController());
-            applicationContext.put("/recommend.do", new RecommendController());
-            
-            // 플레이리스트 컨트롤러 등록
-            System.out.println("[초기화] 플레이리스트 컨트롤러 등록");
+            AuthController authController = new AuthController(userDAO);
+            TokenController tokenController = new TokenController();
             PlaylistController playlistController = new PlaylistController(playlistDAO);
-            applicationContext.put("/playlist.do", playlistController);
             
-            applicationContext.put("/profile.do", new ProfileController(userDAO));
-            // 비밀번호 찾기 컨트롤러 등록
-            applicationContext.put("/findPassword.do", new FindPasswordController(userDAO));
+            // 상태 점검 모니터 (점검은 백그라운드에서 수행)
+            HealthMonitor healthMonitor = new HealthMonitor(ds, playlistDAO,
+                    ContextLoaderListener::getStartupStatus, ContextLoaderListener::retryStartupChecks);
+            applicationContext.put("healthMonitor", healthMonitor);
+            AdminController adminController = new AdminController(userDAO, ds, ContextLoaderListener::getRouteTable,
+                    healthMonitor);
+            
+            // 라우트 테이블 생성 (경로 + action + HTTP 메서드 → 처리기)
+            System.out.println("[초기화] 라우트 테이블 생성");
+            routeTable = RouteTable.builder()
+                    .route("/index.do", new IndexController(), "GET")
+                    .controllerRoute("/auth/login.do", authController, "GET", "POST")
+                    .controllerRoute("/auth/login.do", "logout", authController::logout, "GET", "POST")
+                    .controllerRoute("/signup.do", new SignupController(userDAO), "GET", "POST")
+                    .asyncRoute("/search.do", null, new SearchController(), "GET")
+                    .controllerRoute("/token.do", tokenController, "GET", "POST")
+                    .controllerRoute("/token.do", "issue", tokenController::issueToken, "GET", "POST")
+                    .controllerRoute("/token.do", "validate", tokenController::validateToken, "GET", "POST")
+                    .route("/chart.do", new ChartController(), "GET")
+                    .controllerRoute("/recommend.do", new RecommendController(), "GET")
+                    // 플레이리스트 (기본 액션: list)
+                    .controllerRoute("/playlist.do", playlistController, "GET")
+                    .controllerRoute("/playlist.do", "like", playlistController::like, "POST")
+                    .controllerRoute("/playlist.do", "liked", playlistController::liked, "GET")
+                    .controllerRoute("/playlist.do", "likedPage", playlistController::likedPage, "GET")
+                    .asyncRoute("/playlist.do", "preview", playlistController::preview, "GET")
+                    .controllerRoute("/playlist.do", "likeStats", playlistController::likeStats, "GET", "POST")
+                    .controllerRoute("/profile.do", new ProfileController(userDAO), "GET", "POST")
+                    // 비밀번호 찾기
+                    .controllerRoute("/findPassword.do", new FindPasswordController(userDAO), "GET", "POST")
+                    // 관리자
+                    .controllerRoute("/admin/users.do", adminController, "GET")
+                    .controllerRoute("/admin/users.do", "export", adminController::export, "GET")
+                    .controllerRoute("/admin/users.do", "passwordIterations", adminController::passwordIterations, "GET", "POST")
+                    .controllerRoute("/admin/users.do", "dbStats", adminController::dbStats, "GET")
+                    .controllerRoute("/admin/users.do", "routeStats", adminController::routeStats, "GET")
+                    .controllerRoute("/admin/users.do", "compressionStats", adminController::compressionStats, "GET")
+                    .controllerRoute("/admin/users.do", "staticStats", adminController::staticStats, "GET")
+                    .controllerRoute("/admin/users.do", "healthDetails", adminController::healthDetails, "GET")
+                    // 상태 점검
+                    .route("/health", new HealthController(healthMonitor), "GET")
+                    // 요청 지표 (Prometheus)
+                    .route("/metrics", new MetricsController(ContextLoaderListener::getRouteTable), "GET")
+                    .build();
+            System.out.println("[초기화] 라우트 " + routeTable.getRoutes().size() + "개 등록");
             
             System.out.println("[초기화] 애플리케이션 객체 생성 완료");
-            
+
         } catch (Exception e) {
             System.err.println("[심각한 오류] 애플리케이션 객체 생성 실패: " + e.getMessage());
             e.printStackTrace();
             ErrorLogger.logError("애플리케이션 객체 생성 실패", e);
         }
     }
-    
+
     /**
-     * 애플리케이션에서 사용할 객체들을 생성하고 의존성을 주입하는 메서드 (정적 버전)
+     * 시작 점검 항목
+     * 점검 작업을 실행하고 결과(상태, 소요 시간, 오류 메시지)를 기록합니다.
      */
-    private static void createApplicationObjectsStatic() {
-        System.out.println("[초기화] 애플리케이션 객체 생성 시작 (정적)");
-        
-        try {
-            // 데이터소스 가져오기
-            DataSource ds = (DataSource) applicationContext.get("dataSource");
-            
-            if (ds == null) {
-                throw new Exception("데이터소스가 초기화되지 않았습니다 (정적).");
+    public static class StartupCheck {
+
+        public enum Status { PENDING, OK, FAILED }
+
+        /**
+         * 점검 작업 (예외를 던지면 실패로 기록)
+         */
+        @FunctionalInterface
+        interface Task {
+            void run() throws Exception;
+        }
+
+        private final String name;
+        // 필수 점검이 실패하면 애플리케이션을 준비되지 않은 상태로 보고함
+        private final boolean required;
+        private final Task task;
+        private volatile Status status = Status.PENDING;
+        private volatile long elapsedMs = -1;
+        private volatile String error;
+        private volatile int attempts;
+        // 예약된 재시도 (없으면 null)
+        volatile ScheduledFuture<?> retry;
+
+        StartupCheck(String name, boolean required, Task task) {
+            this.name = name;
+            this.required = required;
+            this.task = task;
+        }
+
+        void run() {
+            long start = System.nanoTime();
+            Status result;
+            attempts++;
+            try {
+                task.run();
+                result = Status.OK;
+                error = null;
+            } catch (Throwable e) {
+                error = e.getMessage();
+                result = Status.FAILED;
+                System.err.println("[초기화] 시작 점검 실패 (" + name + "): " + e.getMessage());
             }
-            
-            // DAO 객체 생성
-            System.out.println("[초기화] DAO 객체 생성 (정적)");
-            UserDAO userDAO = new UserDAO(ds);
-            PlaylistDAO playlistDAO = new PlaylistDAO(ds);
-            
-            // 컨트롤러 객체 생성 및 DAO 의존성 주입
-            System.out.println("[초기화] 컨트롤러 객체 생성 (정적)");
-            applicationContext.put("/index.do", new IndexController());
-            applicationContext.put("/auth/login.do", new AuthController(userDAO));
-            applicationContext.put("/signup.do", new SignupController(userDAO));
-            applicationContext.put("/search.do", new SearchController());
-            applicationContext.put("/token.do", new TokenController());
-            applicationContext.put("/api", new TokenController());
-            applicationContext.put("/chart.do", new ChartController());
-            applicationContext.put("/recommend.do", new RecommendController());
-            
-            // 플레이리스트 컨트롤러 등록
-            System.out.println("[초기화] 플레이리스트 컨트롤러 등록 (정적)");
-            PlaylistController playlistController = new PlaylistController(playlistDAO);
-            applicationContext.put("/playlist.do", playlistController);
-            
-            applicationContext.put("/profile.do", new ProfileController(userDAO));
-            // 비밀번호 찾기 컨트롤러 등록
-            applicationContext.put("/findPassword.do", new FindPasswordController(userDAO));
-            
-            System.out.println("[초기화] 애플리케이션 객체 생성 완료 (정적)");
-            
-        } catch (Exception e) {
-            System.err.println("[심각한 오류] 애플리케이션 객체 생성 실패 (정적): " + e.getMessage());
-            e.printStackTrace();
-            ErrorLogger.logError("애플리케이션 객체 생성 실패 (정적)", e);
+            elapsedMs = elapsedMillis(start);
+            status = result;
+        }
+
+        public String getName() { return name; }
+        public boolean isRequired() { return required; }
+        public Status getStatus() { return status; }
+        public long getElapsedMs() { return elapsedMs; }
+        public String getError() { return error; }
+        public int getAttempts() { return attempts; }
+
+        @Override
+        public String toString() {
+            return name + (required ? "" : " (선택)") + ": " + status
+                    + (elapsedMs >= 0 ? " " + elapsedMs + "ms" : "")
+                    + (attempts > 1 ? " (" + attempts + "회 시도)" : "")
+                    + (error != null ? " - " + error : "");
         }
     }
-    
+
     /**
-     * SimpleDataSource 클래스 - JNDI 데이터소스가 없을 때 사용하는 기본 데이터소스
+     * SimpleDataSource 클래스 - 내장 커넥션 풀(PooledDataSource)의 물리 커넥션 생성용 데이터소스
+     * 호출할 때마다 DriverManager로 새 커넥션을 생성하므로 직접 사용하지 않습니다.
      */
     public static class SimpleDataSource implements DataSource {
         private final String jdbcUrl = "jdbc:mysql://localhost:3306/musicdb?useSSL=false&serverTimezone=Asia/Seoul&characterEncoding=UTF-8";
@@ -433,6 +702,8 @@ public class ContextLoaderListener implements ServletContextListener {
                 props.setProperty("useUnicode", "true");
                 props.setProperty("characterEncoding", "UTF-8");
                 props.setProperty("serverTimezone", "Asia/Seoul");
+                // 서버 측 prepare 사용 - 풀의 PreparedStatement 캐시와 함께 파싱/실행 계획 재사용
+                props.setProperty("useServerPrepStmts", "true");
                 
                 Connection conn = java.sql.DriverManager.getConnection(jdbcUrl, props);
                 System.out.println("[SimpleDataSource] 데이터베이스 연결 성공");
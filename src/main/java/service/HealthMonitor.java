@@ -0,0 +1,271 @@
+package service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.json.JSONObject;
+
+import dao.LikeWriteBehindQueue;
+import dao.PlaylistDAO;
+import utils.AppConfig;
+import utils.PasswordHasher;
+import utils.PooledDataSource;
+import utils.SpotifyCallExecutor;
+import utils.TokenManager;
+
+/**
+ * 상태 점검 모니터 (/health 응답 생성)
+ * 백그라운드 스레드가 intervalMs마다 DB 커넥션 풀, Spotify 토큰 유효 기간, 작업 큐 길이를 점검하고
+ * 응답 본문(JSON)과 HTTP 상태 코드를 미리 만들어 메모리에 보관합니다.
+ * 상태 점검 요청은 보관된 결과를 그대로 반환하므로 요청마다 DB 커넥션을 열지 않습니다.
+ * 시작 점검이 실패한 상태에서 DB 연결이 정상으로 확인되면 재시도 간격을 기다리지 않고 바로 다시 실행시킵니다.
+ *
+ * /health는 인증 없이 공개되므로 응답에는 전체 상태와 점검 항목별 상태(UP/DEGRADED/DOWN)만 넣습니다.
+ * 오류 메시지, 커넥션 풀/작업 큐 수치 등 상세 정보는 {@link #getDetails()}로 관리자 화면(admin/users.do?action=healthDetails)에서만 제공합니다.
+ *
+ * 상태 판정:
+ * - DOWN (503): 시작 점검 미완료(PENDING)/실패(FAILED) 또는 DB 연결 실패
+ * - DEGRADED (200): Spotify 토큰 만료/미발급, 대기 큐가 용량의 80% 이상, 커넥션 대기 스레드 존재
+ * - UP (200): 그 외
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.health.intervalMs : 점검 주기 (기본값 5000ms)
+ * - musicmood.health.dbTimeoutSec : DB 연결 유효성 검사 제한 시간 (기본값 2초)
+ */
+public class HealthMonitor {
+
+    // 대기 큐 사용률이 이 값 이상이면 DEGRADED
+    private static final double QUEUE_WARN_RATIO = 0.8;
+
+    private final DataSource dataSource;
+    private final PlaylistDAO playlistDAO;
+    // 시작 상태 조회 ("OK", "PENDING", "FAILED")
+    private final Supplier<String> startupStatus;
+    // 실패한 시작 점검 즉시 재실행
+    private final Runnable startupRetry;
+    private final long intervalMs;
+    private final int dbTimeoutSec;
+    private final long startedAt = System.currentTimeMillis();
+
+    private final ScheduledExecutorService scheduler;
+    // 마지막 점검 결과 (요청 스레드는 이 참조만 읽음)
+    private volatile Snapshot readiness;
+
+    /**
+     * @param startupStatus 시작 상태 조회 ("OK", "PENDING", "FAILED")
+     * @param startupRetry 시작 점검이 FAILED인데 DB 연결이 정상일 때 호출 (실패한 시작 점검 즉시 재실행)
+     */
+    public HealthMonitor(DataSource dataSource, PlaylistDAO playlistDAO,
+                         Supplier<String> startupStatus, Runnable startupRetry) {
+        this.dataSource = dataSource;
+        this.playlistDAO = playlistDAO;
+        this.startupStatus = startupStatus;
+        this.startupRetry = startupRetry;
+        this.intervalMs = Math.max(500L, AppConfig.getLong("musicmood.health.intervalMs", 5000L));
+        this.dbTimeoutSec = Math.max(1, AppConfig.getInt("musicmood.health.dbTimeoutSec", 2));
+
+        JSONObject pending = new JSONObject();
+        pending.put("status", "DOWN");
+        pending.put("reason", "상태 점검 전");
+        this.readiness = new Snapshot(503, "DOWN", new JSONObject(), pending);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "musicmood-health-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::check, 0, intervalMs, TimeUnit.MILLISECONDS);
+        System.out.println("[HealthMonitor] 상태 점검 시작 (주기: " + intervalMs + "ms)");
+    }
+
+    /**
+     * 준비 상태 (마지막 점검 결과)
+     */
+    public Snapshot getReadiness() {
+        return readiness;
+    }
+
+    /**
+     * 생존 상태 (요청을 처리할 수 있으면 항상 UP)
+     */
+    public Snapshot getLiveness() {
+        JSONObject details = new JSONObject();
+        details.put("status", "UP");
+        return new Snapshot(200, "UP", new JSONObject(), details);
+    }
+
+    /**
+     * 관리자용 상세 점검 결과 (마지막 점검의 오류 메시지, 응답 시간, 풀/큐 수치와 가동 시간)
+     */
+    public JSONObject getDetails() {
+        Snapshot current = readiness;
+        JSONObject json = new JSONObject(current.details.toString());
+        json.put("uptimeMs", System.currentTimeMillis() - startedAt);
+        json.put("lastCheckAgeMs", System.currentTimeMillis() - current.checkedAt);
+        return json;
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 점검 실행 (상태 점검 스레드에서만 호출)
+     */
+    private void check() {
+        try {
+            readiness = computeReadiness();
+        } catch (Throwable e) {
+            // 예외로 예약 작업이 중단되지 않도록 결과만 DOWN으로 기록
+            System.err.println("[HealthMonitor] 상태 점검 실패: " + e.getMessage());
+            JSONObject json = new JSONObject();
+            json.put("status", "DOWN");
+            json.put("reason", "상태 점검 실패: " + e.getMessage());
+            readiness = new Snapshot(503, "DOWN", new JSONObject(), json);
+        }
+    }
+
+    private Snapshot computeReadiness() {
+        boolean down = false;
+        boolean degraded = false;
+        JSONObject json = new JSONObject();
+        // 공개 응답용 점검 항목별 상태
+        JSONObject checks = new JSONObject();
+
+        // DB: 점검 스레드가 커넥션 하나를 빌려 유효성 검사
+        JSONObject db = new JSONObject();
+        long dbStart = System.nanoTime();
+        boolean dbUp = false;
+        try (Connection conn = dataSource.getConnection()) {
+            dbUp = conn.isValid(dbTimeoutSec);
+            db.put("status", dbUp ? "UP" : "DOWN");
+        } catch (SQLException e) {
+            db.put("status", "DOWN");
+            db.put("error", e.getMessage());
+        }
+        down |= !dbUp;
+        db.put("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - dbStart));
+
+        // 시작 점검: 실패 상태에서 DB가 복구되었으면 재시도를 앞당김 (결과는 다음 점검에 반영)
+        String startup = startupStatus.get();
+        if ("FAILED".equals(startup) && dbUp) {
+            startupRetry.run();
+        }
+        json.put("startup", startup);
+        boolean startupOk = "OK".equals(startup);
+        down |= !startupOk;
+        checks.put("startup", startupOk ? "UP" : "DOWN");
+        boolean poolWaiting = false;
+        PooledDataSource pool = unwrapPool();
+        if (pool != null) {
+            db.put("active", pool.getActiveConnections());
+            db.put("idle", pool.getIdleConnections());
+            db.put("max", pool.getMaxSize());
+            db.put("waiting", pool.getWaitingThreads());
+            poolWaiting = pool.getWaitingThreads() > 0;
+        }
+        degraded |= poolWaiting;
+        json.put("db", db);
+        checks.put("db", !dbUp ? "DOWN" : (poolWaiting ? "DEGRADED" : "UP"));
+
+        // Spotify 토큰 유효 기간 (토큰을 새로 발급하지 않음)
+        JSONObject spotify = new JSONObject();
+        long expiresAt = TokenManager.getAccessTokenExpiresAt();
+        long remainingMs = expiresAt - System.currentTimeMillis();
+        boolean fresh = expiresAt > 0 && remainingMs > 0;
+        spotify.put("status", fresh ? "FRESH" : (expiresAt == 0 ? "NONE" : "EXPIRED"));
+        spotify.put("expiresInMs", fresh ? remainingMs : 0);
+        json.put("spotifyToken", spotify);
+        degraded |= !fresh;
+        checks.put("spotifyToken", fresh ? "UP" : "DEGRADED");
+
+        // 작업 큐 길이
+        JSONObject queues = new JSONObject();
+        int hasherQueue = PasswordHasher.getQueueSize();
+        int hasherCapacity = PasswordHasher.getQueueCapacity();
+        queues.put("passwordHasher", queueJson(hasherQueue, hasherCapacity));
+        boolean queuesNearlyFull = isNearlyFull(hasherQueue, hasherCapacity);
+
+        int spotifyQueue = SpotifyCallExecutor.getQueueSize();
+        int spotifyCapacity = SpotifyCallExecutor.getQueueCapacity();
+        JSONObject spotifyCalls = queueJson(spotifyQueue, spotifyCapacity);
+        spotifyCalls.put("mode", SpotifyCallExecutor.getMode());
+        queues.put("spotifyCalls", spotifyCalls);
+        queuesNearlyFull |= isNearlyFull(spotifyQueue, spotifyCapacity);
+
+        LikeWriteBehindQueue likeQueue = playlistDAO != null ? playlistDAO.getWriteBehindQueue() : null;
+        if (likeQueue != null) {
+            int pending = likeQueue.getPendingCount();
+            queues.put("likeWriteBehind", queueJson(pending, likeQueue.getCapacity()));
+            queuesNearlyFull |= isNearlyFull(pending, likeQueue.getCapacity());
+        }
+        json.put("queues", queues);
+        degraded |= queuesNearlyFull;
+        checks.put("queues", queuesNearlyFull ? "DEGRADED" : "UP");
+
+        String status = down ? "DOWN" : (degraded ? "DEGRADED" : "UP");
+        json.put("status", status);
+        return new Snapshot(down ? 503 : 200, status, checks, json);
+    }
+
+    private PooledDataSource unwrapPool() {
+        try {
+            return dataSource.isWrapperFor(PooledDataSource.class) ? dataSource.unwrap(PooledDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static JSONObject queueJson(int size, int capacity) {
+        JSONObject json = new JSONObject();
+        json.put("size", size);
+        json.put("capacity", capacity);
+        return json;
+    }
+
+    private static boolean isNearlyFull(int size, int capacity) {
+        return capacity > 0 && size >= capacity * QUEUE_WARN_RATIO;
+    }
+
+    /**
+     * 점검 결과 (HTTP 상태 코드, 미리 직렬화한 공개 응답 본문과 관리자용 상세 정보)
+     */
+    public static final class Snapshot {
+        private final int httpStatus;
+        private final byte[] body;
+        // 관리자용 상세 정보 (생성 후 수정하지 않음)
+        private final JSONObject details;
+        private final long checkedAt = System.currentTimeMillis();
+
+        /**
+         * @param status 전체 상태 (UP, DEGRADED, DOWN)
+         * @param checks 점검 항목 이름 → 상태 (공개 응답에 포함)
+         * @param details 상세 정보 (관리자 전용)
+         */
+        Snapshot(int httpStatus, String status, JSONObject checks, JSONObject details) {
+            JSONObject json = new JSONObject();
+            json.put("status", status);
+            json.put("checks", checks);
+            json.put("checkedAt", checkedAt);
+            details.put("checkedAt", checkedAt);
+            this.httpStatus = httpStatus;
+            this.body = json.toString().getBytes(StandardCharsets.UTF_8);
+            this.details = details;
+        }
+
+        public int getHttpStatus() { return httpStatus; }
+        public long getCheckedAt() { return checkedAt; }
+
+        /**
+         * 응답 본문 (UTF-8 JSON, 호출자가 수정하지 않아야 함)
+         */
+        public byte[] getBody() { return body; }
+    }
+}
@@ -13,6 +13,7 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import utils.ErrorLogger;
+import utils.SpotifyCallExecutor;
 import utils.TokenManager;
 
 /**
@@ -39,7 +40,7 @@ public class SpotifyService {
             URL url = new URL(API_BASE_URL + "/playlists/" + playlistId + "/tracks?limit=100");
             System.out.println("[SpotifyService] API 요청 URL: " + url.toString());
             
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+            HttpURLConnection conn = SpotifyCallExecutor.configure((HttpURLConnection) url.openConnection());
             conn.setRequestMethod("GET");
             conn.setRequestProperty("Authorization", "Bearer " + accessToken);
             
@@ -191,7 +192,7 @@ public class SpotifyService {
     public String getTrackPreviewUrl(String accessToken, String trackId) {
         try {
             URL url = new URL(API_BASE_URL + "/tracks/" + trackId);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+            HttpURLConnection conn = SpotifyCallExecutor.configure((HttpURLConnection) url.openConnection());
             conn.setRequestMethod("GET");
             conn.setRequestProperty("Authorization", "Bearer " + accessToken);
             
@@ -231,6 +232,18 @@ public class SpotifyService {
      * @return 플레이리스트 이름 (가져오기 실패 시 null)
      */
     public String getPlaylistName(String playlistId) {
+        return (String) getPlaylistInfo(playlistId).get("name");
+    }
+
+    /**
+     * 플레이리스트 이름과 스냅샷 ID를 가져옵니다.
+     * 스냅샷 ID는 트랙 목록이 바뀔 때마다 Spotify가 새로 발급하는 버전 값입니다. (응답 ETag 계산용)
+     * 
+     * @param playlistId 플레이리스트 ID
+     * @return "name", "snapshot_id" 값 (가져오기 실패 시 빈 Map)
+     */
+    public Map<String, Object> getPlaylistInfo(String playlistId) {
+        Map<String, Object> info = new HashMap<>();
         String accessToken = null;
         
         try {
@@ -244,12 +257,13 @@ public class SpotifyService {
         // 토큰을 가져오지 못한 경우
         if (accessToken == null || accessToken.isEmpty()) {
             System.err.println("Spotify 액세스 토큰을 가져올 수 없습니다.");
-            return null;
+            return info;
         }
         
         try {
-            URL url = new URL(API_BASE_URL + "/playlists/" + playlistId);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+            // 트랙 목록은 별도로 조회하므로 필요한 필드만 요청
+            URL url = new URL(API_BASE_URL + "/playlists/" + playlistId + "?fields=name,snapshot_id");
+            HttpURLConnection conn = SpotifyCallExecutor.configure((HttpURLConnection) url.openConnection());
             conn.setRequestMethod("GET");
             conn.setRequestProperty("Authorization", "Bearer " + accessToken);
             
@@ -269,7 +283,10 @@ public class SpotifyService {
                 JSONObject jsonResponse = new JSONObject(response.toString());
                 
                 if (!jsonResponse.isNull("name")) {
-                    return jsonResponse.getString("name");
+                    info.put("name", jsonResponse.getString("name"));
+                }
+                if (!jsonResponse.isNull("snapshot_id")) {
+                    info.put("snapshot_id", jsonResponse.getString("snapshot_id"));
                 }
             } else {
                 System.err.println("플레이리스트 정보 가져오기 실패: " + responseCode);
@@ -284,6 +301,6 @@ public class SpotifyService {
             ErrorLogger.logError("Spotify API 호출 중 예외 발생", e);
         }
         
-        return null;
+        return info;
     }
 } 
\ No newline at end of file
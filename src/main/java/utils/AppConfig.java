@@ -0,0 +1,81 @@
+package utils;
+
+/**
+ * 애플리케이션 설정값 조회 유틸리티 클래스
+ * JVM 시스템 프로퍼티(-Dmusicmood.xxx=값)에 지정된 값을 우선 사용하고,
+ * 값이 없거나 형식이 잘못된 경우 기본값을 반환합니다.
+ *
+ * 예시: -Dmusicmood.db.pool.maxSize=20
+ */
+public class AppConfig {
+
+    /**
+     * 문자열 설정값 조회
+     *
+     * @param key 설정 키 (예: "musicmood.db.pool.maxSize")
+     * @param defaultValue 설정이 없을 때 사용할 기본값
+     * @return 설정값 또는 기본값
+     */
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    /**
+     * 정수 설정값 조회
+     *
+     * @param key 설정 키
+     * @param defaultValue 설정이 없거나 잘못된 경우 사용할 기본값
+     * @return 설정값 또는 기본값
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("[AppConfig] 잘못된 정수 설정값 (" + key + "=" + value + "), 기본값 사용: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * long 설정값 조회
+     *
+     * @param key 설정 키
+     * @param defaultValue 설정이 없거나 잘못된 경우 사용할 기본값
+     * @return 설정값 또는 기본값
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("[AppConfig] 잘못된 정수 설정값 (" + key + "=" + value + "), 기본값 사용: " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * boolean 설정값 조회
+     *
+     * @param key 설정 키
+     * @param defaultValue 설정이 없을 때 사용할 기본값
+     * @return 설정값 또는 기본값
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        return "true".equalsIgnoreCase(value) || "yes".equalsIgnoreCase(value) || "1".equals(value);
+    }
+}
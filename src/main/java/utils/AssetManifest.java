@@ -0,0 +1,285 @@
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.ServletContext;
+
+/**
+ * 정적 파일 지문(fingerprint) 목록
+ * 시작 시 /static/ 아래의 모든 파일 내용을 해시하여 "style.css" → "style.3f2a9c1b7e.css" 형태의 경로를 만듭니다.
+ * 파일 내용이 바뀌면 경로가 바뀌므로 지문 경로는 브라우저가 1년 동안 재검증 없이 보관할 수 있습니다.
+ *
+ * - JSP는 servletContext 속성 "assets"로 경로를 조회합니다: ${applicationScope.assets['/static/css/style.css']}
+ *   (컨텍스트 경로 포함, 목록에 없는 파일은 원래 경로를 반환)
+ * - 텍스트 파일(CSS, JS 등)은 원본과 gzip 압축본을 메모리에 보관하고, 이미지는 해시만 보관합니다.
+ * - 파일을 수정하면 재시작해야 새 지문이 적용됩니다. (개발 중에는 fingerprint=false로 끌 수 있음)
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.assets.fingerprint : 지문 경로 사용 (기본값 true)
+ */
+public class AssetManifest {
+
+    public static final String STATIC_PREFIX = "/static/";
+
+    // 지문 길이 (SHA-256 앞 5바이트 = 16진수 10자리)
+    private static final int HASH_BYTES = 5;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static volatile AssetManifest instance = new AssetManifest(Collections.emptyMap(), "");
+
+    // 원래 경로 → 파일 정보
+    private final Map<String, Asset> byPath;
+    // 지문 경로 → 파일 정보
+    private final Map<String, Asset> byFingerprint;
+    private final Map<String, String> urls;
+
+    private AssetManifest(Map<String, Asset> byPath, String contextPath) {
+        this.byPath = byPath;
+        Map<String, Asset> fingerprints = new HashMap<>();
+        for (Asset asset : byPath.values()) {
+            fingerprints.put(asset.fingerprintedPath, asset);
+        }
+        this.byFingerprint = fingerprints;
+        this.urls = new UrlMap(contextPath);
+    }
+
+    /**
+     * /static/ 아래 파일로 지문 목록을 만들고 현재 목록으로 등록 (정적 파일 필터 초기화 시 호출)
+     */
+    public static AssetManifest build(ServletContext servletContext) {
+        long start = System.currentTimeMillis();
+        Map<String, Asset> assets = new HashMap<>();
+        if (AppConfig.getBoolean("musicmood.assets.fingerprint", true)) {
+            collect(servletContext, STATIC_PREFIX, assets);
+        }
+
+        AssetManifest manifest = new AssetManifest(Collections.unmodifiableMap(assets), servletContext.getContextPath());
+        instance = manifest;
+        long precompressed = assets.values().stream().filter(a -> a.gzip != null).count();
+        System.out.println("[AssetManifest] 정적 파일 " + assets.size() + "개 지문 생성 (gzip 미리 압축: " + precompressed
+                + "개, " + (System.currentTimeMillis() - start) + "ms)");
+        return manifest;
+    }
+
+    public static AssetManifest getInstance() {
+        return instance;
+    }
+
+    /**
+     * 원래 경로의 지문 경로 (컨텍스트 경로 제외, 목록에 없으면 원래 경로)
+     *
+     * @param path "/static/"으로 시작하는 경로
+     */
+    public String resolve(String path) {
+        Asset asset = byPath.get(path);
+        return asset != null ? asset.fingerprintedPath : path;
+    }
+
+    /**
+     * 지문 경로로 파일 정보 조회
+     *
+     * @return 파일 정보 (지문 경로가 아니면 null)
+     */
+    public Asset lookup(String fingerprintedPath) {
+        return byFingerprint.get(fingerprintedPath);
+    }
+
+    /**
+     * JSP용 경로 Map (키: 원래 경로, 값: 컨텍스트 경로를 포함한 지문 경로)
+     */
+    public Map<String, String> getUrls() {
+        return urls;
+    }
+
+    private static void collect(ServletContext servletContext, String dir, Map<String, Asset> assets) {
+        Set<String> paths = servletContext.getResourcePaths(dir);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                collect(servletContext, path, assets);
+                continue;
+            }
+            try {
+                Asset asset = load(servletContext, path);
+                if (asset != null) {
+                    assets.put(path, asset);
+                }
+            } catch (IOException e) {
+                ErrorLogger.logError("정적 파일 지문 생성 실패: " + path, e);
+            }
+        }
+    }
+
+    private static Asset load(ServletContext servletContext, String path) throws IOException {
+        String contentType = servletContext.getMimeType(path);
+        boolean text = isText(contentType);
+        MessageDigest digest = sha256();
+        ByteArrayOutputStream body = text ? new ByteArrayOutputStream() : null;
+
+        try (InputStream in = servletContext.getResourceAsStream(path)) {
+            if (in == null) {
+                return null;
+            }
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+                if (body != null) {
+                    body.write(buffer, 0, n);
+                }
+            }
+        }
+
+        String hash = hex(digest.digest(), HASH_BYTES);
+        byte[] bytes = body != null ? body.toByteArray() : null;
+        byte[] gzip = bytes != null ? gzip(bytes) : null;
+        if (gzip != null && gzip.length >= bytes.length) {
+            gzip = null; // 압축 효과가 없으면 원본만 사용
+        }
+        return new Asset(path, fingerprint(path, hash), hash,
+                contentType != null ? contentType : "application/octet-stream",
+                lastModified(servletContext, path), bytes, gzip);
+    }
+
+    /**
+     * "/static/css/style.css" + "3f2a9c1b7e" → "/static/css/style.3f2a9c1b7e.css"
+     */
+    static String fingerprint(String path, String hash) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash + 1) {
+            return path + "." + hash;
+        }
+        return path.substring(0, dot) + "." + hash + path.substring(dot);
+    }
+
+    private static boolean isText(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("javascript") || type.contains("json")
+                || type.contains("xml") || type.equals("image/x-icon") || type.equals("image/vnd.microsoft.icon");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3 + 64);
+        // 시작 시 한 번만 압축하므로 최고 압축 수준 사용
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static long lastModified(ServletContext servletContext, String path) {
+        try {
+            URL url = servletContext.getResource(path);
+            return url != null ? url.openConnection().getLastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static String hex(byte[] bytes, int length) {
+        char[] chars = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 지문을 만든 정적 파일
+     */
+    public static final class Asset {
+        private final String path;
+        private final String fingerprintedPath;
+        private final String hash;
+        private final String contentType;
+        private final long lastModified;
+        private final byte[] body;
+        private final byte[] gzip;
+
+        Asset(String path, String fingerprintedPath, String hash, String contentType, long lastModified,
+              byte[] body, byte[] gzip) {
+            this.path = path;
+            this.fingerprintedPath = fingerprintedPath;
+            this.hash = hash;
+            this.contentType = contentType;
+            this.lastModified = lastModified;
+            this.body = body;
+            this.gzip = gzip;
+        }
+
+        /** 원래 경로 (예: /static/css/style.css) */
+        public String getPath() { return path; }
+        public String getFingerprintedPath() { return fingerprintedPath; }
+        public String getHash() { return hash; }
+        public String getContentType() { return contentType; }
+        public long getLastModified() { return lastModified; }
+
+        /** 메모리에 보관한 원본 (이미지 등은 null - 파일에서 응답) */
+        public byte[] getBody() { return body; }
+
+        /** 미리 압축한 gzip 본문 (압축하지 않는 파일은 null) */
+        public byte[] getGzip() { return gzip; }
+    }
+
+    /**
+     * JSP EL용 읽기 전용 Map (없는 키는 원래 경로에 컨텍스트 경로를 붙여 반환)
+     */
+    private final class UrlMap extends AbstractMap<String, String> {
+        private final String contextPath;
+
+        UrlMap(String contextPath) {
+            this.contextPath = contextPath;
+        }
+
+        @Override
+        public String get(Object key) {
+            return key instanceof String ? contextPath + resolve((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            Map<String, String> all = new HashMap<>();
+            for (Asset asset : byPath.values()) {
+                all.put(asset.path, contextPath + asset.fingerprintedPath);
+            }
+            return all.entrySet();
+        }
+    }
+}
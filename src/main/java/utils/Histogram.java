@@ -0,0 +1,121 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 저비용 누적 히스토그램
+ * 값을 2의 거듭제곱 구간(0, 1, 2~3, 4~7, 8~15, ...)으로 나누어 개수만 셉니다.
+ * 구간별 카운터가 LongAdder이므로 여러 스레드가 동시에 기록해도 락 경합이 거의 없고,
+ * 메모리 사용량은 값의 개수와 관계없이 일정합니다.
+ *
+ * 백분위수는 해당 구간의 상한값으로 추정하므로 실제 값보다 최대 2배까지 크게 나올 수 있습니다.
+ * 단위는 호출자가 정합니다. (예: 실행 시간은 마이크로초, 결과 행 수는 행)
+ */
+public class Histogram {
+
+    // 구간 수 (long 범위 전체: 0 구간 + 비트 길이 1~63)
+    public static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    public Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 값 하나를 기록합니다. (음수는 0으로 기록)
+     */
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        buckets[bucketOf(v)].increment();
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    public long getCount() { return count.sum(); }
+    public long getSum() { return sum.sum(); }
+    public long getMax() { return max.get(); }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * 백분위수 추정값
+     *
+     * @param percentile 0.0 ~ 1.0 (예: 0.99)
+     * @return 해당 백분위수가 속한 구간의 상한값 (기록된 최대값을 넘지 않음), 기록이 없으면 0
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = getBucketCounts();
+        long total = 0;
+        for (long c : snapshot) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0L;
+        }
+
+        long rank = (long) Math.ceil(Math.min(1.0, Math.max(0.0, percentile)) * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 요약 (JSON 응답용: count, mean, p50, p95, p99, max)
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("mean", Math.round(getMean()));
+        summary.put("p50", getPercentile(0.5));
+        summary.put("p95", getPercentile(0.95));
+        summary.put("p99", getPercentile(0.99));
+        summary.put("max", getMax());
+        return summary;
+    }
+
+    /**
+     * 구간별 개수 스냅샷 (인덱스 i의 구간 상한은 {@link #upperBound(int)})
+     */
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets[i].sum();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 구간 i에 포함되는 최대값 (0 구간은 0, i 구간은 2^i - 1)
+     */
+    public static long upperBound(int bucket) {
+        return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    private static int bucketOf(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + ", mean=" + Math.round(getMean()) + ", p50=" + getPercentile(0.5)
+                + ", p99=" + getPercentile(0.99) + ", max=" + getMax();
+    }
+}
@@ -0,0 +1,487 @@
+package utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.servlet.ServletContext;
+
+/**
+ * 반응형 이미지 크기 변형(variant)
+ * 설정한 PNG/JPEG 이미지를 정해진 너비로 줄인 파일을 만들어 디스크 캐시에 보관합니다.
+ * 작은 썸네일로 표시되는 이미지를 원본 크기 그대로 내려받지 않도록 하기 위한 것입니다.
+ *
+ * - 변형 대상은 뷰가 srcset으로 사용하는 이미지만 지정 (현재 index.jsp의 playlist-placeholder.png,
+ *   감정 이미지 happy/calm/sad/energetic.png는 어떤 뷰에서도 표시하지 않으므로 제외)
+ * - 요청: /static/assets/images/playlist-placeholder.png?w=320 (StaticResourceServlet이 변형 파일로 응답)
+ * - 요청한 너비는 설정된 너비 중 같거나 큰 가장 작은 값으로 맞춤 (원본보다 크면 원본 응답)
+ * - 변형 파일은 첫 요청 시 javax.imageio로 생성 (pregenerate=true면 시작 시 백그라운드에서 미리 생성)
+ * - 디스크 캐시는 용량 제한이 있으며 오래 사용하지 않은 파일부터 삭제
+ * - 파일 이름에 원본 수정 시각이 들어가므로 원본이 바뀌면 새 변형을 만듦
+ * - JSP는 servletContext 속성 "srcset"으로 srcset 값을 조회합니다:
+ *   &lt;img src="${applicationScope.assets['/static/a.png']}" srcset="${applicationScope.srcset['/static/a.png']}" sizes="..."&gt;
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.images.paths : 변형 대상 이미지 경로 목록 (쉼표로 구분, 기본값 "/static/assets/images/playlist-placeholder.png")
+ * - musicmood.images.widths : 변형 너비 목록 (기본값 "160,320,640,1280")
+ * - musicmood.images.cacheDir : 디스크 캐시 경로 (기본값: 컨테이너 임시 디렉터리/image-variants)
+ * - musicmood.images.cacheMaxBytes : 디스크 캐시 최대 용량 (기본값 128MB)
+ * - musicmood.images.pregenerate : 시작 시 모든 변형을 미리 생성 (기본값 false)
+ */
+public class ImageVariants {
+
+    private static final String DEFAULT_PATHS = "/static/assets/images/playlist-placeholder.png";
+    private static final long CACHE_MAX_BYTES = AppConfig.getLong("musicmood.images.cacheMaxBytes", 128L * 1024 * 1024);
+
+    private static volatile ImageVariants instance = new ImageVariants(Collections.emptyMap(), new int[0], null, "");
+
+    // 원래 경로 → 원본 이미지 정보
+    private final Map<String, Source> sources;
+    private final int[] widths;
+    private final File cacheDir;
+    private final Map<String, String> srcsets;
+
+    // 디스크 캐시 목록 (접근 순서, 파일 이름 → 크기) - this로 동기화
+    private final LinkedHashMap<String, Long> cached = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+    // 같은 변형을 동시에 만들지 않도록 하는 파일 이름별 잠금
+    private final Map<String, Object> generating = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder generateNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private ImageVariants(Map<String, Source> sources, int[] widths, File cacheDir, String contextPath) {
+        this.sources = sources;
+        this.widths = widths;
+        this.cacheDir = cacheDir;
+        this.srcsets = new SrcsetMap(contextPath);
+    }
+
+    /**
+     * 설정한 이미지 목록을 만들고 현재 목록으로 등록 (정적 파일 필터 초기화 시, AssetManifest 다음에 호출)
+     */
+    public static ImageVariants build(ServletContext servletContext) {
+        int[] widths = parseWidths(AppConfig.getString("musicmood.images.widths", "160,320,640,1280"));
+        File cacheDir = cacheDir(servletContext);
+        Map<String, Source> sources = new HashMap<>();
+        if (widths.length > 0 && cacheDir != null) {
+            for (String path : AppConfig.getString("musicmood.images.paths", DEFAULT_PATHS).split(",")) {
+                register(servletContext, path.trim(), sources);
+            }
+        }
+
+        ImageVariants variants = new ImageVariants(Collections.unmodifiableMap(sources), widths, cacheDir,
+                servletContext.getContextPath());
+        variants.loadCache();
+        instance = variants;
+        System.out.println("[ImageVariants] 이미지 " + sources.size() + "개, 너비 " + Arrays.toString(widths)
+                + ", 디스크 캐시 " + (cacheDir != null ? cacheDir.getAbsolutePath() : "없음"));
+
+        if (!sources.isEmpty() && AppConfig.getBoolean("musicmood.images.pregenerate", false)) {
+            Thread thread = new Thread(variants::pregenerate, "musicmood-image-variants");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return variants;
+    }
+
+    public static ImageVariants getInstance() {
+        return instance;
+    }
+
+    /**
+     * 요청한 너비를 설정된 변형 너비로 맞춘 값
+     * 응답하는 쪽은 요청 값 대신 이 값을 변형 구분에 사용해야 합니다. (w=321, w=322 등이 모두 같은 변형)
+     *
+     * @param path "/static/"으로 시작하는 원래 경로
+     * @param requestedWidth 요청 너비 (w 파라미터)
+     * @return 변형 너비 (변형 대상이 아니거나 원본보다 크면 0 - 원본 응답)
+     */
+    public int variantWidth(String path, int requestedWidth) {
+        Source source = sources.get(path);
+        if (source == null || requestedWidth <= 0) {
+            return 0;
+        }
+        int width = snap(requestedWidth);
+        return width > 0 && width < source.width ? width : 0;
+    }
+
+    /**
+     * 요청한 너비에 맞는 변형 파일 (없으면 생성)
+     *
+     * @param path "/static/"으로 시작하는 원래 경로
+     * @param requestedWidth 요청 너비 (w 파라미터, {@link #variantWidth}로 맞춤)
+     * @return 변형 파일 (변형 대상이 아니거나 원본보다 크거나 생성에 실패하면 null - 원본 응답)
+     */
+    public File variant(String path, int requestedWidth) {
+        int width = variantWidth(path, requestedWidth);
+        if (width == 0) {
+            return null;
+        }
+        Source source = sources.get(path);
+
+        String name = source.variantName(width);
+        File file = new File(cacheDir, name);
+        synchronized (this) {
+            if (cached.get(name) != null && file.isFile()) {
+                hits.increment();
+                return file;
+            }
+        }
+
+        Object lock = generating.computeIfAbsent(name, k -> new Object());
+        try {
+            synchronized (lock) {
+                if (!file.isFile()) {
+                    generate(source, width, file);
+                } else {
+                    hits.increment();
+                }
+            }
+            add(name, file.length());
+            return file;
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            ErrorLogger.logError("이미지 변형 생성 실패: " + path + " (w=" + width + ")", e);
+            return null;
+        } finally {
+            generating.remove(name, lock);
+        }
+    }
+
+    /**
+     * 변형 대상 이미지인지 확인
+     */
+    public boolean isResizable(String path) {
+        return sources.containsKey(path);
+    }
+
+    /**
+     * JSP용 srcset Map (키: 원래 경로, 값: "url?w=160 160w, ..., url 800w", 변형 대상이 아니면 빈 문자열)
+     */
+    public Map<String, String> getSrcsets() {
+        return srcsets;
+    }
+
+    /**
+     * 이미지 변형 통계 (관리자 통계 응답용)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("images", sources.size());
+        stats.put("widths", Arrays.stream(widths).boxed().collect(Collectors.toList()));
+        stats.put("cacheDir", cacheDir != null ? cacheDir.getAbsolutePath() : null);
+        stats.put("cacheMaxBytes", CACHE_MAX_BYTES);
+        synchronized (this) {
+            stats.put("cachedFiles", cached.size());
+            stats.put("cachedBytes", cachedBytes);
+        }
+        stats.put("hits", hits.sum());
+        stats.put("generated", generated.sum());
+        long count = generated.sum();
+        stats.put("avgGenerateMs", count > 0 ? generateNanos.sum() / count / 1_000_000.0 : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("failures", failures.sum());
+        return stats;
+    }
+
+    private int snap(int requestedWidth) {
+        for (int width : widths) {
+            if (width >= requestedWidth) {
+                return width;
+            }
+        }
+        return widths.length > 0 ? widths[widths.length - 1] : 0;
+    }
+
+    private void generate(Source source, int width, File file) throws IOException {
+        long start = System.nanoTime();
+        BufferedImage original = ImageIO.read(source.file);
+        if (original == null) {
+            throw new IOException("읽을 수 없는 이미지 형식");
+        }
+        int height = Math.max(1, (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+        BufferedImage resized = resize(original, width, height, "png".equals(source.format));
+
+        // 임시 파일에 쓴 뒤 이동하여 다른 요청이 쓰다 만 파일을 읽지 않도록 함
+        File temp = File.createTempFile("variant", ".tmp", cacheDir);
+        try {
+            if (!ImageIO.write(resized, source.format, temp)) {
+                throw new IOException("이미지 형식을 쓸 수 없음: " + source.format);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+        generated.increment();
+        generateNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * 절반씩 여러 번 줄여 한 번에 크게 줄일 때 생기는 계단 현상을 줄임
+     */
+    private static BufferedImage resize(BufferedImage image, int width, int height, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    /**
+     * 캐시 목록에 추가하고 용량을 넘으면 오래 사용하지 않은 파일부터 삭제
+     */
+    private synchronized void add(String name, long size) {
+        Long previous = cached.put(name, size);
+        cachedBytes += size - (previous != null ? previous : 0);
+
+        Iterator<Map.Entry<String, Long>> it = cached.entrySet().iterator();
+        while (cachedBytes > CACHE_MAX_BYTES && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(name)) {
+                continue; // 방금 만든 파일은 유지
+            }
+            it.remove();
+            cachedBytes -= eldest.getValue();
+            evictions.increment();
+            if (!new File(cacheDir, eldest.getKey()).delete()) {
+                ErrorLogger.logError("이미지 변형 캐시 파일 삭제 실패: " + eldest.getKey());
+            }
+        }
+    }
+
+    /**
+     * 이전 실행에서 만든 변형 파일을 캐시 목록에 등록 (오래된 파일이 먼저 삭제되도록 수정 시각 순)
+     */
+    private void loadCache() {
+        File[] files = cacheDir != null ? cacheDir.listFiles(File::isFile) : null;
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (file.getName().endsWith(".tmp")) {
+                file.delete();
+                continue;
+            }
+            add(file.getName(), file.length());
+        }
+    }
+
+    private void pregenerate() {
+        long start = System.currentTimeMillis();
+        for (Map.Entry<String, Source> e : sources.entrySet()) {
+            for (int width : widths) {
+                if (width < e.getValue().width) {
+                    variant(e.getKey(), width);
+                }
+            }
+        }
+        System.out.println("[ImageVariants] 변형 미리 생성 완료 (" + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    /**
+     * /static/ 아래 PNG/JPEG 이미지를 변형 대상으로 등록 (경로가 잘못되었거나 파일이 없으면 로그만 남김)
+     */
+    private static void register(ServletContext servletContext, String path, Map<String, Source> sources) {
+        if (path.isEmpty()) {
+            return;
+        }
+        String format = path.startsWith(AssetManifest.STATIC_PREFIX) ? format(path) : null;
+        String realPath = format != null ? servletContext.getRealPath(path) : null;
+        File file = realPath != null ? new File(realPath) : null;
+        if (file == null || !file.isFile()) {
+            ErrorLogger.logError("변형 대상 이미지 파일을 찾을 수 없음 (경로 설정 또는 압축된 WAR 확인): " + path);
+            return;
+        }
+        try {
+            Source source = readSource(path, file, format);
+            if (source != null) {
+                sources.put(path, source);
+            }
+        } catch (IOException e) {
+            ErrorLogger.logError("이미지 크기 확인 실패: " + path, e);
+        }
+    }
+
+    /**
+     * 이미지 전체를 읽지 않고 헤더에서 크기만 확인
+     */
+    private static Source readSource(String path, File file, String format) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return new Source(path, file, format, reader.getWidth(0), reader.getHeight(0), file.lastModified());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String format(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".png")) {
+            return "png";
+        }
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+            return "jpg";
+        }
+        return null;
+    }
+
+    private static int[] parseWidths(String value) {
+        List<Integer> widths = new ArrayList<>();
+        for (String part : value.split(",")) {
+            try {
+                int width = Integer.parseInt(part.trim());
+                if (width > 0 && !widths.contains(width)) {
+                    widths.add(width);
+                }
+            } catch (NumberFormatException e) {
+                ErrorLogger.logError("잘못된 이미지 너비 설정: " + part);
+            }
+        }
+        return widths.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static File cacheDir(ServletContext servletContext) {
+        String configured = AppConfig.getString("musicmood.images.cacheDir", null);
+        File dir;
+        if (configured != null) {
+            dir = new File(configured);
+        } else {
+            Object tempDir = servletContext.getAttribute(ServletContext.TEMPDIR);
+            dir = new File(tempDir instanceof File ? (File) tempDir : new File(System.getProperty("java.io.tmpdir")),
+                    "image-variants");
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            ErrorLogger.logError("이미지 변형 캐시 디렉터리를 만들 수 없음: " + dir);
+            return null;
+        }
+        return dir;
+    }
+
+    /**
+     * 변형 대상 원본 이미지
+     */
+    private static final class Source {
+        final String path;
+        final File file;
+        final String format;
+        final int width;
+        final int height;
+        final long lastModified;
+
+        Source(String path, File file, String format, int width, int height, long lastModified) {
+            this.path = path;
+            this.file = file;
+            this.format = format;
+            this.width = width;
+            this.height = height;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * "/static/assets/images/playlist-placeholder.png" + 320 → "static_assets_images_playlist-placeholder.320w.<수정 시각>.png"
+         */
+        String variantName(int variantWidth) {
+            String base = path.substring(1, path.lastIndexOf('.')).replace('/', '_');
+            return base + "." + variantWidth + "w." + Long.toHexString(lastModified) + "." + format;
+        }
+    }
+
+    /**
+     * JSP EL용 읽기 전용 Map (변형 대상이 아닌 경로는 빈 문자열)
+     */
+    private final class SrcsetMap extends AbstractMap<String, String> {
+        private final String contextPath;
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+
+        SrcsetMap(String contextPath) {
+            this.contextPath = contextPath;
+        }
+
+        @Override
+        public String get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            Source source = sources.get(key);
+            if (source == null) {
+                return "";
+            }
+            return values.computeIfAbsent(source.path, k -> build(source));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            Map<String, String> all = new HashMap<>();
+            for (String path : sources.keySet()) {
+                all.put(path, get(path));
+            }
+            return all.entrySet();
+        }
+
+        private String build(Source source) {
+            String url = contextPath + AssetManifest.getInstance().resolve(source.path);
+            StringBuilder sb = new StringBuilder();
+            for (int width : widths) {
+                if (width < source.width) {
+                    sb.append(url).append("?w=").append(width).append(' ').append(width).append("w, ");
+                }
+            }
+            return sb.append(url).append(' ').append(source.width).append('w').toString();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * 스트리밍 JSON 인코더
+ * 값(Map, List, 배열, 문자열, 숫자, org.json 객체 등)을 중간 String 없이 UTF-8 바이트로 바로 인코딩합니다.
+ * 출력은 내부 버퍼에 모았다가 버퍼가 가득 찰 때만 출력 스트림으로 내보내므로,
+ * 전체 응답이 버퍼 하나에 들어가면 쓰기 전에 길이를 알 수 있습니다. (Content-Length 설정용)
+ *
+ * 한 인스턴스는 한 번에 하나의 응답에만 사용하며, 버퍼는 다음 응답에서 다시 사용합니다.
+ * (스레드 간 공유 불가)
+ *
+ * 문자열 이스케이프 (RFC 8259):
+ * - " \ 및 제어 문자(U+0000~U+001F)는 이스케이프
+ * - U+2028, U+2029는 스크립트에 삽입되어도 안전하도록 \\u 이스케이프
+ * - 짝이 맞지 않는 서로게이트 문자는 잘못된 UTF-8을 만들지 않도록 \\u 이스케이프
+ */
+public final class JsonWriter {
+
+    /**
+     * 출력 대상 - 첫 출력 시 한 번만 열림
+     */
+    @FunctionalInterface
+    public interface Target {
+        /**
+         * @param contentLength 전체 길이 (버퍼를 넘어 길이를 알 수 없으면 -1)
+         * @return 출력 스트림 (null이면 본문을 쓰지 않음 - HEAD 요청 등)
+         */
+        OutputStream open(int contentLength) throws IOException;
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] NULL = "null".getBytes();
+    private static final byte[] TRUE = "true".getBytes();
+    private static final byte[] FALSE = "false".getBytes();
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private Target target;
+    private OutputStream out;
+    private boolean opened;
+
+    /**
+     * 미리 직렬화된 JSON을 그대로 출력할 때 사용 (예: 캐시에 보관된 JSON 배열)
+     * 내용을 검증하지 않으므로 신뢰할 수 있는 값만 사용해야 합니다.
+     */
+    public static Raw raw(String json) {
+        return new Raw(json);
+    }
+
+    /**
+     * 값을 JSON으로 출력
+     *
+     * @param value 출력할 값
+     * @param target 출력 대상
+     */
+    public void write(Object value, Target target) throws IOException {
+        this.target = target;
+        this.count = 0;
+        this.out = null;
+        this.opened = false;
+        try {
+            writeValue(value);
+            if (!opened) {
+                // 전체가 버퍼에 들어감 - 길이를 알려주고 한 번에 출력
+                open(count);
+            }
+            drain();
+        } finally {
+            this.target = null;
+            this.out = null;
+        }
+    }
+
+    private void open(int contentLength) throws IOException {
+        opened = true;
+        out = target.open(contentLength);
+    }
+
+    private void drain() throws IOException {
+        if (out != null && count > 0) {
+            out.write(buffer, 0, count);
+        }
+        count = 0;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (count + bytes > buffer.length) {
+            if (!opened) {
+                open(-1);
+            }
+            drain();
+        }
+    }
+
+    private void put(int b) throws IOException {
+        ensure(1);
+        buffer[count++] = (byte) b;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null || JSONObject.NULL.equals(value)) {
+            put(NULL);
+        } else if (value instanceof CharSequence) {
+            writeString((CharSequence) value);
+        } else if (value instanceof Boolean) {
+            put((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Number) {
+            writeNumber((Number) value);
+        } else if (value instanceof Raw) {
+            writeUtf8(((Raw) value).json);
+        } else if (value instanceof Map) {
+            writeMap((Map<?, ?>) value);
+        } else if (value instanceof JSONObject) {
+            writeJsonObject((JSONObject) value);
+        } else if (value instanceof JSONArray) {
+            writeIterator(((JSONArray) value).iterator());
+        } else if (value instanceof Iterable) {
+            writeIterator(((Iterable<?>) value).iterator());
+        } else if (value.getClass().isArray()) {
+            writeArray(value);
+        } else {
+            writeString(String.valueOf(value));
+        }
+    }
+
+    private void writeNumber(Number number) throws IOException {
+        if ((number instanceof Double && !Double.isFinite(number.doubleValue()))
+                || (number instanceof Float && !Float.isFinite(number.floatValue()))) {
+            // JSON에는 NaN/Infinity가 없음
+            put(NULL);
+            return;
+        }
+        String text = number.toString();
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[count++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeMap(Map<?, ?> map) throws IOException {
+        put('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                put(',');
+            }
+            first = false;
+            writeString(String.valueOf(entry.getKey()));
+            put(':');
+            writeValue(entry.getValue());
+        }
+        put('}');
+    }
+
+    private void writeJsonObject(JSONObject object) throws IOException {
+        put('{');
+        boolean first = true;
+        for (String key : object.keySet()) {
+            if (!first) {
+                put(',');
+            }
+            first = false;
+            writeString(key);
+            put(':');
+            writeValue(object.opt(key));
+        }
+        put('}');
+    }
+
+    private void writeIterator(Iterator<?> iterator) throws IOException {
+        put('[');
+        boolean first = true;
+        while (iterator.hasNext()) {
+            if (!first) {
+                put(',');
+            }
+            first = false;
+            writeValue(iterator.next());
+        }
+        put(']');
+    }
+
+    private void writeArray(Object array) throws IOException {
+        put('[');
+        int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                put(',');
+            }
+            writeValue(Array.get(array, i));
+        }
+        put(']');
+    }
+
+    private void writeString(CharSequence text) throws IOException {
+        put('"');
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                // ASCII 빠른 경로
+                ensure(1);
+                buffer[count++] = (byte) c;
+            } else if (c == '"' || c == '\\') {
+                ensure(2);
+                buffer[count++] = '\\';
+                buffer[count++] = (byte) c;
+            } else if (c < 0x20) {
+                writeControl(c);
+            } else if (c == 0x2028 || c == 0x2029) {
+                writeUnicodeEscape(c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, text.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                writeUnicodeEscape(c);
+            } else {
+                writeCodePoint(c);
+            }
+        }
+        put('"');
+    }
+
+    private void writeControl(char c) throws IOException {
+        switch (c) {
+            case '\n': put('\\'); put('n'); break;
+            case '\r': put('\\'); put('r'); break;
+            case '\t': put('\\'); put('t'); break;
+            case '\b': put('\\'); put('b'); break;
+            case '\f': put('\\'); put('f'); break;
+            default: writeUnicodeEscape(c); break;
+        }
+    }
+
+    private void writeUnicodeEscape(char c) throws IOException {
+        ensure(6);
+        buffer[count++] = '\\';
+        buffer[count++] = 'u';
+        buffer[count++] = HEX[(c >> 12) & 0xF];
+        buffer[count++] = HEX[(c >> 8) & 0xF];
+        buffer[count++] = HEX[(c >> 4) & 0xF];
+        buffer[count++] = HEX[c & 0xF];
+    }
+
+    /**
+     * 이스케이프 없이 UTF-8로 출력 (미리 직렬화된 JSON용)
+     */
+    private void writeUtf8(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                ensure(1);
+                buffer[count++] = (byte) c;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, text.charAt(++i)));
+            } else if (Character.isSurrogate(c)) {
+                writeCodePoint(0xFFFD); // 대체 문자
+            } else {
+                writeCodePoint(c);
+            }
+        }
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        ensure(4);
+        if (codePoint < 0x80) {
+            buffer[count++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (codePoint >> 6));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            buffer[count++] = (byte) (0xE0 | (codePoint >> 12));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    /**
+     * 미리 직렬화된 JSON 값
+     */
+    public static final class Raw {
+        private final String json;
+
+        private Raw(String json) {
+            this.json = json != null ? json : "null";
+        }
+
+        @Override
+        public String toString() {
+            return json;
+        }
+    }
+}
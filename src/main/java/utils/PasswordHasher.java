@@ -0,0 +1,223 @@
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.KeySpec;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * 비밀번호 해시 유틸리티 클래스 (PBKDF2-HMAC-SHA256)
+ * 해시 계산은 CPU 사용량이 크므로 요청 스레드가 아닌 전용 스레드 풀에서 실행합니다.
+ * 스레드 수와 대기 큐 크기가 제한되어 있어 로그인이 몰려도 다른 요청이 사용할 CPU를 남겨 둡니다.
+ * 대기 큐가 가득 차면 즉시 BusyException을 던집니다.
+ *
+ * 저장 형식: pbkdf2-sha256$반복횟수$솔트(Base64)$해시(Base64)
+ * 이 형식이 아닌 값은 기존 평문 비밀번호로 간주합니다. (로그인 성공 시 needsRehash로 판단하여 해시로 교체)
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.password.iterations : 반복 횟수 (기본값 600000, setIterations로 실행 중 변경 가능)
+ * - musicmood.password.threads : 해시 계산 스레드 수 (기본값 CPU 코어 수의 절반)
+ * - musicmood.password.queueCapacity : 대기 큐 크기 (기본값 32)
+ * - musicmood.password.timeoutMs : 해시 계산 최대 대기 시간 (기본값 5000ms)
+ */
+public class PasswordHasher {
+
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int MIN_ITERATIONS = 10000;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // 새 해시에 사용할 반복 횟수 (저장된 값과 다르면 로그인 시 다시 해시)
+    private static volatile int iterations = Math.max(MIN_ITERATIONS,
+            AppConfig.getInt("musicmood.password.iterations", 600000));
+    private static final long TIMEOUT_MS = AppConfig.getLong("musicmood.password.timeoutMs", 5000L);
+
+    private static final ThreadPoolExecutor executor = createExecutor();
+    private static final AtomicLong rejectedCount = new AtomicLong();
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = Math.max(1, AppConfig.getInt("musicmood.password.threads",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+        int queueCapacity = Math.max(1, AppConfig.getInt("musicmood.password.queueCapacity", 32));
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "musicmood-password-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+
+        System.out.println("[PasswordHasher] 초기화 (스레드: " + threads + ", 대기 큐: " + queueCapacity
+                + ", 반복 횟수: " + iterations + ")");
+        return pool;
+    }
+
+    /**
+     * 비밀번호 해시 생성 (전용 스레드 풀에서 실행)
+     *
+     * @param password 평문 비밀번호
+     * @return 저장 형식의 해시 문자열
+     * @throws BusyException 스레드 풀이 가득 찼거나 시간 초과 시
+     */
+    public static String hash(String password) {
+        int iter = iterations;
+        return submit(() -> {
+            byte[] salt = new byte[SALT_BYTES];
+            RANDOM.nextBytes(salt);
+            byte[] hash = pbkdf2(password, salt, iter);
+            Base64.Encoder b64 = Base64.getEncoder().withoutPadding();
+            return PREFIX + "$" + iter + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+        });
+    }
+
+    /**
+     * 비밀번호 검증
+     * 해시 형식이면 전용 스레드 풀에서 PBKDF2로 비교하고, 기존 평문 값이면 바로 비교합니다.
+     *
+     * @param password 입력한 평문 비밀번호
+     * @param stored DB에 저장된 값 (해시 또는 기존 평문)
+     * @return 일치 여부
+     * @throws BusyException 스레드 풀이 가득 찼거나 시간 초과 시
+     */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            // 기존 평문 비밀번호 - 길이와 관계없이 일정한 시간으로 비교
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        int iter;
+        byte[] salt;
+        byte[] expected;
+        try {
+            iter = Integer.parseInt(parts[1]);
+            salt = Base64.getDecoder().decode(parts[2]);
+            expected = Base64.getDecoder().decode(parts[3]);
+        } catch (IllegalArgumentException e) {
+            System.err.println("[PasswordHasher] 잘못된 해시 형식: " + e.getMessage());
+            return false;
+        }
+        return submit(() -> MessageDigest.isEqual(expected, pbkdf2(password, salt, iter)));
+    }
+
+    /**
+     * 저장된 값이 해시 형식인지 확인
+     */
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + "$");
+    }
+
+    /**
+     * 다시 해시해야 하는지 확인 (기존 평문이거나 반복 횟수가 현재 설정과 다른 경우)
+     */
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        return parts.length != 4 || !parts[1].equals(String.valueOf(iterations));
+    }
+
+    /**
+     * 반복 횟수 변경 (실행 중 조정용)
+     * 이후 생성되는 해시와 로그인 시 다시 해시할 때 적용됩니다.
+     *
+     * @param newIterations 새 반복 횟수 (최소 10000)
+     */
+    public static void setIterations(int newIterations) {
+        if (newIterations < MIN_ITERATIONS) {
+            throw new IllegalArgumentException("반복 횟수는 " + MIN_ITERATIONS + " 이상이어야 합니다: " + newIterations);
+        }
+        iterations = newIterations;
+        System.out.println("[PasswordHasher] 반복 횟수 변경: " + newIterations);
+    }
+
+    public static int getIterations() { return iterations; }
+    public static int getActiveCount() { return executor.getActiveCount(); }
+    public static int getQueueSize() { return executor.getQueue().size(); }
+    public static int getQueueCapacity() { return executor.getQueue().size() + executor.getQueue().remainingCapacity(); }
+    public static long getRejectedCount() { return rejectedCount.get(); }
+
+    /**
+     * 워밍업 (ContextLoaderListener의 시작 점검 단계에서 호출)
+     * 보안 공급자 로딩과 해시 스레드 생성을 첫 로그인 전에 미리 수행합니다.
+     */
+    public static void warmUp() throws GeneralSecurityException {
+        SecretKeyFactory.getInstance(ALGORITHM);
+        executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * 스레드 풀 종료 (ContextLoaderListener의 contextDestroyed에서 호출)
+     */
+    public static void shutdown() {
+        executor.shutdown();
+    }
+
+    private static <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new BusyException("비밀번호 처리 요청이 많아 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new BusyException("비밀번호 처리 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusyException("비밀번호 처리가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("비밀번호 해시 계산 실패", e.getCause());
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iter) throws GeneralSecurityException {
+        KeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iter, HASH_BITS);
+        return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+    }
+
+    /**
+     * 해시 스레드 풀이 가득 찼거나 시간 초과된 경우 발생하는 예외
+     */
+    public static class BusyException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public BusyException(String message) {
+            super(message);
+        }
+    }
+}
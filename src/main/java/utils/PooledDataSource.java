@@ -0,0 +1,596 @@
+package utils;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * 커넥션 풀 데이터소스
+ * JNDI 데이터소스(jdbc/musicdb)를 사용할 수 없을 때 사용하는 내장 커넥션 풀입니다.
+ * 물리 커넥션은 connectionFactory(예: SimpleDataSource)로 생성하고,
+ * DAO에서 close()한 커넥션은 실제로 닫지 않고 풀에 반납하여 재사용합니다.
+ *
+ * 주요 기능:
+ * 1. 최소/최대 커넥션 수 관리
+ * 2. 대여 대기 시간 제한 (먼저 기다린 요청이 먼저 커넥션을 받는 공정 대기열)
+ * 3. 대여 시/유휴 시 커넥션 유효성 검사
+ * 4. 유휴 커넥션 정리 및 최대 수명(max lifetime) 관리
+ * 5. 커넥션별 PreparedStatement 캐시 ({@link StatementCache})
+ *
+ * 설정은 시스템 프로퍼티(musicmood.db.pool.*)로 변경할 수 있습니다. ({@link Builder} 참고)
+ */
+public class PooledDataSource implements DataSource {
+
+    // 물리 커넥션 생성용 데이터소스
+    private final DataSource connectionFactory;
+
+    // 풀 설정
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final boolean testOnBorrow;
+    private final long validateAfterIdleMs;
+    private final int validationTimeoutSec;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final int statementCacheSize;
+
+    // SQL별 PreparedStatement 캐시 히트/미스 통계 (모든 커넥션 공유)
+    private final ConcurrentHashMap<String, StatementCache.Stats> statementStats = new ConcurrentHashMap<>();
+
+    // 대여 허가 (fair=true: 먼저 대기한 스레드가 먼저 커넥션을 받음)
+    private final Semaphore permits;
+    // 유휴 커넥션 목록 (최근 반납된 커넥션을 먼저 사용 - LIFO)
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    // 생성된 물리 커넥션 수 (유휴 + 사용 중 + 생성 중)
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    // 유휴 커넥션 검사/정리 및 최소 커넥션 유지 작업 스케줄러
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed = false;
+
+    private PooledDataSource(Builder builder) {
+        this.connectionFactory = builder.connectionFactory;
+        this.maxSize = Math.max(1, builder.maxSize);
+        this.minSize = Math.max(0, Math.min(builder.minSize, this.maxSize));
+        this.borrowTimeoutMs = builder.borrowTimeoutMs;
+        this.testOnBorrow = builder.testOnBorrow;
+        this.validateAfterIdleMs = builder.validateAfterIdleMs;
+        this.validationTimeoutSec = builder.validationTimeoutSec;
+        this.idleTimeoutMs = builder.idleTimeoutMs;
+        this.maxLifetimeMs = builder.maxLifetimeMs;
+        this.statementCacheSize = Math.max(0, builder.statementCacheSize);
+        this.permits = new Semaphore(this.maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "musicmood-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        // 최초 실행 시 최소 커넥션을 미리 생성 (요청 스레드를 막지 않도록 백그라운드에서 수행)
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep, 0, Math.max(1000, builder.housekeepingIntervalMs), TimeUnit.MILLISECONDS);
+
+        System.out.println("[PooledDataSource] 커넥션 풀 생성 - 최소: " + minSize + ", 최대: " + maxSize
+                + ", 대여 대기: " + borrowTimeoutMs + "ms, 최대 수명: " + maxLifetimeMs + "ms");
+    }
+
+    /**
+     * 빌더 생성을 위한 정적 팩토리 메서드
+     *
+     * @param connectionFactory 물리 커넥션을 생성할 데이터소스
+     * @return 시스템 프로퍼티 기본값이 적용된 빌더
+     */
+    public static Builder builder(DataSource connectionFactory) {
+        return new Builder(connectionFactory);
+    }
+
+    /**
+     * 풀에서 커넥션을 대여합니다.
+     * 사용 가능한 커넥션이 없으면 borrowTimeoutMs 동안 공정 대기열에서 기다립니다.
+     *
+     * @return 풀 커넥션 (close() 호출 시 풀에 반납됨)
+     * @throws SQLException 대기 시간 초과 또는 커넥션 생성 실패 시
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("커넥션 풀이 이미 종료되었습니다.");
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMs);
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("커넥션 대여 대기 시간 초과 (" + borrowTimeoutMs + "ms, 사용 중: "
+                        + getActiveConnections() + "/" + maxSize + ", 대기: " + getWaitingThreads() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("커넥션 대기 중 인터럽트 발생", e);
+        }
+
+        try {
+            return takeConnection(deadline).borrow();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 사용자 지정 계정의 커넥션은 풀링하지 않고 직접 생성합니다.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connectionFactory.getConnection(username, password);
+    }
+
+    /**
+     * 대여 허가를 얻은 뒤 실제 커넥션을 확보합니다.
+     * 유휴 커넥션을 우선 사용하고, 없으면 최대 개수 안에서 새로 생성합니다.
+     */
+    private PooledConnection takeConnection(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pc = idleConnections.pollFirst();
+
+            if (pc == null) {
+                if (reserveSlot()) {
+                    return createConnection();
+                }
+
+                // 최대 개수에 도달한 상태 - 관리 작업에서 검사 중이거나 생성 중인 커넥션을 잠시 기다림
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLTimeoutException("커넥션 대여 대기 시간 초과 (" + borrowTimeoutMs + "ms)");
+                }
+                try {
+                    pc = idleConnections.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(50)), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("커넥션 대기 중 인터럽트 발생", e);
+                }
+                if (pc == null) {
+                    continue;
+                }
+            }
+
+            if (isUsable(pc)) {
+                return pc;
+            }
+            destroy(pc);
+        }
+    }
+
+    /**
+     * 최대 개수를 넘지 않는 경우에만 새 커넥션 자리를 예약합니다.
+     */
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 예약된 자리에 새 물리 커넥션을 생성합니다. 실패 시 예약을 취소합니다.
+     */
+    private PooledConnection createConnection() throws SQLException {
+        try {
+            Connection physical = connectionFactory.getConnection();
+            if (physical == null) {
+                throw new SQLException("connectionFactory가 null 커넥션을 반환했습니다.");
+            }
+            return new PooledConnection(this, physical);
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 대여 전 커넥션 상태 확인 (수명 초과, 장시간 유휴 후 유효성 검사)
+     */
+    private boolean isUsable(PooledConnection pc) {
+        if (pc.isBroken() || pc.isExpired(maxLifetimeMs)) {
+            return false;
+        }
+        if (testOnBorrow || pc.getIdleMillis() >= validateAfterIdleMs) {
+            return pc.validate(validationTimeoutSec);
+        }
+        return true;
+    }
+
+    /**
+     * 사용이 끝난 커넥션을 풀에 반납합니다. (LogicalConnection.close()에서 호출)
+     */
+    void release(PooledConnection pc) {
+        boolean reusable = !closed && !pc.isBroken() && !pc.isExpired(maxLifetimeMs) && pc.resetState();
+
+        if (reusable) {
+            pc.markReturned();
+            idleConnections.offerFirst(pc);
+        } else {
+            destroy(pc);
+        }
+        // 반납이 끝난 뒤 허가를 돌려주어 대기 중인 스레드가 유휴 커넥션을 바로 가져갈 수 있도록 함
+        permits.release();
+    }
+
+    /**
+     * 물리 커넥션을 닫고 풀에서 제거합니다.
+     */
+    private void destroy(PooledConnection pc) {
+        pc.closePhysical();
+        totalConnections.decrementAndGet();
+    }
+
+    /**
+     * 주기적인 풀 관리 작업
+     * 1. 수명 초과/장시간 유휴 커넥션 정리
+     * 2. 유휴 커넥션 유효성 검사
+     * 3. 최소 커넥션 수 유지
+     */
+    private void housekeep() {
+        if (closed) {
+            return;
+        }
+
+        try {
+            for (PooledConnection pc : idleConnections) {
+                boolean expired = pc.isExpired(maxLifetimeMs);
+                boolean idleTooLong = idleTimeoutMs > 0 && pc.getIdleMillis() >= idleTimeoutMs
+                        && totalConnections.get() > minSize;
+
+                if (expired || idleTooLong) {
+                    if (idleConnections.remove(pc)) {
+                        destroy(pc);
+                    }
+                } else if (pc.getIdleMillis() >= validateAfterIdleMs) {
+                    // 유휴 상태 유효성 검사 - 검사하는 동안에는 대여되지 않도록 목록에서 잠시 제거
+                    if (idleConnections.remove(pc)) {
+                        if (pc.validate(validationTimeoutSec)) {
+                            pc.markReturned();
+                            idleConnections.offerLast(pc);
+                        } else {
+                            destroy(pc);
+                        }
+                    }
+                }
+            }
+
+            while (!closed && totalConnections.get() < minSize && reserveSlot()) {
+                try {
+                    PooledConnection pc = createConnection();
+                    idleConnections.offerLast(pc);
+                } catch (SQLException e) {
+                    System.err.println("[PooledDataSource] 최소 커넥션 생성 실패: " + e.getMessage());
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            ErrorLogger.logError("커넥션 풀 관리 작업 중 오류", e);
+        }
+    }
+
+    /**
+     * 풀을 종료하고 유휴 커넥션을 모두 닫습니다.
+     * 사용 중인 커넥션은 반납되는 시점에 닫힙니다.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pc;
+        while ((pc = idleConnections.pollFirst()) != null) {
+            destroy(pc);
+        }
+        System.out.println("[PooledDataSource] 커넥션 풀 종료 (남은 사용 중 커넥션: " + totalConnections.get() + ")");
+    }
+
+    // 풀 상태 조회
+    public int getTotalConnections() { return totalConnections.get(); }
+    public int getIdleConnections() { return idleConnections.size(); }
+    public int getActiveConnections() { return Math.max(0, totalConnections.get() - idleConnections.size()); }
+    public int getWaitingThreads() { return permits.getQueueLength(); }
+    public int getMaxSize() { return maxSize; }
+    public boolean isClosed() { return closed; }
+
+    /**
+     * SQL 문자열별 PreparedStatement 캐시 히트/미스 통계를 반환합니다.
+     *
+     * @return SQL 문자열 → 통계 (읽기 전용)
+     */
+    public Map<String, StatementCache.Stats> getStatementCacheStats() {
+        return Collections.unmodifiableMap(statementStats);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return connectionFactory.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        connectionFactory.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        connectionFactory.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return connectionFactory.getLoginTimeout();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isAssignableFrom(getClass())) {
+            return iface.cast(this);
+        }
+        return connectionFactory.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isAssignableFrom(getClass()) || connectionFactory.isWrapperFor(iface);
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger("global");
+    }
+
+    /**
+     * 풀에서 관리하는 물리 커넥션 정보
+     */
+    static class PooledConnection {
+        private final PooledDataSource pool;
+        private final Connection physical;
+        private final long createdAt;
+        private final StatementCache statementCache;
+        private volatile long lastReturnedAt;
+        private volatile boolean broken = false;
+
+        PooledConnection(PooledDataSource pool, Connection physical) {
+            this.pool = pool;
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = this.createdAt;
+            this.statementCache = pool.statementCacheSize > 0
+                    ? new StatementCache(pool.statementCacheSize, pool.statementStats, this::markBroken)
+                    : null;
+        }
+
+        /**
+         * 대여용 논리 커넥션(프록시)을 생성합니다.
+         * 대여할 때마다 새 프록시를 만들어, 반납 후 이전 핸들로 접근하는 것을 막습니다.
+         */
+        Connection borrow() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new LogicalConnection(this));
+        }
+
+        Connection getPhysical() { return physical; }
+        StatementCache getStatementCache() { return statementCache; }
+        boolean isBroken() { return broken; }
+        void markBroken() { broken = true; }
+        void markReturned() { lastReturnedAt = System.currentTimeMillis(); }
+        long getIdleMillis() { return System.currentTimeMillis() - lastReturnedAt; }
+
+        boolean isExpired(long maxLifetimeMs) {
+            return maxLifetimeMs > 0 && System.currentTimeMillis() - createdAt >= maxLifetimeMs;
+        }
+
+        boolean validate(int timeoutSec) {
+            try {
+                return physical.isValid(timeoutSec);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * 반납 시 커넥션 상태 초기화 (커밋되지 않은 트랜잭션 롤백, autoCommit 복구)
+         */
+        boolean resetState() {
+            try {
+                if (statementCache != null) {
+                    statementCache.releaseAll();
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                System.err.println("[PooledDataSource] 반납 커넥션 초기화 실패, 폐기: " + e.getMessage());
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            if (statementCache != null) {
+                statementCache.closeAll();
+            }
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("[PooledDataSource] 물리 커넥션 종료 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * DAO에 전달되는 논리 커넥션 핸들러
+     * close() 호출 시 물리 커넥션을 닫지 않고 풀에 반납합니다.
+     */
+    private static class LogicalConnection implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed = false;
+
+        LogicalConnection(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        pooled.pool.release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.getPhysical().isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.getPhysical() + (closed ? ", 반납됨" : "") + "]";
+                case "abort":
+                    pooled.markBroken();
+                    break;
+                case "prepareStatement":
+                    // SQL 문자열만 받는 prepareStatement(String)는 커넥션별 캐시 사용
+                    if (!closed && args.length == 1 && pooled.getStatementCache() != null) {
+                        return pooled.getStatementCache().prepare(pooled.getPhysical(), (Connection) proxy, (String) args[0]);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("이미 풀에 반납된 커넥션입니다.");
+            }
+
+            try {
+                return method.invoke(pooled.getPhysical(), args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                // SQLState 08xxx: 연결 오류 - 반납 시 재사용하지 않고 폐기
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    if (state != null && state.startsWith("08")) {
+                        pooled.markBroken();
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * 커넥션 풀 설정 빌더
+     * 기본값은 시스템 프로퍼티(musicmood.db.pool.*)에서 읽어옵니다.
+     */
+    public static class Builder {
+        private final DataSource connectionFactory;
+        private int minSize = AppConfig.getInt("musicmood.db.pool.minSize", 2);
+        private int maxSize = AppConfig.getInt("musicmood.db.pool.maxSize", 10);
+        private long borrowTimeoutMs = AppConfig.getLong("musicmood.db.pool.borrowTimeoutMs", 5000);
+        private boolean testOnBorrow = AppConfig.getBoolean("musicmood.db.pool.testOnBorrow", false);
+        private long validateAfterIdleMs = AppConfig.getLong("musicmood.db.pool.validateAfterIdleMs", 30000);
+        private int validationTimeoutSec = AppConfig.getInt("musicmood.db.pool.validationTimeoutSec", 2);
+        private long idleTimeoutMs = AppConfig.getLong("musicmood.db.pool.idleTimeoutMs", 10 * 60 * 1000);
+        private long maxLifetimeMs = AppConfig.getLong("musicmood.db.pool.maxLifetimeMs", 30 * 60 * 1000);
+        private long housekeepingIntervalMs = AppConfig.getLong("musicmood.db.pool.housekeepingIntervalMs", 30000);
+        private int statementCacheSize = AppConfig.getInt("musicmood.db.pool.statementCacheSize", 32);
+
+        private Builder(DataSource connectionFactory) {
+            this.connectionFactory = connectionFactory;
+        }
+
+        public Builder minSize(int minSize) {
+            this.minSize = minSize;
+            return this;
+        }
+
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Builder borrowTimeoutMs(long borrowTimeoutMs) {
+            this.borrowTimeoutMs = borrowTimeoutMs;
+            return this;
+        }
+
+        public Builder testOnBorrow(boolean testOnBorrow) {
+            this.testOnBorrow = testOnBorrow;
+            return this;
+        }
+
+        public Builder validateAfterIdleMs(long validateAfterIdleMs) {
+            this.validateAfterIdleMs = validateAfterIdleMs;
+            return this;
+        }
+
+        public Builder validationTimeoutSec(int validationTimeoutSec) {
+            this.validationTimeoutSec = validationTimeoutSec;
+            return this;
+        }
+
+        public Builder idleTimeoutMs(long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+            return this;
+        }
+
+        public Builder maxLifetimeMs(long maxLifetimeMs) {
+            this.maxLifetimeMs = maxLifetimeMs;
+            return this;
+        }
+
+        public Builder housekeepingIntervalMs(long housekeepingIntervalMs) {
+            this.housekeepingIntervalMs = housekeepingIntervalMs;
+            return this;
+        }
+
+        /**
+         * 커넥션당 캐시할 PreparedStatement 수 (0이면 캐시 사용 안 함)
+         */
+        public Builder statementCacheSize(int statementCacheSize) {
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        public PooledDataSource build() {
+            if (connectionFactory == null) {
+                throw new IllegalArgumentException("connectionFactory는 필수입니다.");
+            }
+            return new PooledDataSource(this);
+        }
+    }
+}
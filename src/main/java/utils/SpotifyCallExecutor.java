@@ -0,0 +1,292 @@
+package utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spotify API 호출 전용 실행기
+ * 외부 HTTP 호출은 응답이 느릴 수 있으므로 Tomcat 요청 스레드가 아닌 이 실행기에서 실행합니다.
+ * 비동기 라우트(Dispatcher)가 결과 CompletableFuture를 기다리는 동안 요청 스레드는 반환되어
+ * DB만 사용하는 요청(좋아요, 프로필 등)이 Spotify 응답을 기다리는 요청 뒤에 밀리지 않습니다.
+ *
+ * 실행 모드:
+ * - platform : 크기가 고정된 플랫폼 스레드 풀 + 대기 큐 (기본값)
+ * - virtual : 작업마다 가상 스레드 (musicmood.spotify.virtualThreads=true이고 JVM이 지원할 때만,
+ *             지원하지 않으면 platform 모드로 대체). 블로킹 HTTP 읽기 동안 OS 스레드를 점유하지 않으므로
+ *             동시 호출 수는 스레드 수가 아닌 maxInFlight로만 제한됩니다.
+ *
+ * - 한도를 넘으면 RejectedExecutionException으로 실패한 Future를 반환합니다. (Dispatcher가 503 응답)
+ * - 반환된 Future를 취소하면 (시간 초과, 클라이언트 연결 끊김) 실행 중인 스레드를 인터럽트합니다.
+ *   소켓 읽기는 인터럽트로 중단되지 않으므로 {@link #configure(HttpURLConnection)}로 제한 시간을 설정해야 합니다.
+ * - 작업 안에서 Spotify 호출을 병렬로 나눌 때는 {@link #fork(Callable)}를 사용합니다.
+ *
+ * 설정 (시스템 프로퍼티):
+ * - musicmood.spotify.virtualThreads : 가상 스레드 모드 사용 (기본값 false)
+ * - musicmood.spotify.threads : platform 모드 스레드 수 (기본값 16)
+ * - musicmood.spotify.queueCapacity : platform 모드 대기 큐 크기 (기본값 100)
+ * - musicmood.spotify.maxInFlight : virtual 모드 최대 동시 작업 수 (기본값 1000)
+ * - musicmood.spotify.connectTimeoutMs : 연결 제한 시간 (기본값 3000ms)
+ * - musicmood.spotify.readTimeoutMs : 응답 읽기 제한 시간 (기본값 10000ms)
+ */
+public class SpotifyCallExecutor {
+
+    private static final int CONNECT_TIMEOUT_MS = AppConfig.getInt("musicmood.spotify.connectTimeoutMs", 3000);
+    private static final int READ_TIMEOUT_MS = AppConfig.getInt("musicmood.spotify.readTimeoutMs", 10000);
+
+    private static final Pool pool = Pool.create(
+            AppConfig.getBoolean("musicmood.spotify.virtualThreads", false),
+            AppConfig.getInt("musicmood.spotify.threads", 16),
+            AppConfig.getInt("musicmood.spotify.queueCapacity", 100),
+            AppConfig.getInt("musicmood.spotify.maxInFlight", 1000));
+
+    /**
+     * 작업을 Spotify 호출 실행기에서 실행
+     *
+     * @param task 실행할 작업 (Spotify API 호출 포함)
+     * @return 작업 결과 (취소하면 실행 중인 스레드를 인터럽트)
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> task) {
+        return pool.supply(task);
+    }
+
+    /**
+     * 작업 안에서 Spotify 호출을 병렬로 시작 (결과는 {@link Forked#join()}으로 받음)
+     */
+    public static <T> Forked<T> fork(Callable<T> task) {
+        return pool.fork(task);
+    }
+
+    /**
+     * Spotify API 연결에 연결/읽기 제한 시간 설정
+     */
+    public static HttpURLConnection configure(HttpURLConnection conn) {
+        conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        conn.setReadTimeout(READ_TIMEOUT_MS);
+        return conn;
+    }
+
+    /**
+     * 실행 모드 ("platform" 또는 "virtual")
+     */
+    public static String getMode() { return pool.getMode(); }
+    public static int getActiveCount() { return pool.getActiveCount(); }
+
+    /**
+     * 대기 중인 작업 수 (virtual 모드는 실행 중인 작업 수)
+     */
+    public static int getQueueSize() { return pool.getQueueSize(); }
+
+    /**
+     * 대기 가능한 작업 수 (virtual 모드는 maxInFlight)
+     */
+    public static int getQueueCapacity() { return pool.getQueueCapacity(); }
+    public static long getRejectedCount() { return pool.getRejectedCount(); }
+
+    /**
+     * 실행기 종료 (ContextLoaderListener의 contextDestroyed에서 호출)
+     */
+    public static void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * JVM이 가상 스레드를 지원하면 작업마다 가상 스레드를 만드는 실행기, 아니면 null
+     * (Java 17로 컴파일하므로 리플렉션으로 조회)
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // Java 19/20에서 미리보기 기능이 꺼져 있으면 UnsupportedOperationException
+            return null;
+        }
+    }
+
+    /**
+     * 병렬로 시작한 작업
+     * 결과를 기다릴 때 아직 시작되지 않았으면 호출 스레드에서 직접 실행합니다.
+     * (platform 모드에서 모든 스레드가 하위 작업을 기다리며 교착되는 것을 방지)
+     */
+    public static final class Forked<T> {
+        private final Callable<T> task;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Forked(Callable<T> task) {
+            this.task = task;
+        }
+
+        void runIfUnclaimed() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * 결과 대기 (작업 예외는 그대로 다시 던짐)
+         */
+        public T join() throws Exception {
+            runIfUnclaimed();
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+    }
+
+    /**
+     * 실행기 구현 (모드별 스레드 풀과 동시 실행 한도)
+     * 벤치마크(src/test/java/utils/SpotifyCallBenchmark)에서 모드별 인스턴스를 따로 만들 수 있도록 분리
+     */
+    static final class Pool {
+        private final String mode;
+        private final ExecutorService executor;
+        // platform 모드: 스레드 풀 (큐 길이 조회용), virtual 모드: null
+        private final ThreadPoolExecutor platform;
+        // virtual 모드: 동시 작업 수 한도, platform 모드: null
+        private final Semaphore inFlight;
+        private final int maxInFlight;
+        private final AtomicLong rejectedCount = new AtomicLong();
+
+        private Pool(String mode, ExecutorService executor, ThreadPoolExecutor platform, int maxInFlight) {
+            this.mode = mode;
+            this.executor = executor;
+            this.platform = platform;
+            this.maxInFlight = maxInFlight;
+            this.inFlight = platform == null ? new Semaphore(maxInFlight) : null;
+        }
+
+        /**
+         * 실행기 생성 (virtual을 요청했지만 JVM이 지원하지 않으면 platform 모드)
+         */
+        static Pool create(boolean virtual, int threads, int queueCapacity, int maxInFlight) {
+            if (virtual) {
+                ExecutorService virtualExecutor = newVirtualThreadExecutor();
+                if (virtualExecutor != null) {
+                    int limit = Math.max(1, maxInFlight);
+                    System.out.println("[SpotifyCallExecutor] 초기화 (모드: virtual, 최대 동시 작업: " + limit + ")");
+                    return new Pool("virtual", virtualExecutor, null, limit);
+                }
+                System.out.println("[SpotifyCallExecutor] 이 JVM은 가상 스레드를 지원하지 않아 platform 모드로 실행합니다. (Java "
+                        + Runtime.version().feature() + ")");
+            }
+
+            int size = Math.max(1, threads);
+            int capacity = Math.max(1, queueCapacity);
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(capacity),
+                    r -> {
+                        Thread t = new Thread(r, "musicmood-spotify-" + threadNumber.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+
+            System.out.println("[SpotifyCallExecutor] 초기화 (모드: platform, 스레드: " + size + ", 대기 큐: " + capacity + ")");
+            return new Pool("platform", executor, executor, size + capacity);
+        }
+
+        <T> CompletableFuture<T> supply(Callable<T> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            FutureTask<Void> runner = new FutureTask<>(() -> {
+                // 대기 중에 취소(시간 초과/연결 끊김)되었으면 실행하지 않음
+                if (result.isDone()) {
+                    return null;
+                }
+                try {
+                    result.complete(task.call());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+                return null;
+            });
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    runner.cancel(true);
+                }
+            });
+
+            if (inFlight != null && !inFlight.tryAcquire()) {
+                return reject(result);
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        runner.run();
+                    } finally {
+                        // 취소된 작업(runner가 바로 반환)도 한도를 반납
+                        if (inFlight != null) {
+                            inFlight.release();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (inFlight != null) {
+                    inFlight.release();
+                }
+                return reject(result);
+            }
+            return result;
+        }
+
+        <T> Forked<T> fork(Callable<T> task) {
+            Forked<T> forked = new Forked<>(task);
+            // 한도를 넘으면 join 시 호출 스레드에서 실행되므로 거부는 무시
+            supply(() -> {
+                forked.runIfUnclaimed();
+                return null;
+            });
+            return forked;
+        }
+
+        private <T> CompletableFuture<T> reject(CompletableFuture<T> result) {
+            rejectedCount.incrementAndGet();
+            result.completeExceptionally(new RejectedExecutionException("Spotify 요청이 많아 잠시 후 다시 시도해주세요."));
+            return result;
+        }
+
+        String getMode() { return mode; }
+
+        int getActiveCount() {
+            return platform != null ? platform.getActiveCount() : maxInFlight - inFlight.availablePermits();
+        }
+
+        int getQueueSize() {
+            return platform != null ? platform.getQueue().size() : maxInFlight - inFlight.availablePermits();
+        }
+
+        int getQueueCapacity() {
+            return platform != null ? platform.getQueue().size() + platform.getQueue().remainingCapacity() : maxInFlight;
+        }
+
+        long getRejectedCount() { return rejectedCount.get(); }
+
+        void shutdown() {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 커넥션별 PreparedStatement 캐시
+ * 풀 커넥션(PooledDataSource)마다 하나씩 생성되며, SQL 문자열을 키로 준비된 구문을 재사용합니다.
+ * DAO에서 PreparedStatement.close()를 호출하면 실제로 닫지 않고 파라미터만 초기화한 뒤 캐시에 되돌립니다.
+ * 캐시 크기를 넘으면 가장 오래 사용되지 않은(LRU) 구문부터 닫습니다.
+ *
+ * MySQL에서 서버 측 prepare(useServerPrepStmts=true)와 함께 사용하면
+ * 같은 SQL에 대한 파싱/실행 계획 수립을 커넥션당 한 번만 수행합니다.
+ */
+public class StatementCache {
+
+    // SQL별 통계를 기록할 최대 SQL 종류 수 (IN 목록 등 가변 SQL로 통계 맵이 무한히 커지는 것을 방지)
+    private static final int MAX_TRACKED_SQL = 512;
+
+    private final int maxSize;
+    // 풀 전체에서 공유하는 SQL별 히트/미스 통계
+    private final ConcurrentMap<String, Stats> statsBySql;
+    // 커넥션 오류 발생 시 풀 커넥션을 폐기 대상으로 표시하는 콜백
+    private final Runnable onConnectionError;
+    // 접근 순서(accessOrder=true)로 정렬되는 LRU 맵
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    StatementCache(int maxSize, ConcurrentMap<String, Stats> statsBySql, Runnable onConnectionError) {
+        this.maxSize = maxSize;
+        this.statsBySql = statsBySql;
+        this.onConnectionError = onConnectionError;
+    }
+
+    /**
+     * 캐시된 PreparedStatement를 반환하고, 없으면 새로 준비하여 캐시에 저장합니다.
+     *
+     * @param physical 물리 커넥션
+     * @param logical DAO에 전달된 논리 커넥션 (Statement.getConnection() 반환용)
+     * @param sql SQL 문자열
+     * @return 논리 PreparedStatement (close() 시 캐시로 반환됨)
+     * @throws SQLException 구문 준비 실패 시
+     */
+    synchronized PreparedStatement prepare(Connection physical, Connection logical, String sql) throws SQLException {
+        Stats stats = getStats(sql);
+        Entry entry = entries.get(sql);
+
+        if (entry != null && !entry.inUse) {
+            if (stats != null) {
+                stats.hits.increment();
+            }
+            return entry.lease(logical);
+        }
+
+        if (stats != null) {
+            stats.misses.increment();
+        }
+        PreparedStatement ps = physical.prepareStatement(sql);
+
+        if (entry != null) {
+            // 같은 SQL 구문이 아직 사용 중인 경우 - 두 번째 구문은 캐시하지 않고 그대로 반환
+            return ps;
+        }
+
+        entry = new Entry(sql, ps);
+        entries.put(sql, entry);
+        PreparedStatement leased = entry.lease(logical);
+        evictIfNeeded();
+        return leased;
+    }
+
+    private Stats getStats(String sql) {
+        Stats stats = statsBySql.get(sql);
+        if (stats == null && statsBySql.size() < MAX_TRACKED_SQL) {
+            stats = statsBySql.computeIfAbsent(sql, k -> new Stats());
+        }
+        return stats;
+    }
+
+    /**
+     * 캐시 크기를 넘은 경우 사용 중이 아닌 가장 오래된 구문부터 닫습니다.
+     */
+    private void evictIfNeeded() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            Entry eldest = it.next();
+            if (eldest.inUse) {
+                continue;
+            }
+            it.remove();
+            eldest.cached = false;
+            closeQuietly(eldest.physical);
+        }
+    }
+
+    /**
+     * 논리 PreparedStatement가 닫힐 때 호출되어 구문을 캐시로 되돌립니다.
+     */
+    private synchronized void release(Entry entry, int leaseId) {
+        if (!entry.inUse || entry.leaseId != leaseId) {
+            return;
+        }
+        entry.inUse = false;
+        entry.leaseId++; // 이전 핸들로는 더 이상 접근할 수 없도록 함
+
+        if (!entry.cached) {
+            closeQuietly(entry.physical);
+            return;
+        }
+
+        try {
+            entry.physical.clearParameters();
+        } catch (SQLException e) {
+            entries.remove(entry.sql);
+            entry.cached = false;
+            closeQuietly(entry.physical);
+        }
+    }
+
+    /**
+     * 커넥션 반납 시 DAO가 닫지 않은 구문을 모두 캐시로 되돌립니다.
+     */
+    synchronized void releaseAll() {
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            if (entry.inUse) {
+                release(entry, entry.leaseId);
+            }
+        }
+    }
+
+    /**
+     * 물리 커넥션 종료 전 캐시된 구문을 모두 닫습니다.
+     */
+    synchronized void closeAll() {
+        for (Entry entry : entries.values()) {
+            entry.cached = false;
+            closeQuietly(entry.physical);
+        }
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            System.err.println("[StatementCache] PreparedStatement 종료 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * SQL별 캐시 히트/미스 통계
+     */
+    public static class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        public long getHits() { return hits.sum(); }
+        public long getMisses() { return misses.sum(); }
+
+        public double getHitRatio() {
+            long h = hits.sum();
+            long total = h + misses.sum();
+            return total == 0 ? 0.0 : (double) h / total;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + getHits() + ", misses=" + getMisses();
+        }
+    }
+
+    /**
+     * 캐시 항목 (SQL 문자열 하나에 대응하는 물리 PreparedStatement)
+     */
+    private final class Entry {
+        private final String sql;
+        private final PreparedStatement physical;
+        private boolean inUse = false;
+        private boolean cached = true;
+        private int leaseId = 0;
+
+        Entry(String sql, PreparedStatement physical) {
+            this.sql = sql;
+            this.physical = physical;
+        }
+
+        PreparedStatement lease(Connection logical) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new LogicalStatement(this, leaseId, logical));
+        }
+    }
+
+    /**
+     * DAO에 전달되는 논리 PreparedStatement 핸들러
+     */
+    private final class LogicalStatement implements InvocationHandler {
+        private final Entry entry;
+        private final int leaseId;
+        private final Connection logical;
+        private boolean closed = false;
+
+        LogicalStatement(Entry entry, int leaseId, Connection logical) {
+            this.entry = entry;
+            this.leaseId = leaseId;
+            this.logical = logical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(entry, leaseId);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || entry.physical.isClosed();
+                case "getConnection":
+                    return logical;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.sql + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("이미 닫힌 PreparedStatement입니다.");
+            }
+
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    if (state != null && state.startsWith("08")) {
+                        onConnectionError.run();
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+}
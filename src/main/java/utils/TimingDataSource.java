@@ -0,0 +1,588 @@
+package utils;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+/**
+ * 실행 시간 측정 데이터소스 (다른 데이터소스를 감싸는 프록시)
+ * DAO 코드를 바꾸지 않고 커넥션/구문/결과셋을 감싸 다음 항목을 기록합니다.
+ *
+ * 1. 커넥션 대여 대기 시간, 커넥션 점유 시간
+ * 2. SQL 형태별 실행 시간과 결과 행 수 ({@link Histogram})
+ *    - SQL 형태: 공백을 정리하고 리터럴과 IN (?, ?, ...) 목록을 하나로 합친 SQL
+ * 3. 느린 쿼리 로그: slowQueryMs 이상 걸린 실행을 SQL 형태와 바인드 파라미터 지문과 함께 기록
+ *    - 바인드 값 자체는 기록하지 않고 타입/길이/해시만 남김 (비밀번호 등 개인정보 보호)
+ * 4. 커넥션 누수 의심: leakDetectionMs보다 오래 반납되지 않은 커넥션을 획득 위치 스택과 함께 기록
+ *    - 대여마다 획득 위치 스택을 만들므로 기본값은 사용 안 함(0), 누수를 추적할 때만 켬
+ *
+ * 설정은 시스템 프로퍼티(musicmood.db.timing.*)로 변경할 수 있습니다. ({@link Builder} 참고)
+ */
+public class TimingDataSource implements DataSource {
+
+    // 통계를 기록할 최대 SQL 형태 수 (초과분은 OTHER_SHAPE 하나로 합산)
+    private static final int MAX_TRACKED_SHAPES = 512;
+    // 원본 SQL → SQL 형태 변환 결과 캐시 최대 크기
+    private static final int MAX_SHAPE_CACHE = 2048;
+    private static final String OTHER_SHAPE = "(기타)";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private final DataSource delegate;
+    private final long slowQueryMs;
+    private final long leakDetectionMs;
+
+    // 대여 대기 시간 / 점유 시간 (마이크로초 / 밀리초)
+    private final Histogram borrowWaitMicros = new Histogram();
+    private final Histogram heldMillis = new Histogram();
+    private final LongAdder borrowFailures = new LongAdder();
+    private final LongAdder slowQueries = new LongAdder();
+    private final LongAdder leakSuspects = new LongAdder();
+
+    // SQL 형태별 통계
+    private final ConcurrentHashMap<String, SqlStats> statsByShape = new ConcurrentHashMap<>();
+    private final SqlStats otherStats = new SqlStats(OTHER_SHAPE);
+    private final ConcurrentHashMap<String, String> shapeCache = new ConcurrentHashMap<>();
+
+    // 반납되지 않은 커넥션 (누수 검사용)
+    private final Set<TimedConnection> openConnections = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leakDetector;
+
+    private TimingDataSource(Builder builder) {
+        this.delegate = builder.delegate;
+        this.slowQueryMs = builder.slowQueryMs;
+        this.leakDetectionMs = builder.leakDetectionMs;
+
+        if (leakDetectionMs > 0) {
+            this.leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "musicmood-db-leak-detector");
+                t.setDaemon(true);
+                return t;
+            });
+            long interval = Math.max(1000L, leakDetectionMs / 2);
+            this.leakDetector.scheduleWithFixedDelay(this::detectLeaks, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.leakDetector = null;
+        }
+
+        System.out.println("[TimingDataSource] 초기화 - 느린 쿼리 기준: " + slowQueryMs + "ms, 누수 의심 기준: "
+                + (leakDetectionMs > 0 ? leakDetectionMs + "ms" : "사용 안 함"));
+    }
+
+    /**
+     * 빌더 생성을 위한 정적 팩토리 메서드
+     *
+     * @param delegate 실제 커넥션을 제공할 데이터소스 (JNDI 또는 PooledDataSource)
+     * @return 시스템 프로퍼티 기본값이 적용된 빌더
+     */
+    public static Builder builder(DataSource delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn;
+        try {
+            conn = delegate.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            borrowFailures.increment();
+            throw e;
+        } finally {
+            borrowWaitMicros.record((System.nanoTime() - start) / 1000L);
+        }
+        return wrap(conn);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(delegate.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection conn) {
+        TimedConnection handler = new TimedConnection(conn);
+        Connection proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                handler);
+        handler.proxy = proxy;
+        openConnections.add(handler);
+        return proxy;
+    }
+
+    /**
+     * 누수 검사 종료 (감싼 데이터소스는 닫지 않음)
+     */
+    public void close() {
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+        System.out.println("[TimingDataSource] 종료 - 대여 대기(us): " + borrowWaitMicros
+                + ", 느린 쿼리: " + slowQueries.sum() + "건, 누수 의심: " + leakSuspects.sum() + "건");
+    }
+
+    /**
+     * 감싼 원본 데이터소스 (PooledDataSource 종료 등에 사용)
+     */
+    public DataSource getDelegate() { return delegate; }
+
+    public Histogram getBorrowWaitMicros() { return borrowWaitMicros; }
+    public Histogram getHeldMillis() { return heldMillis; }
+    public long getBorrowFailures() { return borrowFailures.sum(); }
+    public long getSlowQueries() { return slowQueries.sum(); }
+    public long getLeakSuspects() { return leakSuspects.sum(); }
+    public int getOpenConnections() { return openConnections.size(); }
+    public long getSlowQueryMs() { return slowQueryMs; }
+
+    /**
+     * SQL 형태별 통계 (추적 한도를 넘은 형태는 "(기타)" 항목에 합산)
+     *
+     * @return SQL 형태 → 통계 (읽기 전용 스냅샷)
+     */
+    public Map<String, SqlStats> getSqlStats() {
+        Map<String, SqlStats> snapshot = new TreeMap<>(statsByShape);
+        if (otherStats.getExecuteMicros().getCount() > 0) {
+            snapshot.put(OTHER_SHAPE, otherStats);
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * SQL 문자열을 통계용 형태로 변환합니다.
+     * 예: "SELECT * FROM t WHERE id IN (?, ?, ?) AND x = 'a'" → "SELECT * FROM t WHERE id IN (?+) AND x = ?"
+     */
+    static String shapeOf(String sql) {
+        if (sql == null) {
+            return "(알 수 없음)";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("(?+)");
+    }
+
+    private SqlStats statsFor(String sql) {
+        if (sql == null) {
+            // Statement.executeBatch 등 SQL 문자열 없이 실행된 경우
+            sql = "(batch)";
+        }
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            shape = shapeOf(sql);
+            if (shapeCache.size() < MAX_SHAPE_CACHE) {
+                shapeCache.put(sql, shape);
+            }
+        }
+        SqlStats stats = statsByShape.get(shape);
+        if (stats == null) {
+            if (statsByShape.size() >= MAX_TRACKED_SHAPES) {
+                return otherStats;
+            }
+            stats = statsByShape.computeIfAbsent(shape, SqlStats::new);
+        }
+        return stats;
+    }
+
+    /**
+     * 실행 결과 기록 및 느린 쿼리 로그
+     */
+    private void recordExecute(SqlStats stats, long elapsedNanos, String fingerprint, boolean failed) {
+        long micros = elapsedNanos / 1000L;
+        stats.executeMicros.record(micros);
+        if (failed) {
+            stats.errors.increment();
+        }
+        long millis = micros / 1000L;
+        if (slowQueryMs > 0 && millis >= slowQueryMs) {
+            stats.slowCount.increment();
+            slowQueries.increment();
+            System.err.println("[TimingDataSource] 느린 쿼리 " + millis + "ms" + (failed ? " (실패)" : "")
+                    + " [" + Thread.currentThread().getName() + "] " + stats.shape
+                    + (fingerprint != null ? " 바인드: " + fingerprint : ""));
+        }
+    }
+
+    /**
+     * 오래 반납되지 않은 커넥션을 찾아 획득 위치와 함께 기록합니다. (커넥션당 한 번)
+     */
+    private void detectLeaks() {
+        long now = System.currentTimeMillis();
+        for (TimedConnection conn : openConnections) {
+            long held = now - conn.acquiredAt;
+            if (!conn.reportedAsLeak && held >= leakDetectionMs) {
+                conn.reportedAsLeak = true;
+                leakSuspects.increment();
+                ErrorLogger.logError("커넥션 누수 의심 - " + held + "ms 동안 반납되지 않음 (획득 스레드: "
+                        + conn.acquiredBy + ")", conn.acquiredStack);
+            }
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isAssignableFrom(getClass())) {
+            return iface.cast(this);
+        }
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isAssignableFrom(getClass()) || iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getLogger("global");
+    }
+
+    /**
+     * SQL 형태별 통계
+     */
+    public static class SqlStats {
+        private final String shape;
+        // 실행 시간 (마이크로초)
+        private final Histogram executeMicros = new Histogram();
+        // 실행당 조회/변경된 행 수
+        private final Histogram rows = new Histogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+
+        SqlStats(String shape) {
+            this.shape = shape;
+        }
+
+        public String getShape() { return shape; }
+        public Histogram getExecuteMicros() { return executeMicros; }
+        public Histogram getRows() { return rows; }
+        public long getErrors() { return errors.sum(); }
+        public long getSlowCount() { return slowCount.sum(); }
+
+        @Override
+        public String toString() {
+            return "execute(us): " + executeMicros + ", rows: " + rows + ", errors=" + getErrors() + ", slow=" + getSlowCount();
+        }
+    }
+
+    /**
+     * 커넥션 핸들러 - 점유 시간 측정, 누수 검사 대상 등록, 구문 감싸기
+     */
+    private final class TimedConnection implements InvocationHandler {
+        private final Connection target;
+        private final long acquiredAt = System.currentTimeMillis();
+        private final String acquiredBy = Thread.currentThread().getName();
+        // 획득 위치 스택 (누수 검사를 사용할 때만 수집)
+        private final Exception acquiredStack;
+        private Connection proxy;
+        private volatile boolean reportedAsLeak = false;
+        private boolean closed = false;
+
+        TimedConnection(Connection target) {
+            this.target = target;
+            this.acquiredStack = leakDetectionMs > 0 ? new Exception("커넥션 획득 위치") : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        onClose();
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TimedConnection[" + target + "]";
+                default:
+                    break;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            // createStatement / prepareStatement / prepareCall 결과를 같은 인터페이스로 감쌈
+            if (result instanceof Statement && method.getReturnType().isInterface()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return Proxy.newProxyInstance(
+                        Statement.class.getClassLoader(),
+                        new Class<?>[] { method.getReturnType() },
+                        new TimedStatement((Statement) result, this.proxy, sql));
+            }
+            return result;
+        }
+
+        private void onClose() {
+            openConnections.remove(this);
+            long held = System.currentTimeMillis() - acquiredAt;
+            heldMillis.record(held);
+            if (reportedAsLeak) {
+                System.err.println("[TimingDataSource] 누수 의심 커넥션이 " + held + "ms 만에 반납됨 (획득 스레드: " + acquiredBy + ")");
+            }
+        }
+    }
+
+    /**
+     * 구문 핸들러 - 바인드 파라미터 지문 수집, 실행 시간/행 수 기록
+     */
+    private final class TimedStatement implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        // PreparedStatement의 SQL (Statement는 execute 호출 시 전달된 SQL 사용)
+        private final String sql;
+        // 바인드 파라미터 지문 (인덱스 1부터, 값 대신 타입/길이/해시)
+        private final ArrayList<String> binds = new ArrayList<>();
+        // 행 수를 아직 기록하지 않은 마지막 결과셋
+        private TimedResultSet openResult;
+
+        TimedStatement(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TimedStatement[" + target + "]";
+                case "getConnection":
+                    return connection;
+                case "clearParameters":
+                    binds.clear();
+                    break;
+                case "close":
+                    finishResult();
+                    break;
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                            && target instanceof PreparedStatement) {
+                        recordBind((Integer) args[0], name, args[1]);
+                    }
+                    break;
+            }
+
+            if (!name.startsWith("execute")) {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            finishResult();
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            SqlStats stats = statsFor(executedSql);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                recordExecute(stats, System.nanoTime() - start, fingerprint(), true);
+                throw e.getCause();
+            }
+            recordExecute(stats, System.nanoTime() - start, fingerprint(), false);
+
+            if (result instanceof ResultSet) {
+                openResult = new TimedResultSet((ResultSet) result, (Statement) proxy, stats);
+                return Proxy.newProxyInstance(
+                        ResultSet.class.getClassLoader(),
+                        new Class<?>[] { ResultSet.class },
+                        openResult);
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                stats.rows.record(((Number) result).longValue());
+            } else if (result instanceof int[]) {
+                long total = 0;
+                for (int count : (int[]) result) {
+                    total += Math.max(0, count);
+                }
+                stats.rows.record(total);
+            }
+            return result;
+        }
+
+        private void recordBind(int index, String setter, Object value) {
+            while (binds.size() < index) {
+                binds.add(null);
+            }
+            String type = setter.substring(3);
+            String print;
+            if (value == null || "setNull".equals(setter)) {
+                print = "null";
+            } else if (value instanceof CharSequence) {
+                print = type + "(" + ((CharSequence) value).length() + ")#" + shortHash(value);
+            } else {
+                print = type + "#" + shortHash(value);
+            }
+            binds.set(index - 1, print);
+        }
+
+        private String fingerprint() {
+            return binds.isEmpty() ? null : binds.toString();
+        }
+
+        private void finishResult() {
+            if (openResult != null) {
+                openResult.finish();
+                openResult = null;
+            }
+        }
+    }
+
+    /**
+     * 결과셋 핸들러 - next()로 읽은 행 수를 세어 결과셋이 끝나거나 닫힐 때 기록
+     */
+    private static final class TimedResultSet implements InvocationHandler {
+        private final ResultSet target;
+        private final Statement statement;
+        private final SqlStats stats;
+        private long rows = 0;
+        private boolean finished = false;
+
+        TimedResultSet(ResultSet target, Statement statement, SqlStats stats) {
+            this.target = target;
+            this.statement = statement;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getStatement":
+                    return statement;
+                case "close":
+                    finish();
+                    break;
+                default:
+                    break;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if ("next".equals(method.getName())) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    finish();
+                }
+            }
+            return result;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                stats.rows.record(rows);
+            }
+        }
+    }
+
+    private static String shortHash(Object value) {
+        return Integer.toHexString(value.hashCode() & 0xffff);
+    }
+
+    /**
+     * 실행 시간 측정 설정 빌더
+     * 기본값은 시스템 프로퍼티(musicmood.db.timing.*)에서 읽어옵니다.
+     */
+    public static class Builder {
+        private final DataSource delegate;
+        private long slowQueryMs = AppConfig.getLong("musicmood.db.timing.slowQueryMs", 500);
+        private long leakDetectionMs = AppConfig.getLong("musicmood.db.timing.leakDetectionMs", 0);
+
+        private Builder(DataSource delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * 느린 쿼리 기준 시간 (0이면 느린 쿼리 로그 사용 안 함)
+         */
+        public Builder slowQueryMs(long slowQueryMs) {
+            this.slowQueryMs = slowQueryMs;
+            return this;
+        }
+
+        /**
+         * 커넥션 누수 의심 기준 점유 시간 (0이면 누수 검사와 획득 위치 스택 수집 사용 안 함, 기본값 0)
+         */
+        public Builder leakDetectionMs(long leakDetectionMs) {
+            this.leakDetectionMs = leakDetectionMs;
+            return this;
+        }
+
+        public TimingDataSource build() {
+            if (delegate == null) {
+                throw new IllegalArgumentException("delegate는 필수입니다.");
+            }
+            return new TimingDataSource(this);
+        }
+    }
+}
@@ -17,9 +17,9 @@ public class TokenManager {
     // 로깅
     private static final Logger logger = Logger.getLogger(TokenManager.class.getName());
     
-    // 토큰 정보를 저장하는 정적 변수
-    private static String accessToken = null;  // 액세스 토큰 값
-    private static long expireTime = 0;        // 토큰 만료 시간 (UNIX timestamp ms)
+    // 토큰 정보를 저장하는 정적 변수 (상태 점검에서 락 없이 읽을 수 있도록 volatile)
+    private static volatile String accessToken = null;  // 액세스 토큰 값
+    private static volatile long expireTime = 0;        // 토큰 만료 시간 (UNIX timestamp ms)
 
     // Spotify API 자격 증명 (클라이언트 ID 및 시크릿)
     private static final String CLIENT_ID = "74f9a7ebc98d444eb786e13aee2e6d06";
@@ -124,6 +124,16 @@ public class TokenManager {
         return accessToken;
     }
 
+    /**
+     * 현재 액세스 토큰의 만료 시각 (상태 점검용, 토큰을 발급하지 않음)
+     * 토큰 갱신 중에도 기다리지 않도록 락 없이 읽습니다.
+     *
+     * @return 만료 시각 (UNIX timestamp ms), 발급된 토큰이 없으면 0
+     */
+    public static long getAccessTokenExpiresAt() {
+        return accessToken != null ? expireTime : 0L;
+    }
+
     /**
      * Spotify API에서 새 액세스 토큰을 요청하고 저장합니다.
      * 
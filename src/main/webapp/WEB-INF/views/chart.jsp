@@ -1,18 +1,18 @@
 <%@ page language="java" contentType="text/html; charset=UTF-8"
-    pageEncoding="UTF-8"%>
+    pageEncoding="UTF-8" session="false"%><% javax.servlet.http.HttpSession session = (javax.servlet.http.HttpSession) request.getAttribute("session"); // Dispatcher의 지연 생성 세션 (읽기만 하면 세션을 만들지 않음) %>
 <!DOCTYPE html>
 <html lang="ko">
 <head>
     <meta charset="UTF-8">
     <meta name="viewport" content="width=device-width, initial-scale=1.0">
     <title>차트 - MusicMood</title>
-    <link rel="icon" type="image/x-icon" href="${pageContext.request.contextPath}/static/assets/images/favicon.ico">
+    <link rel="icon" type="image/x-icon" href="${applicationScope.assets['/static/assets/images/favicon.ico']}">
     <link rel="preconnect" href="https://fonts.googleapis.com">
     <link rel="preconnect" href="https://fonts.gstatic.com" crossorigin>
     <link href="https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;500;600;700&display=swap" rel="stylesheet">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/style.css?v=1.1">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/chart.css?v=1.1">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/search.css?v=1.2">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/style.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/chart.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/search.css']}">
 </head>
 <body>
     <header class="header">
@@ -82,8 +82,8 @@
             localStorage.setItem('appContextPath', contextPath);
         }
     </script>
-    <script src="${pageContext.request.contextPath}/static/js/search.js?v=1.1"></script>
-    <script src="${pageContext.request.contextPath}/static/js/chart.js?v=1.1"></script>
-    <script src="${pageContext.request.contextPath}/static/js/main.js?v=1.1"></script>
+    <script src="${applicationScope.assets['/static/js/search.js']}"></script>
+    <script src="${applicationScope.assets['/static/js/chart.js']}"></script>
+    <script src="${applicationScope.assets['/static/js/main.js']}"></script>
 </body>
 </html>
\ No newline at end of file
@@ -1,5 +1,5 @@
 <%@ page language="java" contentType="text/html; charset=UTF-8"
-    pageEncoding="UTF-8"%>
+    pageEncoding="UTF-8" session="false"%>
 <%@ page import="dto.UserDTO" %>
 <!DOCTYPE html>
 <html lang="ko">
@@ -7,19 +7,19 @@
     <meta charset="UTF-8">
     <meta name="viewport" content="width=device-width, initial-scale=1.0">
     <title>비밀번호 찾기 결과 - MusicMood</title>
-    <link rel="icon" type="image/x-icon" href="${pageContext.request.contextPath}/static/assets/images/favicon.ico">
+    <link rel="icon" type="image/x-icon" href="${applicationScope.assets['/static/assets/images/favicon.ico']}">
     <link rel="preconnect" href="https://fonts.googleapis.com">
     <link rel="preconnect" href="https://fonts.gstatic.com" crossorigin>
     <link href="https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;500;600;700&display=swap" rel="stylesheet">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/style.css">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/findPassword.css">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/style.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/findPassword.css']}">
 </head>
 <body>
     <!-- 배경 슬라이더 추가 -->
     <div class="background-slider">
-        <div class="slide" style="background-image: url('${pageContext.request.contextPath}/static/assets/images/5.png')"></div>
-        <div class="slide" style="background-image: url('${pageContext.request.contextPath}/static/assets/images/6.png')"></div>
-        <div class="slide" style="background-image: url('${pageContext.request.contextPath}/static/assets/images/7.png')"></div>
+        <div class="slide" style="background-image: url('${applicationScope.assets['/static/assets/images/5.png']}')"></div>
+        <div class="slide" style="background-image: url('${applicationScope.assets['/static/assets/images/6.png']}')"></div>
+        <div class="slide" style="background-image: url('${applicationScope.assets['/static/assets/images/7.png']}')"></div>
     </div>
 
     <header class="header">
@@ -51,7 +51,8 @@
                     </div>
                     <div class="info-row">
                         <span class="label">비밀번호:</span>
-                        <span class="value"><%= foundUser.getPassword() %></span>
+                        <%-- 암호화되어 저장된 비밀번호는 복원할 수 없으므로 표시하지 않음 --%>
+                        <span class="value"><%= foundUser.getPassword() != null ? foundUser.getPassword() : "암호화되어 저장되어 있어 표시할 수 없습니다." %></span>
                     </div>
                 </div>
             <% } else { %>
@@ -67,7 +68,7 @@
         </div>
     </main>
 
-    <script src="${pageContext.request.contextPath}/static/js/login.js"></script>
+    <script src="${applicationScope.assets['/static/js/login.js']}"></script>
     <script>
     // contextPath 설정 - 현재 시스템 경로 확인
     const contextPath = '${pageContext.request.contextPath}';
@@ -1,21 +1,21 @@
 <%@ page language="java" contentType="text/html; charset=UTF-8"
-    pageEncoding="UTF-8"%>
+    pageEncoding="UTF-8" session="false"%><% javax.servlet.http.HttpSession session = (javax.servlet.http.HttpSession) request.getAttribute("session"); // Dispatcher의 지연 생성 세션 (읽기만 하면 세션을 만들지 않음) %>
 <!DOCTYPE html>
 <html lang="ko">
 <head>
 <meta charset="UTF-8">
 <meta name="viewport" content="width=device-width, initial-scale=1.0">
 <title>MusicMood</title>
-<link rel="icon" type="image/x-icon" href="${pageContext.request.contextPath}/static/assets/images/favicon.ico">
+<link rel="icon" type="image/x-icon" href="${applicationScope.assets['/static/assets/images/favicon.ico']}">
 <link rel="preconnect" href="https://fonts.googleapis.com">
 <link rel="preconnect" href="https://fonts.gstatic.com" crossorigin>
 <link
 	href="https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;500;600;700&display=swap"
 	rel="stylesheet">
-<link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/style.css?v=1.1">
-<link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/animation.css?v=1.1">
-<link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/vibe-intro.css?v=1.0">
-<link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/search.css?v=1.2">
+<link rel="stylesheet" href="${applicationScope.assets['/static/css/style.css']}">
+<link rel="stylesheet" href="${applicationScope.assets['/static/css/animation.css']}">
+<link rel="stylesheet" href="${applicationScope.assets['/static/css/vibe-intro.css']}">
+<link rel="stylesheet" href="${applicationScope.assets['/static/css/search.css']}">
 </head>
 <body class="theme-default">
 
@@ -63,13 +63,13 @@
 		<section class="hero-section">
 			<div class="hero-slider">
 				<div class="slide"
-					style="background-image: url('${pageContext.request.contextPath}/static/assets/images/1.png')"></div>
+					style="background-image: url('${applicationScope.assets['/static/assets/images/1.png']}')"></div>
 				<div class="slide"
-					style="background-image: url('${pageContext.request.contextPath}/static/assets/images/2.png')"></div>
+					style="background-image: url('${applicationScope.assets['/static/assets/images/2.png']}')"></div>
 				<div class="slide"
-					style="background-image: url('${pageContext.request.contextPath}/static/assets/images/3.png')"></div>
+					style="background-image: url('${applicationScope.assets['/static/assets/images/3.png']}')"></div>
 				<div class="slide"
-					style="background-image: url('${pageContext.request.contextPath}/static/assets/images/4.png')"></div>
+					style="background-image: url('${applicationScope.assets['/static/assets/images/4.png']}')"></div>
 			</div>
 			<div class="hero-content">
 				<h2>
@@ -138,7 +138,7 @@
 					<div class="playlist-slider">
 						<div class="playlist-card">
 							<div class="playlist-thumbnail">
-								<img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" alt="플레이리스트">
+								<img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}" srcset="${applicationScope.srcset['/static/assets/images/playlist-placeholder.png']}" sizes="250px" alt="플레이리스트">
 								<div class="play-overlay">
 									<button class="play-btn">▶</button>
 								</div>
@@ -150,7 +150,7 @@
 						</div>
 						<div class="playlist-card">
 							<div class="playlist-thumbnail">
-								<img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" alt="플레이리스트">
+								<img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}" srcset="${applicationScope.srcset['/static/assets/images/playlist-placeholder.png']}" sizes="250px" alt="플레이리스트">
 								<div class="play-overlay">
 									<button class="play-btn">▶</button>
 								</div>
@@ -162,7 +162,7 @@
 						</div>
 						<div class="playlist-card">
 							<div class="playlist-thumbnail">
-								<img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" alt="플레이리스트">
+								<img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}" srcset="${applicationScope.srcset['/static/assets/images/playlist-placeholder.png']}" sizes="250px" alt="플레이리스트">
 								<div class="play-overlay">
 									<button class="play-btn">▶</button>
 								</div>
@@ -174,7 +174,7 @@
 						</div>
 						<div class="playlist-card">
 							<div class="playlist-thumbnail">
-								<img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" alt="플레이리스트">
+								<img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}" srcset="${applicationScope.srcset['/static/assets/images/playlist-placeholder.png']}" sizes="250px" alt="플레이리스트">
 								<div class="play-overlay">
 									<button class="play-btn">▶</button>
 								</div>
@@ -186,7 +186,7 @@
 						</div>
 						<div class="playlist-card">
 							<div class="playlist-thumbnail">
-								<img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" alt="플레이리스트">
+								<img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}" srcset="${applicationScope.srcset['/static/assets/images/playlist-placeholder.png']}" sizes="250px" alt="플레이리스트">
 								<div class="play-overlay">
 									<button class="play-btn">▶</button>
 								</div>
@@ -198,7 +198,7 @@
 						</div>
 						<div class="playlist-card">
 							<div class="playlist-thumbnail">
-								<img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" alt="플레이리스트">
+								<img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}" srcset="${applicationScope.srcset['/static/assets/images/playlist-placeholder.png']}" sizes="250px" alt="플레이리스트">
 								<div class="play-overlay">
 									<button class="play-btn">▶</button>
 								</div>
@@ -210,7 +210,7 @@
 						</div>
 						<div class="playlist-card">
 							<div class="playlist-thumbnail">
-								<img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" alt="플레이리스트">
+								<img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}" srcset="${applicationScope.srcset['/static/assets/images/playlist-placeholder.png']}" sizes="250px" alt="플레이리스트">
 								<div class="play-overlay">
 									<button class="play-btn">▶</button>
 								</div>
@@ -222,7 +222,7 @@
 						</div>
 						<div class="playlist-card">
 							<div class="playlist-thumbnail">
-								<img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" alt="플레이리스트">
+								<img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}" srcset="${applicationScope.srcset['/static/assets/images/playlist-placeholder.png']}" sizes="250px" alt="플레이리스트">
 								<div class="play-overlay">
 									<button class="play-btn">▶</button>
 								</div>
@@ -296,7 +296,7 @@
 			thumbnailImages.forEach(img => {
 				img.onerror = function() {
 					// 에러 발생 시 기본 이미지로 교체
-					this.src = `${contextPath}/static/assets/images/playlist-placeholder.png`;
+					this.src = `${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}`;
 					// 에러 이벤트 재발생 방지
 					this.onerror = null;
 				};
@@ -315,7 +315,7 @@
 			}
 		}
 	</script>
-	<script src="${pageContext.request.contextPath}/static/js/search.js?v=1.1"></script>
-	<script src="${pageContext.request.contextPath}/static/js/main.js?v=1.1"></script>
+	<script src="${applicationScope.assets['/static/js/search.js']}"></script>
+	<script src="${applicationScope.assets['/static/js/main.js']}"></script>
 </body>
 </html>
\ No newline at end of file
@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%><% javax.servlet.http.HttpSession session = (javax.servlet.http.HttpSession) request.getAttribute("session"); // Dispatcher의 지연 생성 세션 (읽기만 하면 세션을 만들지 않음) %>
 <%@ page import="java.util.List" %>
 <%@ page import="dto.PlaylistDTO" %>
 <!DOCTYPE html>
@@ -7,15 +7,15 @@
     <meta charset="UTF-8">
     <meta name="viewport" content="width=device-width, initial-scale=1.0">
     <title>좋아요한 플레이리스트 - MusicMood</title>
-    <link rel="icon" type="image/x-icon" href="${pageContext.request.contextPath}/static/assets/images/favicon.ico">
+    <link rel="icon" type="image/x-icon" href="${applicationScope.assets['/static/assets/images/favicon.ico']}">
     <link rel="preconnect" href="https://fonts.googleapis.com">
     <link rel="preconnect" href="https://fonts.gstatic.com" crossorigin>
     <link href="https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;500;600;700&display=swap" rel="stylesheet">
     <link rel="stylesheet" href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.4.0/css/all.min.css">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/style.css?v=1.1">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/animation.css?v=1.1">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/playlist.css?v=1.4">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/search.css?v=1.1">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/style.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/animation.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/playlist.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/search.css']}">
 </head>
 <body class="theme-default playlist-page">
     <!-- 전역 변수 설정은 백엔드에서 처리하도록 수정 -->
@@ -28,6 +28,9 @@
         
         // 좋아요한 플레이리스트 ID 목록 - Controller에서 전달된 JSON 문자열 파싱
         window.likedPlaylistIds = JSON.parse('${likedPlaylistIdsJson}');
+        
+        // 좋아요 목록 다음 페이지 커서 (없으면 빈 문자열) - 스크롤 시 likedPage 액션으로 이어서 로드
+        window.likedNextCursor = '${likedNextCursor}';
     </script>
 
     <header class="header">
@@ -95,6 +98,11 @@
             <div id="playlistContainer" class="playlists-grid">
                 <!-- 플레이리스트 목록이 여기에 동적으로 로드됩니다 -->
             </div>
+            
+            <!-- 다음 페이지가 있을 때 표시되는 무한 스크롤 감지 영역 -->
+            <div id="likedPageSentinel" class="loader-container" style="display: none;">
+                <div class="loader"></div>
+            </div>
         </section>
     </main>
     
@@ -103,7 +111,7 @@
         <div class="ap-container">
             <div class="ap-info">
                 <div class="ap-thumbnail">
-                    <img src="${pageContext.request.contextPath}/static/assets/images/default-track.png" id="apCover" alt="앨범 커버">
+                    <img src="${applicationScope.assets['/static/assets/images/default-track.png']}" id="apCover" alt="앨범 커버">
                 </div>
                 <div class="ap-details">
                     <div id="apTitle" class="ap-title">트랙을 선택해주세요</div>
@@ -125,9 +133,9 @@
     </div>
     
     <!-- 스크립트 -->
-    <script src="${pageContext.request.contextPath}/static/js/main.js?v=1.1"></script>
-    <script src="${pageContext.request.contextPath}/static/js/playlist.js?v=1.4"></script>
-    <script src="${pageContext.request.contextPath}/static/js/search.js?v=1.1"></script>
+    <script src="${applicationScope.assets['/static/js/main.js']}"></script>
+    <script src="${applicationScope.assets['/static/js/playlist.js']}"></script>
+    <script src="${applicationScope.assets['/static/js/search.js']}"></script>
     <script>
         // 오디오 플레이어 관련 전역 변수 설정
         document.addEventListener('DOMContentLoaded', () => {
@@ -181,7 +189,7 @@
                         // 트랙 정보 가져오기
                         let trackName = '트랙';
                         let artistName = '아티스트';
-                        let coverUrl = '${pageContext.request.contextPath}/static/assets/images/default-track.png';
+                        let coverUrl = '${applicationScope.assets['/static/assets/images/default-track.png']}';
                         
                         // 트랙 아이템 또는 부모 요소에서 정보 추출
                         const trackItem = btn.closest('.track-preview-item') || btn.closest('.track-item');
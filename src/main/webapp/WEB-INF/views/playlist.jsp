@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%><% javax.servlet.http.HttpSession session = (javax.servlet.http.HttpSession) request.getAttribute("session"); // Dispatcher의 지연 생성 세션 (읽기만 하면 세션을 만들지 않음) %>
 <%@ page import="java.util.List" %>
 <%@ page import="dto.PlaylistDTO" %>
 <!DOCTYPE html>
@@ -7,15 +7,15 @@
     <meta charset="UTF-8">
     <meta name="viewport" content="width=device-width, initial-scale=1.0">
     <title>플레이리스트 - MusicMood</title>
-    <link rel="icon" type="image/x-icon" href="${pageContext.request.contextPath}/static/assets/images/favicon.ico">
+    <link rel="icon" type="image/x-icon" href="${applicationScope.assets['/static/assets/images/favicon.ico']}">
     <link rel="preconnect" href="https://fonts.googleapis.com">
     <link rel="preconnect" href="https://fonts.gstatic.com" crossorigin>
     <link href="https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;500;600;700&display=swap" rel="stylesheet">
     <link rel="stylesheet" href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.4.0/css/all.min.css">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/style.css?v=1.1">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/animation.css?v=1.1">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/playlist.css?v=1.4">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/search.css?v=1.1">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/style.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/animation.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/playlist.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/search.css']}">
 </head>
 <body class="theme-default playlist-page">
     <!-- 전역 변수 설정은 백엔드에서 처리하도록 수정 -->
@@ -117,7 +117,8 @@
         <div class="ap-container">
             <div class="ap-info">
                 <div class="ap-thumbnail">
-                    <img src="${pageContext.request.contextPath}/static/assets/images/playlist-placeholder.png" id="apCover" alt="앨범 커버">
+                    <%-- 트랙 선택 시 스크립트가 src를 바꾸므로 srcset 대신 작은 변형을 직접 지정 --%>
+                    <img src="${applicationScope.assets['/static/assets/images/playlist-placeholder.png']}?w=160" id="apCover" alt="앨범 커버">
                 </div>
                 <div class="ap-details">
                     <div id="apTitle" class="ap-title">트랙을 선택해주세요</div>
@@ -150,10 +151,10 @@
     </div>
     
     <!-- 스크립트 -->
-    <script src="${pageContext.request.contextPath}/static/js/main.js?v=1.1"></script>
-    <script src="${pageContext.request.contextPath}/static/js/playlist.js?v=1.4"></script>
-    <script src="${pageContext.request.contextPath}/static/js/audio-player.js?v=1.1"></script>
-    <script src="${pageContext.request.contextPath}/static/js/search.js?v=1.1"></script>
+    <script src="${applicationScope.assets['/static/js/main.js']}"></script>
+    <script src="${applicationScope.assets['/static/js/playlist.js']}"></script>
+    <script src="${applicationScope.assets['/static/js/audio-player.js']}"></script>
+    <script src="${applicationScope.assets['/static/js/search.js']}"></script>
     <script>
         // 오디오 플레이어 관련 코드는 audio-player.js로 분리했습니다.
         // contextPath 전역 변수 설정
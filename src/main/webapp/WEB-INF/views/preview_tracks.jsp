@@ -1 +1 @@
- 
\ No newline at end of file
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
@@ -1,5 +1,5 @@
 <%@ page language="java" contentType="text/html; charset=UTF-8"
-    pageEncoding="UTF-8"%>
+    pageEncoding="UTF-8" session="false"%>
 <!DOCTYPE html>
 <html lang="ko">
 <head>
@@ -7,19 +7,19 @@
     <meta http-equiv="Content-Type" content="text/html; charset=UTF-8">
     <meta name="viewport" content="width=device-width, initial-scale=1.0">
     <title>회원가입 - MusicMood</title>
-    <link rel="icon" type="image/x-icon" href="${pageContext.request.contextPath}/static/assets/images/favicon.ico">
+    <link rel="icon" type="image/x-icon" href="${applicationScope.assets['/static/assets/images/favicon.ico']}">
     <link rel="preconnect" href="https://fonts.googleapis.com">
     <link rel="preconnect" href="https://fonts.gstatic.com" crossorigin>
     <link href="https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;500;600;700&display=swap" rel="stylesheet">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/style.css">
-    <link rel="stylesheet" href="${pageContext.request.contextPath}/static/css/login.css">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/style.css']}">
+    <link rel="stylesheet" href="${applicationScope.assets['/static/css/login.css']}">
 </head>
 <body>
     <!-- 배경 슬라이더 추가 -->
     <div class="background-slider">
-        <div class="slide" style="background-image: url('${pageContext.request.contextPath}/static/assets/images/5.png')"></div>
-        <div class="slide" style="background-image: url('${pageContext.request.contextPath}/static/assets/images/6.png')"></div>
-        <div class="slide" style="background-image: url('${pageContext.request.contextPath}/static/assets/images/7.png')"></div>
+        <div class="slide" style="background-image: url('${applicationScope.assets['/static/assets/images/5.png']}')"></div>
+        <div class="slide" style="background-image: url('${applicationScope.assets['/static/assets/images/6.png']}')"></div>
+        <div class="slide" style="background-image: url('${applicationScope.assets['/static/assets/images/7.png']}')"></div>
     </div>
 
     <header class="header">
@@ -74,6 +74,6 @@
         </div>
     </main>
 
-    <script src="${pageContext.request.contextPath}/static/js/login.js"></script>
+    <script src="${applicationScope.assets['/static/js/login.js']}"></script>
 </body>
 </html>
\ No newline at end of file
@@ -124,41 +124,11 @@ document.addEventListener('DOMContentLoaded', () => {
             
             console.log('로드할 플레이리스트 ID 목록:', playlistIds);
             
-            // 플레이리스트 정보를 담을 배열
-            const playlistsData = [];
-            
             // 각 플레이리스트 ID에 대해 정보 가져오기
-            for (const playlistId of playlistIds) {
-                try {
-                    const response = await fetch(`https://api.spotify.com/v1/playlists/${playlistId}`, {
-                        method: 'GET',
-                        headers: {
-                            'Authorization': `Bearer ${ACCESS_TOKEN}`
-                        }
-                    });
-                    
-                    if (response.status === 401) {
-                        // 토큰이 만료된 경우 재발급 시도
-                        console.log('🔄 토큰 만료, 재발급 시도...');
-                        const refreshResult = await fetchAccessToken();
-                        if (refreshResult) {
-                            // 다시 처음부터 로드
-                            return loadPlaylists(isLikedPage);
-                        } else {
-                            throw new Error('토큰 재발급 실패');
-                        }
-                    }
-                    
-                    if (!response.ok) {
-                        console.error(`플레이리스트 ID ${playlistId} 가져오기 실패: ${response.status}`);
-                        continue;
-                    }
-                    
-                    const playlist = await response.json();
-                    playlistsData.push(playlist);
-                } catch (err) {
-                    console.error(`플레이리스트 ID ${playlistId} 처리 중 오류:`, err);
-                }
+            const playlistsData = await fetchPlaylistDetails(playlistIds);
+            if (playlistsData === null) {
+                // 토큰이 재발급된 경우 다시 처음부터 로드
+                return loadPlaylists(isLikedPage);
             }
             
             // 로딩 인디케이터 숨기기
@@ -166,6 +136,11 @@ document.addEventListener('DOMContentLoaded', () => {
             
             // 플레이리스트 목록 표시
             renderPlaylists(playlistsData, container, isLikedPage);
+            
+            // 좋아요한 플레이리스트 페이지: 다음 페이지가 있으면 무한 스크롤 설정
+            if (isLikedPage) {
+                setupLikedPageScroll(container);
+            }
         } catch (error) {
             console.error('플레이리스트 로딩 오류:', error);
             loader.style.display = 'none';
@@ -180,9 +155,103 @@ document.addEventListener('DOMContentLoaded', () => {
         }
     }
 
-    // 플레이리스트 렌더링
-    function renderPlaylists(playlists, container, isLikedPage = false) {
-        if (!playlists || playlists.length === 0) {
+    // 플레이리스트 ID 목록의 상세 정보를 Spotify API에서 가져오기
+    // 토큰이 만료되어 재발급한 경우 null 반환 (호출자가 다시 시도)
+    async function fetchPlaylistDetails(playlistIds) {
+        const playlistsData = [];
+        
+        for (const playlistId of playlistIds) {
+            try {
+                const response = await fetch(`https://api.spotify.com/v1/playlists/${playlistId}`, {
+                    method: 'GET',
+                    headers: {
+                        'Authorization': `Bearer ${ACCESS_TOKEN}`
+                    }
+                });
+                
+                if (response.status === 401) {
+                    // 토큰이 만료된 경우 재발급 시도
+                    console.log('🔄 토큰 만료, 재발급 시도...');
+                    const refreshResult = await fetchAccessToken();
+                    if (refreshResult) {
+                        return null;
+                    } else {
+                        throw new Error('토큰 재발급 실패');
+                    }
+                }
+                
+                if (!response.ok) {
+                    console.error(`플레이리스트 ID ${playlistId} 가져오기 실패: ${response.status}`);
+                    continue;
+                }
+                
+                const playlist = await response.json();
+                playlistsData.push(playlist);
+            } catch (err) {
+                if (err.message === '토큰 재발급 실패') {
+                    throw err;
+                }
+                console.error(`플레이리스트 ID ${playlistId} 처리 중 오류:`, err);
+            }
+        }
+        
+        return playlistsData;
+    }
+    
+    // 좋아요한 플레이리스트 무한 스크롤 - 감지 영역이 보이면 다음 페이지 로드
+    function setupLikedPageScroll(container) {
+        const sentinel = document.getElementById('likedPageSentinel');
+        if (!sentinel || !window.likedNextCursor) return;
+        
+        let isLoadingPage = false;
+        sentinel.style.display = 'flex';
+        
+        const observer = new IntersectionObserver(async (entries) => {
+            if (!entries[0].isIntersecting || isLoadingPage) return;
+            isLoadingPage = true;
+            
+            try {
+                const response = await fetch(`${contextPath}/playlist.do?action=likedPage&cursor=${encodeURIComponent(window.likedNextCursor)}`);
+                const result = await response.json();
+                if (result.status !== 'OK') {
+                    throw new Error(result.message || '좋아요 목록 조회 실패');
+                }
+                
+                const pageIds = result.items.map(item => item.playlistId);
+                pageIds.forEach(id => {
+                    if (!window.likedPlaylistIds.includes(id)) {
+                        window.likedPlaylistIds.push(id);
+                    }
+                });
+                
+                let playlistsData = await fetchPlaylistDetails(pageIds);
+                if (playlistsData === null) {
+                    playlistsData = await fetchPlaylistDetails(pageIds) || [];
+                }
+                renderPlaylists(playlistsData, container, true, true);
+                
+                window.likedNextCursor = result.nextCursor || '';
+                console.log(`좋아요 목록 다음 페이지 로드: ${pageIds.length}개`);
+            } catch (error) {
+                console.error('좋아요 목록 다음 페이지 로드 오류:', error);
+                window.likedNextCursor = '';
+            } finally {
+                isLoadingPage = false;
+                if (!window.likedNextCursor) {
+                    observer.disconnect();
+                    sentinel.style.display = 'none';
+                }
+            }
+        }, { rootMargin: '200px' });
+        
+        observer.observe(sentinel);
+    }
+
+    // 플레이리스트 렌더링 (append가 true이면 기존 목록 뒤에 추가)
+    function renderPlaylists(playlists, container, isLikedPage = false, append = false) {
+        if (append) {
+            if (!playlists || playlists.length === 0) return;
+        } else if (!playlists || playlists.length === 0) {
             if (isLikedPage) {
                 container.innerHTML = `
                     <div class="no-playlists">
@@ -197,8 +266,10 @@ document.addEventListener('DOMContentLoaded', () => {
             return;
         }
         
-        // 플레이리스트 HTML 생성
-        const playlistsHTML = playlists.map((playlist, index) => {
+        // 플레이리스트 HTML 생성 (추가 로드 시 애니메이션 순서는 기존 항목 다음부터)
+        const indexOffset = append ? container.querySelectorAll('.playlist-item').length : 0;
+        const playlistsHTML = playlists.map((playlist, i) => {
+            const index = indexOffset + i;
             const image = playlist.images && playlist.images.length > 0 
                 ? playlist.images[0].url 
                 : `${contextPath}/static/assets/images/default-playlist.png`;
@@ -244,6 +315,17 @@ document.addEventListener('DOMContentLoaded', () => {
             `;
         }).join('');
         
+        if (append) {
+            // 새 항목에만 이벤트 리스너를 설정한 뒤 컨테이너에 추가
+            const wrapper = document.createElement('div');
+            wrapper.innerHTML = playlistsHTML;
+            setupPlaylistEventListeners(wrapper);
+            while (wrapper.firstElementChild) {
+                container.appendChild(wrapper.firstElementChild);
+            }
+            return;
+        }
+        
         container.innerHTML = playlistsHTML;
         
         // 이벤트 리스너 설정
@@ -251,9 +333,9 @@ document.addEventListener('DOMContentLoaded', () => {
     }
 
     // 플레이리스트 이벤트 리스너 설정
-    function setupPlaylistEventListeners() {
+    function setupPlaylistEventListeners(root = document) {
         // 미리듣기 버튼 이벤트
-        document.querySelectorAll('.preview-tracks-btn').forEach(btn => {
+        root.querySelectorAll('.preview-tracks-btn').forEach(btn => {
             btn.addEventListener('click', async (e) => {
                 e.stopPropagation();
                 
@@ -302,7 +384,7 @@ document.addEventListener('DOMContentLoaded', () => {
         });
         
         // 좋아요 버튼 이벤트
-        document.querySelectorAll('.like-btn').forEach(btn => {
+        root.querySelectorAll('.like-btn').forEach(btn => {
             btn.addEventListener('click', async (e) => {
                 e.stopPropagation();
                 
@@ -347,7 +429,7 @@ document.addEventListener('DOMContentLoaded', () => {
         });
         
         // 확장 버튼 이벤트 (트랙 미리보기 표시/숨김)
-        document.querySelectorAll('.expand-btn').forEach(btn => {
+        root.querySelectorAll('.expand-btn').forEach(btn => {
             btn.addEventListener('click', async (e) => {
                 e.stopPropagation();
                 
@@ -383,7 +465,7 @@ document.addEventListener('DOMContentLoaded', () => {
         });
         
         // 플레이리스트 아이템 자체의 클릭 이벤트를 모두 방지
-        document.querySelectorAll('.playlist-item').forEach(item => {
+        root.querySelectorAll('.playlist-item').forEach(item => {
             item.style.cursor = 'default'; // 포인터 커서 제거
             
             // 클릭 이벤트 무효화
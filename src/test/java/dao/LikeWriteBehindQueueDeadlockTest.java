@@ -0,0 +1,106 @@
+package dao;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+/**
+ * LikeWriteBehindQueue 교착 상태 처리 확인 (DB 없이 실행)
+ * JDBC 객체를 Proxy로 흉내 내어 기록 시 교착 상태/외래키 오류를 발생시키고,
+ * 교착 상태인 이벤트는 버려지지 않고 다시 대기했다가 기록되는지 확인합니다.
+ *
+ * 실행 방법 (애플리케이션 클래스와 함께 컴파일한 뒤):
+ *   java -cp WEB-INF/classes:<테스트 클래스 경로> dao.LikeWriteBehindQueueDeadlockTest
+ */
+public class LikeWriteBehindQueueDeadlockTest {
+
+    // 남은 교착 상태 발생 횟수 (executeUpdate마다 1씩 소비)
+    private static final AtomicInteger deadlocks = new AtomicInteger();
+    // 다음 executeUpdate에서 외래키 위반 발생 여부
+    private static volatile boolean foreignKeyViolation = false;
+    private static final AtomicInteger writes = new AtomicInteger();
+
+    public static void main(String[] args) {
+        // 주기적 기록이 끼어들지 않도록 주기를 길게 설정
+        LikeWriteBehindQueue queue = new LikeWriteBehindQueue(dataSource(), null, 100, 60_000, 1000);
+
+        // 1. 재시도까지 모두 교착 상태 - 이벤트는 버려지지 않고 다시 대기
+        deadlocks.set(Integer.MAX_VALUE);
+        check(queue.enqueue("user@example.com", "p1", true), "이벤트가 거부됨");
+        check(!queue.flush(), "교착 상태인데 기록 성공으로 보고됨");
+        check(queue.getDroppedEvents() == 0, "교착 상태 이벤트가 폐기됨");
+        check(queue.getPendingCount() == 1, "교착 상태 이벤트가 대기열에 없음: " + queue.getPendingCount());
+        check(Boolean.TRUE.equals(queue.pendingStateFor("user@example.com", "p1")), "대기 상태가 조회되지 않음");
+
+        // 2. 교착 상태 해소 후 다음 기록에서 기록됨
+        deadlocks.set(0);
+        check(queue.flush(), "교착 상태 해소 후 기록 실패");
+        check(queue.getWrittenEvents() == 1, "기록된 이벤트 수: " + queue.getWrittenEvents());
+        check(queue.getPendingCount() == 0, "기록 후 대기 이벤트가 남음");
+
+        // 3. 배치 기록과 첫 개별 기록이 교착 상태 - 같은 flush 안의 재시도로 기록됨
+        deadlocks.set(2);
+        writes.set(0);
+        check(queue.enqueue("user@example.com", "p2", false), "이벤트가 거부됨");
+        check(queue.flush(), "재시도로 기록되지 않음");
+        check(writes.get() == 1 && queue.getWrittenEvents() == 2, "재시도 후 기록 수: " + queue.getWrittenEvents());
+
+        // 4. 외래키 위반은 다시 기록해도 실패하므로 폐기
+        foreignKeyViolation = true;
+        check(queue.enqueue("user@example.com", "missing", true), "이벤트가 거부됨");
+        check(queue.flush(), "폐기 후 기록 성공으로 보고되지 않음");
+        check(queue.getDroppedEvents() == 1, "외래키 위반 이벤트가 폐기되지 않음");
+        check(queue.getPendingCount() == 0, "외래키 위반 이벤트가 다시 대기함");
+
+        queue.shutdown();
+        System.out.println("[LikeWriteBehindQueueDeadlockTest] 통과");
+        System.exit(0);
+    }
+
+    private static DataSource dataSource() {
+        PreparedStatement statement = proxy(PreparedStatement.class, (method, methodArgs) -> {
+            if (!"executeUpdate".equals(method)) {
+                return null;
+            }
+            if (foreignKeyViolation) {
+                throw new SQLException("Cannot add or update a child row: a foreign key constraint fails", "23000", 1452);
+            }
+            if (deadlocks.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+                throw new SQLException("Deadlock found when trying to get lock; try restarting transaction", "40001", 1213);
+            }
+            writes.incrementAndGet();
+            return 1;
+        });
+        Connection connection = proxy(Connection.class,
+                (method, methodArgs) -> "prepareStatement".equals(method) ? statement : null);
+        return proxy(DataSource.class, (method, methodArgs) -> "getConnection".equals(method) ? connection : null);
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args) throws SQLException;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (p, method, args) -> {
+                    Object result = handler.invoke(method.getName(), args);
+                    if (result == null && method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    if (result == null && method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return result;
+                }));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dao;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import dto.UserDTO;
+import utils.PasswordHasher;
+
+/**
+ * UserDAO.update 비밀번호 저장 확인 (DB 없이 실행)
+ * JDBC 객체를 Proxy로 흉내 내어 UPDATE 문에 바인딩된 비밀번호 값을 확인합니다.
+ *
+ * 실행 방법 (애플리케이션 클래스와 함께 컴파일한 뒤):
+ *   java -cp WEB-INF/classes:<테스트 클래스 경로> dao.UserDAOUpdateTest
+ */
+public class UserDAOUpdateTest {
+
+    public static void main(String[] args) {
+        // 해시 형식처럼 보이는 평문도 그대로 저장하지 않고 해시해야 함
+        String hashShaped = "pbkdf2-sha256$1000$c2FsdA$aGFzaA";
+        String stored = updatePassword(hashShaped);
+        check(!hashShaped.equals(stored), "해시 형식 평문이 그대로 저장됨: " + stored);
+        check(PasswordHasher.isHashed(stored), "저장 값이 해시 형식이 아님: " + stored);
+        check(PasswordHasher.verify(hashShaped, stored), "저장된 해시로 입력한 비밀번호를 검증할 수 없음");
+
+        String plain = "new-password-1";
+        stored = updatePassword(plain);
+        check(PasswordHasher.verify(plain, stored), "일반 평문 비밀번호 해시 검증 실패");
+
+        System.out.println("[UserDAOUpdateTest] 통과");
+        System.exit(0);
+    }
+
+    /**
+     * update 실행 후 첫 번째 파라미터(password)로 바인딩된 값
+     */
+    private static String updatePassword(String password) {
+        List<Object> bound = new ArrayList<>();
+        UserDAO dao = new UserDAO(dataSource(bound));
+        int rows = dao.update(new UserDTO().setEmail("user@example.com").setPassword(password)
+                .setName("name").setPhone("010"));
+        check(rows == 1, "수정된 행 수: " + rows);
+        return (String) bound.get(0);
+    }
+
+    private static DataSource dataSource(List<Object> bound) {
+        PreparedStatement statement = proxy(PreparedStatement.class, (method, methodArgs) -> {
+            switch (method) {
+                case "setString": bound.add(methodArgs[1]); return null;
+                case "executeUpdate": return 1;
+                default: return null;
+            }
+        });
+        Connection connection = proxy(Connection.class,
+                (method, methodArgs) -> "prepareStatement".equals(method) ? statement : null);
+        return proxy(DataSource.class, (method, methodArgs) -> "getConnection".equals(method) ? connection : null);
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (p, method, args) -> {
+                    Object result = handler.invoke(method.getName(), args);
+                    if (result == null && method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    if (result == null && method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return result;
+                }));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Spotify 호출 실행 모드 벤치마크 (platform 스레드 풀 vs 가상 스레드)
+ * 응답을 지정한 시간만큼 늦게 보내는 로컬 HTTP 서버를 Spotify API 대신 사용하고,
+ * 미리듣기 요청(action=preview)과 같은 호출 패턴을 동시에 실행하여 처리량과 지연 시간을 측정합니다.
+ * - 미리듣기 요청 1건 = 플레이리스트 이름 호출(fork) + 트랙 목록 호출(현재 스레드)
+ *
+ * 배포 WAR에 포함되지 않도록 테스트 소스 경로에 두며, 같은 패키지의 SpotifyCallExecutor.Pool을 사용합니다.
+ *
+ * 실행 방법 (애플리케이션 클래스와 함께 컴파일한 뒤):
+ *   java -cp WEB-INF/classes:<벤치마크 클래스 경로> utils.SpotifyCallBenchmark [동시 요청 수=1000] [응답 지연 ms=200]
+ *   - platform 모드 스레드 수는 musicmood.spotify.threads (기본값 16)를 사용합니다.
+ *   - virtual 모드는 Java 21 이상에서만 측정되며, 그 외 JVM에서는 건너뜁니다.
+ */
+public class SpotifyCallBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 200L;
+        int threads = AppConfig.getInt("musicmood.spotify.threads", 16);
+
+        System.out.println("[SpotifyCallBenchmark] 동시 요청: " + requests + ", 응답 지연: " + latencyMs
+                + "ms, Java " + Runtime.version().feature());
+
+        ExecutorService serverThreads = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), requests * 2);
+        server.setExecutor(serverThreads);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        try {
+            // 첫 측정이 클래스 로딩/JIT 비용을 떠안지 않도록 짧게 예열
+            run(SpotifyCallExecutor.Pool.create(false, threads, requests, requests), baseUrl, Math.min(requests, 50), false);
+
+            run(SpotifyCallExecutor.Pool.create(false, threads, requests, requests), baseUrl, requests, true);
+
+            if (SpotifyCallExecutor.newVirtualThreadExecutor() != null) {
+                run(SpotifyCallExecutor.Pool.create(true, threads, requests, requests), baseUrl, requests, true);
+            } else {
+                System.out.println("[SpotifyCallBenchmark] virtual 모드: 이 JVM은 가상 스레드를 지원하지 않아 건너뜁니다. (Java 21 이상 필요)");
+            }
+        } finally {
+            server.stop(0);
+            serverThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * 미리듣기 요청 requests건을 동시에 실행하고 결과 출력
+     */
+    private static void run(SpotifyCallExecutor.Pool pool, String baseUrl, int requests, boolean report) throws Exception {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        threadBean.resetPeakThreadCount();
+        Histogram latencyMs = new Histogram();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long submittedAt = System.nanoTime();
+            CompletableFuture<Void> preview = pool.supply(() -> {
+                SpotifyCallExecutor.Forked<Integer> name = pool.fork(() -> call(baseUrl + "/playlists/name"));
+                call(baseUrl + "/playlists/tracks");
+                name.join();
+                return null;
+            });
+            futures.add(preview.whenComplete((value, error) -> {
+                if (error == null) {
+                    latencyMs.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedAt));
+                }
+            }));
+        }
+
+        int failed = 0;
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (Exception e) {
+                failed++;
+            }
+        }
+        long elapsedMs = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        pool.shutdown();
+
+        if (!report) {
+            return;
+        }
+        System.out.println(String.format(
+                "[SpotifyCallBenchmark] %-8s 처리량: %8.1f req/s, 전체: %6dms, p50: %5dms, p99: %5dms, max: %5dms, 실패: %d, 거부: %d, 최대 스레드 수: %d",
+                pool.getMode(), requests * 1000.0 / elapsedMs, elapsedMs,
+                latencyMs.getPercentile(0.5), latencyMs.getPercentile(0.99), latencyMs.getMax(),
+                failed, pool.getRejectedCount(), threadBean.getPeakThreadCount()));
+    }
+
+    /**
+     * 로컬 서버 호출 (SpotifyService와 같은 HttpURLConnection 블로킹 읽기)
+     */
+    private static int call(String address) throws IOException {
+        HttpURLConnection conn = SpotifyCallExecutor.configure((HttpURLConnection) new URL(address).openConnection());
+        conn.setRequestMethod("GET");
+        int read = 0;
+        try (InputStream in = conn.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                read += n;
+            }
+        }
+        return read;
+    }
+}